@@ -0,0 +1,100 @@
+package com.example.emergencydashboard.broadcast;
+
+import com.example.emergencydashboard.config.IncidentSubscriptionProperties;
+import com.example.emergencydashboard.dto.IncidentEntityDto;
+import com.example.emergencydashboard.dto.IncidentSubscriptionFilterDto;
+import com.example.emergencydashboard.model.IncidentType;
+import com.example.emergencydashboard.model.SeverityLevel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDateTime;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to route one incident to the matching filtered subscriptions, through {@link IncidentSubscriptionIndex}
+ * ({@code index}) against checking every subscription ({@code fullScan}), for 10,000 radius subscriptions of 5 to 50 km
+ * spread over the continental US. Each invocation routes the next of 4,096 random incidents.
+ * <p>
+ * Run with {@code mvn -Pbenchmark test-compile exec:exec -Djmh.args=IncidentSubscriptionIndexBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IncidentSubscriptionIndexBenchmark {
+
+    private static final int SUBSCRIPTIONS = 10_000;
+    private static final int INCIDENTS = 4_096;
+
+    private IncidentSubscriptionIndex index;
+    private IncidentSubscription[] subscriptions;
+    private IncidentEntityDto[] incidents;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        var random = new Random(42);
+        index = new IncidentSubscriptionIndex(new IncidentSubscriptionProperties(), new SimpleMeterRegistry());
+        subscriptions = new IncidentSubscription[SUBSCRIPTIONS];
+        for (int i = 0; i < SUBSCRIPTIONS; i++) {
+            subscriptions[i] = IncidentSubscription.of("session-" + i, IncidentSubscriptionFilterDto.builder()
+                    .latitude(latitude(random))
+                    .longitude(longitude(random))
+                    .radiusKm(5 + random.nextDouble() * 45)
+                    .minSeverityLevel(random.nextInt(4) == 0 ? SeverityLevel.HIGH : null)
+                    .build());
+            index.register(subscriptions[i]);
+        }
+
+        IncidentType[] types = {IncidentType.FIRE, IncidentType.MEDICAL, IncidentType.POLICE};
+        SeverityLevel[] severities = {SeverityLevel.LOW, SeverityLevel.MEDIUM, SeverityLevel.HIGH, SeverityLevel.URGENT};
+        incidents = new IncidentEntityDto[INCIDENTS];
+        for (int i = 0; i < INCIDENTS; i++) {
+            incidents[i] = new IncidentEntityDto(null, types[random.nextInt(types.length)], latitude(random), longitude(random),
+                    LocalDateTime.now(), severities[random.nextInt(severities.length)]);
+        }
+    }
+
+    @Benchmark
+    public void index(Blackhole blackhole) {
+        index.route(nextIncident(), blackhole::consume);
+    }
+
+    @Benchmark
+    public void fullScan(Blackhole blackhole) {
+        var incident = nextIncident();
+        for (IncidentSubscription subscription : subscriptions) {
+            if (subscription.matches(incident)) {
+                blackhole.consume(subscription.getSessionId());
+            }
+        }
+    }
+
+    private IncidentEntityDto nextIncident() {
+        var incident = incidents[next];
+        next = (next + 1) & (INCIDENTS - 1);
+        return incident;
+    }
+
+    private static double latitude(Random random) {
+        return 25 + random.nextDouble() * 24;
+    }
+
+    private static double longitude(Random random) {
+        return -124 + random.nextDouble() * 57;
+    }
+}
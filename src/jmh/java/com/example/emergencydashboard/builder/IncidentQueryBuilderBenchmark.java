@@ -0,0 +1,79 @@
+package com.example.emergencydashboard.builder;
+
+import com.example.emergencydashboard.config.IncidentSearchProperties;
+import com.example.emergencydashboard.dto.IncidentEntityDto;
+import com.example.emergencydashboard.dto.IncidentSearchQueryDto;
+import com.example.emergencydashboard.model.IncidentSearchRanking;
+import com.example.emergencydashboard.model.IncidentType;
+import com.example.emergencydashboard.model.SeverityLevel;
+import com.example.emergencydashboard.util.IncidentSearchCursor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.elasticsearch.core.query.Query;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of {@link IncidentQueryBuilderImpl#buildQuery} for the search shapes the dashboard sends: a type only,
+ * a type around a location, the most severe incidents around a location, and the next page of the newest incidents.
+ * <p>
+ * Run with {@code mvn -Pbenchmark test-compile exec:exec -Djmh.args=IncidentQueryBuilderBenchmark}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IncidentQueryBuilderBenchmark {
+
+    private static final LocalDateTime TIMESTAMP = LocalDateTime.of(2024, 3, 1, 11, 52);
+
+    @Param({"type", "located", "severity", "cursor"})
+    public String shape;
+
+    private final IncidentQueryBuilder queryBuilder = new IncidentQueryBuilderImpl(new IncidentSearchProperties());
+
+    private IncidentSearchQueryDto queryDto;
+
+    @Setup
+    public void setUp() {
+        var type = IncidentSearchQueryDto.builder()
+                .incidentType(IncidentType.FIRE)
+                .timestamp(TIMESTAMP)
+                .build();
+        var located = type.toBuilder()
+                .latitude(40.7128)
+                .longitude(-74.0060)
+                .build();
+        queryDto = switch (shape) {
+            case "type" -> type;
+            case "located" -> located;
+            case "severity" -> located.toBuilder()
+                    .ranking(IncidentSearchRanking.SEVERITY)
+                    .severityLevel(SeverityLevel.MEDIUM)
+                    .build();
+            case "cursor" -> type.toBuilder()
+                    .ranking(IncidentSearchRanking.NEWEST)
+                    .cursor(IncidentSearchCursor.byTimestamp(new IncidentEntityDto("1", IncidentType.FIRE,
+                            40.7128, -74.0060, TIMESTAMP.minusMinutes(5), SeverityLevel.HIGH)).encode())
+                    .build();
+            default -> throw new IllegalArgumentException("Unknown shape: " + shape);
+        };
+    }
+
+    @Benchmark
+    public Query buildQuery() {
+        return queryBuilder.buildQuery(queryDto);
+    }
+}
@@ -0,0 +1,188 @@
+package com.example.emergencydashboard.builder;
+
+import com.example.emergencydashboard.config.IncidentSearchProperties;
+import com.example.emergencydashboard.dto.IncidentSearchQueryDto;
+import com.example.emergencydashboard.model.IncidentType;
+import com.example.emergencydashboard.model.SeverityLevel;
+import org.apache.http.HttpHost;
+import org.elasticsearch.action.admin.indices.delete.DeleteIndexRequest;
+import org.elasticsearch.action.admin.indices.forcemerge.ForceMergeRequest;
+import org.elasticsearch.action.admin.indices.refresh.RefreshRequest;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.action.search.SearchRequest;
+import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.client.RequestOptions;
+import org.elasticsearch.client.RestClient;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.elasticsearch.client.core.CountRequest;
+import org.elasticsearch.client.indices.CreateIndexRequest;
+import org.elasticsearch.client.indices.GetIndexRequest;
+import org.elasticsearch.common.unit.DistanceUnit;
+import org.elasticsearch.common.xcontent.XContentType;
+import org.elasticsearch.index.query.BoolQueryBuilder;
+import org.elasticsearch.index.query.QueryBuilder;
+import org.elasticsearch.search.builder.SearchSourceBuilder;
+import org.elasticsearch.search.sort.SortBuilders;
+import org.elasticsearch.search.sort.SortOrder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static com.example.emergencydashboard.util.IncidentSearchCursor.TIMESTAMP_FORMAT;
+import static org.elasticsearch.index.query.QueryBuilders.*;
+
+/**
+ * Latency distribution of the search query with the radius and the time window as scoring {@code must} clauses, as it
+ * was built before ({@code must}), against the current one that puts them in filter context ({@code filter}). Seeds
+ * 200,000 incidents around 50 city centers over one day, then runs dashboard-like searches: a few centers and a
+ * timestamp truncated to the minute, so filters repeat the way they do in production. The shard request cache is
+ * bypassed, so only the query itself is measured.
+ * <p>
+ * Unlike the other benchmarks it needs an Elasticsearch node on {@code localhost:9200}, e.g. the one of
+ * {@code docker-compose.yml}, and writes the {@code incidents-benchmark} index; an index already holding the seeded
+ * incidents is reused. Run with {@code mvn -Pbenchmark test-compile exec:exec -Djmh.args=IncidentSearchQueryBenchmark}
+ * and read p50 and p99 from the {@code search·p0.50} and {@code search·p0.99} rows.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IncidentSearchQueryBenchmark {
+
+    private static final String INDEX = "incidents-benchmark";
+    private static final int INCIDENTS = 200_000;
+    private static final int CENTERS = 50;
+    private static final int BULK_SIZE = 5_000;
+    private static final int SEARCHES = 2_000;
+    private static final LocalDateTime START = LocalDateTime.of(2024, 3, 1, 0, 0);
+
+    @Param({"must", "filter"})
+    public String query;
+
+    private RestHighLevelClient client;
+    private SearchRequest[] requests;
+    private int next;
+
+    @Setup
+    public void setUp() throws IOException {
+        var random = new Random(42);
+        double[][] centers = new double[CENTERS][];
+        for (int i = 0; i < CENTERS; i++) {
+            centers[i] = new double[]{25 + random.nextDouble() * 24, -124 + random.nextDouble() * 57};
+        }
+
+        client = new RestHighLevelClient(RestClient.builder(new HttpHost("localhost", 9200)));
+        if (!isSeeded()) {
+            seed(centers, random);
+        }
+
+        var queryBuilder = new IncidentQueryBuilderImpl(new IncidentSearchProperties());
+        var searchRandom = new Random(7);
+        requests = new SearchRequest[SEARCHES];
+        for (int i = 0; i < SEARCHES; i++) {
+            double[] center = centers[searchRandom.nextInt(5)];
+            var queryDto = IncidentSearchQueryDto.builder()
+                    .incidentType(IncidentType.FIRE)
+                    .latitude(center[0])
+                    .longitude(center[1])
+                    .timestamp(START.plusMinutes(600 + searchRandom.nextInt(10)))
+                    .build();
+            QueryBuilder searchQuery = "filter".equals(query) ? queryBuilder.getBoolQueryBuilder(queryDto) : mustQuery(queryDto);
+            requests[i] = new SearchRequest(INDEX)
+                    .requestCache(false)
+                    .source(new SearchSourceBuilder()
+                            .query(searchQuery)
+                            .sort(SortBuilders.scoreSort().order(SortOrder.DESC))
+                            .sort(SortBuilders.fieldSort("id").order(SortOrder.ASC))
+                            .size(100)
+                            .trackTotalHits(true));
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        client.close();
+    }
+
+    @Benchmark
+    public SearchResponse search() throws IOException {
+        var request = requests[next];
+        next = (next + 1) % SEARCHES;
+        return client.search(request, RequestOptions.DEFAULT);
+    }
+
+    /**
+     * The query as built before the radius and time window moved to filter context.
+     */
+    private static BoolQueryBuilder mustQuery(IncidentSearchQueryDto queryDto) {
+        return boolQuery()
+                .should(matchQuery("incidentType", queryDto.getIncidentType().getType()).boost(3.0f))
+                .must(geoDistanceQuery("location")
+                        .point(queryDto.getLatitude(), queryDto.getLongitude())
+                        .distance(10, DistanceUnit.KILOMETERS))
+                .must(rangeQuery("timestamp")
+                        .gte(TIMESTAMP_FORMAT.format(queryDto.getTimestamp().minusHours(1)))
+                        .lte(TIMESTAMP_FORMAT.format(queryDto.getTimestamp().plusHours(1))));
+    }
+
+    private boolean isSeeded() throws IOException {
+        return client.indices().exists(new GetIndexRequest(INDEX), RequestOptions.DEFAULT)
+                && client.count(new CountRequest(INDEX), RequestOptions.DEFAULT).getCount() == INCIDENTS;
+    }
+
+    private void seed(double[][] centers, Random random) throws IOException {
+        if (client.indices().exists(new GetIndexRequest(INDEX), RequestOptions.DEFAULT)) {
+            client.indices().delete(new DeleteIndexRequest(INDEX), RequestOptions.DEFAULT);
+        }
+        client.indices().create(new CreateIndexRequest(INDEX).mapping(Map.of("properties", Map.of(
+                "id", Map.of("type", "keyword"),
+                "incidentType", Map.of("type", "text"),
+                "location", Map.of("type", "geo_point"),
+                "timestamp", Map.of("type", "date", "format", "uuuu-MM-dd'T'HH:mm:ss"),
+                "severityLevel", Map.of("type", "text"),
+                "severityRank", Map.of("type", "byte")))), RequestOptions.DEFAULT);
+
+        IncidentType[] types = {IncidentType.FIRE, IncidentType.MEDICAL, IncidentType.POLICE};
+        SeverityLevel[] severities = {SeverityLevel.LOW, SeverityLevel.MEDIUM, SeverityLevel.HIGH, SeverityLevel.URGENT};
+        var bulk = new BulkRequest();
+        for (int i = 0; i < INCIDENTS; i++) {
+            double[] center = centers[random.nextInt(CENTERS)];
+            var severity = severities[random.nextInt(severities.length)];
+            bulk.add(new IndexRequest(INDEX).id(Integer.toString(i)).source(Map.of(
+                    "id", Integer.toString(i),
+                    "incidentType", types[random.nextInt(types.length)].getType(),
+                    "location", Map.of("lat", center[0] + random.nextGaussian() * 0.1, "lon", center[1] + random.nextGaussian() * 0.1),
+                    "timestamp", TIMESTAMP_FORMAT.format(START.plusSeconds(random.nextInt(86_400))),
+                    "severityLevel", severity.getLevel(),
+                    "severityRank", severity.rank()), XContentType.JSON));
+            if (bulk.numberOfActions() == BULK_SIZE) {
+                client.bulk(bulk, RequestOptions.DEFAULT);
+                bulk = new BulkRequest();
+            }
+        }
+        if (bulk.numberOfActions() > 0) {
+            client.bulk(bulk, RequestOptions.DEFAULT);
+        }
+        client.indices().refresh(new RefreshRequest(INDEX), RequestOptions.DEFAULT);
+        client.indices().forcemerge(new ForceMergeRequest(INDEX).maxNumSegments(1), RequestOptions.DEFAULT);
+        client.indices().refresh(new RefreshRequest(INDEX), RequestOptions.DEFAULT);
+    }
+}
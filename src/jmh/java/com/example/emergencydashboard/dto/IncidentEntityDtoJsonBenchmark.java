@@ -0,0 +1,113 @@
+package com.example.emergencydashboard.dto;
+
+import com.example.emergencydashboard.json.IncidentJsonModule;
+import com.example.emergencydashboard.model.IncidentType;
+import com.example.emergencydashboard.model.SeverityLevel;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of writing and reading {@link IncidentEntityDto} as JSON, a single incident as in the REST API and lists
+ * as in search pages and broadcast frames. The {@link ObjectMapper} is configured like the one of the application,
+ * with the {@link IncidentJsonModule} ({@code codec}) or with the reflective bean (de)serializers ({@code reflective}).
+ * <p>
+ * Run with {@code mvn -Pbenchmark test-compile exec:exec -Djmh.args=IncidentEntityDtoJsonBenchmark}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IncidentEntityDtoJsonBenchmark {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 3, 1, 0, 0);
+
+    @Param({"codec", "reflective"})
+    public String mapper;
+
+    @Param({"10", "100"})
+    public int listSize;
+
+    private ObjectWriter writer;
+    private ObjectReader reader;
+    private ObjectWriter listWriter;
+    private ObjectReader listReader;
+
+    private IncidentEntityDto incident;
+    private List<IncidentEntityDto> incidents;
+    private String incidentJson;
+    private String incidentsJson;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        var builder = Jackson2ObjectMapperBuilder.json();
+        if (mapper.equals("codec")) {
+            builder.modulesToInstall(new IncidentJsonModule());
+        }
+        ObjectMapper objectMapper = builder.build();
+        var listType = new TypeReference<List<IncidentEntityDto>>() {
+        };
+        writer = objectMapper.writerFor(IncidentEntityDto.class);
+        reader = objectMapper.readerFor(IncidentEntityDto.class);
+        listWriter = objectMapper.writerFor(listType);
+        listReader = objectMapper.readerFor(listType);
+
+        var random = new Random(42);
+        IncidentType[] types = {IncidentType.FIRE, IncidentType.MEDICAL, IncidentType.POLICE};
+        SeverityLevel[] severities = {SeverityLevel.LOW, SeverityLevel.MEDIUM, SeverityLevel.HIGH, SeverityLevel.URGENT};
+        incidents = new ArrayList<>(listSize);
+        for (int i = 0; i < listSize; i++) {
+            incidents.add(new IncidentEntityDto(Integer.toString(i),
+                    types[random.nextInt(types.length)],
+                    40.7128 + random.nextGaussian() * 0.1,
+                    -74.0060 + random.nextGaussian() * 0.1,
+                    START.plusSeconds(random.nextInt(86_400)),
+                    severities[random.nextInt(severities.length)]));
+        }
+        incident = incidents.get(0);
+        incidentJson = writer.writeValueAsString(incident);
+        incidentsJson = listWriter.writeValueAsString(incidents);
+    }
+
+    @Benchmark
+    public String writeSingle() throws JsonProcessingException {
+        return writer.writeValueAsString(incident);
+    }
+
+    @Benchmark
+    public IncidentEntityDto readSingle() throws JsonProcessingException {
+        return reader.readValue(incidentJson);
+    }
+
+    @Benchmark
+    public String writeList() throws JsonProcessingException {
+        return listWriter.writeValueAsString(incidents);
+    }
+
+    @Benchmark
+    public List<IncidentEntityDto> readList() throws JsonProcessingException {
+        return listReader.readValue(incidentsJson);
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.emergencydashboard.json;
+
+import com.example.emergencydashboard.model.IncidentDocument;
+import com.example.emergencydashboard.model.IncidentType;
+import com.example.emergencydashboard.model.SeverityLevel;
+import org.elasticsearch.common.bytes.BytesArray;
+import org.elasticsearch.common.bytes.BytesReference;
+import org.elasticsearch.common.xcontent.XContentHelper;
+import org.elasticsearch.common.xcontent.XContentType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.elasticsearch.core.convert.MappingElasticsearchConverter;
+import org.springframework.data.elasticsearch.core.document.Document;
+import org.springframework.data.elasticsearch.core.geo.GeoPoint;
+import org.springframework.data.elasticsearch.core.mapping.SimpleElasticsearchMappingContext;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of reading the {@code _source} of one search hit into an {@link IncidentDocument}: parsing it into a map
+ * for the Spring Data converter, as the executor did before, against the {@link IncidentDocumentReader}.
+ * <p>
+ * Run with {@code mvn -Pbenchmark test-compile exec:exec -Djmh.args=IncidentDocumentReaderBenchmark}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IncidentDocumentReaderBenchmark {
+
+    private MappingElasticsearchConverter converter;
+    private BytesReference source;
+
+    @Setup
+    public void setUp() {
+        converter = new MappingElasticsearchConverter(new SimpleElasticsearchMappingContext());
+        converter.afterPropertiesSet();
+        var document = Document.create();
+        converter.write(new IncidentDocument("1", IncidentType.FIRE, new GeoPoint(40.7128, -74.0060),
+                LocalDateTime.of(2024, 3, 1, 11, 40), SeverityLevel.HIGH, SeverityLevel.HIGH.rank()), document);
+        source = new BytesArray(document.toJson());
+    }
+
+    @Benchmark
+    public IncidentDocument converter() {
+        var document = Document.from(XContentHelper.convertToMap(source, false, XContentType.JSON).v2());
+        document.setId("1");
+        return converter.read(IncidentDocument.class, document);
+    }
+
+    @Benchmark
+    public IncidentDocument reader() {
+        return IncidentDocumentReader.read("1", source);
+    }
+}
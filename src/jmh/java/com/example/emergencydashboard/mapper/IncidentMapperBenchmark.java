@@ -0,0 +1,79 @@
+package com.example.emergencydashboard.mapper;
+
+import com.example.emergencydashboard.dto.IncidentEntityDto;
+import com.example.emergencydashboard.model.IncidentDocument;
+import com.example.emergencydashboard.model.IncidentEntity;
+import com.example.emergencydashboard.model.IncidentType;
+import com.example.emergencydashboard.model.SeverityLevel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the six {@link IncidentMapper} conversions for a fully populated incident.
+ * <p>
+ * Run with {@code mvn -Pbenchmark test-compile exec:exec -Djmh.args=IncidentMapperBenchmark}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IncidentMapperBenchmark {
+
+    private static final LocalDateTime TIMESTAMP = LocalDateTime.of(2024, 3, 1, 11, 40);
+
+    private final IncidentMapper mapper = IncidentMapper.INSTANCE;
+
+    private IncidentEntity entity;
+    private IncidentEntityDto dto;
+    private IncidentDocument document;
+
+    @Setup
+    public void setUp() {
+        entity = new IncidentEntity("1", IncidentType.FIRE, 40.7128, -74.0060, TIMESTAMP, SeverityLevel.HIGH);
+        dto = new IncidentEntityDto("1", IncidentType.FIRE, 40.7128, -74.0060, TIMESTAMP, SeverityLevel.HIGH);
+        document = mapper.entityToDocument(entity);
+    }
+
+    @Benchmark
+    public IncidentEntityDto entityToDto() {
+        return mapper.entityToDto(entity);
+    }
+
+    @Benchmark
+    public IncidentDocument entityToDocument() {
+        return mapper.entityToDocument(entity);
+    }
+
+    @Benchmark
+    public IncidentEntity dtoToEntity() {
+        return mapper.dtoToEntity(dto);
+    }
+
+    @Benchmark
+    public IncidentDocument dtoToDocument() {
+        return mapper.dtoToDocument(dto);
+    }
+
+    @Benchmark
+    public IncidentEntity documentToEntity() {
+        return mapper.documentToEntity(document);
+    }
+
+    @Benchmark
+    public IncidentEntityDto documentToDto() {
+        return mapper.documentToDto(document);
+    }
+}
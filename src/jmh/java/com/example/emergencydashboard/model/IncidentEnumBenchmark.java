@@ -0,0 +1,46 @@
+package com.example.emergencydashboard.model;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of {@link IncidentType#forValue} and {@link SeverityLevel#forValue}, which run for every incident type
+ * and severity level Jackson reads. Each invocation parses all values of the enum in the casing clients send them.
+ * <p>
+ * Run with {@code mvn -Pbenchmark test-compile exec:exec -Djmh.args=IncidentEnumBenchmark}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IncidentEnumBenchmark {
+
+    private final String[] incidentTypes = {"fire", "MEDICAL", "Police", ""};
+    private final String[] severityLevels = {"low", "MEDIUM", "High", "urgent", ""};
+
+    @Benchmark
+    public void incidentTypeForValue(Blackhole blackhole) {
+        for (String value : incidentTypes) {
+            blackhole.consume(IncidentType.forValue(value));
+        }
+    }
+
+    @Benchmark
+    public void severityLevelForValue(Blackhole blackhole) {
+        for (String value : severityLevels) {
+            blackhole.consume(SeverityLevel.forValue(value));
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.emergencydashboard.broadcast;
+
+import com.example.emergencydashboard.dto.IncidentStreamEventDto;
+
+import java.util.List;
+
+public interface IncidentBroadcaster {
+    void broadcast(List<IncidentStreamEventDto> events);
+}
@@ -0,0 +1,135 @@
+package com.example.emergencydashboard.broadcast;
+
+import com.example.emergencydashboard.config.IncidentBroadcastProperties;
+import com.example.emergencydashboard.dto.IncidentStreamEventDto;
+import com.example.emergencydashboard.metrics.IncidentPipelineMetrics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Publishes incident stream events to {@code /topic/incidents} and, for sessions registered in the
+ * {@link IncidentSubscriptionIndex}, only the matching events to their {@code /user/queue/incidents}.
+ * <p>
+ * In {@link IncidentBroadcastProperties.Mode#COALESCED} mode events are buffered and every flush interval sends a
+ * single frame holding a JSON array of {@link IncidentStreamEventDto}s, so the number of frames per subscriber no longer
+ * grows with the incident rate. {@link IncidentBroadcastProperties.Mode#SINGLE} keeps the original
+ * one-incident-per-frame payload and carries the sequence number and change type in the {@code sequence} and
+ * {@code event-type} STOMP headers.
+ */
+@Component
+@Slf4j
+public class IncidentBroadcasterImpl implements IncidentBroadcaster {
+
+    public static final String INCIDENTS_TOPIC = "/topic/incidents";
+    public static final String FILTERED_INCIDENTS_QUEUE = "/queue/incidents";
+    public static final String SEQUENCE_HEADER = "sequence";
+    public static final String EVENT_TYPE_HEADER = "event-type";
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final IncidentBroadcastProperties properties;
+    private final IncidentSubscriptionIndex subscriptionIndex;
+    private final Queue<IncidentStreamEventDto> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final Counter framesCounter;
+    private final Counter filteredFramesCounter;
+    private final Timer sendTimer;
+
+    public IncidentBroadcasterImpl(SimpMessagingTemplate messagingTemplate,
+                                   IncidentBroadcastProperties properties,
+                                   IncidentSubscriptionIndex subscriptionIndex,
+                                   MeterRegistry meterRegistry) {
+        this.messagingTemplate = messagingTemplate;
+        this.properties = properties;
+        this.subscriptionIndex = subscriptionIndex;
+        this.framesCounter = Counter.builder("incidents.broadcast.frames")
+                .description("Frames published to " + INCIDENTS_TOPIC)
+                .register(meterRegistry);
+        this.filteredFramesCounter = Counter.builder("incidents.broadcast.filtered.frames")
+                .description("Frames sent to filtered subscriptions on " + FILTERED_INCIDENTS_QUEUE)
+                .register(meterRegistry);
+        this.sendTimer = IncidentPipelineMetrics.stageTimer(meterRegistry, "broadcast", "send");
+        // ConcurrentLinkedQueue.size() walks the whole queue, so the buffered events are counted separately
+        Gauge.builder("incidents.broadcast.pending", pendingCount, AtomicInteger::get)
+                .description("Events buffered for the next coalesced frame")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void broadcast(List<IncidentStreamEventDto> events) {
+        if (properties.getMode() == IncidentBroadcastProperties.Mode.COALESCED) {
+            pending.addAll(events);
+            pendingCount.addAndGet(events.size());
+            return;
+        }
+
+        sendTimer.record(() -> sendSingle(events));
+    }
+
+    private void sendSingle(List<IncidentStreamEventDto> events) {
+        for (IncidentStreamEventDto event : events) {
+            Map<String, String> headers = Map.of(
+                    SEQUENCE_HEADER, String.valueOf(event.getSequence()),
+                    EVENT_TYPE_HEADER, event.getType().name());
+            messagingTemplate.convertAndSend(INCIDENTS_TOPIC, event.getIncident(), Map.<String, Object>copyOf(headers));
+            framesCounter.increment();
+            subscriptionIndex.route(event.getIncident(), sessionId -> sendToSession(sessionId, event.getIncident(), headers));
+        }
+    }
+
+    @Scheduled(fixedRateString = "${incidents.broadcast.flush-interval-ms:100}")
+    public void flush() {
+        List<IncidentStreamEventDto> window = new ArrayList<>();
+        IncidentStreamEventDto event;
+        while ((event = pending.poll()) != null) {
+            pendingCount.decrementAndGet();
+            window.add(event);
+        }
+        if (window.isEmpty()) {
+            return;
+        }
+        sendTimer.record(() -> sendWindow(window));
+    }
+
+    private void sendWindow(List<IncidentStreamEventDto> window) {
+        for (List<IncidentStreamEventDto> frame : partition(window)) {
+            messagingTemplate.convertAndSend(INCIDENTS_TOPIC, frame);
+            framesCounter.increment();
+        }
+
+        Map<String, List<IncidentStreamEventDto>> bySession = new HashMap<>();
+        for (IncidentStreamEventDto windowEvent : window) {
+            subscriptionIndex.route(windowEvent.getIncident(),
+                    sessionId -> bySession.computeIfAbsent(sessionId, key -> new ArrayList<>()).add(windowEvent));
+        }
+        bySession.forEach((sessionId, matched) -> partition(matched).forEach(frame -> sendToSession(sessionId, frame, Map.of())));
+    }
+
+    private List<List<IncidentStreamEventDto>> partition(List<IncidentStreamEventDto> events) {
+        int max = properties.getMaxIncidentsPerFrame();
+        List<List<IncidentStreamEventDto>> frames = new ArrayList<>((events.size() + max - 1) / max);
+        for (int from = 0; from < events.size(); from += max) {
+            frames.add(events.subList(from, Math.min(from + max, events.size())));
+        }
+        return frames;
+    }
+
+    private void sendToSession(String sessionId, Object payload, Map<String, String> nativeHeaders) {
+        messagingTemplate.convertAndSendToUser(sessionId, FILTERED_INCIDENTS_QUEUE, payload,
+                SessionMessageHeaders.forSession(sessionId, nativeHeaders));
+        filteredFramesCounter.increment();
+    }
+}
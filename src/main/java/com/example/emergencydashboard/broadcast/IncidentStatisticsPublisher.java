@@ -0,0 +1,31 @@
+package com.example.emergencydashboard.broadcast;
+
+import com.example.emergencydashboard.config.IncidentStatisticsProperties;
+import com.example.emergencydashboard.stats.IncidentStatistics;
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes the live counters to {@code /topic/statistics} every {@code incidents.statistics.publish-interval-ms}, so
+ * that displays subscribe once instead of polling the REST endpoint.
+ */
+@Component
+@RequiredArgsConstructor
+public class IncidentStatisticsPublisher {
+
+    public static final String STATISTICS_TOPIC = "/topic/statistics";
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final IncidentStatistics statistics;
+    private final IncidentStatisticsProperties properties;
+
+    @Scheduled(fixedRateString = "${incidents.statistics.publish-interval-ms:5000}")
+    public void publish() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        messagingTemplate.convertAndSend(STATISTICS_TOPIC, statistics.snapshot());
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.emergencydashboard.broadcast;
+
+import com.example.emergencydashboard.dto.IncidentEntityDto;
+import com.example.emergencydashboard.dto.IncidentSubscriptionFilterDto;
+import com.example.emergencydashboard.exception.InvalidSubscriptionException;
+import com.example.emergencydashboard.model.IncidentType;
+import com.example.emergencydashboard.model.SeverityLevel;
+import com.example.emergencydashboard.util.GeoUtils;
+import lombok.Getter;
+
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Immutable, pre-validated form of an {@link IncidentSubscriptionFilterDto} owned by one STOMP session.
+ * Instances use identity equality, so a re-registered filter never collides with the one it replaces.
+ */
+@Getter
+public final class IncidentSubscription {
+
+    private final String sessionId;
+    private final Area area;
+    private final Set<IncidentType> incidentTypes;
+    private final SeverityLevel minSeverityLevel;
+
+    private IncidentSubscription(String sessionId, Area area, Set<IncidentType> incidentTypes, SeverityLevel minSeverityLevel) {
+        this.sessionId = sessionId;
+        this.area = area;
+        this.incidentTypes = incidentTypes;
+        this.minSeverityLevel = minSeverityLevel;
+    }
+
+    /**
+     * @throws InvalidSubscriptionException when the filter mixes or only partially specifies an area
+     */
+    public static IncidentSubscription of(String sessionId, IncidentSubscriptionFilterDto filter) {
+        Objects.requireNonNull(sessionId, "Session id must not be null");
+        Objects.requireNonNull(filter, "Subscription filter must not be null");
+
+        Set<IncidentType> types = filter.getIncidentTypes() == null || filter.getIncidentTypes().isEmpty()
+                ? null
+                : EnumSet.copyOf(filter.getIncidentTypes());
+        return new IncidentSubscription(sessionId, toArea(filter), types, filter.getMinSeverityLevel());
+    }
+
+    private static Area toArea(IncidentSubscriptionFilterDto filter) {
+        boolean anyBox = Stream.of(filter.getMinLatitude(), filter.getMaxLatitude(), filter.getMinLongitude(), filter.getMaxLongitude())
+                .anyMatch(Objects::nonNull);
+        boolean anyCircle = Stream.of(filter.getLatitude(), filter.getLongitude(), filter.getRadiusKm())
+                .anyMatch(Objects::nonNull);
+
+        if (anyBox && anyCircle) {
+            throw new InvalidSubscriptionException("Subscription area must be either a bounding box or a radius, not both");
+        }
+        if (anyBox) {
+            if (Stream.of(filter.getMinLatitude(), filter.getMaxLatitude(), filter.getMinLongitude(), filter.getMaxLongitude())
+                    .anyMatch(Objects::isNull)) {
+                throw new InvalidSubscriptionException("Bounding box requires minLatitude, maxLatitude, minLongitude and maxLongitude");
+            }
+            if (filter.getMinLatitude() > filter.getMaxLatitude()) {
+                throw new InvalidSubscriptionException("minLatitude must not be greater than maxLatitude");
+            }
+            return Area.box(filter.getMinLatitude(), filter.getMaxLatitude(), filter.getMinLongitude(), filter.getMaxLongitude());
+        }
+        if (anyCircle) {
+            if (Stream.of(filter.getLatitude(), filter.getLongitude(), filter.getRadiusKm()).anyMatch(Objects::isNull)) {
+                throw new InvalidSubscriptionException("Radius filter requires latitude, longitude and radiusKm");
+            }
+            return Area.circle(filter.getLatitude(), filter.getLongitude(), filter.getRadiusKm());
+        }
+        return null;
+    }
+
+    public boolean isSpatial() {
+        return area != null;
+    }
+
+    public boolean matches(IncidentEntityDto incident) {
+        if (incidentTypes != null && !incidentTypes.contains(incident.getIncidentType())) {
+            return false;
+        }
+        if (minSeverityLevel != null
+                && (incident.getSeverityLevel() == null || !incident.getSeverityLevel().isAtLeast(minSeverityLevel))) {
+            return false;
+        }
+        if (area == null) {
+            return true;
+        }
+        return incident.getLatitude() != null && incident.getLongitude() != null
+                && area.contains(incident.getLatitude(), incident.getLongitude());
+    }
+
+    /**
+     * Subscription area with its bounding box; a circle is matched exactly on top of the box.
+     */
+    @Getter
+    public static final class Area {
+
+        private final double minLatitude;
+        private final double maxLatitude;
+        private final double minLongitude;
+        private final double maxLongitude;
+        private final double centerLatitude;
+        private final double centerLongitude;
+        private final double radiusKm;
+
+        private Area(double minLatitude, double maxLatitude, double minLongitude, double maxLongitude,
+                     double centerLatitude, double centerLongitude, double radiusKm) {
+            this.minLatitude = minLatitude;
+            this.maxLatitude = maxLatitude;
+            this.minLongitude = minLongitude;
+            this.maxLongitude = maxLongitude;
+            this.centerLatitude = centerLatitude;
+            this.centerLongitude = centerLongitude;
+            this.radiusKm = radiusKm;
+        }
+
+        static Area box(double minLatitude, double maxLatitude, double minLongitude, double maxLongitude) {
+            return new Area(minLatitude, maxLatitude, minLongitude, maxLongitude, Double.NaN, Double.NaN, Double.NaN);
+        }
+
+        static Area circle(double latitude, double longitude, double radiusKm) {
+            double latDelta = GeoUtils.latitudeDelta(radiusKm);
+            double lonDelta = GeoUtils.longitudeDelta(latitude, radiusKm);
+            double minLongitude = -180.0;
+            double maxLongitude = 180.0;
+            if (lonDelta < 180.0) {
+                minLongitude = GeoUtils.wrapLongitude(longitude - lonDelta);
+                maxLongitude = GeoUtils.wrapLongitude(longitude + lonDelta);
+            }
+            return new Area(Math.max(-90.0, latitude - latDelta), Math.min(90.0, latitude + latDelta),
+                    minLongitude, maxLongitude, latitude, longitude, radiusKm);
+        }
+
+        public boolean isCircle() {
+            return !Double.isNaN(radiusKm);
+        }
+
+        public boolean contains(double latitude, double longitude) {
+            if (latitude < minLatitude || latitude > maxLatitude) {
+                return false;
+            }
+            boolean inLongitude = minLongitude <= maxLongitude
+                    ? longitude >= minLongitude && longitude <= maxLongitude
+                    : longitude >= minLongitude || longitude <= maxLongitude;
+            if (!inLongitude) {
+                return false;
+            }
+            return !isCircle() || GeoUtils.distanceKm(centerLatitude, centerLongitude, latitude, longitude) <= radiusKm;
+        }
+    }
+}
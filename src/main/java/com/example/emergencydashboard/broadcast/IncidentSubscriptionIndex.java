@@ -0,0 +1,120 @@
+package com.example.emergencydashboard.broadcast;
+
+import com.example.emergencydashboard.config.IncidentSubscriptionProperties;
+import com.example.emergencydashboard.dto.IncidentEntityDto;
+import com.example.emergencydashboard.util.GeoGrid;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * In-memory index of filtered subscriptions, one per STOMP session.
+ * <p>
+ * Each spatial subscription is registered in every grid cell its area overlaps, so routing an incident only looks at
+ * the subscriptions of the incident's cell plus the few without an area (or with an area too large to index), and the
+ * cost grows with the number of nearby subscribers rather than with all subscribers. Candidates are then checked
+ * against the exact filter. Registration is synchronized; routing is lock-free.
+ */
+@Component
+@Slf4j
+public class IncidentSubscriptionIndex {
+
+    private final GeoGrid grid;
+    private final IncidentSubscriptionProperties properties;
+    private final Map<String, IncidentSubscription> bySession = new ConcurrentHashMap<>();
+    private final Map<Long, Set<IncidentSubscription>> cells = new ConcurrentHashMap<>();
+    private final Set<IncidentSubscription> unindexed = ConcurrentHashMap.newKeySet();
+
+    public IncidentSubscriptionIndex(IncidentSubscriptionProperties properties, MeterRegistry meterRegistry) {
+        this.grid = new GeoGrid(properties.getCellDegrees());
+        this.properties = properties;
+
+        Gauge.builder("incidents.subscriptions", bySession, Map::size)
+                .description("Filtered incident subscriptions currently registered")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Registers the subscription, replacing the previous one of the same session.
+     */
+    public synchronized void register(IncidentSubscription subscription) {
+        remove(bySession.put(subscription.getSessionId(), subscription));
+
+        var area = subscription.getArea();
+        if (area == null || grid.countCells(area.getMinLatitude(), area.getMaxLatitude(),
+                area.getMinLongitude(), area.getMaxLongitude()) > properties.getMaxCellsPerSubscription()) {
+            unindexed.add(subscription);
+            return;
+        }
+        grid.forEachCell(area.getMinLatitude(), area.getMaxLatitude(), area.getMinLongitude(), area.getMaxLongitude(),
+                cell -> cells.computeIfAbsent(cell, key -> ConcurrentHashMap.newKeySet()).add(subscription));
+    }
+
+    public synchronized void unregister(String sessionId) {
+        remove(bySession.remove(sessionId));
+    }
+
+    @EventListener
+    public void onSessionDisconnect(SessionDisconnectEvent event) {
+        unregister(event.getSessionId());
+    }
+
+    /**
+     * Calls the consumer with the session id of every subscription matching the incident.
+     */
+    public void route(IncidentEntityDto incident, Consumer<String> sessionConsumer) {
+        if (bySession.isEmpty()) {
+            return;
+        }
+        if (incident.getLatitude() != null && incident.getLongitude() != null) {
+            var candidates = cells.get(grid.cellOf(incident.getLatitude(), incident.getLongitude()));
+            if (candidates != null) {
+                dispatch(candidates, incident, sessionConsumer);
+            }
+        }
+        dispatch(unindexed, incident, sessionConsumer);
+    }
+
+    public List<String> route(IncidentEntityDto incident) {
+        List<String> sessionIds = new ArrayList<>();
+        route(incident, sessionIds::add);
+        return sessionIds;
+    }
+
+    public int size() {
+        return bySession.size();
+    }
+
+    private static void dispatch(Set<IncidentSubscription> candidates, IncidentEntityDto incident, Consumer<String> sessionConsumer) {
+        for (IncidentSubscription subscription : candidates) {
+            if (subscription.matches(incident)) {
+                sessionConsumer.accept(subscription.getSessionId());
+            }
+        }
+    }
+
+    private void remove(IncidentSubscription subscription) {
+        if (subscription == null) {
+            return;
+        }
+        if (unindexed.remove(subscription)) {
+            return;
+        }
+        var area = subscription.getArea();
+        grid.forEachCell(area.getMinLatitude(), area.getMaxLatitude(), area.getMinLongitude(), area.getMaxLongitude(),
+                cell -> cells.computeIfPresent(cell, (key, set) -> {
+                    set.remove(subscription);
+                    return set.isEmpty() ? null : set;
+                }));
+    }
+}
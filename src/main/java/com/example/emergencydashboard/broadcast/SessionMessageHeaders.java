@@ -0,0 +1,32 @@
+package com.example.emergencydashboard.broadcast;
+
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+
+import java.util.Map;
+
+public final class SessionMessageHeaders {
+
+    private SessionMessageHeaders() {
+    }
+
+    /**
+     * Headers addressing a {@code convertAndSendToUser} message to a single session, which works for anonymous
+     * connections too.
+     */
+    public static MessageHeaders forSession(String sessionId) {
+        return forSession(sessionId, Map.of());
+    }
+
+    /**
+     * Same as {@link #forSession(String)}, with additional STOMP headers on the frame.
+     */
+    public static MessageHeaders forSession(String sessionId, Map<String, String> nativeHeaders) {
+        var headers = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        headers.setSessionId(sessionId);
+        nativeHeaders.forEach(headers::setNativeHeader);
+        headers.setLeaveMutable(true);
+        return headers.getMessageHeaders();
+    }
+}
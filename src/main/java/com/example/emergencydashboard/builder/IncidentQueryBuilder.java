@@ -1,8 +1,53 @@
 package com.example.emergencydashboard.builder;
 
+import com.example.emergencydashboard.dto.IncidentEntityDto;
 import com.example.emergencydashboard.dto.IncidentSearchQueryDto;
+import com.example.emergencydashboard.util.IncidentSearchCursor;
+import org.elasticsearch.search.builder.SearchSourceBuilder;
 import org.springframework.data.elasticsearch.core.query.Query;
 
+import java.time.Duration;
+import java.util.List;
+
 public interface IncidentQueryBuilder {
+
+    /**
+     * Number of hits counted when exact counting is disabled, the Elasticsearch default.
+     */
+    int TOTAL_HITS_TRACKING_LIMIT = 10000;
+
+    String HEATMAP_AGGREGATION = "heatmap";
+    String TIMELINE_AGGREGATION = "timeline";
+    String BY_TYPE_AGGREGATION = "byType";
+    String BY_SEVERITY_AGGREGATION = "bySeverity";
+
+    /**
+     * Search within the radius and time window of the query, ordered by {@code queryDto.ranking}.
+     *
+     * @throws IllegalArgumentException when the query ranks by distance without a location, or has an invalid cursor
+     */
     Query buildQuery(IncidentSearchQueryDto queryDto);
+
+    /**
+     * All incidents of {@code queryDto.incidentType}, newest first; only the type and the paging fields are used.
+     */
+    Query buildTypeQuery(IncidentSearchQueryDto queryDto);
+
+    /**
+     * Position of a hit of {@link #buildQuery}, from which the next page continues.
+     *
+     * @param sortValues the sort values Elasticsearch returned for the hit
+     */
+    IncidentSearchCursor cursorOf(IncidentSearchQueryDto queryDto, IncidentEntityDto hit, List<Object> sortValues);
+
+    /**
+     * Counts of the incidents within the radius and time window of the query, without any hits: the
+     * {@link #HEATMAP_AGGREGATION} geohash grid, the {@link #TIMELINE_AGGREGATION} date histogram, and the
+     * {@link #BY_TYPE_AGGREGATION} and {@link #BY_SEVERITY_AGGREGATION} terms. The incident type is a filter; the
+     * ranking and the paging fields are ignored.
+     *
+     * @param maxHeatmapCells number of geohash cells returned, the densest first
+     */
+    SearchSourceBuilder buildAggregationSource(IncidentSearchQueryDto queryDto, int geohashPrecision, int maxHeatmapCells,
+                                               Duration interval);
 }
@@ -1,63 +1,274 @@
 package com.example.emergencydashboard.builder;
 
+import com.example.emergencydashboard.config.IncidentSearchProperties;
+import com.example.emergencydashboard.dto.IncidentEntityDto;
 import com.example.emergencydashboard.dto.IncidentSearchQueryDto;
+import com.example.emergencydashboard.model.IncidentSearchRanking;
 import com.example.emergencydashboard.model.IncidentType;
+import com.example.emergencydashboard.model.SeverityLevel;
+import com.example.emergencydashboard.util.IncidentSearchCursor;
+import lombok.RequiredArgsConstructor;
 import org.elasticsearch.common.unit.DistanceUnit;
 import org.elasticsearch.index.query.BoolQueryBuilder;
+import org.elasticsearch.index.query.QueryBuilder;
 import org.elasticsearch.index.query.QueryBuilders;
+import org.elasticsearch.script.Script;
+import org.elasticsearch.script.ScriptType;
+import org.elasticsearch.search.aggregations.AggregationBuilders;
+import org.elasticsearch.search.aggregations.bucket.histogram.DateHistogramInterval;
+import org.elasticsearch.search.builder.SearchSourceBuilder;
+import org.elasticsearch.search.sort.SortBuilder;
 import org.elasticsearch.search.sort.SortBuilders;
 import org.elasticsearch.search.sort.SortOrder;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.elasticsearch.core.query.NativeSearchQuery;
 import org.springframework.data.elasticsearch.core.query.NativeSearchQueryBuilder;
 import org.springframework.data.elasticsearch.core.query.Query;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static com.example.emergencydashboard.util.IncidentSearchCursor.TIMESTAMP_FORMAT;
 import static org.elasticsearch.index.query.QueryBuilders.*;
 
+/**
+ * The radius and the time window are filters: they do not take part in scoring, and Elasticsearch can cache them. Only
+ * the incident type scores, when ranking by relevance; the other rankings sort by field values and use the type as a
+ * filter as well.
+ * <p>
+ * Pages are continued with a keyset filter on the sort values of the previous page's last hit, which Elasticsearch
+ * evaluates as cheaply as the first page. It works like {@code search_after}, which the Spring Data Elasticsearch
+ * {@link Query} API does not expose yet. Distances are compared in a script using the same arc distance as the
+ * {@code _geo_distance} sort, so the cursor matches the sort values exactly.
+ */
 @Component
+@RequiredArgsConstructor
 public class IncidentQueryBuilderImpl implements IncidentQueryBuilder {
 
     private static final String SCORE_FIELD_NAME = "_score";
     private static final String INCIDENT_TYPE_FIELD_NAME = "incidentType";
+    private static final String INCIDENT_TYPE_KEYWORD_FIELD_NAME = "incidentType.keyword";
     private static final String LOCATION_FIELD_NAME = "location";
     private static final String TIMESTAMP_FIELD_NAME = "timestamp";
-    private static final int DISTANCE_PRECISION_KILOMETERS = 10;
-    private static final int TIME_PRECISION_HOURS = 1;
+    private static final String SEVERITY_RANK_FIELD_NAME = "severityRank";
+    private static final String ID_FIELD_NAME = "id";
     private static final float INCIDENT_TYPE_BOOST = 3.0f;
+    private static final String DISTANCE_AFTER_SCRIPT = """
+            double distance = doc['location'].arcDistance(params.lat, params.lon);
+            return distance > params.distance
+                || (distance == params.distance && doc['id'].value.compareTo(params.id) > 0);""";
+
+    private final IncidentSearchProperties searchProperties;
 
     @Override
     public Query buildQuery(IncidentSearchQueryDto queryDto) {
+        var ranking = getRanking(queryDto);
+        if (ranking == IncidentSearchRanking.NEAREST && !isLocated(queryDto)) {
+            throw new IllegalArgumentException("Ranking by distance requires latitude and longitude");
+        }
 
-        BoolQueryBuilder queryBuilder = getBoolQueryBuilder(queryDto);
+        QueryBuilder queryBuilder = getBoolQueryBuilder(queryDto);
+        if (queryDto.getCursor() != null) {
+            var cursor = IncidentSearchCursor.decode(queryDto.getCursor(), IncidentSearchCursor.keyCount(ranking, isLocated(queryDto)));
+            queryBuilder = boolQuery()
+                    .must(queryBuilder)
+                    .filter(getCursorFilter(queryDto, ranking, cursor));
+        }
 
-        return new NativeSearchQueryBuilder()
+        var searchQueryBuilder = new NativeSearchQueryBuilder().withQuery(queryBuilder);
+        switch (ranking) {
+            case RELEVANCE -> searchQueryBuilder
+                    .withSort(SortBuilders.fieldSort(SCORE_FIELD_NAME).order(SortOrder.DESC))
+                    .withSort(SortBuilders.fieldSort(ID_FIELD_NAME).order(SortOrder.ASC));
+            case NEAREST -> searchQueryBuilder
+                    .withSort(getDistanceSort(queryDto))
+                    .withSort(SortBuilders.fieldSort(ID_FIELD_NAME).order(SortOrder.ASC));
+            case NEWEST -> searchQueryBuilder
+                    .withSort(SortBuilders.fieldSort(TIMESTAMP_FIELD_NAME).order(SortOrder.DESC))
+                    .withSort(SortBuilders.fieldSort(ID_FIELD_NAME).order(SortOrder.DESC));
+            case SEVERITY -> {
+                searchQueryBuilder.withSort(SortBuilders.fieldSort(SEVERITY_RANK_FIELD_NAME).order(SortOrder.DESC).missing("_last"));
+                if (isLocated(queryDto)) {
+                    searchQueryBuilder.withSort(getDistanceSort(queryDto));
+                }
+                searchQueryBuilder.withSort(SortBuilders.fieldSort(ID_FIELD_NAME).order(SortOrder.ASC));
+            }
+        }
+        return page(searchQueryBuilder, queryDto);
+    }
+
+    @Override
+    public Query buildTypeQuery(IncidentSearchQueryDto queryDto) {
+        BoolQueryBuilder queryBuilder = boolQuery()
+                .filter(matchQuery(INCIDENT_TYPE_FIELD_NAME, queryDto.getIncidentType().getType()));
+        if (queryDto.getCursor() != null) {
+            queryBuilder.filter(getTimestampCursorFilter(IncidentSearchCursor.decode(queryDto.getCursor(), 1)));
+        }
+
+        return page(new NativeSearchQueryBuilder()
                 .withQuery(queryBuilder)
-                .withSort(SortBuilders.fieldSort(SCORE_FIELD_NAME).order(SortOrder.DESC))
-                .build();
+                .withSort(SortBuilders.fieldSort(TIMESTAMP_FIELD_NAME).order(SortOrder.DESC))
+                .withSort(SortBuilders.fieldSort(ID_FIELD_NAME).order(SortOrder.DESC)), queryDto);
+    }
+
+    @Override
+    public SearchSourceBuilder buildAggregationSource(IncidentSearchQueryDto queryDto, int geohashPrecision, int maxHeatmapCells,
+                                                      Duration interval) {
+        return new SearchSourceBuilder()
+                .query(getBoolQueryBuilder(queryDto, false))
+                .size(0)
+                .trackTotalHits(true)
+                .aggregation(AggregationBuilders.geohashGrid(HEATMAP_AGGREGATION)
+                        .field(LOCATION_FIELD_NAME)
+                        .precision(geohashPrecision)
+                        .size(maxHeatmapCells))
+                .aggregation(AggregationBuilders.dateHistogram(TIMELINE_AGGREGATION)
+                        .field(TIMESTAMP_FIELD_NAME)
+                        .fixedInterval(new DateHistogramInterval(interval.toSeconds() + "s"))
+                        .minDocCount(1))
+                .aggregation(AggregationBuilders.terms(BY_TYPE_AGGREGATION)
+                        .field(INCIDENT_TYPE_KEYWORD_FIELD_NAME)
+                        .size(IncidentType.values().length))
+                .aggregation(AggregationBuilders.terms(BY_SEVERITY_AGGREGATION)
+                        .field(SEVERITY_RANK_FIELD_NAME)
+                        .size(SeverityLevel.values().length));
+    }
+
+    @Override
+    public IncidentSearchCursor cursorOf(IncidentSearchQueryDto queryDto, IncidentEntityDto hit, List<Object> sortValues) {
+        return switch (getRanking(queryDto)) {
+            case RELEVANCE -> IncidentSearchCursor.relevance(queryDto, hit);
+            case NEAREST -> IncidentSearchCursor.nearest(hit, ((Number) sortValues.get(0)).doubleValue());
+            case NEWEST -> IncidentSearchCursor.byTimestamp(hit);
+            case SEVERITY -> IncidentSearchCursor.severity(hit,
+                    isLocated(queryDto) ? ((Number) sortValues.get(1)).doubleValue() : null);
+        };
     }
 
     protected BoolQueryBuilder getBoolQueryBuilder(IncidentSearchQueryDto queryDto) {
+        return getBoolQueryBuilder(queryDto, getRanking(queryDto) == IncidentSearchRanking.RELEVANCE);
+    }
+
+    /**
+     * @param scoreType whether the incident type only boosts matching hits instead of filtering
+     */
+    private BoolQueryBuilder getBoolQueryBuilder(IncidentSearchQueryDto queryDto, boolean scoreType) {
         BoolQueryBuilder queryBuilder = QueryBuilders.boolQuery();
 
         if (queryDto.getIncidentType() != null && queryDto.getIncidentType() != IncidentType.NONE) {
-            queryBuilder.should(
-                    matchQuery(INCIDENT_TYPE_FIELD_NAME, queryDto.getIncidentType().getType())
-                            .boost(INCIDENT_TYPE_BOOST)
-            );
+            if (scoreType) {
+                queryBuilder.should(
+                        matchQuery(INCIDENT_TYPE_FIELD_NAME, queryDto.getIncidentType().getType())
+                                .boost(INCIDENT_TYPE_BOOST)
+                );
+            } else {
+                queryBuilder.filter(matchQuery(INCIDENT_TYPE_FIELD_NAME, queryDto.getIncidentType().getType()));
+            }
         }
 
-        if (queryDto.getLatitude() != null && queryDto.getLongitude() != null) {
-            queryBuilder.must(geoDistanceQuery(LOCATION_FIELD_NAME)
+        if (isLocated(queryDto)) {
+            queryBuilder.filter(geoDistanceQuery(LOCATION_FIELD_NAME)
                     .point(queryDto.getLatitude(), queryDto.getLongitude())
-                    .distance(DISTANCE_PRECISION_KILOMETERS, DistanceUnit.KILOMETERS));
+                    .distance(searchProperties.resolveRadiusKm(queryDto.getRadiusKm()), DistanceUnit.KILOMETERS));
         }
 
         if (queryDto.getTimestamp() != null) {
-            queryBuilder.must(
+            var timeWindow = searchProperties.resolveTimeWindow(queryDto.getTimeWindow());
+            queryBuilder.filter(
                     rangeQuery(TIMESTAMP_FIELD_NAME)
-                            .gte(queryDto.getTimestamp().minusHours(TIME_PRECISION_HOURS).toString())
-                            .lte(queryDto.getTimestamp().plusHours(TIME_PRECISION_HOURS).toString())
+                            .gte(TIMESTAMP_FORMAT.format(queryDto.getTimestamp().minus(timeWindow)))
+                            .lte(TIMESTAMP_FORMAT.format(queryDto.getTimestamp().plus(timeWindow)))
             );
         }
         return queryBuilder;
     }
+
+    private QueryBuilder getCursorFilter(IncidentSearchQueryDto queryDto, IncidentSearchRanking ranking, IncidentSearchCursor cursor) {
+        return switch (ranking) {
+            case RELEVANCE -> getRelevanceCursorFilter(queryDto, cursor);
+            case NEAREST -> getDistanceCursorFilter(queryDto, cursor.numericKey(0), cursor.id());
+            case NEWEST -> getTimestampCursorFilter(cursor);
+            case SEVERITY -> getSeverityCursorFilter(queryDto, cursor);
+        };
+    }
+
+    /**
+     * Hits ranked after the cursor: every type match scores the same, so only the type group and the id decide.
+     */
+    protected QueryBuilder getRelevanceCursorFilter(IncidentSearchQueryDto queryDto, IncidentSearchCursor cursor) {
+        QueryBuilder idAfter = rangeQuery(ID_FIELD_NAME).gt(cursor.id());
+        if (queryDto.getIncidentType() == null || queryDto.getIncidentType() == IncidentType.NONE) {
+            return idAfter;
+        }
+        QueryBuilder typeMatch = matchQuery(INCIDENT_TYPE_FIELD_NAME, queryDto.getIncidentType().getType());
+        if (cursor.typeMatched()) {
+            return boolQuery()
+                    .should(boolQuery().filter(typeMatch).filter(idAfter))
+                    .should(boolQuery().mustNot(typeMatch));
+        }
+        return boolQuery().mustNot(typeMatch).filter(idAfter);
+    }
+
+    private QueryBuilder getTimestampCursorFilter(IncidentSearchCursor cursor) {
+        var timestamp = TIMESTAMP_FORMAT.format(cursor.timestampKey());
+        return boolQuery()
+                .should(rangeQuery(TIMESTAMP_FIELD_NAME).lt(timestamp))
+                .should(boolQuery()
+                        .filter(rangeQuery(TIMESTAMP_FIELD_NAME).gte(timestamp).lte(timestamp))
+                        .filter(rangeQuery(ID_FIELD_NAME).lt(cursor.id())));
+    }
+
+    private QueryBuilder getDistanceCursorFilter(IncidentSearchQueryDto queryDto, double distanceMeters, String id) {
+        return scriptQuery(new Script(ScriptType.INLINE, Script.DEFAULT_SCRIPT_LANG, DISTANCE_AFTER_SCRIPT, Map.of(
+                "lat", queryDto.getLatitude(),
+                "lon", queryDto.getLongitude(),
+                "distance", distanceMeters,
+                "id", id)));
+    }
+
+    private QueryBuilder getSeverityCursorFilter(IncidentSearchQueryDto queryDto, IncidentSearchCursor cursor) {
+        int severityRank = (int) cursor.numericKey(0);
+        QueryBuilder afterWithinSeverity = isLocated(queryDto)
+                ? getDistanceCursorFilter(queryDto, cursor.numericKey(1), cursor.id())
+                : rangeQuery(ID_FIELD_NAME).gt(cursor.id());
+        return boolQuery()
+                .should(rangeQuery(SEVERITY_RANK_FIELD_NAME).lt(severityRank))
+                .should(boolQuery()
+                        .filter(termQuery(SEVERITY_RANK_FIELD_NAME, severityRank))
+                        .filter(afterWithinSeverity));
+    }
+
+    private static SortBuilder<?> getDistanceSort(IncidentSearchQueryDto queryDto) {
+        return SortBuilders.geoDistanceSort(LOCATION_FIELD_NAME, queryDto.getLatitude(), queryDto.getLongitude())
+                .unit(DistanceUnit.METERS)
+                .order(SortOrder.ASC);
+    }
+
+    /**
+     * Fetches one hit beyond the limit to tell whether another page follows. Only the first page counts the hits.
+     */
+    private NativeSearchQuery page(NativeSearchQueryBuilder builder, IncidentSearchQueryDto queryDto) {
+        if (queryDto.getLimit() != null) {
+            builder.withPageable(PageRequest.of(0, queryDto.getLimit() + 1));
+        }
+        NativeSearchQuery query = builder.build();
+        if (queryDto.getCursor() != null) {
+            query.setTrackTotalHits(false);
+        } else if (Boolean.FALSE.equals(queryDto.getExactTotalHits())) {
+            query.setTrackTotalHitsUpTo(TOTAL_HITS_TRACKING_LIMIT);
+        } else {
+            query.setTrackTotalHits(true);
+        }
+        return query;
+    }
+
+    private static IncidentSearchRanking getRanking(IncidentSearchQueryDto queryDto) {
+        return queryDto.getRanking() == null ? IncidentSearchRanking.RELEVANCE : queryDto.getRanking();
+    }
+
+    private static boolean isLocated(IncidentSearchQueryDto queryDto) {
+        return queryDto.getLatitude() != null && queryDto.getLongitude() != null;
+    }
 }
@@ -0,0 +1,38 @@
+package com.example.emergencydashboard.cache;
+
+import com.example.emergencydashboard.config.CacheConfig;
+import com.example.emergencydashboard.dto.IncidentEntityDto;
+import com.example.emergencydashboard.event.IncidentChangedEvent;
+import com.example.emergencydashboard.model.IncidentChangeType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Keeps the by-id incident cache in line with committed writes: updated incidents replace their entry and deleted
+ * ones are evicted. Running after commit means a rolled back write never reaches the cache; a read that raced with
+ * the write can still store the previous state, which the cache TTL bounds.
+ */
+@Component
+@RequiredArgsConstructor
+public class IncidentCacheUpdater {
+
+    private final CacheManager cacheManager;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onIncidentsChanged(IncidentChangedEvent event) {
+        Cache cache = cacheManager.getCache(CacheConfig.INCIDENT_BY_ID_CACHE);
+        if (cache == null || event.getType() == IncidentChangeType.CREATED) {
+            return;
+        }
+        for (IncidentEntityDto incident : event.getIncidents()) {
+            if (event.getType() == IncidentChangeType.DELETED) {
+                cache.evict(incident.getId());
+            } else {
+                cache.put(incident.getId(), incident);
+            }
+        }
+    }
+}
@@ -0,0 +1,301 @@
+package com.example.emergencydashboard.cache;
+
+import com.example.emergencydashboard.config.IncidentSearchCacheProperties;
+import com.example.emergencydashboard.config.IncidentSearchProperties;
+import com.example.emergencydashboard.dto.IncidentEntityDto;
+import com.example.emergencydashboard.dto.IncidentSearchPageDto;
+import com.example.emergencydashboard.dto.IncidentSearchQueryDto;
+import com.example.emergencydashboard.event.IncidentIndexRefreshedEvent;
+import com.example.emergencydashboard.event.IncidentsIndexedEvent;
+import com.example.emergencydashboard.model.IncidentSearchRanking;
+import com.example.emergencydashboard.model.IncidentType;
+import com.example.emergencydashboard.util.GeoGrid;
+import com.example.emergencydashboard.util.GeoUtils;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.LongConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Caches Elasticsearch search results by normalized query: the location is snapped to a grid no coarser than
+ * {@code incidents.search-cache.coordinate-precision-degrees} and fine enough to move the center by at most
+ * {@code incidents.search-cache.max-snap-error-fraction} of the radius, and the timestamp is truncated to the minute,
+ * so that searches differing only in noise share one entry.
+ * <p>
+ * Entries expire after {@code incidents.search-cache.ttl}. Before that, an entry is invalidated as soon as the outbox
+ * indexer sends an incident to Elasticsearch that the query matches, or that is part of the cached result. Cached
+ * queries are found through the grid cells their search area overlaps and through the ids of their hits. Since the
+ * incident only becomes searchable with the next index refresh, a search in between can cache the previous state, so
+ * the same queries are invalidated once more after the refresh.
+ */
+@Component
+public class IncidentSearchResultCache {
+
+    public static final String CACHE_NAME = "incidentSearch";
+
+    /**
+     * Snapping moves each coordinate by at most half a step, so the center moves by at most this many kilometers per
+     * degree of step; a degree of longitude is never longer than a degree of latitude.
+     */
+    private static final double SNAP_ERROR_KM_PER_DEGREE = GeoUtils.KM_PER_DEGREE_LATITUDE / Math.sqrt(2);
+
+    private final IncidentSearchCacheProperties properties;
+    private final IncidentSearchProperties searchProperties;
+    private final GeoGrid grid;
+    private final Cache<IncidentSearchQueryDto, IncidentSearchPageDto> cache;
+    private final Map<Long, Set<IncidentSearchQueryDto>> queriesByCell = new ConcurrentHashMap<>();
+    private final Set<IncidentSearchQueryDto> unlocatedQueries = ConcurrentHashMap.newKeySet();
+    private final Map<String, Set<IncidentSearchQueryDto>> queriesByIncidentId = new ConcurrentHashMap<>();
+    private final Queue<PendingInvalidation> awaitingRefresh = new ConcurrentLinkedQueue<>();
+    private final Counter invalidationCounter;
+
+    public IncidentSearchResultCache(IncidentSearchCacheProperties properties,
+                                     IncidentSearchProperties searchProperties,
+                                     MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.searchProperties = searchProperties;
+        this.grid = new GeoGrid(properties.getCellDegrees());
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getTtl())
+                .executor(Runnable::run)
+                .removalListener(this::onRemoval)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        this.invalidationCounter = Counter.builder("incidents.search-cache.invalidations")
+                .description("Cached search results dropped because an indexed incident affected them")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Snaps the query to the cache grid. Fields the search ignores are dropped and defaults are filled in, so
+     * equivalent queries are equal; the paging fields are kept as they are, since they select a different page.
+     */
+    public IncidentSearchQueryDto normalize(IncidentSearchQueryDto query) {
+        if (!properties.isEnabled()) {
+            return query;
+        }
+        boolean located = isLocated(query);
+        double radiusKm = searchProperties.resolveRadiusKm(query.getRadiusKm());
+        double step = located ? snapStep(radiusKm) : 0;
+        return IncidentSearchQueryDto.builder()
+                .incidentType(query.getIncidentType() == null ? IncidentType.NONE : query.getIncidentType())
+                .latitude(located ? snap(query.getLatitude(), step) : null)
+                .longitude(located ? snap(query.getLongitude(), step) : null)
+                .timestamp(query.getTimestamp() == null ? null : query.getTimestamp().truncatedTo(ChronoUnit.MINUTES))
+                .ranking(query.getRanking() == null ? IncidentSearchRanking.RELEVANCE : query.getRanking())
+                .radiusKm(radiusKm)
+                .timeWindow(searchProperties.resolveTimeWindow(query.getTimeWindow()))
+                .limit(query.getLimit())
+                .cursor(query.getCursor())
+                .exactTotalHits(query.getExactTotalHits())
+                .build();
+    }
+
+    /**
+     * Returns the cached page of a normalized query, or loads and caches it.
+     */
+    public IncidentSearchPageDto get(IncidentSearchQueryDto normalizedQuery, Supplier<IncidentSearchPageDto> loader) {
+        var page = getIfPresent(normalizedQuery);
+        if (page != null) {
+            return page;
+        }
+        page = loader.get();
+        put(normalizedQuery, page);
+        return page;
+    }
+
+    /**
+     * Returns the cached page of a normalized query, or {@code null}, for callers that load it asynchronously.
+     */
+    public IncidentSearchPageDto getIfPresent(IncidentSearchQueryDto normalizedQuery) {
+        return properties.isEnabled() ? cache.getIfPresent(normalizedQuery) : null;
+    }
+
+    public void put(IncidentSearchQueryDto normalizedQuery, IncidentSearchPageDto page) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        cache.put(normalizedQuery, page);
+        index(normalizedQuery, page.getItems());
+    }
+
+    @EventListener
+    public void onIncidentsIndexed(IncidentsIndexedEvent event) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        invalidate(event);
+        awaitingRefresh.add(new PendingInvalidation(System.nanoTime(), event));
+    }
+
+    /**
+     * Invalidates the queries affected by the writes the refresh made searchable once more, dropping results cached
+     * between the write and the refresh.
+     */
+    @EventListener
+    public void onIndexRefreshed(IncidentIndexRefreshedEvent event) {
+        for (var pending = awaitingRefresh.peek();
+             pending != null && pending.indexedAtNanos() - event.getVisibleBeforeNanos() < 0;
+             pending = awaitingRefresh.peek()) {
+            awaitingRefresh.poll();
+            invalidate(pending.event());
+        }
+    }
+
+    private void invalidate(IncidentsIndexedEvent event) {
+        Set<IncidentSearchQueryDto> affected = new HashSet<>();
+        for (IncidentEntityDto incident : event.getIndexed()) {
+            addQueriesWithHit(incident.getId(), affected);
+            if (incident.getLatitude() != null && incident.getLongitude() != null) {
+                addMatchingQueries(queriesByCell.get(grid.cellOf(incident.getLatitude(), incident.getLongitude())), incident, affected);
+                addMatchingQueries(unlocatedQueries, incident, affected);
+            }
+        }
+        event.getDeletedIds().forEach(id -> addQueriesWithHit(id, affected));
+
+        if (!affected.isEmpty()) {
+            cache.invalidateAll(affected);
+            invalidationCounter.increment(affected.size());
+        }
+    }
+
+    /**
+     * The configured precision, halved until snapping to it moves the center by at most the allowed fraction of the
+     * radius; queries with the same radius get the same step, so they still share entries. 0 means no snapping.
+     */
+    private double snapStep(double radiusKm) {
+        double maxErrorKm = radiusKm * properties.getMaxSnapErrorFraction();
+        double step = properties.getCoordinatePrecisionDegrees();
+        if (maxErrorKm <= 0 || step <= 0) {
+            return 0;
+        }
+        while (step * SNAP_ERROR_KM_PER_DEGREE > maxErrorKm) {
+            step /= 2;
+        }
+        return step;
+    }
+
+    private static double snap(double coordinate, double step) {
+        return step == 0 ? coordinate : Math.round(coordinate / step) * step;
+    }
+
+    private void addQueriesWithHit(String incidentId, Set<IncidentSearchQueryDto> affected) {
+        var queries = queriesByIncidentId.get(incidentId);
+        if (queries != null) {
+            affected.addAll(queries);
+        }
+    }
+
+    private static void addMatchingQueries(Set<IncidentSearchQueryDto> candidates, IncidentEntityDto incident,
+                                           Set<IncidentSearchQueryDto> affected) {
+        if (candidates == null) {
+            return;
+        }
+        for (IncidentSearchQueryDto query : candidates) {
+            if (matches(query, incident)) {
+                affected.add(query);
+            }
+        }
+    }
+
+    /**
+     * Whether the search query of {@code IncidentQueryBuilderImpl} would return the incident. Only called with
+     * normalized queries, which carry their radius, time window and ranking.
+     */
+    private static boolean matches(IncidentSearchQueryDto query, IncidentEntityDto incident) {
+        boolean located = isLocated(query);
+        if (query.getTimestamp() != null) {
+            if (incident.getTimestamp() == null) {
+                return false;
+            }
+            LocalDateTime indexed = incident.getTimestamp().truncatedTo(ChronoUnit.SECONDS);
+            if (indexed.isBefore(query.getTimestamp().minus(query.getTimeWindow()))
+                    || indexed.isAfter(query.getTimestamp().plus(query.getTimeWindow()))) {
+                return false;
+            }
+        }
+        if (located && GeoUtils.distanceKm(query.getLatitude(), query.getLongitude(),
+                incident.getLatitude(), incident.getLongitude()) > query.getRadiusKm()) {
+            return false;
+        }
+        boolean typeFilters = query.getRanking() != IncidentSearchRanking.RELEVANCE
+                || !located && query.getTimestamp() == null;
+        if (typeFilters && query.getIncidentType() != IncidentType.NONE) {
+            return query.getIncidentType() == incident.getIncidentType();
+        }
+        return true;
+    }
+
+    private void index(IncidentSearchQueryDto query, List<IncidentEntityDto> hits) {
+        if (isLocated(query)) {
+            forEachCell(query, cell -> queriesByCell.computeIfAbsent(cell, key -> ConcurrentHashMap.newKeySet()).add(query));
+        } else {
+            unlocatedQueries.add(query);
+        }
+        for (IncidentEntityDto hit : hits) {
+            queriesByIncidentId.computeIfAbsent(hit.getId(), key -> ConcurrentHashMap.newKeySet()).add(query);
+        }
+    }
+
+    private void onRemoval(IncidentSearchQueryDto query, IncidentSearchPageDto page, RemovalCause cause) {
+        if (query == null) {
+            return;
+        }
+        if (isLocated(query)) {
+            forEachCell(query, cell -> queriesByCell.computeIfPresent(cell, (key, queries) -> remove(queries, query)));
+        } else {
+            unlocatedQueries.remove(query);
+        }
+        if (page != null) {
+            for (IncidentEntityDto hit : page.getItems()) {
+                queriesByIncidentId.computeIfPresent(hit.getId(), (key, queries) -> remove(queries, query));
+            }
+        }
+    }
+
+    /**
+     * Visits the cells overlapping the search area of a located query.
+     */
+    private void forEachCell(IncidentSearchQueryDto query, LongConsumer cellConsumer) {
+        double latitude = query.getLatitude();
+        double longitude = query.getLongitude();
+        double latDelta = GeoUtils.latitudeDelta(query.getRadiusKm());
+        double lonDelta = GeoUtils.longitudeDelta(latitude, query.getRadiusKm());
+        boolean allLongitudes = lonDelta >= 180.0;
+        grid.forEachCell(Math.max(-90.0, latitude - latDelta), Math.min(90.0, latitude + latDelta),
+                allLongitudes ? -180.0 : GeoUtils.wrapLongitude(longitude - lonDelta),
+                allLongitudes ? 180.0 : GeoUtils.wrapLongitude(longitude + lonDelta),
+                cellConsumer);
+    }
+
+    private static boolean isLocated(IncidentSearchQueryDto query) {
+        return query.getLatitude() != null && query.getLongitude() != null;
+    }
+
+    private static Set<IncidentSearchQueryDto> remove(Set<IncidentSearchQueryDto> queries, IncidentSearchQueryDto query) {
+        queries.remove(query);
+        return queries.isEmpty() ? null : queries;
+    }
+
+    private record PendingInvalidation(long indexedAtNanos, IncidentsIndexedEvent event) {
+    }
+}
@@ -1,6 +1,8 @@
 package com.example.emergencydashboard.config;
 
 import com.example.emergencydashboard.mapper.IncidentMapper;
+import com.example.emergencydashboard.mapper.TimedIncidentMapper;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -8,7 +10,7 @@ import org.springframework.context.annotation.Configuration;
 public class BeanConfig {
 
     @Bean
-    public IncidentMapper getIncidentMapper() {
-        return IncidentMapper.INSTANCE;
+    public IncidentMapper getIncidentMapper(MeterRegistry meterRegistry) {
+        return new TimedIncidentMapper(IncidentMapper.INSTANCE, meterRegistry);
     }
 }
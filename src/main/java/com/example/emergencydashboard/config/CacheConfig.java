@@ -0,0 +1,14 @@
+package com.example.emergencydashboard.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    /**
+     * {@code IncidentEntityDto} by incident id, sized and expired by {@code spring.cache.caffeine.spec}.
+     */
+    public static final String INCIDENT_BY_ID_CACHE = "incidentById";
+}
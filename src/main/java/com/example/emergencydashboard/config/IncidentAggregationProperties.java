@@ -0,0 +1,60 @@
+package com.example.emergencydashboard.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "incidents.aggregation")
+public class IncidentAggregationProperties {
+
+    /**
+     * Geohash length of the heatmap cells used when the client does not ask for one; 5 is about 5 x 5 km.
+     */
+    private int defaultGeohashPrecision = 5;
+
+    /**
+     * Upper bound on the geohash length; finer requested cells are coarsened to it.
+     */
+    private int maxGeohashPrecision = 8;
+
+    /**
+     * Maximum number of heatmap cells returned, the densest first.
+     */
+    private int maxHeatmapCells = 10000;
+
+    /**
+     * Width of the timeline buckets used when the client does not ask for one.
+     */
+    private Duration defaultInterval = Duration.ofMinutes(5);
+
+    /**
+     * Lower bound on the width of the timeline buckets; narrower requested buckets are widened to it.
+     */
+    private Duration minInterval = Duration.ofMinutes(1);
+
+    public int resolveGeohashPrecision(Integer requested) {
+        if (requested == null) {
+            return Math.min(defaultGeohashPrecision, maxGeohashPrecision);
+        }
+        if (requested < 1) {
+            throw new IllegalArgumentException("Geohash precision must be positive: " + requested);
+        }
+        return Math.min(requested, maxGeohashPrecision);
+    }
+
+    public Duration resolveInterval(Duration requested) {
+        if (requested == null) {
+            return max(defaultInterval, minInterval);
+        }
+        if (requested.isNegative() || requested.isZero()) {
+            throw new IllegalArgumentException("Interval must be positive: " + requested);
+        }
+        return max(requested, minInterval);
+    }
+
+    private static Duration max(Duration first, Duration second) {
+        return first.compareTo(second) >= 0 ? first : second;
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.emergencydashboard.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "incidents.batch")
+public class IncidentBatchProperties {
+
+    /**
+     * Number of incidents written per JPA flush and per Elasticsearch bulk request.
+     * Should be a multiple of hibernate.jdbc.batch_size.
+     */
+    private int chunkSize = 500;
+
+    /**
+     * Upper bound on the number of incidents accepted in a single batch request.
+     */
+    private int maxSize = 10_000;
+}
@@ -0,0 +1,32 @@
+package com.example.emergencydashboard.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "incidents.broadcast")
+public class IncidentBroadcastProperties {
+
+    public enum Mode {
+        /**
+         * One frame per incident, the original message format.
+         */
+        SINGLE,
+        /**
+         * One frame with a JSON array of all incidents saved during a flush interval.
+         */
+        COALESCED
+    }
+
+    private Mode mode = Mode.COALESCED;
+
+    /**
+     * Length of the window in which saved incidents are accumulated before a coalesced frame is sent.
+     */
+    private long flushIntervalMs = 100;
+
+    /**
+     * Upper bound on the number of incidents in one coalesced frame; larger windows are split into several frames.
+     */
+    private int maxIncidentsPerFrame = 500;
+}
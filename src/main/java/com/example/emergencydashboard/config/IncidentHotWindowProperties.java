@@ -0,0 +1,31 @@
+package com.example.emergencydashboard.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "incidents.hot-window")
+public class IncidentHotWindowProperties {
+
+    /**
+     * Whether searches inside the hot window are answered from memory instead of Elasticsearch.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Age of the oldest incident kept in memory. Searches reaching further back go to Elasticsearch.
+     */
+    private Duration window = Duration.ofHours(6);
+
+    /**
+     * Size of a store grid cell in degrees of latitude and longitude.
+     */
+    private double cellDegrees = 0.1;
+
+    /**
+     * Interval between evictions of incidents that fell out of the window.
+     */
+    private long evictIntervalMs = 60000;
+}
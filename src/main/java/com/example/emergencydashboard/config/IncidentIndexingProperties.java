@@ -0,0 +1,62 @@
+package com.example.emergencydashboard.config;
+
+import com.example.emergencydashboard.model.IncidentOutboxOperation;
+import lombok.Data;
+import org.elasticsearch.action.support.WriteRequest.RefreshPolicy;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "incidents.indexing")
+public class IncidentIndexingProperties {
+
+    /**
+     * Maximum number of outbox rows drained into one Elasticsearch bulk request.
+     */
+    private int batchSize = 500;
+
+    /**
+     * Delay before the first retry of a failed outbox row. Doubled on every further attempt.
+     */
+    private Duration retryBackoff = Duration.ofSeconds(1);
+
+    /**
+     * Upper bound for the retry delay.
+     */
+    private Duration maxRetryBackoff = Duration.ofMinutes(1);
+
+    /**
+     * Refresh policy of the bulk requests per operation type. Operations without an entry use {@link RefreshPolicy#NONE}
+     * and become visible with the next index refresh.
+     */
+    private Map<IncidentOutboxOperation, RefreshPolicy> refreshPolicy = new EnumMap<>(IncidentOutboxOperation.class);
+
+    private PeriodicRefresh periodicRefresh = new PeriodicRefresh();
+
+    /**
+     * Refresh interval of the search index itself. Without a periodic refresh, incidents written longer ago than this are
+     * taken to be searchable.
+     */
+    private Duration indexRefreshInterval = Duration.ofSeconds(1);
+
+    public RefreshPolicy refreshPolicyFor(IncidentOutboxOperation operation) {
+        return refreshPolicy.getOrDefault(operation, RefreshPolicy.NONE);
+    }
+
+    @Data
+    public static class PeriodicRefresh {
+
+        /**
+         * Whether to issue one explicit index refresh per interval when incidents were written since the last one.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Interval between coalesced refreshes.
+         */
+        private long intervalMs = 1000;
+    }
+}
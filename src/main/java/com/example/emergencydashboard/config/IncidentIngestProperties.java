@@ -0,0 +1,24 @@
+package com.example.emergencydashboard.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "incidents.ingest")
+public class IncidentIngestProperties {
+
+    /**
+     * Maximum number of STOMP incidents waiting to be persisted. Further incidents are rejected with a backpressure error.
+     */
+    private int queueCapacity = 10_000;
+
+    /**
+     * Maximum number of incidents persisted in one transaction.
+     */
+    private int batchSize = 200;
+
+    /**
+     * How long a started micro-batch waits for more incidents before it is persisted.
+     */
+    private long lingerMs = 20;
+}
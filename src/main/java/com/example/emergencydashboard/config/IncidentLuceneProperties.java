@@ -0,0 +1,25 @@
+package com.example.emergencydashboard.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+
+/**
+ * Embedded Lucene index used instead of Elasticsearch with the {@code lucene} profile.
+ */
+@Data
+@ConfigurationProperties(prefix = "incidents.lucene")
+public class IncidentLuceneProperties {
+
+    /**
+     * Directory of the index, memory-mapped; created when missing.
+     */
+    private Path path = Path.of("data", "lucene-incidents");
+
+    /**
+     * Interval at which writes become visible to searches, like the Elasticsearch refresh interval. Writes with an
+     * {@code immediate} or {@code wait_until} refresh policy are visible as soon as they return.
+     */
+    private long refreshIntervalMs = 1000;
+}
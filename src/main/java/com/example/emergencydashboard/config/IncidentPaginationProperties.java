@@ -0,0 +1,34 @@
+package com.example.emergencydashboard.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "incidents.pagination")
+public class IncidentPaginationProperties {
+
+    /**
+     * Page size used when the client does not ask for one.
+     */
+    private int defaultPageSize = 100;
+
+    /**
+     * Upper bound on the page size; larger requested limits are capped to it.
+     */
+    private int maxPageSize = 1000;
+
+    /**
+     * Exposes {@code GET /api/v1/incidents/all}, which loads the whole table in one response.
+     */
+    private boolean unboundedListEnabled = false;
+
+    public int resolvePageSize(Integer requested) {
+        if (requested == null) {
+            return Math.min(defaultPageSize, maxPageSize);
+        }
+        if (requested < 1) {
+            throw new IllegalArgumentException("Page size must be positive: " + requested);
+        }
+        return Math.min(requested, maxPageSize);
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.emergencydashboard.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "incidents.search-cache")
+public class IncidentSearchCacheProperties {
+
+    /**
+     * Whether search queries are normalized and their Elasticsearch results cached.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Longest time a cached result is served; bounds staleness for writes the invalidation cannot attribute.
+     */
+    private Duration ttl = Duration.ofSeconds(10);
+
+    /**
+     * Maximum number of cached search results.
+     */
+    private long maximumSize = 10000;
+
+    /**
+     * Coarsest grid the query location is snapped to, in degrees of latitude and longitude. Halved for small radii until
+     * the snap moves the search center by at most {@link #maxSnapErrorFraction} of the radius.
+     */
+    private double coordinatePrecisionDegrees = 0.01;
+
+    /**
+     * Largest shift of the search center caused by snapping, as a fraction of the search radius; 0 disables snapping.
+     */
+    private double maxSnapErrorFraction = 0.01;
+
+    /**
+     * Size of the cells used to find the cached searches a written incident may affect, in degrees.
+     */
+    private double cellDegrees = 0.1;
+}
@@ -0,0 +1,21 @@
+package com.example.emergencydashboard.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "incidents.search-coalescing")
+public class IncidentSearchCoalescingProperties {
+
+    /**
+     * Whether concurrent identical searches share one Elasticsearch request.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Longest time a search waits for the result of an identical search already in flight.
+     */
+    private Duration timeout = Duration.ofSeconds(5);
+}
@@ -0,0 +1,21 @@
+package com.example.emergencydashboard.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "incidents.search-log")
+public class IncidentSearchLogProperties {
+
+    /**
+     * Searches taking at least this long, measured by the client, are always logged as slow.
+     */
+    private Duration slowThreshold = Duration.ofMillis(500);
+
+    /**
+     * Share of the faster searches that is logged as well, between 0 (none) and 1 (all).
+     */
+    private double sampleRate = 0.001;
+}
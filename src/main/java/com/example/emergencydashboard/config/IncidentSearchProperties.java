@@ -0,0 +1,65 @@
+package com.example.emergencydashboard.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "incidents.search")
+public class IncidentSearchProperties {
+
+    /**
+     * Radius around the query location used when the client does not ask for one.
+     */
+    private double defaultRadiusKm = 10;
+
+    /**
+     * Upper bound on the radius; larger requested radii are capped to it.
+     */
+    private double maxRadiusKm = 100;
+
+    /**
+     * Half-width of the time window around the query timestamp used when the client does not ask for one.
+     */
+    private Duration defaultTimeWindow = Duration.ofHours(1);
+
+    /**
+     * Upper bound on the half-width of the time window; larger requested windows are capped to it.
+     */
+    private Duration maxTimeWindow = Duration.ofHours(24);
+
+    /**
+     * Longest time a non-blocking search may take; it is then cancelled and the request fails with a timeout.
+     */
+    private Duration deadline = Duration.ofSeconds(3);
+
+    /**
+     * Upper bound on the number of searches accepted in a single batch request.
+     */
+    private int maxBatchSize = 20;
+
+    public double resolveRadiusKm(Double requested) {
+        if (requested == null) {
+            return Math.min(defaultRadiusKm, maxRadiusKm);
+        }
+        if (!(requested > 0)) {
+            throw new IllegalArgumentException("Radius must be positive: " + requested);
+        }
+        return Math.min(requested, maxRadiusKm);
+    }
+
+    public Duration resolveTimeWindow(Duration requested) {
+        if (requested == null) {
+            return min(defaultTimeWindow, maxTimeWindow);
+        }
+        if (requested.isNegative() || requested.isZero()) {
+            throw new IllegalArgumentException("Time window must be positive: " + requested);
+        }
+        return min(requested, maxTimeWindow);
+    }
+
+    private static Duration min(Duration first, Duration second) {
+        return first.compareTo(second) <= 0 ? first : second;
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.emergencydashboard.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "incidents.statistics")
+public class IncidentStatisticsProperties {
+
+    /**
+     * Whether committed writes are counted and the counters published.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Width of a counter bucket; windows are rounded up to whole buckets.
+     */
+    private Duration bucket = Duration.ofSeconds(10);
+
+    /**
+     * Lengths of the windows the counters are reported for, ending now.
+     */
+    private List<Duration> windows = List.of(Duration.ofMinutes(5), Duration.ofMinutes(15), Duration.ofMinutes(60));
+
+    /**
+     * Interval between two publications of the counters to {@code /topic/statistics}.
+     */
+    private long publishIntervalMs = 5000;
+}
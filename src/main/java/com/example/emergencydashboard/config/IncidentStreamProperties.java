@@ -0,0 +1,14 @@
+package com.example.emergencydashboard.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "incidents.stream")
+public class IncidentStreamProperties {
+
+    /**
+     * Number of most recent stream events kept for replay to reconnecting clients.
+     */
+    private int replayCapacity = 10000;
+}
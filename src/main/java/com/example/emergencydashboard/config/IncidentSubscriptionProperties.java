@@ -0,0 +1,19 @@
+package com.example.emergencydashboard.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "incidents.subscriptions")
+public class IncidentSubscriptionProperties {
+
+    /**
+     * Size of a subscription index cell in degrees of latitude and longitude.
+     */
+    private double cellDegrees = 0.5;
+
+    /**
+     * Subscriptions covering more cells than this are kept in a list checked for every incident instead.
+     */
+    private int maxCellsPerSubscription = 4096;
+}
@@ -0,0 +1,22 @@
+package com.example.emergencydashboard.config;
+
+import org.springframework.boot.task.TaskSchedulerBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+
+    /**
+     * Scheduler of the {@code @Scheduled} jobs, sized by {@code spring.task.scheduling.pool.size}. A job never overlaps
+     * itself, so with a thread per job the outbox drain looping over full batches cannot stretch the broadcast flush
+     * interval. Named {@code taskScheduler} so that scheduling picks it over the WebSocket broker's scheduler.
+     */
+    @Bean
+    public ThreadPoolTaskScheduler taskScheduler(TaskSchedulerBuilder builder) {
+        return builder.build();
+    }
+}
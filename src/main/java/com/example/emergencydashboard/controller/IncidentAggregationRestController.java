@@ -0,0 +1,68 @@
+package com.example.emergencydashboard.controller;
+
+import com.example.emergencydashboard.dto.IncidentAggregationDto;
+import com.example.emergencydashboard.dto.IncidentSearchQueryDto;
+import com.example.emergencydashboard.model.IncidentType;
+import com.example.emergencydashboard.service.IncidentAggregationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import javax.validation.constraints.DecimalMax;
+import javax.validation.constraints.DecimalMin;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static com.example.emergencydashboard.dto.IncidentEntityDto.*;
+
+@RestController
+@Profile("!lucene")
+@RequestMapping("/api/v1/incidents/aggregations")
+@RequiredArgsConstructor
+@Validated
+public class IncidentAggregationRestController {
+
+    private final IncidentAggregationService service;
+
+    @GetMapping
+    @ResponseStatus(HttpStatus.OK)
+    public IncidentAggregationDto aggregateIncidents(
+            @RequestParam(required = false)
+            String incidentType,
+            @RequestParam(required = false)
+            @DecimalMin(value = LATITUDE_MIN, message = LATITUDE_RANGE_MESSAGE)
+            @DecimalMax(value = LATITUDE_MAX, message = LATITUDE_RANGE_MESSAGE)
+            Double latitude,
+            @RequestParam(required = false)
+            @DecimalMin(value = LONGITUDE_MIN, message = LONGITUDE_RANGE_MESSAGE)
+            @DecimalMax(value = LONGITUDE_MAX, message = LONGITUDE_RANGE_MESSAGE)
+            Double longitude,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+            LocalDateTime timestamp,
+            @RequestParam(required = false)
+            Double radiusKm,
+            @RequestParam(required = false)
+            Integer timeWindowMinutes,
+            @RequestParam(required = false)
+            Integer geohashPrecision,
+            @RequestParam(required = false)
+            Integer intervalMinutes
+    ) {
+
+        var queryDto = IncidentSearchQueryDto.builder()
+                .incidentType(IncidentType.forValue(incidentType))
+                .latitude(latitude)
+                .longitude(longitude)
+                .timestamp(timestamp)
+                .radiusKm(radiusKm)
+                .timeWindow(timeWindowMinutes == null ? null : Duration.ofMinutes(timeWindowMinutes))
+                .build();
+
+        return service.aggregateIncidents(queryDto, geohashPrecision,
+                intervalMinutes == null ? null : Duration.ofMinutes(intervalMinutes));
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.emergencydashboard.controller;
+
+import com.example.emergencydashboard.dto.IncidentSearchPageDto;
+import com.example.emergencydashboard.dto.IncidentSearchParamsDto;
+import com.example.emergencydashboard.service.IncidentSearchService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import javax.validation.Valid;
+
+/**
+ * Non-blocking variant of {@link IncidentSearchRestController#searchIncidents}: the request is suspended while
+ * Elasticsearch answers, so the servlet thread is released immediately. The search is cancelled as soon as the
+ * request completes for any other reason, such as the client disconnecting.
+ */
+@RestController
+@RequestMapping("/api/v1/incidents/reactive/search")
+@RequiredArgsConstructor
+@Validated
+public class IncidentReactiveSearchRestController {
+
+    private final IncidentSearchService service;
+
+    @GetMapping
+    public DeferredResult<IncidentSearchPageDto> searchIncidents(@Valid @ModelAttribute IncidentSearchParamsDto params) {
+        var result = new DeferredResult<IncidentSearchPageDto>();
+        var search = service.searchIncidentsReactive(params.toQuery())
+                .subscribe(result::setResult, result::setErrorResult);
+        result.onCompletion(search::dispose);
+        return result;
+    }
+}
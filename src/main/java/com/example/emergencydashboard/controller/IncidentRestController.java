@@ -1,14 +1,32 @@
 package com.example.emergencydashboard.controller;
 
+import com.example.emergencydashboard.dto.IncidentBatchResultDto;
+import com.example.emergencydashboard.dto.IncidentChangesDto;
 import com.example.emergencydashboard.dto.IncidentEntityDto;
+import com.example.emergencydashboard.dto.IncidentPageDto;
+import com.example.emergencydashboard.service.IncidentExportService;
 import com.example.emergencydashboard.service.IncidentService;
+import com.example.emergencydashboard.stream.IncidentChangeStream;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import javax.servlet.http.HttpServletRequest;
 import javax.validation.Valid;
+import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/v1/incidents")
@@ -16,7 +34,17 @@ import java.util.List;
 @Validated
 public class IncidentRestController {
 
+    private static final String EXPORT_FILE_NAME = "incidents.ndjson";
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+    /**
+     * Long enough to stream the full history; other async requests keep the container's default timeout.
+     */
+    static final Duration EXPORT_TIMEOUT = Duration.ofHours(1);
+    private static final String EXPORT_TIMEOUT_INTERCEPTOR = IncidentRestController.class.getName() + ".exportTimeout";
+
     private final IncidentService service;
+    private final IncidentChangeStream changeStream;
+    private final IncidentExportService exportService;
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
@@ -24,10 +52,43 @@ public class IncidentRestController {
         return service.saveIncident(incidentEntity);
     }
 
+    @PostMapping("/batch")
+    @ResponseStatus(HttpStatus.OK)
+    public IncidentBatchResultDto createIncidents(@RequestBody List<IncidentEntityDto> incidents) {
+        return service.saveIncidents(incidents);
+    }
+
     @GetMapping
     @ResponseStatus(HttpStatus.OK)
-    public List<IncidentEntityDto> getAllIncidents() {
-        return service.findAllIncidents();
+    public IncidentPageDto getIncidents(@RequestParam(required = false) String cursor,
+                                        @RequestParam(required = false) Integer limit) {
+        return service.findIncidentPage(cursor, limit);
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportIncidents(@RequestParam(defaultValue = "false") boolean gzip,
+                                                                 HttpServletRequest request) {
+        WebAsyncUtils.getAsyncManager(request).registerCallableInterceptor(EXPORT_TIMEOUT_INTERCEPTOR, new ExportTimeoutInterceptor());
+        var response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(EXPORT_FILE_NAME).build().toString());
+        if (!gzip) {
+            return response.body(exportService::exportNdjson);
+        }
+        return response
+                .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                .body(outputStream -> {
+                    try (var gzipStream = new GZIPOutputStream(outputStream, GZIP_BUFFER_SIZE, true)) {
+                        exportService.exportNdjson(gzipStream);
+                    }
+                });
+    }
+
+    @GetMapping("/changes")
+    @ResponseStatus(HttpStatus.OK)
+    public IncidentChangesDto getChanges(@RequestParam(required = false) String streamId,
+                                         @RequestParam(required = false) Long after) {
+        return changeStream.changesSince(streamId, after);
     }
 
     @GetMapping("/{id}")
@@ -48,4 +109,14 @@ public class IncidentRestController {
         service.deleteIncident(id);
     }
 
+    /**
+     * Sets the timeout of this request only, before the streaming body is handed to the async executor.
+     */
+    private static final class ExportTimeoutInterceptor implements CallableProcessingInterceptor {
+
+        @Override
+        public <T> void beforeConcurrentHandling(NativeWebRequest request, Callable<T> task) {
+            ((AsyncWebRequest) request).setTimeout(EXPORT_TIMEOUT.toMillis());
+        }
+    }
 }
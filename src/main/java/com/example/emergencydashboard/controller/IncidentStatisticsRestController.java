@@ -0,0 +1,24 @@
+package com.example.emergencydashboard.controller;
+
+import com.example.emergencydashboard.dto.IncidentStatisticsDto;
+import com.example.emergencydashboard.stats.IncidentStatistics;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/incidents/statistics")
+@RequiredArgsConstructor
+public class IncidentStatisticsRestController {
+
+    private final IncidentStatistics statistics;
+
+    @GetMapping
+    @ResponseStatus(HttpStatus.OK)
+    public IncidentStatisticsDto getStatistics() {
+        return statistics.snapshot();
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.emergencydashboard.controller;
+
+import com.example.emergencydashboard.dto.IncidentEntityDto;
+import com.example.emergencydashboard.service.IncidentService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Legacy endpoint returning every incident in one response. Disabled unless
+ * {@code incidents.pagination.unbounded-list-enabled=true}; clients should page through {@code GET /api/v1/incidents}.
+ */
+@RestController
+@RequestMapping("/api/v1/incidents")
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "incidents.pagination", name = "unbounded-list-enabled", havingValue = "true")
+public class IncidentUnboundedListRestController {
+
+    private final IncidentService service;
+
+    @GetMapping("/all")
+    @ResponseStatus(HttpStatus.OK)
+    public List<IncidentEntityDto> getAllIncidents() {
+        return service.findAllIncidents();
+    }
+}
@@ -1,14 +1,25 @@
 package com.example.emergencydashboard.controller;
 
+import com.example.emergencydashboard.broadcast.IncidentSubscription;
+import com.example.emergencydashboard.broadcast.IncidentSubscriptionIndex;
 import com.example.emergencydashboard.dto.IncidentEntityDto;
-import com.example.emergencydashboard.service.IncidentService;
+import com.example.emergencydashboard.dto.IncidentSubscriptionFilterDto;
+import com.example.emergencydashboard.exception.IngestQueueFullException;
+import com.example.emergencydashboard.exception.InvalidSubscriptionException;
+import com.example.emergencydashboard.ingest.IncidentIngestPipeline;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.messaging.handler.annotation.MessageExceptionHandler;
 import org.springframework.messaging.handler.annotation.MessageMapping;
-import org.springframework.messaging.handler.annotation.SendTo;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.annotation.SendToUser;
 import org.springframework.stereotype.Controller;
 
 import javax.validation.Valid;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 @Controller
 @Slf4j
@@ -16,16 +27,55 @@ import javax.validation.Valid;
 @Valid
 public class WebSocketController {
     private static final String RECEIVED_INCIDENT_TEMPLATE = "Received incident: {}";
-    private static final String INCIDENT_SAVED_TEMPLATE = "Incident {} is successfully saved. Broadcasting it to all subscribers";
+    private static final String INGEST_REJECTED_TEMPLATE = "Rejected incident from session {}: {}";
+    private static final String SUBSCRIPTION_TEMPLATE = "Session {} subscribed with filter: {}";
+    private static final String SUBSCRIPTION_REJECTED_TEMPLATE = "Rejected subscription from session {}: {}";
 
-    private final IncidentService service;
+    private final IncidentIngestPipeline ingestPipeline;
+    private final IncidentSubscriptionIndex subscriptionIndex;
 
     @MessageMapping("/incident")
-    @SendTo("/topic/incidents")
-    public IncidentEntityDto notifyIncident(@Valid IncidentEntityDto incident) {
-        log.info(RECEIVED_INCIDENT_TEMPLATE, incident);
-        IncidentEntityDto savedIncident = service.saveIncident(incident);
-        log.info(INCIDENT_SAVED_TEMPLATE, savedIncident.getId());
-        return savedIncident;
+    public void notifyIncident(@Valid IncidentEntityDto incident,
+                               @Header(SimpMessageHeaderAccessor.SESSION_ID_HEADER) String sessionId) {
+        log.debug(RECEIVED_INCIDENT_TEMPLATE, incident);
+        ingestPipeline.submit(incident, sessionId);
+    }
+
+    @MessageMapping("/subscriptions")
+    public void subscribe(@Valid IncidentSubscriptionFilterDto filter,
+                          @Header(SimpMessageHeaderAccessor.SESSION_ID_HEADER) String sessionId) {
+        log.debug(SUBSCRIPTION_TEMPLATE, sessionId, filter);
+        subscriptionIndex.register(IncidentSubscription.of(sessionId, filter));
+    }
+
+    @MessageMapping("/subscriptions/cancel")
+    public void unsubscribe(@Header(SimpMessageHeaderAccessor.SESSION_ID_HEADER) String sessionId) {
+        subscriptionIndex.unregister(sessionId);
+    }
+
+    @MessageExceptionHandler(IngestQueueFullException.class)
+    @SendToUser(destinations = IncidentIngestPipeline.ERRORS_QUEUE, broadcast = false)
+    public Map<String, Object> handleIngestQueueFull(IngestQueueFullException ex,
+                                                     @Header(SimpMessageHeaderAccessor.SESSION_ID_HEADER) String sessionId) {
+        log.warn(INGEST_REJECTED_TEMPLATE, sessionId, ex.getMessage());
+
+        Map<String, Object> responseBody = new LinkedHashMap<>();
+        responseBody.put("timestamp", LocalDateTime.now().toString());
+        responseBody.put("error", "Backpressure");
+        responseBody.put("message", ex.getMessage());
+        return responseBody;
+    }
+
+    @MessageExceptionHandler(InvalidSubscriptionException.class)
+    @SendToUser(destinations = IncidentIngestPipeline.ERRORS_QUEUE, broadcast = false)
+    public Map<String, Object> handleInvalidSubscription(InvalidSubscriptionException ex,
+                                                         @Header(SimpMessageHeaderAccessor.SESSION_ID_HEADER) String sessionId) {
+        log.warn(SUBSCRIPTION_REJECTED_TEMPLATE, sessionId, ex.getMessage());
+
+        Map<String, Object> responseBody = new LinkedHashMap<>();
+        responseBody.put("timestamp", LocalDateTime.now().toString());
+        responseBody.put("error", "Bad Request");
+        responseBody.put("message", ex.getMessage());
+        return responseBody;
     }
 }
@@ -0,0 +1,49 @@
+package com.example.emergencydashboard.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Counts of the incidents matching a search, for the dashboard heatmap and counters. {@code byType} and
+ * {@code bySeverity} are keyed by the lower-case enum name and only hold the values that occur.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class IncidentAggregationDto {
+
+    private long totalIncidents;
+    private List<HeatmapCell> heatmap;
+    private List<TimelineBucket> timeline;
+    private Map<String, Long> byType;
+    private Map<String, Long> bySeverity;
+
+    /**
+     * Geohash cell with its center, so that clients can draw it without decoding the geohash.
+     */
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class HeatmapCell {
+        private String geohash;
+        private double latitude;
+        private double longitude;
+        private long count;
+    }
+
+    /**
+     * Incidents from {@code timestamp} up to the start of the next bucket; empty buckets are left out.
+     */
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class TimelineBucket {
+        private LocalDateTime timestamp;
+        private long count;
+    }
+}
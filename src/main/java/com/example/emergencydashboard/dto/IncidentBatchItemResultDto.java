@@ -0,0 +1,29 @@
+package com.example.emergencydashboard.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class IncidentBatchItemResultDto {
+
+    public enum Status {
+        CREATED,
+        FAILED
+    }
+
+    private int index;
+    private String id;
+    private Status status;
+    private String error;
+
+    public static IncidentBatchItemResultDto created(int index, String id) {
+        return new IncidentBatchItemResultDto(index, id, Status.CREATED, null);
+    }
+
+    public static IncidentBatchItemResultDto failed(int index, String error) {
+        return new IncidentBatchItemResultDto(index, null, Status.FAILED, error);
+    }
+}
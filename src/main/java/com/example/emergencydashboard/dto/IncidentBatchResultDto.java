@@ -0,0 +1,25 @@
+package com.example.emergencydashboard.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class IncidentBatchResultDto {
+
+    private int total;
+    private int succeeded;
+    private int failed;
+    private List<IncidentBatchItemResultDto> items;
+
+    public static IncidentBatchResultDto of(List<IncidentBatchItemResultDto> items) {
+        int succeeded = (int) items.stream()
+                .filter(item -> item.getStatus() == IncidentBatchItemResultDto.Status.CREATED)
+                .count();
+        return new IncidentBatchResultDto(items.size(), succeeded, items.size() - succeeded, items);
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.emergencydashboard.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Answer to a reconnecting client: either the stream events after its last sequence or, when those are no longer
+ * buffered, a snapshot. The snapshot holds the first page of incidents; the remaining pages are fetched from
+ * {@code GET /api/v1/incidents} with {@code nextCursor}. {@code sequence} is the position to resume from in both cases.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class IncidentChangesDto {
+
+    private String streamId;
+    private long sequence;
+    private boolean snapshot;
+    private List<IncidentStreamEventDto> events;
+    private List<IncidentEntityDto> incidents;
+    private String nextCursor;
+
+    public static IncidentChangesDto delta(String streamId, long sequence, List<IncidentStreamEventDto> events) {
+        return new IncidentChangesDto(streamId, sequence, false, events, null, null);
+    }
+
+    public static IncidentChangesDto snapshot(String streamId, long sequence, IncidentPageDto firstPage) {
+        return new IncidentChangesDto(streamId, sequence, true, null, firstPage.getItems(), firstPage.getNextCursor());
+    }
+}
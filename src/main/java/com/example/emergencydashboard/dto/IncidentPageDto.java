@@ -0,0 +1,19 @@
+package com.example.emergencydashboard.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of incidents; {@code nextCursor} is {@code null} on the last page.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class IncidentPageDto {
+
+    private List<IncidentEntityDto> items;
+    private String nextCursor;
+}
@@ -0,0 +1,32 @@
+package com.example.emergencydashboard.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Result of one search of a batch: its page, or why this search alone failed.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class IncidentSearchBatchItemDto {
+
+    public enum Status {
+        OK,
+        FAILED
+    }
+
+    private int index;
+    private Status status;
+    private IncidentSearchPageDto page;
+    private String error;
+
+    public static IncidentSearchBatchItemDto ok(int index, IncidentSearchPageDto page) {
+        return new IncidentSearchBatchItemDto(index, Status.OK, page, null);
+    }
+
+    public static IncidentSearchBatchItemDto failed(int index, String error) {
+        return new IncidentSearchBatchItemDto(index, Status.FAILED, null, error);
+    }
+}
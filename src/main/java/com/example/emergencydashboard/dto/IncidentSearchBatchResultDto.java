@@ -0,0 +1,25 @@
+package com.example.emergencydashboard.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class IncidentSearchBatchResultDto {
+
+    private int total;
+    private int succeeded;
+    private int failed;
+    private List<IncidentSearchBatchItemDto> items;
+
+    public static IncidentSearchBatchResultDto of(List<IncidentSearchBatchItemDto> items) {
+        int succeeded = (int) items.stream()
+                .filter(item -> item.getStatus() == IncidentSearchBatchItemDto.Status.OK)
+                .count();
+        return new IncidentSearchBatchResultDto(items.size(), succeeded, items.size() - succeeded, items);
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.emergencydashboard.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of search hits; {@code nextCursor} is {@code null} on the last page. The total number of hits is only
+ * reported on the first page: {@code totalHitsRelation} is {@code eq} when {@code totalHits} is exact and {@code gte}
+ * when counting stopped early.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class IncidentSearchPageDto {
+
+    public static final String TOTAL_HITS_EXACT = "eq";
+    public static final String TOTAL_HITS_LOWER_BOUND = "gte";
+
+    private List<IncidentEntityDto> items;
+    private String nextCursor;
+    private Long totalHits;
+    private String totalHitsRelation;
+
+    /**
+     * Builds a page from hits fetched with one hit of lookahead beyond {@code limit}.
+     *
+     * @param cursorOf position of the last hit on the page, applied only when another page follows
+     */
+    public static <T> IncidentSearchPageDto of(List<T> hits, int limit,
+                                               Function<T, IncidentEntityDto> toItem,
+                                               Function<T, String> cursorOf,
+                                               Long totalHits, String totalHitsRelation) {
+        var pageHits = hits.size() <= limit ? hits : hits.subList(0, limit);
+        var items = pageHits.stream().map(toItem).toList();
+        var nextCursor = hits.size() <= limit ? null : cursorOf.apply(pageHits.get(pageHits.size() - 1));
+        return new IncidentSearchPageDto(items, nextCursor, totalHits, totalHitsRelation);
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.emergencydashboard.dto;
+
+import com.example.emergencydashboard.model.IncidentSearchRanking;
+import com.example.emergencydashboard.model.IncidentType;
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import javax.validation.constraints.DecimalMax;
+import javax.validation.constraints.DecimalMin;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static com.example.emergencydashboard.dto.IncidentEntityDto.*;
+
+/**
+ * Query parameters of the search endpoints, bound as a {@code @ModelAttribute} by both the blocking and the
+ * non-blocking controller. All parameters are optional; {@link #toQuery()} turns them into the search query.
+ */
+@Data
+public class IncidentSearchParamsDto {
+    private String incidentType;
+
+    @DecimalMin(value = LATITUDE_MIN, message = LATITUDE_RANGE_MESSAGE)
+    @DecimalMax(value = LATITUDE_MAX, message = LATITUDE_RANGE_MESSAGE)
+    private Double latitude;
+
+    @DecimalMin(value = LONGITUDE_MIN, message = LONGITUDE_RANGE_MESSAGE)
+    @DecimalMax(value = LONGITUDE_MAX, message = LONGITUDE_RANGE_MESSAGE)
+    private Double longitude;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime timestamp;
+
+    private String ranking;
+    private Double radiusKm;
+    private Integer timeWindowMinutes;
+    private String cursor;
+    private Integer limit;
+    private Boolean exactTotalHits;
+
+    /**
+     * @throws IllegalArgumentException when the incident type or the ranking is unknown
+     */
+    public IncidentSearchQueryDto toQuery() {
+        return IncidentSearchQueryDto.builder()
+                .incidentType(IncidentType.forValue(incidentType))
+                .latitude(latitude)
+                .longitude(longitude)
+                .timestamp(timestamp)
+                .ranking(IncidentSearchRanking.forValue(ranking))
+                .radiusKm(radiusKm)
+                .timeWindow(timeWindowMinutes == null ? null : Duration.ofMinutes(timeWindowMinutes))
+                .cursor(cursor)
+                .limit(limit)
+                .exactTotalHits(exactTotalHits)
+                .build();
+    }
+}
@@ -1,18 +1,54 @@
 package com.example.emergencydashboard.dto;
 
+import com.example.emergencydashboard.model.IncidentSearchRanking;
 import com.example.emergencydashboard.model.IncidentType;
 import com.example.emergencydashboard.model.SeverityLevel;
 import lombok.Builder;
 import lombok.Data;
+import lombok.extern.jackson.Jacksonized;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
+@Jacksonized
 public class IncidentSearchQueryDto {
     private IncidentType incidentType;
     private Double latitude;
     private Double longitude;
     private LocalDateTime timestamp;
     private SeverityLevel severityLevel;
+
+    /**
+     * Order of the hits; {@code null} ranks by relevance.
+     */
+    private IncidentSearchRanking ranking;
+
+    /**
+     * Radius around the location in kilometers; {@code null} uses {@code incidents.search.default-radius-km}.
+     */
+    private Double radiusKm;
+
+    /**
+     * Half-width of the time window around the timestamp; {@code null} uses
+     * {@code incidents.search.default-time-window}.
+     */
+    private Duration timeWindow;
+
+    /**
+     * Maximum number of hits on the page.
+     */
+    private Integer limit;
+
+    /**
+     * {@code nextCursor} of the previous page; {@code null} for the first page.
+     */
+    private String cursor;
+
+    /**
+     * Whether the first page counts all hits exactly; otherwise counting stops at
+     * {@code IncidentQueryBuilder.TOTAL_HITS_TRACKING_LIMIT}. {@code null} counts exactly.
+     */
+    private Boolean exactTotalHits;
 }
@@ -0,0 +1,37 @@
+package com.example.emergencydashboard.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Incident counts of the windows ending at {@code timestamp}. Counts are keyed by the lower-case enum names and only
+ * hold the values that occur.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class IncidentStatisticsDto {
+
+    private LocalDateTime timestamp;
+    private List<Window> windows;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Window {
+        private long windowSeconds;
+        private long total;
+        private Map<String, Long> byType;
+        private Map<String, Long> bySeverity;
+
+        /**
+         * Counts per severity within each type.
+         */
+        private Map<String, Map<String, Long>> byTypeAndSeverity;
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.emergencydashboard.dto;
+
+import com.example.emergencydashboard.model.IncidentChangeType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class IncidentStreamEventDto {
+
+    private long sequence;
+    private IncidentChangeType type;
+    private String incidentId;
+    private IncidentEntityDto incident;
+}
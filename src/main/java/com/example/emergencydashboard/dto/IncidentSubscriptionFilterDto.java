@@ -0,0 +1,64 @@
+package com.example.emergencydashboard.dto;
+
+import com.example.emergencydashboard.model.IncidentType;
+import com.example.emergencydashboard.model.SeverityLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.DecimalMax;
+import javax.validation.constraints.DecimalMin;
+import javax.validation.constraints.Positive;
+import java.util.Set;
+
+import static com.example.emergencydashboard.dto.IncidentEntityDto.*;
+
+/**
+ * Filter sent to {@code /app/subscriptions}. The area is either a bounding box (all four bounds, a box with
+ * {@code minLongitude > maxLongitude} crosses the antimeridian) or a circle ({@code latitude}, {@code longitude} and
+ * {@code radiusKm}); without an area the filter matches incidents anywhere.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class IncidentSubscriptionFilterDto {
+
+    @DecimalMin(value = LATITUDE_MIN, message = LATITUDE_RANGE_MESSAGE)
+    @DecimalMax(value = LATITUDE_MAX, message = LATITUDE_RANGE_MESSAGE)
+    private Double minLatitude;
+
+    @DecimalMin(value = LATITUDE_MIN, message = LATITUDE_RANGE_MESSAGE)
+    @DecimalMax(value = LATITUDE_MAX, message = LATITUDE_RANGE_MESSAGE)
+    private Double maxLatitude;
+
+    @DecimalMin(value = LONGITUDE_MIN, message = LONGITUDE_RANGE_MESSAGE)
+    @DecimalMax(value = LONGITUDE_MAX, message = LONGITUDE_RANGE_MESSAGE)
+    private Double minLongitude;
+
+    @DecimalMin(value = LONGITUDE_MIN, message = LONGITUDE_RANGE_MESSAGE)
+    @DecimalMax(value = LONGITUDE_MAX, message = LONGITUDE_RANGE_MESSAGE)
+    private Double maxLongitude;
+
+    @DecimalMin(value = LATITUDE_MIN, message = LATITUDE_RANGE_MESSAGE)
+    @DecimalMax(value = LATITUDE_MAX, message = LATITUDE_RANGE_MESSAGE)
+    private Double latitude;
+
+    @DecimalMin(value = LONGITUDE_MIN, message = LONGITUDE_RANGE_MESSAGE)
+    @DecimalMax(value = LONGITUDE_MAX, message = LONGITUDE_RANGE_MESSAGE)
+    private Double longitude;
+
+    @Positive(message = "Radius must be positive")
+    private Double radiusKm;
+
+    /**
+     * Incident types to receive; empty or missing means all types.
+     */
+    private Set<IncidentType> incidentTypes;
+
+    /**
+     * Lowest severity to receive; missing means all severities.
+     */
+    private SeverityLevel minSeverityLevel;
+}
@@ -0,0 +1,38 @@
+package com.example.emergencydashboard.event;
+
+import com.example.emergencydashboard.dto.IncidentEntityDto;
+import com.example.emergencydashboard.model.IncidentChangeType;
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Published by {@code IncidentServiceImpl} inside the writing transaction and delivered to
+ * {@code @TransactionalEventListener}s once it commits. For {@link IncidentChangeType#DELETED} the incidents hold
+ * their last state before deletion.
+ */
+@Value
+@AllArgsConstructor
+public class IncidentChangedEvent {
+    IncidentChangeType type;
+    List<IncidentEntityDto> incidents;
+
+    /**
+     * For {@link IncidentChangeType#UPDATED}, the state of each of the {@code incidents} before the write, in the same
+     * order; empty for the other types.
+     */
+    List<IncidentEntityDto> previousIncidents;
+
+    public IncidentChangedEvent(IncidentChangeType type, List<IncidentEntityDto> incidents) {
+        this(type, incidents, List.of());
+    }
+
+    public static IncidentChangedEvent of(IncidentChangeType type, IncidentEntityDto incident) {
+        return new IncidentChangedEvent(type, List.of(incident));
+    }
+
+    public static IncidentChangedEvent updated(IncidentEntityDto previous, IncidentEntityDto incident) {
+        return new IncidentChangedEvent(IncidentChangeType.UPDATED, List.of(incident), List.of(previous));
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.emergencydashboard.event;
+
+import lombok.Value;
+
+/**
+ * Published by {@code IncidentIndexRefresher} once the incidents sent to the search index before
+ * {@code visibleBeforeNanos}, a {@link System#nanoTime()} reading, have become searchable.
+ */
+@Value
+public class IncidentIndexRefreshedEvent {
+    long visibleBeforeNanos;
+}
@@ -0,0 +1,17 @@
+package com.example.emergencydashboard.event;
+
+import com.example.emergencydashboard.dto.IncidentEntityDto;
+import lombok.Value;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Published by {@code IncidentOutboxIndexer} once a batch of incidents was sent to Elasticsearch: {@code indexed} holds
+ * the state written to the index and {@code deletedIds} the incidents removed from it.
+ */
+@Value
+public class IncidentsIndexedEvent {
+    List<IncidentEntityDto> indexed;
+    Set<String> deletedIds;
+}
@@ -4,8 +4,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.validation.BindException;
 import org.springframework.validation.FieldError;
-import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.context.request.WebRequest;
@@ -30,8 +30,12 @@ public class GlobalExceptionHandler {
     public static final String VALIDATION_ERROR = "Validation Error";
     public static final String BAD_REQUEST = "Bad Request";
 
-    @ExceptionHandler(MethodArgumentNotValidException.class)
-    public ResponseEntity<Object> handleValidationExceptions(MethodArgumentNotValidException ex, WebRequest request) {
+    /**
+     * Handles invalid request bodies ({@link org.springframework.web.bind.MethodArgumentNotValidException}) as well
+     * as invalid query parameters bound to a {@code @ModelAttribute}.
+     */
+    @ExceptionHandler(BindException.class)
+    public ResponseEntity<Object> handleValidationExceptions(BindException ex, WebRequest request) {
         Map<String, Object> responseBody = new HashMap<>();
         responseBody.put(TIMESTAMP, LocalDateTime.now());
         responseBody.put(STATUS, HttpStatus.BAD_REQUEST.value());
@@ -110,6 +114,20 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(responseBody, HttpStatus.NOT_FOUND);
     }
 
+    @ExceptionHandler(SearchTimeoutException.class)
+    public ResponseEntity<Object> handleSearchTimeoutException(SearchTimeoutException ex, WebRequest request) {
+
+        log.warn("Search timed out", ex);
+
+        Map<String, Object> responseBody = new HashMap<>();
+        responseBody.put(TIMESTAMP, LocalDateTime.now());
+        responseBody.put(STATUS, HttpStatus.GATEWAY_TIMEOUT.value());
+        responseBody.put(ERROR, "Gateway Timeout");
+        responseBody.put(MESSAGE, ex.getMessage());
+
+        return new ResponseEntity<>(responseBody, HttpStatus.GATEWAY_TIMEOUT);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Object> handleAllExceptions(Exception ex, WebRequest request) {
 
@@ -0,0 +1,8 @@
+package com.example.emergencydashboard.exception;
+
+public class IngestQueueFullException extends RuntimeException {
+
+    public IngestQueueFullException(int capacity) {
+        super("Incident ingest queue is full (capacity " + capacity + "), retry later");
+    }
+}
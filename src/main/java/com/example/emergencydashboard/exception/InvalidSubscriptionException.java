@@ -0,0 +1,8 @@
+package com.example.emergencydashboard.exception;
+
+public class InvalidSubscriptionException extends RuntimeException {
+
+    public InvalidSubscriptionException(String message) {
+        super(message);
+    }
+}
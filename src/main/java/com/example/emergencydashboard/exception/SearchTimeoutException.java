@@ -0,0 +1,10 @@
+package com.example.emergencydashboard.exception;
+
+import java.time.Duration;
+
+public class SearchTimeoutException extends RuntimeException {
+
+    public SearchTimeoutException(Duration timeout) {
+        super("No search result within " + timeout.toMillis() + " ms, retry later");
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.emergencydashboard.executor;
+
+import com.example.emergencydashboard.model.IncidentDocument;
+import org.springframework.data.elasticsearch.core.SearchHits;
+
+/**
+ * Outcome of one query of a multi-search: its hits, or the failure Elasticsearch reported for that query alone.
+ */
+public record IncidentMultiSearchItem(SearchHits<IncidentDocument> searchHits, Exception failure) {
+
+    public boolean isFailure() {
+        return failure != null;
+    }
+}
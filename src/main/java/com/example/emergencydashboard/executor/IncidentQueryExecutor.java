@@ -1,9 +1,25 @@
 package com.example.emergencydashboard.executor;
 
 import com.example.emergencydashboard.model.IncidentDocument;
+import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.search.builder.SearchSourceBuilder;
 import org.springframework.data.elasticsearch.core.SearchHits;
 import org.springframework.data.elasticsearch.core.query.Query;
 
+import java.util.List;
+
 public interface IncidentQueryExecutor {
     SearchHits<IncidentDocument> executeQuery(Query searchQuery);
+
+    /**
+     * Runs the search against the incidents index as is, for requests such as aggregations that the
+     * {@link Query} API does not cover.
+     */
+    SearchResponse executeSearch(SearchSourceBuilder source);
+
+    /**
+     * Runs the queries in a single {@code _msearch} request. Item {@code i} of the result belongs to query {@code i};
+     * a query that fails does not fail the others.
+     */
+    List<IncidentMultiSearchItem> executeQueries(List<Query> searchQueries);
 }
@@ -1,36 +1,160 @@
 package com.example.emergencydashboard.executor;
 
+import com.example.emergencydashboard.json.IncidentDocumentReader;
+import com.example.emergencydashboard.metrics.IncidentSearchMetrics;
+import com.example.emergencydashboard.metrics.IncidentSearchMetrics.Operation;
+import com.example.emergencydashboard.metrics.IncidentSearchMetrics.Stage;
 import com.example.emergencydashboard.model.IncidentDocument;
 import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.search.TotalHits;
+import org.elasticsearch.action.search.MultiSearchRequest;
+import org.elasticsearch.action.search.MultiSearchResponse;
+import org.elasticsearch.action.search.SearchRequest;
+import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.client.RequestOptions;
+import org.elasticsearch.search.builder.SearchSourceBuilder;
+import org.springframework.context.annotation.Profile;
 import org.springframework.data.elasticsearch.core.ElasticsearchRestTemplate;
+import org.springframework.data.elasticsearch.core.SearchHit;
 import org.springframework.data.elasticsearch.core.SearchHits;
+import org.springframework.data.elasticsearch.core.SearchHitsImpl;
+import org.springframework.data.elasticsearch.core.TotalHitsRelation;
 import org.springframework.data.elasticsearch.core.query.NativeSearchQuery;
 import org.springframework.data.elasticsearch.core.query.Query;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sends the searches through the client rather than the template, so that the time Elasticsearch reports for them
+ * reaches the {@link IncidentSearchLog}. Requests are built the way the template builds them; hits are read by the
+ * {@link IncidentDocumentReader}. The time Elasticsearch takes is recorded as the execute or aggregate stage, without
+ * mapping the response.
+ */
 @Component
+@Profile("!lucene")
 @RequiredArgsConstructor
-@Slf4j
 public class IncidentQueryExecutorImpl implements IncidentQueryExecutor {
 
+    /**
+     * Page size of unpaged queries, as the template sends them: the default maximum result window.
+     */
+    private static final int UNPAGED_SIZE = 10_000;
+
     private final ElasticsearchRestTemplate elasticsearchTemplate;
+    private final IncidentSearchLog searchLog;
+    private final IncidentSearchMetrics metrics;
 
     @Override
     public SearchHits<IncidentDocument> executeQuery(Query searchQuery) {
-        logQuery(searchQuery);
-        SearchHits<IncidentDocument> searchHits = elasticsearchTemplate.search(searchQuery, IncidentDocument.class);
-        logResults(searchHits);
-        return searchHits;
+        var request = searchRequest(searchQuery);
+        long start = System.nanoTime();
+        SearchResponse response = execute(client -> client.search(request, RequestOptions.DEFAULT), Operation.SEARCH);
+        long elapsedNanos = System.nanoTime() - start;
+        metrics.record(Stage.EXECUTE, elapsedNanos);
+        searchLog.record(request.source(), response, elapsedNanos);
+        return toSearchHits(response);
+    }
+
+    @Override
+    public SearchResponse executeSearch(SearchSourceBuilder source) {
+        var request = new SearchRequest(elasticsearchTemplate.getIndexCoordinatesFor(IncidentDocument.class).getIndexName())
+                .source(source);
+        long start = System.nanoTime();
+        SearchResponse response = execute(client -> client.search(request, RequestOptions.DEFAULT), Operation.AGGREGATION);
+        long elapsedNanos = System.nanoTime() - start;
+        metrics.record(Stage.AGGREGATE, elapsedNanos);
+        searchLog.record(source, response, elapsedNanos);
+        return response;
+    }
+
+    /**
+     * The template's own multi-search fails as a whole when one query fails, so each response is mapped on its own.
+     * Every query is logged with the latency of the whole request, since they share it.
+     */
+    @Override
+    public List<IncidentMultiSearchItem> executeQueries(List<Query> searchQueries) {
+        var request = new MultiSearchRequest();
+        for (Query searchQuery : searchQueries) {
+            request.add(searchRequest(searchQuery));
+        }
+
+        long start = System.nanoTime();
+        MultiSearchResponse response = execute(client -> client.msearch(request, RequestOptions.DEFAULT), Operation.MULTI_SEARCH);
+        long elapsedNanos = System.nanoTime() - start;
+        metrics.record(Stage.EXECUTE, elapsedNanos);
+
+        var items = response.getResponses();
+        List<IncidentMultiSearchItem> results = new ArrayList<>(items.length);
+        for (int i = 0; i < items.length; i++) {
+            if (items[i].isFailure()) {
+                metrics.recordError(Operation.MULTI_SEARCH);
+                results.add(new IncidentMultiSearchItem(null, items[i].getFailure()));
+            } else {
+                searchLog.record(request.requests().get(i).source(), items[i].getResponse(), elapsedNanos);
+                results.add(new IncidentMultiSearchItem(toSearchHits(items[i].getResponse()), null));
+            }
+        }
+        return results;
     }
 
-    private void logResults(SearchHits<IncidentDocument> searchHits) {
-        log.info("Search hits found: {}", searchHits.getSearchHits());
+    private <T> T execute(ElasticsearchRestTemplate.ClientCallback<T> callback, Operation operation) {
+        try {
+            return elasticsearchTemplate.execute(callback);
+        } catch (RuntimeException e) {
+            metrics.recordError(operation);
+            throw e;
+        }
     }
 
-    private void logQuery(Query searchQuery) {
-        if (searchQuery instanceof NativeSearchQuery nativeSearchQuery) {
-            log.info("Searching with custom NativeSearchQuery: {}", nativeSearchQuery.getQuery());
+    /**
+     * Builds the request as the template builds it for native queries, from the parts the query builder sets: the query
+     * and its filter, the sorts, the page, the total hits tracking and the search type. The template's request factory
+     * is not public.
+     */
+    private SearchRequest searchRequest(Query searchQuery) {
+        if (!(searchQuery instanceof NativeSearchQuery nativeSearchQuery)) {
+            throw new IllegalArgumentException("Only native search queries are supported");
+        }
+        var source = new SearchSourceBuilder()
+                .query(nativeSearchQuery.getQuery())
+                .postFilter(nativeSearchQuery.getFilter());
+        if (nativeSearchQuery.getElasticsearchSorts() != null) {
+            nativeSearchQuery.getElasticsearchSorts().forEach(source::sort);
         }
+        if (searchQuery.getPageable().isPaged()) {
+            source.from((int) searchQuery.getPageable().getOffset()).size(searchQuery.getPageable().getPageSize());
+        } else {
+            source.size(UNPAGED_SIZE);
+        }
+        if (searchQuery.getTrackTotalHits() != null) {
+            source.trackTotalHits(searchQuery.getTrackTotalHits());
+        } else if (searchQuery.getTrackTotalHitsUpTo() != null) {
+            source.trackTotalHitsUpTo(searchQuery.getTrackTotalHitsUpTo());
+        }
+
+        var request = new SearchRequest(elasticsearchTemplate.getIndexCoordinatesFor(IncidentDocument.class).getIndexName())
+                .source(source);
+        if (searchQuery.getSearchType() != null) {
+            request.searchType(searchQuery.getSearchType());
+        }
+        return request;
+    }
+
+    private SearchHits<IncidentDocument> toSearchHits(SearchResponse response) {
+        List<SearchHit<IncidentDocument>> hits = new ArrayList<>();
+        for (var hit : response.getHits().getHits()) {
+            hits.add(new SearchHit<>(hit.getIndex(), hit.getId(), hit.getScore(), hit.getSortValues(), null,
+                    IncidentDocumentReader.read(hit.getId(), hit.getSourceRef())));
+        }
+
+        TotalHits totalHits = response.getHits().getTotalHits();
+        return new SearchHitsImpl<>(
+                totalHits == null ? 0 : totalHits.value,
+                totalHits == null || totalHits.relation == TotalHits.Relation.EQUAL_TO
+                        ? TotalHitsRelation.EQUAL_TO
+                        : TotalHitsRelation.GREATER_THAN_OR_EQUAL_TO,
+                response.getHits().getMaxScore(), null, hits, null);
     }
 }
@@ -0,0 +1,14 @@
+package com.example.emergencydashboard.executor;
+
+import com.example.emergencydashboard.model.IncidentDocument;
+import org.springframework.data.elasticsearch.core.SearchHits;
+import org.springframework.data.elasticsearch.core.query.Query;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link IncidentQueryExecutor}: no thread waits for Elasticsearch, and cancelling the
+ * subscription cancels the request.
+ */
+public interface IncidentReactiveQueryExecutor {
+    Mono<SearchHits<IncidentDocument>> executeQuery(Query searchQuery);
+}
@@ -0,0 +1,50 @@
+package com.example.emergencydashboard.executor;
+
+import com.example.emergencydashboard.metrics.IncidentSearchMetrics;
+import com.example.emergencydashboard.model.IncidentDocument;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.elasticsearch.core.ReactiveElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.SearchHits;
+import org.springframework.data.elasticsearch.core.query.NativeSearchQuery;
+import org.springframework.data.elasticsearch.core.query.Query;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Runs searches through the reactive Elasticsearch client. The hits and the total come from the one search response, as
+ * with {@link IncidentQueryExecutorImpl}, so the total follows the query's total hits tracking: a lower bound past
+ * {@code trackTotalHitsUpTo}, and absent when tracking is off. The template does not report the time Elasticsearch
+ * took, so the {@link IncidentSearchLog} only gets the latency.
+ */
+@Component
+@Profile("!lucene")
+@RequiredArgsConstructor
+public class IncidentReactiveQueryExecutorImpl implements IncidentReactiveQueryExecutor {
+
+    private final ReactiveElasticsearchOperations elasticsearchOperations;
+    private final IncidentSearchLog searchLog;
+    private final IncidentSearchMetrics metrics;
+
+    @Override
+    public Mono<SearchHits<IncidentDocument>> executeQuery(Query searchQuery) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            boolean tracked = !Boolean.FALSE.equals(searchQuery.getTrackTotalHits());
+            return elasticsearchOperations.searchForPage(searchQuery, IncidentDocument.class).map(page -> {
+                long elapsedNanos = System.nanoTime() - start;
+                SearchHits<IncidentDocument> searchHits = page.getSearchHits();
+                metrics.record(IncidentSearchMetrics.Stage.EXECUTE, elapsedNanos);
+                searchLog.record(() -> queryOf(searchQuery), IncidentSearchLog.UNKNOWN_TOOK, elapsedNanos,
+                        searchHits.getSearchHits().size(), tracked ? searchHits.getTotalHits() : null);
+                return searchHits;
+            }).doOnError(e -> metrics.recordError(IncidentSearchMetrics.Operation.SEARCH));
+        });
+    }
+
+    private static String queryOf(Query searchQuery) {
+        return searchQuery instanceof NativeSearchQuery nativeSearchQuery
+                ? String.valueOf(nativeSearchQuery.getQuery())
+                : searchQuery.toString();
+    }
+}
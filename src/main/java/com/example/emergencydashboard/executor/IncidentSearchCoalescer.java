@@ -0,0 +1,97 @@
+package com.example.emergencydashboard.executor;
+
+import com.example.emergencydashboard.config.IncidentSearchCoalescingProperties;
+import com.example.emergencydashboard.dto.IncidentSearchPageDto;
+import com.example.emergencydashboard.dto.IncidentSearchQueryDto;
+import com.example.emergencydashboard.exception.SearchTimeoutException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Lets concurrent identical searches share one Elasticsearch request: the first caller for a query runs it, every
+ * caller arriving while it is in flight waits for that result instead of sending its own. Nothing is kept once the
+ * search completes, so a later caller always gets a fresh result.
+ * <p>
+ * Searches are keyed by their query DTO, which fully determines the query {@code IncidentQueryBuilder} builds.
+ */
+@Component
+public class IncidentSearchCoalescer {
+
+    private final IncidentSearchCoalescingProperties properties;
+    private final Map<IncidentSearchQueryDto, CompletableFuture<IncidentSearchPageDto>> inFlight = new ConcurrentHashMap<>();
+    private final Counter coalescedCounter;
+    private final Counter timeoutCounter;
+
+    public IncidentSearchCoalescer(IncidentSearchCoalescingProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+
+        Gauge.builder("incidents.search.in-flight", inFlight, Map::size)
+                .description("Distinct searches currently running against Elasticsearch")
+                .register(meterRegistry);
+        this.coalescedCounter = Counter.builder("incidents.search.coalesced")
+                .description("Searches answered by an identical search already in flight")
+                .register(meterRegistry);
+        this.timeoutCounter = Counter.builder("incidents.search.coalesced.timeouts")
+                .description("Searches that gave up waiting for an identical search in flight")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs the search, or joins the identical one in flight.
+     *
+     * @throws SearchTimeoutException when the search in flight does not complete within
+     *                                {@code incidents.search-coalescing.timeout}
+     */
+    public IncidentSearchPageDto execute(IncidentSearchQueryDto query, Supplier<IncidentSearchPageDto> search) {
+        if (!properties.isEnabled()) {
+            return search.get();
+        }
+        var own = new CompletableFuture<IncidentSearchPageDto>();
+        var running = inFlight.putIfAbsent(query, own);
+        if (running != null) {
+            coalescedCounter.increment();
+            return await(running);
+        }
+
+        try {
+            var page = search.get();
+            own.complete(page);
+            return page;
+        } catch (RuntimeException | Error e) {
+            own.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(query, own);
+        }
+    }
+
+    private IncidentSearchPageDto await(CompletableFuture<IncidentSearchPageDto> running) {
+        try {
+            return running.get(properties.getTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            timeoutCounter.increment();
+            throw new SearchTimeoutException(properties.getTimeout());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SearchTimeoutException(properties.getTimeout());
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
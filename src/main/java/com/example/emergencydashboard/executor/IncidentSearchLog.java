@@ -0,0 +1,67 @@
+package com.example.emergencydashboard.executor;
+
+import com.example.emergencydashboard.config.IncidentSearchLogProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.search.TotalHits;
+import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.search.builder.SearchSourceBuilder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Logs each search that took at least {@code incidents.search-log.slow-threshold} at WARN, and a random
+ * {@code incidents.search-log.sample-rate} share of the others at INFO, on the {@code incidents.search-log} logger.
+ * Each entry is one line of key-value pairs: the time Elasticsearch reported ({@code took_ms}, {@code -1} when
+ * unknown), the time the client waited ({@code latency_ms}), the number of hits returned and counted, and the query as
+ * JSON. Searches that are not logged cost a clock read and a comparison; the JSON is only rendered for logged ones.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j(topic = "incidents.search-log")
+public class IncidentSearchLog {
+
+    public static final long UNKNOWN_TOOK = -1;
+
+    private static final String ENTRY_FORMAT = "took_ms={} latency_ms={} hits={} total_hits={} query={}";
+
+    private final IncidentSearchLogProperties properties;
+
+    public void record(SearchSourceBuilder source, SearchResponse response, long elapsedNanos) {
+        if (!shouldLog(elapsedNanos)) {
+            return;
+        }
+        TotalHits totalHits = response.getHits().getTotalHits();
+        write(elapsedNanos, response.getTook().millis(), response.getHits().getHits().length,
+                totalHits == null ? null : totalHits.value, source::toString);
+    }
+
+    /**
+     * @param totalHits counted hits, or {@code null} when the search did not count them
+     */
+    public void record(Supplier<String> query, long tookMillis, long elapsedNanos, int hits, Long totalHits) {
+        if (shouldLog(elapsedNanos)) {
+            write(elapsedNanos, tookMillis, hits, totalHits, query);
+        }
+    }
+
+    boolean shouldLog(long elapsedNanos) {
+        return isSlow(elapsedNanos) ? log.isWarnEnabled()
+                : log.isInfoEnabled() && ThreadLocalRandom.current().nextDouble() < properties.getSampleRate();
+    }
+
+    private boolean isSlow(long elapsedNanos) {
+        return elapsedNanos >= properties.getSlowThreshold().toNanos();
+    }
+
+    private void write(long elapsedNanos, long tookMillis, int hits, Long totalHits, Supplier<String> query) {
+        long latencyMillis = elapsedNanos / 1_000_000;
+        if (isSlow(elapsedNanos)) {
+            log.warn("slow_search " + ENTRY_FORMAT, tookMillis, latencyMillis, hits, totalHits, query.get());
+        } else {
+            log.info("sampled_search " + ENTRY_FORMAT, tookMillis, latencyMillis, hits, totalHits, query.get());
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.emergencydashboard.indexer;
+
+import com.example.emergencydashboard.model.IncidentDocument;
+import com.example.emergencydashboard.repository.search.IncidentSearchRepository;
+import lombok.RequiredArgsConstructor;
+import org.elasticsearch.action.support.WriteRequest.RefreshPolicy;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+@Component
+@Profile("!lucene")
+@RequiredArgsConstructor
+public class ElasticsearchIncidentIndexWriter implements IncidentIndexWriter {
+
+    private final IncidentSearchRepository searchRepository;
+
+    @Override
+    public Map<String, String> bulkIndex(List<IncidentDocument> documents, RefreshPolicy refreshPolicy) {
+        return searchRepository.bulkIndex(documents, refreshPolicy);
+    }
+
+    @Override
+    public Map<String, String> bulkDelete(Collection<String> ids, RefreshPolicy refreshPolicy) {
+        return searchRepository.bulkDelete(ids, refreshPolicy);
+    }
+
+    @Override
+    public void refresh() {
+        searchRepository.refresh();
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.emergencydashboard.indexer;
+
+import com.example.emergencydashboard.config.IncidentIndexingProperties;
+import com.example.emergencydashboard.event.IncidentIndexRefreshedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Coalesces index refreshes: however many bulk requests were applied during an interval,
+ * at most one refresh is sent to the search index at the end of it.
+ * <p>
+ * Every interval it also publishes an {@link IncidentIndexRefreshedEvent} telling which writes are searchable: those
+ * sent before the explicit refresh started or, without periodic refresh, those older than the index's own refresh
+ * interval.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class IncidentIndexRefresher {
+
+    private final IncidentIndexWriter indexWriter;
+    private final IncidentIndexingProperties properties;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final AtomicBoolean dirty = new AtomicBoolean();
+
+    public void markDirty() {
+        dirty.set(true);
+    }
+
+    @Scheduled(fixedDelayString = "${incidents.indexing.periodic-refresh.interval-ms:1000}")
+    public void refreshIfDirty() {
+        long startedAt = System.nanoTime();
+        if (!properties.getPeriodicRefresh().isEnabled()) {
+            eventPublisher.publishEvent(new IncidentIndexRefreshedEvent(startedAt - properties.getIndexRefreshInterval().toNanos()));
+            return;
+        }
+        if (!dirty.getAndSet(false)) {
+            return;
+        }
+
+        try {
+            indexWriter.refresh();
+        } catch (RuntimeException e) {
+            dirty.set(true);
+            log.warn("Failed to refresh the incidents index", e);
+            return;
+        }
+        eventPublisher.publishEvent(new IncidentIndexRefreshedEvent(startedAt));
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.emergencydashboard.indexer;
+
+import com.example.emergencydashboard.model.IncidentDocument;
+import org.elasticsearch.action.support.WriteRequest.RefreshPolicy;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Search index the outbox is drained into: Elasticsearch, or the embedded Lucene index with the {@code lucene}
+ * profile.
+ */
+public interface IncidentIndexWriter {
+
+    /**
+     * @return failure messages keyed by document id; empty when every document was indexed
+     */
+    Map<String, String> bulkIndex(List<IncidentDocument> documents, RefreshPolicy refreshPolicy);
+
+    /**
+     * Ids that are not indexed are not reported as failures.
+     *
+     * @return failure messages keyed by document id; empty when every document was deleted
+     */
+    Map<String, String> bulkDelete(Collection<String> ids, RefreshPolicy refreshPolicy);
+
+    /**
+     * Makes all writes since the previous refresh visible to searches.
+     */
+    void refresh();
+}
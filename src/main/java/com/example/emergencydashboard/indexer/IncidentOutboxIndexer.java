@@ -0,0 +1,172 @@
+package com.example.emergencydashboard.indexer;
+
+import com.example.emergencydashboard.config.IncidentIndexingProperties;
+import com.example.emergencydashboard.event.IncidentsIndexedEvent;
+import com.example.emergencydashboard.mapper.IncidentMapper;
+import com.example.emergencydashboard.metrics.IncidentPipelineMetrics;
+import com.example.emergencydashboard.model.IncidentEntity;
+import com.example.emergencydashboard.model.IncidentOutboxEntity;
+import com.example.emergencydashboard.model.IncidentOutboxOperation;
+import com.example.emergencydashboard.repository.jpa.IncidentJpaRepository;
+import com.example.emergencydashboard.repository.jpa.IncidentOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Drains the incident outbox into the search index.
+ * <p>
+ * Every outbox row only marks an incident as dirty: the indexer re-reads the current row from the database and either
+ * indexes it or, when it no longer exists, deletes the document. Retried or duplicated rows therefore always converge
+ * to the latest committed state, which keeps per-incident ordering without any locking between incidents.
+ */
+@Component
+@Slf4j
+public class IncidentOutboxIndexer {
+
+    private final IncidentOutboxRepository outboxRepository;
+    private final IncidentJpaRepository jpaRepository;
+    private final IncidentIndexWriter indexWriter;
+    private final IncidentMapper mapper;
+    private final TransactionTemplate transactionTemplate;
+    private final IncidentIndexingProperties properties;
+    private final IncidentIndexRefresher refresher;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final AtomicLong lagMillis = new AtomicLong();
+    private final Counter indexedCounter;
+    private final Counter failedCounter;
+    private final Timer syncTimer;
+
+    public IncidentOutboxIndexer(IncidentOutboxRepository outboxRepository,
+                                 IncidentJpaRepository jpaRepository,
+                                 IncidentIndexWriter indexWriter,
+                                 IncidentMapper mapper,
+                                 TransactionTemplate transactionTemplate,
+                                 IncidentIndexingProperties properties,
+                                 IncidentIndexRefresher refresher,
+                                 ApplicationEventPublisher eventPublisher,
+                                 MeterRegistry meterRegistry) {
+        this.outboxRepository = outboxRepository;
+        this.jpaRepository = jpaRepository;
+        this.indexWriter = indexWriter;
+        this.mapper = mapper;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.refresher = refresher;
+        this.eventPublisher = eventPublisher;
+
+        Gauge.builder("incidents.indexing.lag", lagMillis, AtomicLong::get)
+                .description("Age of the oldest outbox row not yet applied to the search index")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        this.indexedCounter = Counter.builder("incidents.indexing.processed")
+                .description("Outbox rows successfully applied to the search index")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("incidents.indexing.failed")
+                .description("Outbox rows that failed and were scheduled for a retry")
+                .register(meterRegistry);
+        this.syncTimer = IncidentPipelineMetrics.stageTimer(meterRegistry, "index", "sync");
+    }
+
+    @Scheduled(fixedDelayString = "${incidents.indexing.poll-interval-ms:200}")
+    public void drain() {
+        int processed;
+        do {
+            processed = drainBatch();
+        } while (processed == properties.getBatchSize());
+        updateLag();
+    }
+
+    /**
+     * Processes one batch of due outbox rows in a single transaction.
+     *
+     * @return number of outbox rows taken from the outbox
+     */
+    public int drainBatch() {
+        Integer processed = transactionTemplate.execute(status -> {
+            var rows = outboxRepository.findPending(LocalDateTime.now(), PageRequest.of(0, properties.getBatchSize()));
+            if (!rows.isEmpty()) {
+                apply(rows);
+            }
+            return rows.size();
+        });
+        return processed == null ? 0 : processed;
+    }
+
+    private void apply(List<IncidentOutboxEntity> rows) {
+        Set<String> incidentIds = rows.stream()
+                .map(IncidentOutboxEntity::getIncidentId)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+
+        Map<String, String> failures;
+        try {
+            failures = syncTimer.record(() -> sync(incidentIds));
+        } catch (RuntimeException e) {
+            log.warn("Failed to apply {} outbox rows to the search index", rows.size(), e);
+            failures = incidentIds.stream().collect(Collectors.toMap(Function.identity(), id -> String.valueOf(e.getMessage())));
+        }
+
+        List<IncidentOutboxEntity> done = new ArrayList<>(rows.size());
+        for (IncidentOutboxEntity row : rows) {
+            String error = failures.get(row.getIncidentId());
+            if (error == null) {
+                done.add(row);
+            } else {
+                row.scheduleRetry(error, LocalDateTime.now().plus(getBackoff(row.getAttempts())));
+            }
+        }
+        outboxRepository.deleteInBatch(done);
+
+        indexedCounter.increment(done.size());
+        failedCounter.increment((double) rows.size() - done.size());
+    }
+
+    private Map<String, String> sync(Set<String> incidentIds) {
+        List<IncidentEntity> existing = jpaRepository.findAllById(incidentIds);
+        Set<String> deleted = new HashSet<>(incidentIds);
+        existing.forEach(entity -> deleted.remove(entity.getId()));
+
+        Map<String, String> failures = new HashMap<>(indexWriter.bulkIndex(existing.stream()
+                        .map(mapper::entityToDocument)
+                        .toList(),
+                properties.refreshPolicyFor(IncidentOutboxOperation.INDEX)));
+        failures.putAll(indexWriter.bulkDelete(deleted, properties.refreshPolicyFor(IncidentOutboxOperation.DELETE)));
+
+        refresher.markDirty();
+        eventPublisher.publishEvent(new IncidentsIndexedEvent(existing.stream()
+                .map(mapper::entityToDto)
+                .toList(), deleted));
+        return failures;
+    }
+
+    private Duration getBackoff(int previousAttempts) {
+        var backoff = properties.getRetryBackoff().multipliedBy(1L << Math.min(previousAttempts, 16));
+        return backoff.compareTo(properties.getMaxRetryBackoff()) > 0 ? properties.getMaxRetryBackoff() : backoff;
+    }
+
+    private void updateLag() {
+        long lag = outboxRepository.findFirstByOrderByIdAsc()
+                .map(oldest -> Duration.between(oldest.getCreatedAt(), LocalDateTime.now()).toMillis())
+                .orElse(0L);
+        lagMillis.set(Math.max(lag, 0L));
+    }
+
+    public long getLagMillis() {
+        return lagMillis.get();
+    }
+}
@@ -0,0 +1,193 @@
+package com.example.emergencydashboard.ingest;
+
+import com.example.emergencydashboard.broadcast.SessionMessageHeaders;
+import com.example.emergencydashboard.config.IncidentIngestProperties;
+import com.example.emergencydashboard.dto.IncidentEntityDto;
+import com.example.emergencydashboard.exception.IngestQueueFullException;
+import com.example.emergencydashboard.metrics.IncidentPipelineMetrics;
+import com.example.emergencydashboard.service.IncidentService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decouples STOMP ingest from persistence: incidents received on {@code /app/incident} are queued, persisted in
+ * micro-batches of up to {@code incidents.ingest.batch-size} per transaction; the committed batch reaches subscribers
+ * through the incident change stream.
+ * The queue is bounded, so a burst beyond its capacity is rejected instead of growing latency for every session.
+ */
+@Component
+@Slf4j
+public class IncidentIngestPipeline implements SmartLifecycle {
+
+    public static final String ERRORS_QUEUE = "/queue/errors";
+
+    private static final long IDLE_POLL_MS = 500;
+
+    private final IncidentService service;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final IncidentIngestProperties properties;
+    private final BlockingQueue<PendingIncident> queue;
+    private final Timer persistTimer;
+
+    private volatile boolean running;
+    private Thread worker;
+
+    public IncidentIngestPipeline(IncidentService service,
+                                  SimpMessagingTemplate messagingTemplate,
+                                  IncidentIngestProperties properties,
+                                  MeterRegistry meterRegistry) {
+        this.service = service;
+        this.messagingTemplate = messagingTemplate;
+        this.properties = properties;
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+
+        Gauge.builder("incidents.ingest.queue.size", queue, BlockingQueue::size)
+                .description("STOMP incidents waiting to be persisted")
+                .register(meterRegistry);
+        this.persistTimer = IncidentPipelineMetrics.stageTimer(meterRegistry, "ingest", "persist");
+    }
+
+    /**
+     * Queues an incident for persistence.
+     *
+     * @throws IngestQueueFullException when the queue is at capacity
+     */
+    public void submit(IncidentEntityDto incident, String sessionId) {
+        if (!queue.offer(new PendingIncident(incident, sessionId))) {
+            throw new IngestQueueFullException(properties.getQueueCapacity());
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        worker = new Thread(this::run, "incident-ingest");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * Lets the worker finish the batch it is collecting instead of interrupting it, since its incidents were already
+     * taken off the queue, then persists what is left in the queue.
+     */
+    @Override
+    public void stop() {
+        running = false;
+        if (worker != null) {
+            try {
+                worker.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        flushRemaining();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                var batch = nextBatch();
+                boolean interrupted = Thread.interrupted();
+                if (!batch.isEmpty()) {
+                    persist(batch);
+                }
+                if (interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            } catch (RuntimeException e) {
+                log.error("Unexpected error in the incident ingest pipeline", e);
+            }
+        }
+    }
+
+    /**
+     * Waits for the first incident, then keeps collecting until the batch is full or the linger time has passed.
+     * When interrupted, returns the incidents collected so far with the interrupt flag set, so that they are still
+     * persisted.
+     */
+    List<PendingIncident> nextBatch() {
+        List<PendingIncident> batch = new ArrayList<>(properties.getBatchSize());
+        try {
+            var first = queue.poll(IDLE_POLL_MS, TimeUnit.MILLISECONDS);
+            if (first == null) {
+                return batch;
+            }
+            batch.add(first);
+
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(properties.getLingerMs());
+            while (batch.size() < properties.getBatchSize()) {
+                queue.drainTo(batch, properties.getBatchSize() - batch.size());
+                long remaining = deadline - System.nanoTime();
+                if (batch.size() >= properties.getBatchSize() || remaining <= 0) {
+                    break;
+                }
+                var next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                if (next == null) {
+                    break;
+                }
+                batch.add(next);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return batch;
+    }
+
+    void persist(List<PendingIncident> batch) {
+        try {
+            var savedIncidents = persistTimer.record(() -> service.saveIncidentBatch(batch.stream()
+                    .map(PendingIncident::incident)
+                    .toList()));
+            log.info("Persisted a batch of {} incidents", savedIncidents.size());
+        } catch (RuntimeException e) {
+            log.error("Failed to persist a batch of {} incidents", batch.size(), e);
+            batch.stream()
+                    .map(PendingIncident::sessionId)
+                    .distinct()
+                    .forEach(sessionId -> sendError(sessionId, "Failed to save incident: " + e.getMessage()));
+        }
+    }
+
+    private void flushRemaining() {
+        List<PendingIncident> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        for (int from = 0; from < remaining.size(); from += properties.getBatchSize()) {
+            persist(remaining.subList(from, Math.min(from + properties.getBatchSize(), remaining.size())));
+        }
+    }
+
+    private void sendError(String sessionId, String message) {
+        if (sessionId == null) {
+            return;
+        }
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("timestamp", LocalDateTime.now().toString());
+        payload.put("error", "Ingest Error");
+        payload.put("message", message);
+
+        messagingTemplate.convertAndSendToUser(sessionId, ERRORS_QUEUE, payload, SessionMessageHeaders.forSession(sessionId));
+    }
+
+    record PendingIncident(IncidentEntityDto incident, String sessionId) {
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.emergencydashboard.json;
+
+import com.example.emergencydashboard.model.IncidentDocument;
+import com.example.emergencydashboard.model.IncidentType;
+import com.example.emergencydashboard.model.SeverityLevel;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import org.apache.lucene.util.BytesRef;
+import org.elasticsearch.common.bytes.BytesReference;
+import org.springframework.data.elasticsearch.core.geo.GeoPoint;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Reads the {@code _source} of a search hit into an {@link IncidentDocument} directly from its JSON bytes, instead of
+ * parsing it into a map and handing that to the Spring Data converter. It reads the source as the converter writes
+ * it: enums by constant name, the location as {@code lat} and {@code lon} and the timestamp in the index layout.
+ * Fields it does not know, such as {@code _class}, are skipped.
+ */
+public final class IncidentDocumentReader {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private IncidentDocumentReader() {
+    }
+
+    /**
+     * @param source the hit's source, or {@code null} when it was not returned
+     */
+    public static IncidentDocument read(String id, BytesReference source) {
+        var document = new IncidentDocument();
+        if (source != null) {
+            BytesRef bytes = source.toBytesRef();
+            try (JsonParser parser = JSON_FACTORY.createParser(bytes.bytes, bytes.offset, bytes.length)) {
+                read(parser, document);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Unreadable source of incident " + id, e);
+            }
+        }
+        document.setId(id);
+        return document;
+    }
+
+    private static void read(JsonParser parser, IncidentDocument document) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new IOException("Expected an object but found " + parser.currentToken());
+        }
+        for (String field = parser.nextFieldName(); field != null; field = parser.nextFieldName()) {
+            if (parser.nextToken() == JsonToken.VALUE_NULL) {
+                continue;
+            }
+            switch (field) {
+                case "incidentType" -> document.setIncidentType(IncidentType.forValue(parser.getText()));
+                case "location" -> document.setLocation(readLocation(parser));
+                case "timestamp" -> document.setTimestamp(readTimestamp(parser));
+                case "severityLevel" -> document.setSeverityLevel(SeverityLevel.forValue(parser.getText()));
+                case "severityRank" -> document.setSeverityRank(parser.getValueAsInt());
+                default -> parser.skipChildren();
+            }
+        }
+    }
+
+    private static GeoPoint readLocation(JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            throw new IOException("Expected a location object but found " + parser.currentToken());
+        }
+        double lat = 0;
+        double lon = 0;
+        for (String field = parser.nextFieldName(); field != null; field = parser.nextFieldName()) {
+            parser.nextToken();
+            switch (field) {
+                case "lat" -> lat = parser.getValueAsDouble();
+                case "lon" -> lon = parser.getValueAsDouble();
+                default -> parser.skipChildren();
+            }
+        }
+        return new GeoPoint(lat, lon);
+    }
+
+    /**
+     * Reads the {@code date_time_no_millis} layout the converter writes, as well as plain local timestamps; a zoned
+     * timestamp is converted to UTC, the zone the converter writes local timestamps in.
+     */
+    private static LocalDateTime readTimestamp(JsonParser parser) throws IOException {
+        var timestamp = IncidentTimestamps.readPlain(parser);
+        if (timestamp != null) {
+            return timestamp;
+        }
+        var parsed = DateTimeFormatter.ISO_DATE_TIME.parseBest(parser.getText(), OffsetDateTime::from, LocalDateTime::from);
+        return parsed instanceof OffsetDateTime zoned
+                ? zoned.withOffsetSameInstant(ZoneOffset.UTC).toLocalDateTime()
+                : (LocalDateTime) parsed;
+    }
+}
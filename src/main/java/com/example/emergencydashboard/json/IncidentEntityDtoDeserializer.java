@@ -0,0 +1,110 @@
+package com.example.emergencydashboard.json;
+
+import com.example.emergencydashboard.dto.IncidentEntityDto;
+import com.example.emergencydashboard.model.IncidentType;
+import com.example.emergencydashboard.model.SeverityLevel;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+import java.io.IOException;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+
+/**
+ * Reads {@link IncidentEntityDto} straight from the token stream, accepting what the reflective bean deserializer
+ * accepts: unknown fields are handled as the mapper is configured, numbers may be quoted, and timestamps that are not
+ * plain {@code uuuu-MM-dd'T'HH:mm:ss} text go to the mapper's {@link LocalDateTime} deserializer.
+ * <p>
+ * An invalid incident type or severity level fails with the {@link IllegalArgumentException} of {@code forValue} as
+ * the cause, as before, so the error handlers report its message.
+ */
+public class IncidentEntityDtoDeserializer extends StdDeserializer<IncidentEntityDto> {
+
+    private static final String ID = "id";
+    private static final String INCIDENT_TYPE = "incidentType";
+    private static final String LATITUDE = "latitude";
+    private static final String LONGITUDE = "longitude";
+    private static final String TIMESTAMP = "timestamp";
+    private static final String SEVERITY_LEVEL = "severityLevel";
+
+    public IncidentEntityDtoDeserializer() {
+        super(IncidentEntityDto.class);
+    }
+
+    @Override
+    public IncidentEntityDto deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+        String field;
+        if (parser.isExpectedStartObjectToken()) {
+            field = parser.nextFieldName();
+        } else if (parser.hasToken(JsonToken.FIELD_NAME)) {
+            field = parser.getCurrentName();
+        } else {
+            return (IncidentEntityDto) context.handleUnexpectedToken(IncidentEntityDto.class, parser);
+        }
+
+        var incident = new IncidentEntityDto();
+        for (; field != null; field = parser.nextFieldName()) {
+            if (parser.nextToken() == JsonToken.VALUE_NULL) {
+                continue;
+            }
+            switch (field) {
+                case ID -> incident.setId(_parseString(parser, context));
+                case INCIDENT_TYPE -> incident.setIncidentType(readIncidentType(parser, context));
+                case LATITUDE -> incident.setLatitude(readDouble(parser, context));
+                case LONGITUDE -> incident.setLongitude(readDouble(parser, context));
+                case TIMESTAMP -> incident.setTimestamp(readTimestamp(parser, context));
+                case SEVERITY_LEVEL -> incident.setSeverityLevel(readSeverityLevel(parser, context));
+                default -> context.handleUnknownProperty(parser, this, incident, field);
+            }
+        }
+        return incident;
+    }
+
+    private IncidentType readIncidentType(JsonParser parser, DeserializationContext context) throws IOException {
+        try {
+            return IncidentType.forValue(_parseString(parser, context));
+        } catch (IllegalArgumentException e) {
+            throw JsonMappingException.from(parser, e.getMessage(), e);
+        }
+    }
+
+    private SeverityLevel readSeverityLevel(JsonParser parser, DeserializationContext context) throws IOException {
+        try {
+            return SeverityLevel.forValue(_parseString(parser, context));
+        } catch (IllegalArgumentException e) {
+            throw JsonMappingException.from(parser, e.getMessage(), e);
+        }
+    }
+
+    private static Double readDouble(JsonParser parser, DeserializationContext context) throws IOException {
+        if (parser.currentToken().isNumeric()) {
+            return parser.getDoubleValue();
+        }
+        if (parser.hasToken(JsonToken.VALUE_STRING)) {
+            var text = parser.getText().trim();
+            try {
+                return Double.parseDouble(text);
+            } catch (NumberFormatException e) {
+                throw context.weirdStringException(text, Double.class, "not a valid Double value");
+            }
+        }
+        return (Double) context.handleUnexpectedToken(Double.class, parser);
+    }
+
+    private static LocalDateTime readTimestamp(JsonParser parser, DeserializationContext context) throws IOException {
+        if (parser.hasToken(JsonToken.VALUE_STRING)) {
+            try {
+                var timestamp = IncidentTimestamps.readPlain(parser);
+                if (timestamp != null) {
+                    return timestamp;
+                }
+            } catch (DateTimeException e) {
+                throw context.weirdStringException(parser.getText(), LocalDateTime.class, e.getMessage());
+            }
+        }
+        return context.readValue(parser, LocalDateTime.class);
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.emergencydashboard.json;
+
+import com.example.emergencydashboard.dto.IncidentEntityDto;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * Writes {@link IncidentEntityDto} field by field with pre-encoded field names, producing the same JSON as the
+ * reflective bean serializer: all fields in declaration order, nulls included, the enums by their {@code JsonValue}
+ * and the timestamp as ISO text unless {@link SerializationFeature#WRITE_DATES_AS_TIMESTAMPS} is enabled.
+ */
+public class IncidentEntityDtoSerializer extends StdSerializer<IncidentEntityDto> {
+
+    static final SerializableString ID = new SerializedString("id");
+    static final SerializableString INCIDENT_TYPE = new SerializedString("incidentType");
+    static final SerializableString LATITUDE = new SerializedString("latitude");
+    static final SerializableString LONGITUDE = new SerializedString("longitude");
+    static final SerializableString TIMESTAMP = new SerializedString("timestamp");
+    static final SerializableString SEVERITY_LEVEL = new SerializedString("severityLevel");
+
+    public IncidentEntityDtoSerializer() {
+        super(IncidentEntityDto.class);
+    }
+
+    @Override
+    public void serialize(IncidentEntityDto incident, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        generator.writeStartObject(incident);
+
+        generator.writeFieldName(ID);
+        if (incident.getId() == null) {
+            generator.writeNull();
+        } else {
+            generator.writeString(incident.getId());
+        }
+
+        generator.writeFieldName(INCIDENT_TYPE);
+        if (incident.getIncidentType() == null) {
+            generator.writeNull();
+        } else {
+            generator.writeString(incident.getIncidentType().getType());
+        }
+
+        generator.writeFieldName(LATITUDE);
+        writeNumber(incident.getLatitude(), generator);
+        generator.writeFieldName(LONGITUDE);
+        writeNumber(incident.getLongitude(), generator);
+
+        generator.writeFieldName(TIMESTAMP);
+        if (incident.getTimestamp() == null) {
+            generator.writeNull();
+        } else if (provider.isEnabled(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)) {
+            provider.defaultSerializeValue(incident.getTimestamp(), generator);
+        } else {
+            IncidentTimestamps.write(incident.getTimestamp(), generator);
+        }
+
+        generator.writeFieldName(SEVERITY_LEVEL);
+        if (incident.getSeverityLevel() == null) {
+            generator.writeNull();
+        } else {
+            generator.writeString(incident.getSeverityLevel().getLevel());
+        }
+
+        generator.writeEndObject();
+    }
+
+    private static void writeNumber(Double value, JsonGenerator generator) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+        } else {
+            generator.writeNumber(value);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.emergencydashboard.json;
+
+import com.example.emergencydashboard.dto.IncidentEntityDto;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import org.springframework.stereotype.Component;
+
+/**
+ * Registers the hand-written {@link IncidentEntityDto} serializer and deserializer. Spring Boot installs every module
+ * bean into its {@code ObjectMapper}, which serves both the REST endpoints and the STOMP message converter, so
+ * incidents are decoded and encoded by them on every path.
+ */
+@Component
+public class IncidentJsonModule extends SimpleModule {
+
+    public IncidentJsonModule() {
+        super(IncidentJsonModule.class.getSimpleName());
+        addSerializer(IncidentEntityDto.class, new IncidentEntityDtoSerializer());
+        addDeserializer(IncidentEntityDto.class, new IncidentEntityDtoDeserializer());
+    }
+}
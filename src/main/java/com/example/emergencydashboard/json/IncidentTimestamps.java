@@ -0,0 +1,100 @@
+package com.example.emergencydashboard.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Reads and writes timestamps in the {@code uuuu-MM-dd'T'HH:mm:ss} layout of the API digit by digit, without a
+ * {@link DateTimeFormatter}. Reading also accepts the trailing {@code Z} of the index's {@code date_time_no_millis}
+ * layout, which the Elasticsearch converter writes for a {@link LocalDateTime} taken as UTC. Other layouts, offsets,
+ * fractions of a second and years beyond four digits are left to the ISO formatter.
+ */
+final class IncidentTimestamps {
+
+    private static final int LENGTH = 19;
+    private static final char UTC = 'Z';
+
+    private IncidentTimestamps() {
+    }
+
+    /**
+     * @return the timestamp of the current string token, or {@code null} when it is not in the plain layout with or
+     * without a trailing {@code Z}
+     * @throws java.time.DateTimeException when a field of the plain layout is out of range
+     */
+    static LocalDateTime readPlain(JsonParser parser) throws IOException {
+        int length = parser.getTextLength();
+        if (length != LENGTH && length != LENGTH + 1) {
+            return null;
+        }
+        char[] chars = parser.getTextCharacters();
+        int offset = parser.getTextOffset();
+        if (length > LENGTH && chars[offset + LENGTH] != UTC) {
+            return null;
+        }
+        if (chars[offset + 4] != '-' || chars[offset + 7] != '-' || chars[offset + 10] != 'T'
+                || chars[offset + 13] != ':' || chars[offset + 16] != ':') {
+            return null;
+        }
+        int year = digits(chars, offset, 4);
+        int month = digits(chars, offset + 5, 2);
+        int day = digits(chars, offset + 8, 2);
+        int hour = digits(chars, offset + 11, 2);
+        int minute = digits(chars, offset + 14, 2);
+        int second = digits(chars, offset + 17, 2);
+        if ((year | month | day | hour | minute | second) < 0) {
+            return null;
+        }
+        return LocalDateTime.of(year, month, day, hour, minute, second);
+    }
+
+    /**
+     * Writes the timestamp the way {@link DateTimeFormatter#ISO_LOCAL_DATE_TIME} formats it.
+     */
+    static void write(LocalDateTime timestamp, JsonGenerator generator) throws IOException {
+        int year = timestamp.getYear();
+        if (timestamp.getNano() != 0 || year < 0 || year > 9999) {
+            generator.writeString(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(timestamp));
+            return;
+        }
+        char[] chars = new char[LENGTH];
+        put(chars, 0, year, 4);
+        chars[4] = '-';
+        put(chars, 5, timestamp.getMonthValue(), 2);
+        chars[7] = '-';
+        put(chars, 8, timestamp.getDayOfMonth(), 2);
+        chars[10] = 'T';
+        put(chars, 11, timestamp.getHour(), 2);
+        chars[13] = ':';
+        put(chars, 14, timestamp.getMinute(), 2);
+        chars[16] = ':';
+        put(chars, 17, timestamp.getSecond(), 2);
+        generator.writeString(chars, 0, LENGTH);
+    }
+
+    /**
+     * @return the number, or a negative value when a character is not a digit
+     */
+    private static int digits(char[] chars, int offset, int count) {
+        int value = 0;
+        for (int i = offset; i < offset + count; i++) {
+            int digit = chars[i] - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private static void put(char[] chars, int offset, int value, int count) {
+        for (int i = offset + count - 1; i >= offset; i--) {
+            chars[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.emergencydashboard.lucene;
+
+import org.apache.lucene.geo.GeoEncodingUtils;
+import org.apache.lucene.index.DocValues;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.SortedNumericDocValues;
+import org.apache.lucene.search.DoubleValues;
+import org.apache.lucene.search.DoubleValuesSource;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.util.SloppyMath;
+
+import java.io.IOException;
+import java.util.Objects;
+
+/**
+ * Distance in meters from a point to the location of each incident, computed like the Elasticsearch
+ * {@code _geo_distance} sort and {@code arcDistance} script: haversine over the encoded doc values. Both the sort and
+ * the cursor filter use it, so the distance a page ends with is the one the next page continues after. Incidents
+ * without a location are infinitely far.
+ */
+final class IncidentDistanceSource extends DoubleValuesSource {
+
+    private final String field;
+    private final double lat;
+    private final double lon;
+
+    IncidentDistanceSource(String field, double lat, double lon) {
+        this.field = field;
+        this.lat = lat;
+        this.lon = lon;
+    }
+
+    @Override
+    public DoubleValues getValues(LeafReaderContext ctx, DoubleValues scores) throws IOException {
+        SortedNumericDocValues locations = DocValues.getSortedNumeric(ctx.reader(), field);
+        return new DoubleValues() {
+            private double distance;
+
+            @Override
+            public double doubleValue() {
+                return distance;
+            }
+
+            @Override
+            public boolean advanceExact(int doc) throws IOException {
+                if (locations.advanceExact(doc)) {
+                    long encoded = locations.nextValue();
+                    distance = SloppyMath.haversinMeters(lat, lon,
+                            GeoEncodingUtils.decodeLatitude((int) (encoded >>> 32)),
+                            GeoEncodingUtils.decodeLongitude((int) encoded));
+                } else {
+                    distance = Double.POSITIVE_INFINITY;
+                }
+                return true;
+            }
+        };
+    }
+
+    @Override
+    public boolean needsScores() {
+        return false;
+    }
+
+    @Override
+    public boolean isCacheable(LeafReaderContext ctx) {
+        return DocValues.isCacheable(ctx, field);
+    }
+
+    @Override
+    public DoubleValuesSource rewrite(IndexSearcher reader) {
+        return this;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof IncidentDistanceSource other
+                && field.equals(other.field) && lat == other.lat && lon == other.lon;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(field, lat, lon);
+    }
+
+    @Override
+    public String toString() {
+        return "distance(" + field + ", " + lat + ", " + lon + ")";
+    }
+}
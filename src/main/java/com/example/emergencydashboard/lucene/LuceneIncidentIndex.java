@@ -0,0 +1,190 @@
+package com.example.emergencydashboard.lucene;
+
+import com.example.emergencydashboard.config.IncidentLuceneProperties;
+import com.example.emergencydashboard.indexer.IncidentIndexWriter;
+import com.example.emergencydashboard.model.IncidentDocument;
+import com.example.emergencydashboard.model.IncidentType;
+import com.example.emergencydashboard.model.SeverityLevel;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.IntPoint;
+import org.apache.lucene.document.LatLonDocValuesField;
+import org.apache.lucene.document.LatLonPoint;
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.SortedDocValuesField;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.store.MMapDirectory;
+import org.apache.lucene.util.BytesRef;
+import org.elasticsearch.action.support.WriteRequest.RefreshPolicy;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.elasticsearch.core.convert.ElasticsearchConverter;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Embedded Lucene index of the incidents in a memory-mapped directory, written by the outbox indexer in place of
+ * Elasticsearch with the {@code lucene} profile.
+ * <p>
+ * Each document keeps its source as the Spring Data converter writes it for Elasticsearch, so hits are read the same
+ * way on both backends, next to the fields searches filter and sort on. Every bulk write is committed before it
+ * returns, since the outbox rows are deleted once it succeeds; searches see it after the next refresh.
+ */
+@Component
+@Profile("lucene")
+@Slf4j
+public class LuceneIncidentIndex implements IncidentIndexWriter {
+
+    static final String ID = "id";
+    static final String INCIDENT_TYPE = "incidentType";
+    static final String LOCATION = "location";
+    static final String TIMESTAMP = "timestamp";
+    static final String SEVERITY_RANK = "severityRank";
+    static final String SOURCE = "_source";
+
+    private final ElasticsearchConverter converter;
+    private final MMapDirectory directory;
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+
+    public LuceneIncidentIndex(ElasticsearchConverter converter, IncidentLuceneProperties properties) throws IOException {
+        this.converter = converter;
+        this.directory = new MMapDirectory(Files.createDirectories(properties.getPath()));
+        this.writer = new IndexWriter(directory, new IndexWriterConfig());
+        this.searcherManager = new SearcherManager(writer, null);
+        log.info("Opened the Lucene incidents index in {} with {} documents", properties.getPath().toAbsolutePath(), writer.getDocStats().numDocs);
+    }
+
+    @Override
+    public Map<String, String> bulkIndex(List<IncidentDocument> documents, RefreshPolicy refreshPolicy) {
+        if (documents.isEmpty()) {
+            return Map.of();
+        }
+        try {
+            for (IncidentDocument document : documents) {
+                writer.updateDocument(new Term(ID, document.getId()), toLuceneDocument(document));
+            }
+            commit(refreshPolicy);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to index " + documents.size() + " incidents", e);
+        }
+        return Map.of();
+    }
+
+    @Override
+    public Map<String, String> bulkDelete(Collection<String> ids, RefreshPolicy refreshPolicy) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        try {
+            writer.deleteDocuments(ids.stream().map(id -> new Term(ID, id)).toArray(Term[]::new));
+            commit(refreshPolicy);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to delete " + ids.size() + " incidents", e);
+        }
+        return Map.of();
+    }
+
+    @Override
+    public void refresh() {
+        try {
+            searcherManager.maybeRefreshBlocking();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to refresh the Lucene incidents index", e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${incidents.lucene.refresh-interval-ms:1000}")
+    public void refreshPeriodically() {
+        try {
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            log.warn("Failed to refresh the Lucene incidents index", e);
+        }
+    }
+
+    /**
+     * Runs the search on the latest refreshed view of the index.
+     */
+    <T> T search(SearchFunction<T> search) throws IOException {
+        IndexSearcher searcher = searcherManager.acquire();
+        try {
+            return search.apply(searcher);
+        } finally {
+            searcherManager.release(searcher);
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+
+    private void commit(RefreshPolicy refreshPolicy) throws IOException {
+        writer.commit();
+        if (refreshPolicy != RefreshPolicy.NONE) {
+            searcherManager.maybeRefreshBlocking();
+        }
+    }
+
+    /**
+     * Indexes the incident type by its lowercase name, the term Elasticsearch's standard analyzer makes of it, and
+     * the timestamp in epoch milliseconds as Elasticsearch stores dates.
+     */
+    private Document toLuceneDocument(IncidentDocument incident) {
+        var document = new Document();
+        document.add(new StringField(ID, incident.getId(), Field.Store.YES));
+        document.add(new SortedDocValuesField(ID, new BytesRef(incident.getId())));
+
+        var type = incident.getIncidentType() == null ? IncidentType.NONE : incident.getIncidentType();
+        document.add(new StringField(INCIDENT_TYPE, type.name().toLowerCase(Locale.ROOT), Field.Store.NO));
+
+        if (incident.getLocation() != null) {
+            document.add(new LatLonPoint(LOCATION, incident.getLocation().getLat(), incident.getLocation().getLon()));
+            document.add(new LatLonDocValuesField(LOCATION, incident.getLocation().getLat(), incident.getLocation().getLon()));
+        }
+        if (incident.getTimestamp() != null) {
+            long millis = toEpochMillis(incident.getTimestamp());
+            document.add(new LongPoint(TIMESTAMP, millis));
+            document.add(new NumericDocValuesField(TIMESTAMP, millis));
+        }
+        int severityRank = incident.getSeverityRank() != null
+                ? incident.getSeverityRank()
+                : (incident.getSeverityLevel() == null ? SeverityLevel.NONE : incident.getSeverityLevel()).rank();
+        document.add(new IntPoint(SEVERITY_RANK, severityRank));
+        document.add(new NumericDocValuesField(SEVERITY_RANK, severityRank));
+
+        document.add(new StoredField(SOURCE, converter.mapObject(incident).toJson().getBytes(StandardCharsets.UTF_8)));
+        return document;
+    }
+
+    static long toEpochMillis(LocalDateTime timestamp) {
+        return timestamp.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    @FunctionalInterface
+    interface SearchFunction<T> {
+        T apply(IndexSearcher searcher) throws IOException;
+    }
+}
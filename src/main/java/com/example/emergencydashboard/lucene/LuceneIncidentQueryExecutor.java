@@ -0,0 +1,183 @@
+package com.example.emergencydashboard.lucene;
+
+import com.example.emergencydashboard.executor.IncidentMultiSearchItem;
+import com.example.emergencydashboard.executor.IncidentQueryExecutor;
+import com.example.emergencydashboard.executor.IncidentSearchLog;
+import com.example.emergencydashboard.json.IncidentDocumentReader;
+import com.example.emergencydashboard.metrics.IncidentSearchMetrics;
+import com.example.emergencydashboard.metrics.IncidentSearchMetrics.Operation;
+import com.example.emergencydashboard.metrics.IncidentSearchMetrics.Stage;
+import com.example.emergencydashboard.model.IncidentDocument;
+import lombok.RequiredArgsConstructor;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.index.IndexableField;
+import org.apache.lucene.search.BooleanClause.Occur;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.FieldDoc;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.TopFieldCollector;
+import org.apache.lucene.search.TotalHits;
+import org.apache.lucene.util.BytesRef;
+import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.common.bytes.BytesArray;
+import org.elasticsearch.search.builder.SearchSourceBuilder;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.elasticsearch.core.SearchHit;
+import org.springframework.data.elasticsearch.core.SearchHits;
+import org.springframework.data.elasticsearch.core.SearchHitsImpl;
+import org.springframework.data.elasticsearch.core.TotalHitsRelation;
+import org.springframework.data.elasticsearch.core.query.NativeSearchQuery;
+import org.springframework.data.elasticsearch.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Runs the searches on the {@link LuceneIncidentIndex} with the {@code lucene} profile. Queries are translated by the
+ * {@link LuceneQueryTranslator}, and hits are read from the stored source by the {@link IncidentDocumentReader} like
+ * those of Elasticsearch. Total hits are counted as Elasticsearch counts them: exactly, up to a limit (10,000 unless
+ * the query sets one) or not at all. Aggregations are not supported.
+ */
+@Component
+@Profile("lucene")
+@RequiredArgsConstructor
+public class LuceneIncidentQueryExecutor implements IncidentQueryExecutor {
+
+    private static final int DEFAULT_PAGE_SIZE = 10;
+    private static final int DEFAULT_TRACK_TOTAL_HITS_UP_TO = 10_000;
+    private static final Set<String> LOADED_FIELDS = Set.of(LuceneIncidentIndex.ID, LuceneIncidentIndex.SOURCE);
+
+    private final LuceneIncidentIndex index;
+    private final IncidentSearchLog searchLog;
+    private final IncidentSearchMetrics metrics;
+
+    @Override
+    public SearchHits<IncidentDocument> executeQuery(Query searchQuery) {
+        try {
+            return search(searchQuery);
+        } catch (RuntimeException e) {
+            metrics.recordError(Operation.SEARCH);
+            throw e;
+        }
+    }
+
+    @Override
+    public SearchResponse executeSearch(SearchSourceBuilder source) {
+        throw new UnsupportedOperationException("Aggregations are not supported by the embedded Lucene index");
+    }
+
+    /**
+     * Runs the queries one after the other; a query that fails does not fail the others.
+     */
+    @Override
+    public List<IncidentMultiSearchItem> executeQueries(List<Query> searchQueries) {
+        List<IncidentMultiSearchItem> results = new ArrayList<>(searchQueries.size());
+        for (Query searchQuery : searchQueries) {
+            try {
+                results.add(new IncidentMultiSearchItem(search(searchQuery), null));
+            } catch (RuntimeException e) {
+                metrics.recordError(Operation.MULTI_SEARCH);
+                results.add(new IncidentMultiSearchItem(null, e));
+            }
+        }
+        return results;
+    }
+
+    private SearchHits<IncidentDocument> search(Query searchQuery) {
+        if (!(searchQuery instanceof NativeSearchQuery nativeSearchQuery)) {
+            throw new UnsupportedOperationException("Only native search queries are supported by the embedded Lucene index");
+        }
+        var query = toLuceneQuery(nativeSearchQuery);
+        var sort = LuceneQueryTranslator.toSort(nativeSearchQuery.getElasticsearchSorts());
+        int from = searchQuery.getPageable().isPaged() ? (int) searchQuery.getPageable().getOffset() : 0;
+        int size = searchQuery.getPageable().isPaged() ? searchQuery.getPageable().getPageSize() : DEFAULT_PAGE_SIZE;
+        int numHits = Math.max(1, from + size);
+        int totalHitsThreshold = totalHitsThreshold(searchQuery, numHits);
+
+        long start = System.nanoTime();
+        SearchHits<IncidentDocument> searchHits;
+        try {
+            searchHits = index.search(searcher -> {
+                var collector = TopFieldCollector.create(sort, numHits, totalHitsThreshold);
+                searcher.search(query, collector);
+                TopDocs topDocs = collector.topDocs(from, size);
+
+                List<SearchHit<IncidentDocument>> hits = new ArrayList<>(topDocs.scoreDocs.length);
+                float maxScore = Float.NaN;
+                for (ScoreDoc scoreDoc : topDocs.scoreDocs) {
+                    var hit = toSearchHit(searcher.doc(scoreDoc.doc, LOADED_FIELDS), (FieldDoc) scoreDoc, sort);
+                    maxScore = Float.isNaN(maxScore) ? hit.getScore() : Math.max(maxScore, hit.getScore());
+                    hits.add(hit);
+                }
+                return toSearchHits(searchQuery, topDocs.totalHits, maxScore, hits);
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to search the Lucene incidents index", e);
+        }
+        long elapsedNanos = System.nanoTime() - start;
+        metrics.record(Stage.EXECUTE, elapsedNanos);
+        searchLog.record(query::toString, elapsedNanos / 1_000_000, elapsedNanos, searchHits.getSearchHits().size(),
+                Boolean.FALSE.equals(searchQuery.getTrackTotalHits()) ? null : searchHits.getTotalHits());
+        return searchHits;
+    }
+
+    private static org.apache.lucene.search.Query toLuceneQuery(NativeSearchQuery searchQuery) {
+        var query = LuceneQueryTranslator.toQuery(searchQuery.getQuery());
+        if (searchQuery.getFilter() == null) {
+            return query;
+        }
+        return new BooleanQuery.Builder()
+                .add(query, Occur.MUST)
+                .add(LuceneQueryTranslator.toQuery(searchQuery.getFilter()), Occur.FILTER)
+                .build();
+    }
+
+    private static int totalHitsThreshold(Query searchQuery, int numHits) {
+        if (Boolean.TRUE.equals(searchQuery.getTrackTotalHits())) {
+            return Integer.MAX_VALUE;
+        } else if (Boolean.FALSE.equals(searchQuery.getTrackTotalHits())) {
+            return numHits;
+        }
+        return searchQuery.getTrackTotalHitsUpTo() != null ? searchQuery.getTrackTotalHitsUpTo() : DEFAULT_TRACK_TOTAL_HITS_UP_TO;
+    }
+
+    /**
+     * Sort values are reported as Elasticsearch reports them: strings for keywords, numbers for the rest.
+     */
+    private static SearchHit<IncidentDocument> toSearchHit(Document document, FieldDoc fieldDoc, Sort sort) {
+        Object[] sortValues = new Object[fieldDoc.fields.length];
+        float score = Float.NaN;
+        for (int i = 0; i < sortValues.length; i++) {
+            Object value = fieldDoc.fields[i];
+            sortValues[i] = value instanceof BytesRef bytes ? bytes.utf8ToString() : value;
+            if (sort.getSort()[i].getType() == SortField.Type.SCORE) {
+                score = (Float) value;
+            }
+        }
+
+        String id = document.get(LuceneIncidentIndex.ID);
+        IndexableField source = document.getField(LuceneIncidentIndex.SOURCE);
+        BytesRef sourceBytes = source == null ? null : source.binaryValue();
+        return new SearchHit<>(null, id, score, sortValues, null, IncidentDocumentReader.read(id,
+                sourceBytes == null ? null : new BytesArray(sourceBytes.bytes, sourceBytes.offset, sourceBytes.length)));
+    }
+
+    private static SearchHits<IncidentDocument> toSearchHits(Query searchQuery, TotalHits totalHits, float maxScore,
+                                                             List<SearchHit<IncidentDocument>> hits) {
+        if (Boolean.FALSE.equals(searchQuery.getTrackTotalHits())) {
+            return new SearchHitsImpl<>(0, TotalHitsRelation.EQUAL_TO, maxScore, null, hits, null);
+        }
+        if (totalHits.relation == TotalHits.Relation.EQUAL_TO) {
+            return new SearchHitsImpl<>(totalHits.value, TotalHitsRelation.EQUAL_TO, maxScore, null, hits, null);
+        }
+        int upTo = searchQuery.getTrackTotalHitsUpTo() != null ? searchQuery.getTrackTotalHitsUpTo() : DEFAULT_TRACK_TOTAL_HITS_UP_TO;
+        return new SearchHitsImpl<>(Math.min(totalHits.value, upTo), TotalHitsRelation.GREATER_THAN_OR_EQUAL_TO, maxScore, null, hits, null);
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.emergencydashboard.lucene;
+
+import com.example.emergencydashboard.executor.IncidentQueryExecutor;
+import com.example.emergencydashboard.executor.IncidentReactiveQueryExecutor;
+import com.example.emergencydashboard.model.IncidentDocument;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.elasticsearch.core.SearchHits;
+import org.springframework.data.elasticsearch.core.query.Query;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Runs the searches of the {@link LuceneIncidentQueryExecutor} on the bounded elastic scheduler, since Lucene searches
+ * block the calling thread. A search that started runs to completion even when the subscription is cancelled.
+ */
+@Component
+@Profile("lucene")
+@RequiredArgsConstructor
+public class LuceneIncidentReactiveQueryExecutor implements IncidentReactiveQueryExecutor {
+
+    private final IncidentQueryExecutor queryExecutor;
+
+    @Override
+    public Mono<SearchHits<IncidentDocument>> executeQuery(Query searchQuery) {
+        return Mono.fromCallable(() -> queryExecutor.executeQuery(searchQuery))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+}
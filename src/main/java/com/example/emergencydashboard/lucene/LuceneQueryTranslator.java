@@ -0,0 +1,218 @@
+package com.example.emergencydashboard.lucene;
+
+import org.apache.lucene.document.IntPoint;
+import org.apache.lucene.document.LatLonPoint;
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queries.function.FunctionMatchQuery;
+import org.apache.lucene.search.BooleanClause.Occur;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TermRangeQuery;
+import org.elasticsearch.common.geo.GeoDistance;
+import org.elasticsearch.common.unit.DistanceUnit;
+import org.elasticsearch.index.query.BoolQueryBuilder;
+import org.elasticsearch.index.query.GeoDistanceQueryBuilder;
+import org.elasticsearch.index.query.MatchAllQueryBuilder;
+import org.elasticsearch.index.query.MatchQueryBuilder;
+import org.elasticsearch.index.query.QueryBuilder;
+import org.elasticsearch.index.query.RangeQueryBuilder;
+import org.elasticsearch.index.query.ScriptQueryBuilder;
+import org.elasticsearch.index.query.TermQueryBuilder;
+import org.elasticsearch.search.sort.FieldSortBuilder;
+import org.elasticsearch.search.sort.GeoDistanceSortBuilder;
+import org.elasticsearch.search.sort.ScoreSortBuilder;
+import org.elasticsearch.search.sort.SortBuilder;
+import org.elasticsearch.search.sort.SortOrder;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static com.example.emergencydashboard.lucene.LuceneIncidentIndex.*;
+import static com.example.emergencydashboard.util.IncidentSearchCursor.TIMESTAMP_FORMAT;
+
+/**
+ * Translates the Elasticsearch queries and sorts built by
+ * {@link com.example.emergencydashboard.builder.IncidentQueryBuilderImpl} into Lucene ones over the fields of the
+ * {@link LuceneIncidentIndex}: bool, match and term on the incident type and severity rank, ranges on the id, timestamp
+ * and severity rank, geo-distance, and the distance-after script of the nearest cursor. Bool queries keep the
+ * Elasticsearch semantics: {@code filter} clauses do not score, and {@code should} clauses are optional as soon as
+ * there is a {@code must} or {@code filter} clause. Anything else is rejected with an
+ * {@link UnsupportedOperationException}.
+ */
+final class LuceneQueryTranslator {
+
+    private static final String SCORE_FIELD = "_score";
+    private static final String MISSING_FIRST = "_first";
+
+    private LuceneQueryTranslator() {
+    }
+
+    static Query toQuery(QueryBuilder queryBuilder) {
+        Query query = translate(queryBuilder);
+        return queryBuilder.boost() == 1.0f ? query : new BoostQuery(query, queryBuilder.boost());
+    }
+
+    /**
+     * @param sorts sorts in order of precedence; relevance when there are none
+     */
+    static Sort toSort(List<SortBuilder<?>> sorts) {
+        if (sorts == null || sorts.isEmpty()) {
+            return Sort.RELEVANCE;
+        }
+        return new Sort(sorts.stream().map(LuceneQueryTranslator::toSortField).toArray(SortField[]::new));
+    }
+
+    private static Query translate(QueryBuilder queryBuilder) {
+        if (queryBuilder instanceof BoolQueryBuilder bool) {
+            return toBooleanQuery(bool);
+        } else if (queryBuilder instanceof MatchAllQueryBuilder) {
+            return new MatchAllDocsQuery();
+        } else if (queryBuilder instanceof MatchQueryBuilder match && INCIDENT_TYPE.equals(match.fieldName())) {
+            return incidentTypeQuery(match.value());
+        } else if (queryBuilder instanceof TermQueryBuilder term) {
+            return toTermQuery(term);
+        } else if (queryBuilder instanceof RangeQueryBuilder range) {
+            return toRangeQuery(range);
+        } else if (queryBuilder instanceof GeoDistanceQueryBuilder geoDistance && LOCATION.equals(geoDistance.fieldName())) {
+            return LatLonPoint.newDistanceQuery(LOCATION, geoDistance.point().lat(), geoDistance.point().lon(), geoDistance.distance());
+        } else if (queryBuilder instanceof ScriptQueryBuilder script) {
+            return toDistanceAfterQuery(script.script().getParams());
+        }
+        throw unsupported(queryBuilder);
+    }
+
+    private static Query toBooleanQuery(BoolQueryBuilder bool) {
+        if (bool.minimumShouldMatch() != null) {
+            throw unsupported(bool);
+        }
+        var builder = new BooleanQuery.Builder();
+        bool.must().forEach(clause -> builder.add(toQuery(clause), Occur.MUST));
+        bool.filter().forEach(clause -> builder.add(toQuery(clause), Occur.FILTER));
+        bool.should().forEach(clause -> builder.add(toQuery(clause), Occur.SHOULD));
+        bool.mustNot().forEach(clause -> builder.add(toQuery(clause), Occur.MUST_NOT));
+        if (bool.must().isEmpty() && bool.filter().isEmpty() && bool.should().isEmpty()) {
+            builder.add(new MatchAllDocsQuery(), Occur.FILTER);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Incident types are single words, indexed as the lowercase term the standard analyzer makes of them.
+     */
+    private static Query incidentTypeQuery(Object type) {
+        return new TermQuery(new Term(INCIDENT_TYPE, type.toString().toLowerCase(Locale.ROOT)));
+    }
+
+    private static Query toTermQuery(TermQueryBuilder term) {
+        return switch (term.fieldName()) {
+            case ID -> new TermQuery(new Term(ID, term.value().toString()));
+            case INCIDENT_TYPE -> incidentTypeQuery(term.value());
+            case SEVERITY_RANK -> IntPoint.newExactQuery(SEVERITY_RANK, ((Number) term.value()).intValue());
+            default -> throw unsupported(term);
+        };
+    }
+
+    private static Query toRangeQuery(RangeQueryBuilder range) {
+        Object from = range.from();
+        Object to = range.to();
+        return switch (range.fieldName()) {
+            case ID -> TermRangeQuery.newStringRange(ID, from == null ? null : from.toString(), to == null ? null : to.toString(),
+                    range.includeLower(), range.includeUpper());
+            case TIMESTAMP -> {
+                long fromMillis = from == null ? Long.MIN_VALUE : toEpochMillis(LocalDateTime.parse(from.toString(), TIMESTAMP_FORMAT));
+                long toMillis = to == null ? Long.MAX_VALUE : toEpochMillis(LocalDateTime.parse(to.toString(), TIMESTAMP_FORMAT));
+                yield LongPoint.newRangeQuery(TIMESTAMP,
+                        from != null && !range.includeLower() ? fromMillis + 1 : fromMillis,
+                        to != null && !range.includeUpper() ? toMillis - 1 : toMillis);
+            }
+            case SEVERITY_RANK -> {
+                int fromRank = from == null ? Integer.MIN_VALUE : ((Number) from).intValue();
+                int toRank = to == null ? Integer.MAX_VALUE : ((Number) to).intValue();
+                yield IntPoint.newRangeQuery(SEVERITY_RANK,
+                        from != null && !range.includeLower() ? fromRank + 1 : fromRank,
+                        to != null && !range.includeUpper() ? toRank - 1 : toRank);
+            }
+            default -> throw unsupported(range);
+        };
+    }
+
+    /**
+     * The distance-after script of the nearest cursor: hits farther than the cursor, or as far with a greater id.
+     */
+    private static Query toDistanceAfterQuery(Map<String, Object> params) {
+        if (!(params.get("lat") instanceof Number lat) || !(params.get("lon") instanceof Number lon)
+                || !(params.get("distance") instanceof Number distance) || !(params.get("id") instanceof String id)) {
+            throw new UnsupportedOperationException("Unsupported script query with params " + params.keySet());
+        }
+        var distanceSource = new IncidentDistanceSource(LOCATION, lat.doubleValue(), lon.doubleValue());
+        double cursorDistance = distance.doubleValue();
+        return new BooleanQuery.Builder()
+                .add(new FunctionMatchQuery(distanceSource, value -> value > cursorDistance), Occur.SHOULD)
+                .add(new BooleanQuery.Builder()
+                        .add(new FunctionMatchQuery(distanceSource, value -> value == cursorDistance), Occur.FILTER)
+                        .add(TermRangeQuery.newStringRange(ID, id, null, false, false), Occur.FILTER)
+                        .build(), Occur.SHOULD)
+                .build();
+    }
+
+    private static SortField toSortField(SortBuilder<?> sortBuilder) {
+        boolean reverse = sortBuilder.order() == SortOrder.DESC;
+        if (sortBuilder instanceof ScoreSortBuilder) {
+            return new SortField(null, SortField.Type.SCORE, !reverse);
+        } else if (sortBuilder instanceof GeoDistanceSortBuilder geoDistance) {
+            return toDistanceSortField(geoDistance, reverse);
+        } else if (sortBuilder instanceof FieldSortBuilder field) {
+            return toFieldSortField(field, reverse);
+        }
+        throw new UnsupportedOperationException("Unsupported sort: " + sortBuilder);
+    }
+
+    /**
+     * Scores sort in descending order by default in Lucene and in ascending order by default for every other field.
+     * Missing values sort last unless asked otherwise, as in Elasticsearch.
+     */
+    private static SortField toFieldSortField(FieldSortBuilder field, boolean reverse) {
+        if (SCORE_FIELD.equals(field.getFieldName())) {
+            return new SortField(null, SortField.Type.SCORE, !reverse);
+        }
+        boolean lowestMissing = MISSING_FIRST.equals(field.missing()) != reverse;
+        SortField sortField;
+        switch (field.getFieldName()) {
+            case ID -> {
+                sortField = new SortField(ID, SortField.Type.STRING, reverse);
+                sortField.setMissingValue(lowestMissing ? SortField.STRING_FIRST : SortField.STRING_LAST);
+            }
+            case TIMESTAMP -> {
+                sortField = new SortField(TIMESTAMP, SortField.Type.LONG, reverse);
+                sortField.setMissingValue(lowestMissing ? Long.MIN_VALUE : Long.MAX_VALUE);
+            }
+            case SEVERITY_RANK -> {
+                sortField = new SortField(SEVERITY_RANK, SortField.Type.INT, reverse);
+                sortField.setMissingValue(lowestMissing ? Integer.MIN_VALUE : Integer.MAX_VALUE);
+            }
+            default -> throw new UnsupportedOperationException("Unsupported sort: " + field);
+        }
+        return sortField;
+    }
+
+    private static SortField toDistanceSortField(GeoDistanceSortBuilder geoDistance, boolean reverse) {
+        if (!LOCATION.equals(geoDistance.fieldName()) || geoDistance.points().length != 1
+                || geoDistance.unit() != DistanceUnit.METERS || geoDistance.geoDistance() != GeoDistance.ARC) {
+            throw new UnsupportedOperationException("Unsupported sort: " + geoDistance);
+        }
+        var point = geoDistance.points()[0];
+        return new IncidentDistanceSource(LOCATION, point.lat(), point.lon()).getSortField(reverse);
+    }
+
+    private static UnsupportedOperationException unsupported(QueryBuilder queryBuilder) {
+        return new UnsupportedOperationException("Unsupported " + queryBuilder.getName() + " query on the embedded index");
+    }
+}
@@ -3,6 +3,7 @@ package com.example.emergencydashboard.mapper;
 import com.example.emergencydashboard.dto.IncidentEntityDto;
 import com.example.emergencydashboard.model.IncidentDocument;
 import com.example.emergencydashboard.model.IncidentEntity;
+import com.example.emergencydashboard.model.SeverityLevel;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.Named;
@@ -21,6 +22,7 @@ public interface IncidentMapper {
     @Mapping(target = "location", source = "entity", qualifiedByName = "latLonEntityToGeoPoint")
     @Mapping(target = "incidentType", source = "entity.incidentType", defaultExpression = "java(com.example.emergencydashboard.model.IncidentType.NONE)")
     @Mapping(target = "severityLevel", source = "entity.severityLevel", defaultExpression = "java(com.example.emergencydashboard.model.SeverityLevel.NONE)")
+    @Mapping(target = "severityRank", source = "entity.severityLevel", qualifiedByName = "severityRank")
     IncidentDocument entityToDocument(IncidentEntity entity);
 
     @Mapping(target = "incidentType", source = "dto.incidentType", defaultExpression = "java(com.example.emergencydashboard.model.IncidentType.NONE)")
@@ -30,6 +32,7 @@ public interface IncidentMapper {
     @Mapping(target = "location", source = "dto", qualifiedByName = "latLonDtoToGeoPoint")
     @Mapping(target = "incidentType", source = "dto.incidentType", defaultExpression = "java(com.example.emergencydashboard.model.IncidentType.NONE)")
     @Mapping(target = "severityLevel", source = "dto.severityLevel", defaultExpression = "java(com.example.emergencydashboard.model.SeverityLevel.NONE)")
+    @Mapping(target = "severityRank", source = "dto.severityLevel", qualifiedByName = "severityRank")
     IncidentDocument dtoToDocument(IncidentEntityDto dto);
 
     @Mapping(target = "latitude", source = "location.lat")
@@ -44,6 +47,11 @@ public interface IncidentMapper {
     @Mapping(target = "severityLevel", source = "document.severityLevel", defaultExpression = "java(com.example.emergencydashboard.model.SeverityLevel.NONE)")
     IncidentEntityDto documentToDto(IncidentDocument document);
 
+    @Named("severityRank")
+    static Integer severityRank(SeverityLevel severityLevel) {
+        return (severityLevel == null ? SeverityLevel.NONE : severityLevel).rank();
+    }
+
     @Named("latLonDtoToGeoPoint")
     static GeoPoint latLonDtoToGeoPoint(IncidentEntityDto dto) {
         return new GeoPoint(dto.getLatitude(), dto.getLongitude());
@@ -0,0 +1,60 @@
+package com.example.emergencydashboard.metrics;
+
+import com.example.emergencydashboard.dto.IncidentEntityDto;
+import com.example.emergencydashboard.event.IncidentChangedEvent;
+import com.example.emergencydashboard.model.IncidentChangeType;
+import com.example.emergencydashboard.model.IncidentType;
+import com.example.emergencydashboard.model.SeverityLevel;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Locale;
+
+/**
+ * Counts committed incident writes as {@code incidents.changes}, tagged with the change, the incident type and the
+ * severity, whichever way they came in: REST, batch or STOMP ingest. Every combination is registered up front, so a
+ * write only increments a counter.
+ */
+@Component
+public class IncidentChangeMetrics {
+
+    private static final IncidentChangeType[] CHANGE_TYPES = IncidentChangeType.values();
+    private static final IncidentType[] TYPES = IncidentType.values();
+    private static final SeverityLevel[] SEVERITY_LEVELS = SeverityLevel.values();
+
+    private final Counter[] counters = new Counter[CHANGE_TYPES.length * TYPES.length * SEVERITY_LEVELS.length];
+
+    public IncidentChangeMetrics(MeterRegistry meterRegistry) {
+        for (IncidentChangeType changeType : CHANGE_TYPES) {
+            for (IncidentType type : TYPES) {
+                for (SeverityLevel severityLevel : SEVERITY_LEVELS) {
+                    counters[index(changeType, type, severityLevel)] = Counter.builder("incidents.changes")
+                            .description("Committed incident writes")
+                            .tag("change", nameOf(changeType))
+                            .tag("type", nameOf(type))
+                            .tag("severity", nameOf(severityLevel))
+                            .register(meterRegistry);
+                }
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onIncidentsChanged(IncidentChangedEvent event) {
+        for (IncidentEntityDto incident : event.getIncidents()) {
+            var type = incident.getIncidentType() == null ? IncidentType.NONE : incident.getIncidentType();
+            var severityLevel = incident.getSeverityLevel() == null ? SeverityLevel.NONE : incident.getSeverityLevel();
+            counters[index(event.getType(), type, severityLevel)].increment();
+        }
+    }
+
+    private static int index(IncidentChangeType changeType, IncidentType type, SeverityLevel severityLevel) {
+        return (changeType.ordinal() * TYPES.length + type.ordinal()) * SEVERITY_LEVELS.length + severityLevel.ordinal();
+    }
+
+    private static String nameOf(Enum<?> value) {
+        return value.name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.emergencydashboard.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * The {@value #STAGE_TIMER} timer, registered here for every pipeline and stage so that its name and description are
+ * declared once. Callers register their timers up front and keep them, since registering looks the meter up again.
+ */
+public final class IncidentPipelineMetrics {
+
+    public static final String STAGE_TIMER = "incidents.pipeline.stage";
+
+    private IncidentPipelineMetrics() {
+    }
+
+    public static Timer stageTimer(MeterRegistry meterRegistry, String pipeline, String stage) {
+        return Timer.builder(STAGE_TIMER)
+                .description("Time spent per stage of the incident pipelines")
+                .tag("pipeline", pipeline)
+                .tag("stage", stage)
+                .register(meterRegistry);
+    }
+}
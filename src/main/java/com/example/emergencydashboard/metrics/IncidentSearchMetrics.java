@@ -0,0 +1,76 @@
+package com.example.emergencydashboard.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Meters of the search pipeline, registered once so that recording allocates nothing: the time spent per stage as
+ * {@value #STAGE_TIMER} with {@code pipeline=search}, and the failed Elasticsearch requests as {@value #ERRORS_COUNTER}.
+ */
+@Component
+public class IncidentSearchMetrics {
+
+    public static final String STAGE_TIMER = IncidentPipelineMetrics.STAGE_TIMER;
+    public static final String ERRORS_COUNTER = "incidents.elasticsearch.errors";
+
+    public enum Stage {
+        /**
+         * Building the Elasticsearch query from the search parameters.
+         */
+        BUILD,
+        /**
+         * Waiting for Elasticsearch to return hits.
+         */
+        EXECUTE,
+        /**
+         * Waiting for Elasticsearch to return aggregations.
+         */
+        AGGREGATE,
+        /**
+         * Mapping the hits to the page returned to the client.
+         */
+        MAP
+    }
+
+    public enum Operation {
+        SEARCH,
+        MULTI_SEARCH,
+        AGGREGATION
+    }
+
+    private final Map<Stage, Timer> stageTimers = new EnumMap<>(Stage.class);
+    private final Map<Operation, Counter> errorCounters = new EnumMap<>(Operation.class);
+
+    public IncidentSearchMetrics(MeterRegistry meterRegistry) {
+        for (Stage stage : Stage.values()) {
+            stageTimers.put(stage, IncidentPipelineMetrics.stageTimer(meterRegistry, "search",
+                    stage.name().toLowerCase(Locale.ROOT)));
+        }
+        for (Operation operation : Operation.values()) {
+            errorCounters.put(operation, Counter.builder(ERRORS_COUNTER)
+                    .description("Elasticsearch requests, or queries of a multi-search, that failed")
+                    .tag("operation", operation.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry));
+        }
+    }
+
+    public <T> T record(Stage stage, Supplier<T> supplier) {
+        return stageTimers.get(stage).record(supplier);
+    }
+
+    public void record(Stage stage, long nanos) {
+        stageTimers.get(stage).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordError(Operation operation) {
+        errorCounters.get(operation).increment();
+    }
+}
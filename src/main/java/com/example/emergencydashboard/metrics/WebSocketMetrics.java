@@ -0,0 +1,52 @@
+package com.example.emergencydashboard.metrics;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionConnectedEvent;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Connected STOMP sessions as {@code incidents.websocket.sessions}, and the messages waiting on the client outbound
+ * channel, the executor that writes frames to the sessions, as {@code incidents.websocket.outbound.queue}. A growing
+ * queue means the broadcast produces frames faster than the sessions take them.
+ */
+@Component
+public class WebSocketMetrics {
+
+    private final Set<String> sessions = ConcurrentHashMap.newKeySet();
+
+    public WebSocketMetrics(@Qualifier("clientOutboundChannelExecutor") ThreadPoolTaskExecutor outboundExecutor,
+                            MeterRegistry meterRegistry) {
+        Gauge.builder("incidents.websocket.sessions", sessions, Set::size)
+                .description("Connected STOMP sessions")
+                .register(meterRegistry);
+        Gauge.builder("incidents.websocket.outbound.queue", outboundExecutor,
+                        executor -> executor.getThreadPoolExecutor().getQueue().size())
+                .description("Messages waiting to be written to STOMP sessions")
+                .register(meterRegistry);
+    }
+
+    @EventListener
+    public void onSessionConnected(SessionConnectedEvent event) {
+        var sessionId = SimpMessageHeaderAccessor.getSessionId(event.getMessage().getHeaders());
+        if (sessionId != null) {
+            sessions.add(sessionId);
+        }
+    }
+
+    /**
+     * May be published more than once for the same session, hence the set.
+     */
+    @EventListener
+    public void onSessionDisconnect(SessionDisconnectEvent event) {
+        sessions.remove(event.getSessionId());
+    }
+}
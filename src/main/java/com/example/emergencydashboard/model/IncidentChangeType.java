@@ -0,0 +1,7 @@
+package com.example.emergencydashboard.model;
+
+public enum IncidentChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
@@ -16,6 +16,7 @@ import java.time.LocalDateTime;
 public class IncidentDocument {
 
     @Id
+    @Field(type = FieldType.Keyword)
     private String id;
 
     private IncidentType incidentType;
@@ -29,4 +30,10 @@ public class IncidentDocument {
 
     private SeverityLevel severityLevel;
 
+    /**
+     * {@link SeverityLevel#rank()} of {@code severityLevel}, so that hits can be sorted by urgency.
+     */
+    @Field(type = FieldType.Byte)
+    private Integer severityRank;
+
 }
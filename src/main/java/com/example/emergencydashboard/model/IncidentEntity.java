@@ -10,7 +10,7 @@ import javax.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "incidents")
+@Table(name = "incidents", indexes = @Index(name = "idx_incidents_timestamp_id", columnList = "timestamp, id"))
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
@@ -0,0 +1,52 @@
+package com.example.emergencydashboard.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "incident_outbox", indexes = @Index(name = "idx_incident_outbox_next_attempt", columnList = "nextAttemptAt, id"))
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class IncidentOutboxEntity {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "incident_outbox_seq")
+    @SequenceGenerator(name = "incident_outbox_seq", sequenceName = "incident_outbox_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false)
+    private String incidentId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private IncidentOutboxOperation operation;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    private int attempts;
+
+    @Column(length = MAX_ERROR_LENGTH)
+    private String lastError;
+
+    public static IncidentOutboxEntity of(String incidentId, IncidentOutboxOperation operation) {
+        var now = LocalDateTime.now();
+        return new IncidentOutboxEntity(null, incidentId, operation, now, now, 0, null);
+    }
+
+    public void scheduleRetry(String error, LocalDateTime nextAttemptAt) {
+        this.attempts++;
+        this.nextAttemptAt = nextAttemptAt;
+        this.lastError = error != null && error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+    }
+}
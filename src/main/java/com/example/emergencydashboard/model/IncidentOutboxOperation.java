@@ -0,0 +1,6 @@
+package com.example.emergencydashboard.model;
+
+public enum IncidentOutboxOperation {
+    INDEX,
+    DELETE
+}
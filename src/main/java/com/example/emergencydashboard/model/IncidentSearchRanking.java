@@ -0,0 +1,49 @@
+package com.example.emergencydashboard.model;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Order of search hits. Every mode breaks ties by id, so pages can be continued with a cursor.
+ */
+@RequiredArgsConstructor
+public enum IncidentSearchRanking {
+    /**
+     * Hits of the requested incident type first.
+     */
+    RELEVANCE("relevance"),
+    /**
+     * Closest to the query location first; needs a location.
+     */
+    NEAREST("nearest"),
+    /**
+     * Most recent first.
+     */
+    NEWEST("newest"),
+    /**
+     * Most severe first, then closest to the query location when there is one.
+     */
+    SEVERITY("severity");
+
+    private final String mode;
+
+    @JsonValue
+    public String getMode() {
+        return mode;
+    }
+
+    @JsonCreator
+    public static IncidentSearchRanking forValue(String value) {
+        if (Objects.isNull(value) || value.isBlank()) {
+            return RELEVANCE;
+        }
+        return Arrays.stream(IncidentSearchRanking.values())
+                .filter(ranking -> ranking.name().equalsIgnoreCase(value))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Invalid ranking: " + value));
+    }
+}
@@ -4,8 +4,10 @@ import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonValue;
 import lombok.RequiredArgsConstructor;
 
-import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
 import java.util.Objects;
+import java.util.TreeMap;
 
 @RequiredArgsConstructor
 public enum IncidentType {
@@ -14,6 +16,12 @@ public enum IncidentType {
     POLICE("police"),
     NONE("");
 
+    /**
+     * Constants by name, which is the value for all but {@link #NONE}; {@link #forValue} runs for every value Jackson
+     * reads.
+     */
+    private static final Map<String, IncidentType> BY_VALUE = byName();
+
     private final String type;
 
     @JsonValue
@@ -21,15 +29,30 @@ public enum IncidentType {
         return type;
     }
 
+    /**
+     * Case-insensitive lookup by constant name; blank values are {@link #NONE}.
+     */
     @JsonCreator
     public static IncidentType forValue(String value) {
         if (Objects.isNull(value) || value.isBlank()) {
             return NONE;
         }
-        return Arrays.stream(IncidentType.values())
-                .filter(type -> type.name().equalsIgnoreCase(value))
-                .findFirst()
-                .orElseThrow(() -> new IllegalArgumentException("Invalid incident type: " + value));
+        IncidentType type = BY_VALUE.get(value);
+        if (type == null) {
+            throw new IllegalArgumentException("Invalid incident type: " + value);
+        }
+        return type;
     }
 
+    /**
+     * Constants keyed case-insensitively by name: {@link String#CASE_INSENSITIVE_ORDER} compares like
+     * {@link String#equalsIgnoreCase}, so a lookup in any casing allocates nothing.
+     */
+    private static Map<String, IncidentType> byName() {
+        Map<String, IncidentType> byName = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        for (IncidentType type : values()) {
+            byName.put(type.name(), type);
+        }
+        return Collections.unmodifiableMap(byName);
+    }
 }
@@ -5,7 +5,12 @@ import com.fasterxml.jackson.annotation.JsonValue;
 import lombok.RequiredArgsConstructor;
 
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
 import java.util.Objects;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @RequiredArgsConstructor
 public enum SeverityLevel {
@@ -15,6 +20,17 @@ public enum SeverityLevel {
     URGENT("urgent"),
     NONE("");
 
+    /**
+     * Levels by name, as {@link IncidentType} keys its constants.
+     */
+    private static final Map<String, SeverityLevel> BY_VALUE = byName();
+
+    /**
+     * Levels by {@link #rank()}; the ranks lie within the {@link Integer} cache, so boxing one allocates nothing.
+     */
+    private static final Map<Integer, SeverityLevel> BY_RANK = Arrays.stream(values())
+            .collect(Collectors.toUnmodifiableMap(SeverityLevel::rank, Function.identity()));
+
     private final String level;
 
     @JsonValue
@@ -22,14 +38,52 @@ public enum SeverityLevel {
         return level;
     }
 
+    /**
+     * Urgency rank; {@link #NONE} ranks below {@link #LOW}.
+     */
+    public int rank() {
+        return this == NONE ? -1 : ordinal();
+    }
+
+    /**
+     * @throws IllegalArgumentException when no level has the rank
+     */
+    public static SeverityLevel forRank(int rank) {
+        SeverityLevel level = BY_RANK.get(rank);
+        if (level == null) {
+            throw new IllegalArgumentException("Invalid severity rank: " + rank);
+        }
+        return level;
+    }
+
+    public boolean isAtLeast(SeverityLevel other) {
+        return rank() >= other.rank();
+    }
+
+    /**
+     * Same lookup as {@link IncidentType#forValue}; blank values are {@link #NONE}.
+     */
     @JsonCreator
     public static SeverityLevel forValue(String value) {
         if (Objects.isNull(value) || value.isBlank()) {
             return NONE;
         }
-        return Arrays.stream(SeverityLevel.values())
-                .filter(level -> level.name().equalsIgnoreCase(value))
-                .findFirst()
-                .orElseThrow(() -> new IllegalArgumentException("Invalid incident type: " + value));
+        SeverityLevel level = BY_VALUE.get(value);
+        if (level == null) {
+            throw new IllegalArgumentException("Invalid severity level: " + value);
+        }
+        return level;
+    }
+
+    /**
+     * Constants keyed case-insensitively by name: {@link String#CASE_INSENSITIVE_ORDER} compares like
+     * {@link String#equalsIgnoreCase}, so a lookup in any casing allocates nothing.
+     */
+    private static Map<String, SeverityLevel> byName() {
+        Map<String, SeverityLevel> byName = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        for (SeverityLevel level : values()) {
+            byName.put(level.name(), level);
+        }
+        return Collections.unmodifiableMap(byName);
     }
 }
@@ -1,8 +1,49 @@
 package com.example.emergencydashboard.repository.jpa;
 
 import com.example.emergencydashboard.model.IncidentEntity;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import javax.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
 
 public interface IncidentJpaRepository extends JpaRepository<IncidentEntity, String> {
 
+    String EXPORT_FETCH_SIZE = "500";
+
+    @Query("select i from IncidentEntity i order by i.timestamp desc, i.id desc")
+    List<IncidentEntity> findFirstPage(Pageable pageable);
+
+    /**
+     * Keyset page strictly after {@code (timestamp, id)} in {@code timestamp desc, id desc} order. The redundant
+     * {@code timestamp <= :timestamp} bound lets the database start a range scan on {@code idx_incidents_timestamp_id}
+     * instead of skipping rows, so deep pages cost the same as the first one.
+     */
+    @Query("select i from IncidentEntity i " +
+            "where i.timestamp <= :timestamp and (i.timestamp < :timestamp or i.id < :id) " +
+            "order by i.timestamp desc, i.id desc")
+    List<IncidentEntity> findPageAfter(@Param("timestamp") LocalDateTime timestamp, @Param("id") String id, Pageable pageable);
+
+    List<IncidentEntity> findByTimestampGreaterThanEqual(LocalDateTime from);
+
+    /**
+     * Forward-only cursor over all incidents, oldest first, fetching {@value #EXPORT_FETCH_SIZE} rows per round trip.
+     * Must be consumed inside a transaction and closed afterwards.
+     */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+            @QueryHint(name = HINT_READONLY, value = "true"),
+            @QueryHint(name = HINT_CACHEABLE, value = "false")
+    })
+    @Query("select i from IncidentEntity i order by i.timestamp, i.id")
+    Stream<IncidentEntity> streamAllForExport();
 }
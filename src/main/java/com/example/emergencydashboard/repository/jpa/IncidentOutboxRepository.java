@@ -0,0 +1,19 @@
+package com.example.emergencydashboard.repository.jpa;
+
+import com.example.emergencydashboard.model.IncidentOutboxEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface IncidentOutboxRepository extends JpaRepository<IncidentOutboxEntity, Long> {
+
+    @Query("select o from IncidentOutboxEntity o where o.nextAttemptAt <= :now order by o.id")
+    List<IncidentOutboxEntity> findPending(@Param("now") LocalDateTime now, Pageable pageable);
+
+    Optional<IncidentOutboxEntity> findFirstByOrderByIdAsc();
+}
@@ -3,8 +3,5 @@ package com.example.emergencydashboard.repository.search;
 import com.example.emergencydashboard.model.IncidentDocument;
 import org.springframework.data.elasticsearch.repository.ElasticsearchRepository;
 
-import java.util.List;
-
-public interface IncidentSearchRepository extends ElasticsearchRepository<IncidentDocument, String> {
-    List<IncidentDocument> findByIncidentType(String incidentType);
+public interface IncidentSearchRepository extends ElasticsearchRepository<IncidentDocument, String>, IncidentSearchRepositoryCustom {
 }
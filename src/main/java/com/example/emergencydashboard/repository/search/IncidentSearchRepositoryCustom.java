@@ -0,0 +1,30 @@
+package com.example.emergencydashboard.repository.search;
+
+import com.example.emergencydashboard.model.IncidentDocument;
+import org.elasticsearch.action.support.WriteRequest.RefreshPolicy;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public interface IncidentSearchRepositoryCustom {
+
+    /**
+     * Indexes all documents with a single {@code _bulk} request.
+     *
+     * @return failure messages keyed by document id; empty when every document was indexed
+     */
+    Map<String, String> bulkIndex(List<IncidentDocument> documents, RefreshPolicy refreshPolicy);
+
+    /**
+     * Deletes all documents with a single {@code _bulk} request. Ids that are not indexed are not reported as failures.
+     *
+     * @return failure messages keyed by document id; empty when every document was deleted
+     */
+    Map<String, String> bulkDelete(Collection<String> ids, RefreshPolicy refreshPolicy);
+
+    /**
+     * Refreshes the incidents index, making all writes since the previous refresh visible to searches.
+     */
+    void refresh();
+}
@@ -0,0 +1,89 @@
+package com.example.emergencydashboard.repository.search;
+
+import com.example.emergencydashboard.model.IncidentDocument;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.action.delete.DeleteRequest;
+import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.action.support.WriteRequest.RefreshPolicy;
+import org.elasticsearch.client.RequestOptions;
+import org.elasticsearch.common.xcontent.XContentType;
+import org.springframework.data.elasticsearch.core.ElasticsearchRestTemplate;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@RequiredArgsConstructor
+@Slf4j
+public class IncidentSearchRepositoryCustomImpl implements IncidentSearchRepositoryCustom {
+
+    private final ElasticsearchRestTemplate elasticsearchTemplate;
+
+    @Override
+    public Map<String, String> bulkIndex(List<IncidentDocument> documents, RefreshPolicy refreshPolicy) {
+        if (documents.isEmpty()) {
+            return Map.of();
+        }
+
+        var indexName = getIndexName();
+        var bulkRequest = new BulkRequest().setRefreshPolicy(refreshPolicy);
+        for (IncidentDocument document : documents) {
+            bulkRequest.add(new IndexRequest(indexName)
+                    .id(document.getId())
+                    .source(toJson(document), XContentType.JSON));
+        }
+
+        return execute(bulkRequest);
+    }
+
+    @Override
+    public Map<String, String> bulkDelete(Collection<String> ids, RefreshPolicy refreshPolicy) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+
+        var indexName = getIndexName();
+        var bulkRequest = new BulkRequest().setRefreshPolicy(refreshPolicy);
+        ids.forEach(id -> bulkRequest.add(new DeleteRequest(indexName, id)));
+
+        return execute(bulkRequest);
+    }
+
+    @Override
+    public void refresh() {
+        elasticsearchTemplate.indexOps(IncidentDocument.class).refresh();
+    }
+
+    private Map<String, String> execute(BulkRequest bulkRequest) {
+        BulkResponse response = elasticsearchTemplate.execute(client -> client.bulk(bulkRequest, RequestOptions.DEFAULT));
+        return collectFailures(response);
+    }
+
+    private Map<String, String> collectFailures(BulkResponse response) {
+        if (!response.hasFailures()) {
+            return Map.of();
+        }
+
+        Map<String, String> failures = new HashMap<>();
+        for (BulkItemResponse item : response.getItems()) {
+            if (item.isFailed()) {
+                failures.put(item.getId(), item.getFailureMessage());
+            }
+        }
+        log.warn("Bulk request finished with {} failed items out of {}", failures.size(), response.getItems().length);
+        return failures;
+    }
+
+    private String toJson(IncidentDocument document) {
+        return elasticsearchTemplate.getElasticsearchConverter().mapObject(document).toJson();
+    }
+
+    private String getIndexName() {
+        return elasticsearchTemplate.getIndexCoordinatesFor(IncidentDocument.class).getIndexName();
+    }
+}
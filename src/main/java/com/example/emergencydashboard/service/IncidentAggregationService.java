@@ -0,0 +1,19 @@
+package com.example.emergencydashboard.service;
+
+import com.example.emergencydashboard.dto.IncidentAggregationDto;
+import com.example.emergencydashboard.dto.IncidentSearchQueryDto;
+
+import java.time.Duration;
+
+public interface IncidentAggregationService {
+
+    /**
+     * Heatmap, timeline and counters of the incidents matching the filters of {@code queryDto}.
+     *
+     * @param geohashPrecision geohash length of the heatmap cells; {@code null} uses
+     *                         {@code incidents.aggregation.default-geohash-precision}
+     * @param interval         width of the timeline buckets; {@code null} uses
+     *                         {@code incidents.aggregation.default-interval}
+     */
+    IncidentAggregationDto aggregateIncidents(IncidentSearchQueryDto queryDto, Integer geohashPrecision, Duration interval);
+}
@@ -0,0 +1,83 @@
+package com.example.emergencydashboard.service;
+
+import com.example.emergencydashboard.builder.IncidentQueryBuilder;
+import com.example.emergencydashboard.config.IncidentAggregationProperties;
+import com.example.emergencydashboard.dto.IncidentAggregationDto;
+import com.example.emergencydashboard.dto.IncidentSearchQueryDto;
+import com.example.emergencydashboard.executor.IncidentQueryExecutor;
+import com.example.emergencydashboard.model.IncidentType;
+import com.example.emergencydashboard.model.SeverityLevel;
+import lombok.RequiredArgsConstructor;
+import org.elasticsearch.common.geo.GeoPoint;
+import org.elasticsearch.search.aggregations.bucket.geogrid.GeoGrid;
+import org.elasticsearch.search.aggregations.bucket.histogram.Histogram;
+import org.elasticsearch.search.aggregations.bucket.terms.Terms;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+import static com.example.emergencydashboard.builder.IncidentQueryBuilder.*;
+
+/**
+ * Computes the dashboard counters in Elasticsearch with a single request that returns buckets only, so a refresh
+ * transfers a few kilobytes regardless of how many incidents match.
+ */
+@Service
+@Profile("!lucene")
+@RequiredArgsConstructor
+public class IncidentAggregationServiceImpl implements IncidentAggregationService {
+
+    private final IncidentQueryBuilder queryBuilder;
+    private final IncidentQueryExecutor queryExecutor;
+    private final IncidentAggregationProperties aggregationProperties;
+
+    @Override
+    public IncidentAggregationDto aggregateIncidents(IncidentSearchQueryDto queryDto, Integer geohashPrecision, Duration interval) {
+        var source = queryBuilder.buildAggregationSource(queryDto,
+                aggregationProperties.resolveGeohashPrecision(geohashPrecision),
+                aggregationProperties.getMaxHeatmapCells(),
+                aggregationProperties.resolveInterval(interval));
+        var response = queryExecutor.executeSearch(source);
+        var aggregations = response.getAggregations();
+
+        return new IncidentAggregationDto(
+                response.getHits().getTotalHits().value,
+                toHeatmap(aggregations.get(HEATMAP_AGGREGATION)),
+                toTimeline(aggregations.get(TIMELINE_AGGREGATION)),
+                toCounts(aggregations.get(BY_TYPE_AGGREGATION), bucket -> IncidentType.forValue(bucket.getKeyAsString()).name()),
+                toCounts(aggregations.get(BY_SEVERITY_AGGREGATION), bucket -> SeverityLevel.forRank(bucket.getKeyAsNumber().intValue()).name()));
+    }
+
+    private static List<IncidentAggregationDto.HeatmapCell> toHeatmap(GeoGrid heatmap) {
+        return heatmap.getBuckets().stream()
+                .map(bucket -> {
+                    var center = GeoPoint.fromGeohash(bucket.getKeyAsString());
+                    return new IncidentAggregationDto.HeatmapCell(bucket.getKeyAsString(), center.getLat(), center.getLon(), bucket.getDocCount());
+                })
+                .toList();
+    }
+
+    /**
+     * Bucket keys are the start of the bucket in UTC, the zone the index stores the local timestamps in.
+     */
+    private static List<IncidentAggregationDto.TimelineBucket> toTimeline(Histogram timeline) {
+        return timeline.getBuckets().stream()
+                .map(bucket -> new IncidentAggregationDto.TimelineBucket(((ZonedDateTime) bucket.getKey()).toLocalDateTime(), bucket.getDocCount()))
+                .toList();
+    }
+
+    private static Map<String, Long> toCounts(Terms terms, Function<Terms.Bucket, String> nameOf) {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (Terms.Bucket bucket : terms.getBuckets()) {
+            counts.merge(nameOf.apply(bucket).toLowerCase(Locale.ROOT), bucket.getDocCount(), Long::sum);
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.emergencydashboard.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface IncidentExportService {
+
+    /**
+     * Writes every incident to the stream as newline-delimited JSON, oldest first.
+     *
+     * @return number of exported incidents
+     */
+    long exportNdjson(OutputStream outputStream) throws IOException;
+}
@@ -0,0 +1,71 @@
+package com.example.emergencydashboard.service;
+
+import com.example.emergencydashboard.mapper.IncidentMapper;
+import com.example.emergencydashboard.model.IncidentEntity;
+import com.example.emergencydashboard.repository.jpa.IncidentJpaRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.stream.Stream;
+
+/**
+ * Streams the incidents table row by row: the JPA cursor fetches a fixed number of rows per round trip, each entity is
+ * detached once written and output is flushed once per fetch, so memory stays flat and the first bytes leave after the
+ * first fetch regardless of the table size.
+ */
+@Service
+@Slf4j
+public class IncidentExportServiceImpl implements IncidentExportService {
+
+    private static final int FLUSH_EVERY = Integer.parseInt(IncidentJpaRepository.EXPORT_FETCH_SIZE);
+
+    private final IncidentJpaRepository jpaRepository;
+    private final IncidentMapper mapper;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter writer;
+
+    public IncidentExportServiceImpl(IncidentJpaRepository jpaRepository,
+                                     IncidentMapper mapper,
+                                     EntityManager entityManager,
+                                     ObjectMapper objectMapper) {
+        this.jpaRepository = jpaRepository;
+        this.mapper = mapper;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public long exportNdjson(OutputStream outputStream) throws IOException {
+        long count = 0;
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream);
+             Stream<IncidentEntity> incidents = jpaRepository.streamAllForExport()) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+
+            var iterator = incidents.iterator();
+            while (iterator.hasNext()) {
+                IncidentEntity entity = iterator.next();
+                writer.writeValue(generator, mapper.entityToDto(entity));
+                generator.writeRaw('\n');
+                entityManager.detach(entity);
+                if (++count % FLUSH_EVERY == 0) {
+                    generator.flush();
+                }
+            }
+            generator.flush();
+        }
+        log.info("Exported {} incidents", count);
+        return count;
+    }
+}
@@ -1,13 +1,33 @@
 package com.example.emergencydashboard.service;
 
-import com.example.emergencydashboard.dto.IncidentEntityDto;
+import com.example.emergencydashboard.dto.IncidentSearchBatchResultDto;
+import com.example.emergencydashboard.dto.IncidentSearchPageDto;
 import com.example.emergencydashboard.dto.IncidentSearchQueryDto;
-import com.example.emergencydashboard.model.IncidentType;
+import reactor.core.publisher.Mono;
 
 import java.util.List;
 
 public interface IncidentSearchService {
-    List<IncidentEntityDto> searchIncidentsByType(IncidentType type);
 
-    List<IncidentEntityDto> searchIncidents(IncidentSearchQueryDto queryDto);
+    /**
+     * Incidents of {@code queryDto.incidentType}, newest first.
+     */
+    IncidentSearchPageDto searchIncidentsByType(IncidentSearchQueryDto queryDto);
+
+    IncidentSearchPageDto searchIncidents(IncidentSearchQueryDto queryDto);
+
+    /**
+     * Same search as {@link #searchIncidents}, without blocking the calling thread. Fails with
+     * {@code SearchTimeoutException} once {@code incidents.search.deadline} passes; cancelling the subscription
+     * cancels the Elasticsearch request.
+     */
+    Mono<IncidentSearchPageDto> searchIncidentsReactive(IncidentSearchQueryDto queryDto);
+
+    /**
+     * Runs each search as {@link #searchIncidents} would, sending the ones Elasticsearch has to answer in a single
+     * request. A failing search is reported in its item and does not fail the batch.
+     *
+     * @throws IllegalArgumentException when the batch holds more than {@code incidents.search.max-batch-size} searches
+     */
+    IncidentSearchBatchResultDto searchIncidentsBatch(List<IncidentSearchQueryDto> queryDtos);
 }
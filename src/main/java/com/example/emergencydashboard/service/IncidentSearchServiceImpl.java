@@ -1,51 +1,193 @@
 package com.example.emergencydashboard.service;
 
 import com.example.emergencydashboard.builder.IncidentQueryBuilder;
-import com.example.emergencydashboard.dto.IncidentEntityDto;
+import com.example.emergencydashboard.cache.IncidentSearchResultCache;
+import com.example.emergencydashboard.config.IncidentPaginationProperties;
+import com.example.emergencydashboard.config.IncidentSearchProperties;
+import com.example.emergencydashboard.dto.IncidentSearchBatchItemDto;
+import com.example.emergencydashboard.dto.IncidentSearchBatchResultDto;
+import com.example.emergencydashboard.dto.IncidentSearchPageDto;
 import com.example.emergencydashboard.dto.IncidentSearchQueryDto;
+import com.example.emergencydashboard.exception.SearchTimeoutException;
 import com.example.emergencydashboard.executor.IncidentQueryExecutor;
+import com.example.emergencydashboard.executor.IncidentReactiveQueryExecutor;
+import com.example.emergencydashboard.executor.IncidentSearchCoalescer;
 import com.example.emergencydashboard.mapper.IncidentMapper;
+import com.example.emergencydashboard.metrics.IncidentSearchMetrics;
+import com.example.emergencydashboard.metrics.IncidentSearchMetrics.Stage;
 import com.example.emergencydashboard.model.IncidentDocument;
-import com.example.emergencydashboard.model.IncidentType;
-import com.example.emergencydashboard.repository.search.IncidentSearchRepository;
+import com.example.emergencydashboard.model.IncidentSearchRanking;
+import com.example.emergencydashboard.store.IncidentHotWindowStore;
+import com.example.emergencydashboard.util.IncidentSearchCursor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.elasticsearch.core.SearchHit;
 import org.springframework.data.elasticsearch.core.SearchHits;
+import org.springframework.data.elasticsearch.core.TotalHitsRelation;
+import org.springframework.data.elasticsearch.core.query.Query;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class IncidentSearchServiceImpl implements IncidentSearchService {
 
-    private final IncidentSearchRepository searchRepository;
+    private static final String BATCH_TOO_LARGE_TEMPLATE = "Batch size %d exceeds the maximum of %d searches";
+    private static final String NULL_QUERY_MESSAGE = "Search must not be null";
+
     private final IncidentQueryBuilder queryBuilder;
     private final IncidentQueryExecutor queryExecutor;
+    private final IncidentReactiveQueryExecutor reactiveQueryExecutor;
     private final IncidentMapper mapper;
+    private final IncidentHotWindowStore hotWindowStore;
+    private final IncidentSearchResultCache resultCache;
+    private final IncidentSearchCoalescer coalescer;
+    private final IncidentPaginationProperties paginationProperties;
+    private final IncidentSearchProperties searchProperties;
+    private final IncidentSearchMetrics metrics;
+
+    @Override
+    public IncidentSearchPageDto searchIncidentsByType(IncidentSearchQueryDto queryDto) {
+        var pagedQuery = withPageSize(queryDto);
+        var searchHits = queryExecutor.executeQuery(metrics.record(Stage.BUILD, () -> queryBuilder.buildTypeQuery(pagedQuery)));
+        return toPage(searchHits, pagedQuery, hit -> IncidentSearchCursor.byTimestamp(mapper.documentToDto(hit.getContent())));
+    }
 
     @Override
-    public List<IncidentEntityDto> searchIncidentsByType(IncidentType type) {
-        return searchRepository.findByIncidentType(type.getType())
-                .stream()
-                .map(mapper::documentToDto)
-                .toList();
+    public IncidentSearchPageDto searchIncidents(IncidentSearchQueryDto queryDto) {
+        var normalizedQuery = resultCache.normalize(withDefaults(queryDto));
+        var hotWindowPage = hotWindowStore.search(normalizedQuery);
+        if (hotWindowPage.isPresent()) {
+            return hotWindowPage.get();
+        }
+        return resultCache.get(normalizedQuery, () -> coalescer.execute(normalizedQuery, () -> {
+            var searchQuery = metrics.record(Stage.BUILD, () -> queryBuilder.buildQuery(normalizedQuery));
+            var searchHits = queryExecutor.executeQuery(searchQuery);
+            return toPage(searchHits, normalizedQuery, hit -> queryBuilder.cursorOf(normalizedQuery,
+                    mapper.documentToDto(hit.getContent()), hit.getSortValues()));
+        }));
+    }
+
+    /**
+     * Not coalesced: joining a search in flight means waiting for it, which the blocking path does on its own thread.
+     * Results are still shared through the result cache.
+     */
+    @Override
+    public Mono<IncidentSearchPageDto> searchIncidentsReactive(IncidentSearchQueryDto queryDto) {
+        return Mono.defer(() -> {
+            var normalizedQuery = resultCache.normalize(withDefaults(queryDto));
+            var hotWindowPage = hotWindowStore.search(normalizedQuery);
+            if (hotWindowPage.isPresent()) {
+                return Mono.just(hotWindowPage.get());
+            }
+            var cachedPage = resultCache.getIfPresent(normalizedQuery);
+            if (cachedPage != null) {
+                return Mono.just(cachedPage);
+            }
+
+            var deadline = searchProperties.getDeadline();
+            return reactiveQueryExecutor.executeQuery(metrics.record(Stage.BUILD, () -> queryBuilder.buildQuery(normalizedQuery)))
+                    .timeout(deadline)
+                    .onErrorMap(TimeoutException.class, e -> new SearchTimeoutException(deadline))
+                    .map(searchHits -> toPage(searchHits, normalizedQuery, hit -> queryBuilder.cursorOf(normalizedQuery,
+                            mapper.documentToDto(hit.getContent()), hit.getSortValues())))
+                    .doOnNext(page -> resultCache.put(normalizedQuery, page));
+        });
     }
 
+    /**
+     * Searches answered by the hot window or the result cache are not sent; the rest go out in one multi-search, which
+     * Elasticsearch runs concurrently. They are not coalesced with identical searches in flight.
+     */
     @Override
-    public List<IncidentEntityDto> searchIncidents(IncidentSearchQueryDto queryDto) {
-        var searchQuery = queryBuilder.buildQuery(queryDto);
-        var searchHits = queryExecutor.executeQuery(searchQuery);
-        return mapHitsToDto(searchHits);
+    public IncidentSearchBatchResultDto searchIncidentsBatch(List<IncidentSearchQueryDto> queryDtos) {
+        if (queryDtos.size() > searchProperties.getMaxBatchSize()) {
+            throw new IllegalArgumentException(BATCH_TOO_LARGE_TEMPLATE.formatted(queryDtos.size(), searchProperties.getMaxBatchSize()));
+        }
+
+        var results = new IncidentSearchBatchItemDto[queryDtos.size()];
+        List<Integer> pending = new ArrayList<>();
+        List<IncidentSearchQueryDto> pendingQueries = new ArrayList<>();
+        List<Query> searchQueries = new ArrayList<>();
+        for (int index = 0; index < queryDtos.size(); index++) {
+            if (queryDtos.get(index) == null) {
+                results[index] = IncidentSearchBatchItemDto.failed(index, NULL_QUERY_MESSAGE);
+                continue;
+            }
+            try {
+                var normalizedQuery = resultCache.normalize(withDefaults(queryDtos.get(index)));
+                var page = hotWindowStore.search(normalizedQuery).orElseGet(() -> resultCache.getIfPresent(normalizedQuery));
+                if (page != null) {
+                    results[index] = IncidentSearchBatchItemDto.ok(index, page);
+                    continue;
+                }
+                searchQueries.add(metrics.record(Stage.BUILD, () -> queryBuilder.buildQuery(normalizedQuery)));
+                pendingQueries.add(normalizedQuery);
+                pending.add(index);
+            } catch (IllegalArgumentException e) {
+                results[index] = IncidentSearchBatchItemDto.failed(index, e.getMessage());
+            }
+        }
+
+        if (!searchQueries.isEmpty()) {
+            var items = queryExecutor.executeQueries(searchQueries);
+            for (int i = 0; i < items.size(); i++) {
+                int index = pending.get(i);
+                var item = items.get(i);
+                if (item.isFailure()) {
+                    log.warn("Search {} of the batch failed", index, item.failure());
+                    results[index] = IncidentSearchBatchItemDto.failed(index, item.failure().getMessage());
+                    continue;
+                }
+                var normalizedQuery = pendingQueries.get(i);
+                var page = toPage(item.searchHits(), normalizedQuery, hit -> queryBuilder.cursorOf(normalizedQuery,
+                        mapper.documentToDto(hit.getContent()), hit.getSortValues()));
+                resultCache.put(normalizedQuery, page);
+                results[index] = IncidentSearchBatchItemDto.ok(index, page);
+            }
+        }
+
+        return IncidentSearchBatchResultDto.of(Arrays.asList(results));
+    }
+
+    private IncidentSearchQueryDto withDefaults(IncidentSearchQueryDto queryDto) {
+        var ranking = queryDto.getRanking() == null ? IncidentSearchRanking.RELEVANCE : queryDto.getRanking();
+        if (ranking == IncidentSearchRanking.NEAREST && (queryDto.getLatitude() == null || queryDto.getLongitude() == null)) {
+            throw new IllegalArgumentException("Ranking by distance requires latitude and longitude");
+        }
+        return withPageSize(queryDto).toBuilder()
+                .ranking(ranking)
+                .radiusKm(searchProperties.resolveRadiusKm(queryDto.getRadiusKm()))
+                .timeWindow(searchProperties.resolveTimeWindow(queryDto.getTimeWindow()))
+                .build();
+    }
+
+    private IncidentSearchQueryDto withPageSize(IncidentSearchQueryDto queryDto) {
+        return queryDto.toBuilder()
+                .limit(paginationProperties.resolvePageSize(queryDto.getLimit()))
+                .build();
     }
 
-    private List<IncidentEntityDto> mapHitsToDto(SearchHits<IncidentDocument> searchHits) {
-        return searchHits.getSearchHits().stream()
-                .map(SearchHit::getContent)
-                .map(mapper::documentToDto)
-                .toList();
+    /**
+     * The hit count is only reported on the first page; continuation pages do not track it.
+     */
+    private IncidentSearchPageDto toPage(SearchHits<IncidentDocument> searchHits, IncidentSearchQueryDto queryDto,
+                                         Function<SearchHit<IncidentDocument>, IncidentSearchCursor> cursorOf) {
+        boolean firstPage = queryDto.getCursor() == null;
+        Long totalHits = firstPage ? searchHits.getTotalHits() : null;
+        String totalHitsRelation = !firstPage ? null
+                : searchHits.getTotalHitsRelation() == TotalHitsRelation.EQUAL_TO
+                ? IncidentSearchPageDto.TOTAL_HITS_EXACT
+                : IncidentSearchPageDto.TOTAL_HITS_LOWER_BOUND;
+        return metrics.record(Stage.MAP, () -> IncidentSearchPageDto.of(searchHits.getSearchHits(), queryDto.getLimit(),
+                hit -> mapper.documentToDto(hit.getContent()), hit -> cursorOf.apply(hit).encode(), totalHits, totalHitsRelation));
     }
 
 }
@@ -1,13 +1,28 @@
 package com.example.emergencydashboard.service;
 
+import com.example.emergencydashboard.dto.IncidentBatchResultDto;
 import com.example.emergencydashboard.dto.IncidentEntityDto;
+import com.example.emergencydashboard.dto.IncidentPageDto;
 
 import java.util.List;
 
 public interface IncidentService {
     IncidentEntityDto saveIncident(IncidentEntityDto incidentDto);
 
+    IncidentBatchResultDto saveIncidents(List<IncidentEntityDto> incidentDtos);
+
+    List<IncidentEntityDto> saveIncidentBatch(List<IncidentEntityDto> incidentDtos);
+
     List<IncidentEntityDto> findAllIncidents();
+
+    /**
+     * Keyset page of incidents, newest first.
+     *
+     * @param cursor {@code nextCursor} of the previous page, or {@code null} for the first page
+     * @param limit  requested page size, capped to {@code incidents.pagination.max-page-size}
+     */
+    IncidentPageDto findIncidentPage(String cursor, Integer limit);
+
     IncidentEntityDto findIncidentById(String id);
 
     IncidentEntityDto updateIncident(String id, IncidentEntityDto incidentDto);
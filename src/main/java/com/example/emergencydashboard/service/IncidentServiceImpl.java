@@ -1,36 +1,181 @@
 package com.example.emergencydashboard.service;
 
+import com.example.emergencydashboard.config.CacheConfig;
+import com.example.emergencydashboard.config.IncidentBatchProperties;
+import com.example.emergencydashboard.config.IncidentPaginationProperties;
+import com.example.emergencydashboard.dto.IncidentBatchItemResultDto;
+import com.example.emergencydashboard.dto.IncidentBatchResultDto;
 import com.example.emergencydashboard.dto.IncidentEntityDto;
+import com.example.emergencydashboard.dto.IncidentPageDto;
+import com.example.emergencydashboard.event.IncidentChangedEvent;
 import com.example.emergencydashboard.mapper.IncidentMapper;
+import com.example.emergencydashboard.metrics.IncidentPipelineMetrics;
+import com.example.emergencydashboard.model.IncidentChangeType;
 import com.example.emergencydashboard.model.IncidentEntity;
+import com.example.emergencydashboard.model.IncidentOutboxEntity;
+import com.example.emergencydashboard.model.IncidentOutboxOperation;
 import com.example.emergencydashboard.repository.jpa.IncidentJpaRepository;
-import com.example.emergencydashboard.repository.search.IncidentSearchRepository;
-import lombok.RequiredArgsConstructor;
+import com.example.emergencydashboard.repository.jpa.IncidentOutboxRepository;
+import com.example.emergencydashboard.util.CursorCodec;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import javax.persistence.EntityNotFoundException;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class IncidentServiceImpl implements IncidentService {
 
     private static final String INCIDENT_NOT_FOUND_TEMPLATE = "Incident not found with id: ";
+    private static final String BATCH_TOO_LARGE_TEMPLATE = "Batch size %d exceeds the maximum of %d incidents";
+    private static final String NULL_INCIDENT_MESSAGE = "Incident must not be null";
 
     private final IncidentJpaRepository jpaRepository;
-    private final IncidentSearchRepository searchRepository;
+    private final IncidentOutboxRepository outboxRepository;
     private final IncidentMapper mapper;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final IncidentBatchProperties batchProperties;
+    private final IncidentPaginationProperties paginationProperties;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Timer saveTimer;
+
+    public IncidentServiceImpl(IncidentJpaRepository jpaRepository,
+                               IncidentOutboxRepository outboxRepository,
+                               IncidentMapper mapper,
+                               Validator validator,
+                               TransactionTemplate transactionTemplate,
+                               IncidentBatchProperties batchProperties,
+                               IncidentPaginationProperties paginationProperties,
+                               ApplicationEventPublisher eventPublisher,
+                               MeterRegistry meterRegistry) {
+        this.jpaRepository = jpaRepository;
+        this.outboxRepository = outboxRepository;
+        this.mapper = mapper;
+        this.validator = validator;
+        this.transactionTemplate = transactionTemplate;
+        this.batchProperties = batchProperties;
+        this.paginationProperties = paginationProperties;
+        this.eventPublisher = eventPublisher;
+        this.saveTimer = IncidentPipelineMetrics.stageTimer(meterRegistry, "persistence", "save");
+    }
 
     @Transactional
     @Override
     public IncidentEntityDto saveIncident(IncidentEntityDto incidentDto) {
-        var entity = mapper.dtoToEntity(incidentDto);
-        var savedEntity = jpaRepository.save(entity);
-        indexToElastic(savedEntity);
-        return mapper.entityToDto(entity);
+        var entity = toEntity(incidentDto);
+        var savedEntity = save(entity);
+        enqueueIndexing(savedEntity.getId(), IncidentOutboxOperation.INDEX);
+        var savedDto = mapper.entityToDto(entity);
+        eventPublisher.publishEvent(IncidentChangedEvent.of(IncidentChangeType.CREATED, savedDto));
+        return savedDto;
+    }
+
+    @Override
+    public IncidentBatchResultDto saveIncidents(List<IncidentEntityDto> incidentDtos) {
+        if (incidentDtos.size() > batchProperties.getMaxSize()) {
+            throw new IllegalArgumentException(BATCH_TOO_LARGE_TEMPLATE.formatted(incidentDtos.size(), batchProperties.getMaxSize()));
+        }
+
+        var results = new IncidentBatchItemResultDto[incidentDtos.size()];
+        List<Integer> chunk = new ArrayList<>(batchProperties.getChunkSize());
+
+        for (int index = 0; index < incidentDtos.size(); index++) {
+            var incidentDto = incidentDtos.get(index);
+            if (incidentDto == null) {
+                results[index] = IncidentBatchItemResultDto.failed(index, NULL_INCIDENT_MESSAGE);
+                continue;
+            }
+            var violations = validator.validate(incidentDto);
+            if (!violations.isEmpty()) {
+                results[index] = IncidentBatchItemResultDto.failed(index, getViolationsMessage(violations));
+                continue;
+            }
+            chunk.add(index);
+            if (chunk.size() == batchProperties.getChunkSize()) {
+                saveChunk(incidentDtos, chunk, results);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            saveChunk(incidentDtos, chunk, results);
+        }
+
+        return IncidentBatchResultDto.of(Arrays.asList(results));
+    }
+
+    /**
+     * Persists one chunk in its own transaction using JDBC batching, together with its outbox rows.
+     */
+    private void saveChunk(List<IncidentEntityDto> incidentDtos, List<Integer> chunk, IncidentBatchItemResultDto[] results) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                List<IncidentEntity> savedEntities = persistAll(chunk.stream()
+                        .map(incidentDtos::get)
+                        .toList());
+                publishCreated(savedEntities);
+
+                for (int i = 0; i < chunk.size(); i++) {
+                    int index = chunk.get(i);
+                    results[index] = IncidentBatchItemResultDto.created(index, savedEntities.get(i).getId());
+                }
+            });
+        } catch (RuntimeException e) {
+            log.error("Failed to save a chunk of {} incidents", chunk.size(), e);
+            chunk.forEach(index -> results[index] = IncidentBatchItemResultDto.failed(index, e.getMessage()));
+        }
+    }
+
+    @Transactional
+    @Override
+    public List<IncidentEntityDto> saveIncidentBatch(List<IncidentEntityDto> incidentDtos) {
+        return publishCreated(persistAll(incidentDtos));
+    }
+
+    private List<IncidentEntityDto> publishCreated(List<IncidentEntity> savedEntities) {
+        List<IncidentEntityDto> savedDtos = savedEntities.stream()
+                .map(mapper::entityToDto)
+                .toList();
+        eventPublisher.publishEvent(new IncidentChangedEvent(IncidentChangeType.CREATED, savedDtos));
+        return savedDtos;
+    }
+
+    private List<IncidentEntity> persistAll(List<IncidentEntityDto> incidentDtos) {
+        List<IncidentEntity> entities = incidentDtos.stream()
+                .map(this::toEntity)
+                .toList();
+        long start = System.nanoTime();
+        List<IncidentEntity> savedEntities = jpaRepository.saveAll(entities);
+        saveTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        outboxRepository.saveAll(savedEntities.stream()
+                .map(entity -> IncidentOutboxEntity.of(entity.getId(), IncidentOutboxOperation.INDEX))
+                .toList());
+        return savedEntities;
+    }
+
+    private String getViolationsMessage(Set<ConstraintViolation<IncidentEntityDto>> violations) {
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
     }
 
     @Override
@@ -41,6 +186,43 @@ public class IncidentServiceImpl implements IncidentService {
                 .toList();
     }
 
+    @Override
+    public IncidentPageDto findIncidentPage(String cursor, Integer limit) {
+        int pageSize = paginationProperties.resolvePageSize(limit);
+        var pageable = PageRequest.of(0, pageSize + 1);
+
+        List<IncidentEntity> entities;
+        if (cursor == null || cursor.isBlank()) {
+            entities = jpaRepository.findFirstPage(pageable);
+        } else {
+            List<String> key = CursorCodec.decode(cursor, 2);
+            entities = jpaRepository.findPageAfter(parseCursorTimestamp(key.get(0)), key.get(1), pageable);
+        }
+
+        boolean hasMore = entities.size() > pageSize;
+        List<IncidentEntity> page = hasMore ? entities.subList(0, pageSize) : entities;
+        String nextCursor = null;
+        if (hasMore) {
+            var last = page.get(page.size() - 1);
+            nextCursor = CursorCodec.encode(last.getTimestamp().toString(), last.getId());
+        }
+        return new IncidentPageDto(page.stream()
+                .map(mapper::entityToDto)
+                .toList(), nextCursor);
+    }
+
+    private LocalDateTime parseCursorTimestamp(String value) {
+        try {
+            return LocalDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    /**
+     * Read-through cached; {@code IncidentCacheUpdater} refreshes or evicts the entry when the incident changes.
+     */
+    @Cacheable(cacheNames = CacheConfig.INCIDENT_BY_ID_CACHE, key = "#id")
     @Override
     public IncidentEntityDto findIncidentById(String id) {
         return jpaRepository.findById(id)
@@ -51,34 +233,62 @@ public class IncidentServiceImpl implements IncidentService {
     @Transactional
     @Override
     public IncidentEntityDto updateIncident(String id, IncidentEntityDto incidentDto) {
-        if (!jpaRepository.existsById(id)) {
-            throw new EntityNotFoundException(INCIDENT_NOT_FOUND_TEMPLATE + id);
-        }
+        var previousDto = jpaRepository.findById(id)
+                .map(mapper::entityToDto)
+                .orElseThrow(() -> new EntityNotFoundException(INCIDENT_NOT_FOUND_TEMPLATE + id));
 
-        var entityToUpdate = mapper.dtoToEntity(incidentDto);
+        var entityToUpdate = toEntity(incidentDto);
         entityToUpdate.setId(id);
 
-        var updatedEntity = jpaRepository.save(entityToUpdate);
+        var updatedEntity = save(entityToUpdate);
 
-        indexToElastic(updatedEntity);
+        enqueueIndexing(updatedEntity.getId(), IncidentOutboxOperation.INDEX);
 
-        return mapper.entityToDto(updatedEntity);
+        var updatedDto = mapper.entityToDto(updatedEntity);
+        eventPublisher.publishEvent(IncidentChangedEvent.updated(previousDto, updatedDto));
+        return updatedDto;
     }
 
-    private void indexToElastic(IncidentEntity updatedEntity) {
-        var updatedDocument = mapper.entityToDocument(updatedEntity);
-        searchRepository.save(updatedDocument);
+    /**
+     * Times the repository call only: with JDBC batching the inserts are flushed when the transaction commits.
+     */
+    private IncidentEntity save(IncidentEntity entity) {
+        long start = System.nanoTime();
+        var savedEntity = jpaRepository.save(entity);
+        saveTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return savedEntity;
+    }
+
+    /**
+     * Maps the incident for writing. A missing timestamp is set to the current time, since keyset pagination
+     * orders by {@code (timestamp, id)} and cannot page past {@code null} keys.
+     */
+    private IncidentEntity toEntity(IncidentEntityDto incidentDto) {
+        var entity = mapper.dtoToEntity(incidentDto);
+        if (entity.getTimestamp() == null) {
+            entity.setTimestamp(LocalDateTime.now().truncatedTo(ChronoUnit.MICROS));
+        }
+        return entity;
+    }
+
+    /**
+     * Records the change in the outbox within the current transaction; {@code IncidentOutboxIndexer}
+     * applies it to Elasticsearch after commit.
+     */
+    private void enqueueIndexing(String incidentId, IncidentOutboxOperation operation) {
+        outboxRepository.save(IncidentOutboxEntity.of(incidentId, operation));
     }
 
     @Transactional
     @Override
     public void deleteIncident(String id) {
-        if (!jpaRepository.existsById(id)) {
-            throw new EntityNotFoundException(INCIDENT_NOT_FOUND_TEMPLATE + id);
-        }
+        var deletedDto = jpaRepository.findById(id)
+                .map(mapper::entityToDto)
+                .orElseThrow(() -> new EntityNotFoundException(INCIDENT_NOT_FOUND_TEMPLATE + id));
 
         jpaRepository.deleteById(id);
-        searchRepository.deleteById(id);
+        enqueueIndexing(id, IncidentOutboxOperation.DELETE);
+        eventPublisher.publishEvent(IncidentChangedEvent.of(IncidentChangeType.DELETED, deletedDto));
     }
 
 }
@@ -0,0 +1,281 @@
+package com.example.emergencydashboard.stats;
+
+import com.example.emergencydashboard.config.IncidentStatisticsProperties;
+import com.example.emergencydashboard.dto.IncidentEntityDto;
+import com.example.emergencydashboard.dto.IncidentStatisticsDto;
+import com.example.emergencydashboard.event.IncidentChangedEvent;
+import com.example.emergencydashboard.mapper.IncidentMapper;
+import com.example.emergencydashboard.model.IncidentType;
+import com.example.emergencydashboard.model.SeverityLevel;
+import com.example.emergencydashboard.repository.jpa.IncidentJpaRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts incidents per type and severity over the last minutes for the live counters of the dashboard.
+ * <p>
+ * Incidents are counted by their timestamp in a ring of {@code incidents.statistics.bucket} wide buckets spanning the
+ * longest window. Each bucket holds a {@link LongAdder} per type and severity, so concurrent writes never block each
+ * other, and the ring slot of an expired bucket is taken over by a fresh one with a compare-and-set. Reading sums the
+ * buckets of each window; it touches neither the database nor Elasticsearch.
+ * <p>
+ * The counts follow committed writes: creates add an incident, deletes remove it and updates move it from its previous
+ * type, severity and timestamp to the new ones. Incidents stamped in the future or before the ring are not counted.
+ * The incidents of the longest window are loaded from the database once the application is ready; a write committing
+ * while they are loaded may be counted twice until its bucket expires.
+ */
+@Component
+@Slf4j
+public class IncidentStatistics {
+
+    private static final IncidentType[] TYPES = IncidentType.values();
+    private static final SeverityLevel[] SEVERITY_LEVELS = SeverityLevel.values();
+
+    private final IncidentJpaRepository jpaRepository;
+    private final IncidentMapper mapper;
+    private final IncidentStatisticsProperties properties;
+    private final long bucketSeconds;
+    private final List<Duration> windows;
+    private final AtomicReferenceArray<Bucket> ring;
+
+    private final Object warmUpLock = new Object();
+    private final Set<String> changedDuringWarmUp = new HashSet<>();
+    private final Set<String> countedDuringWarmUp = new HashSet<>();
+    private volatile boolean warmedUp;
+
+    public IncidentStatistics(IncidentJpaRepository jpaRepository,
+                              IncidentMapper mapper,
+                              IncidentStatisticsProperties properties) {
+        this.jpaRepository = jpaRepository;
+        this.mapper = mapper;
+        this.properties = properties;
+        this.bucketSeconds = Math.max(1, properties.getBucket().toSeconds());
+        this.windows = properties.getWindows().stream().sorted().toList();
+        this.ring = new AtomicReferenceArray<>(bucketCount(windows.get(windows.size() - 1)));
+    }
+
+    /**
+     * Counts the incidents of the longest window stored in the database. Incidents written through
+     * {@link #onIncidentsChanged} while loading take precedence over the loaded rows.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long nowSecond = currentSecond();
+        long fromSecond = (bucketIndex(nowSecond) - ring.length() + 1) * bucketSeconds;
+        var entities = jpaRepository.findByTimestampGreaterThanEqual(LocalDateTime.ofEpochSecond(fromSecond, 0, ZoneOffset.UTC));
+
+        synchronized (warmUpLock) {
+            for (var entity : entities) {
+                if (!changedDuringWarmUp.contains(entity.getId())) {
+                    add(mapper.entityToDto(entity), 1, nowSecond);
+                }
+            }
+            changedDuringWarmUp.clear();
+            countedDuringWarmUp.clear();
+            warmedUp = true;
+        }
+        log.info("Counted {} incidents into the statistics", entities.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onIncidentsChanged(IncidentChangedEvent event) {
+        onIncidentsChanged(event, currentSecond());
+    }
+
+    void onIncidentsChanged(IncidentChangedEvent event, long nowSecond) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        if (warmedUp) {
+            apply(event, nowSecond);
+            return;
+        }
+        synchronized (warmUpLock) {
+            if (warmedUp) {
+                apply(event, nowSecond);
+            } else {
+                applyDuringWarmUp(event, nowSecond);
+            }
+        }
+    }
+
+    public IncidentStatisticsDto snapshot() {
+        return snapshot(currentSecond());
+    }
+
+    IncidentStatisticsDto snapshot(long nowSecond) {
+        long current = bucketIndex(nowSecond);
+        long[] counts = new long[TYPES.length * SEVERITY_LEVELS.length];
+        List<IncidentStatisticsDto.Window> result = new ArrayList<>(windows.size());
+
+        int summed = 0;
+        for (Duration window : windows) {
+            int buckets = bucketCount(window);
+            for (; summed < buckets; summed++) {
+                Bucket bucket = ring.get(slot(current - summed));
+                if (bucket != null && bucket.index == current - summed) {
+                    for (int cell = 0; cell < counts.length; cell++) {
+                        counts[cell] += bucket.counts[cell].sum();
+                    }
+                }
+            }
+            result.add(toWindow(window, counts));
+        }
+        return new IncidentStatisticsDto(LocalDateTime.ofEpochSecond(nowSecond, 0, ZoneOffset.UTC), result);
+    }
+
+    private void apply(IncidentChangedEvent event, long nowSecond) {
+        var incidents = event.getIncidents();
+        for (int i = 0; i < incidents.size(); i++) {
+            switch (event.getType()) {
+                case CREATED -> add(incidents.get(i), 1, nowSecond);
+                case DELETED -> add(incidents.get(i), -1, nowSecond);
+                case UPDATED -> {
+                    if (i < event.getPreviousIncidents().size()) {
+                        add(event.getPreviousIncidents().get(i), -1, nowSecond);
+                    }
+                    add(incidents.get(i), 1, nowSecond);
+                }
+            }
+        }
+    }
+
+    /**
+     * Only removes incidents whose counted state came from an event, since the rows loaded later reflect the other
+     * deletions and updates already.
+     */
+    private void applyDuringWarmUp(IncidentChangedEvent event, long nowSecond) {
+        var incidents = event.getIncidents();
+        for (int i = 0; i < incidents.size(); i++) {
+            var incident = incidents.get(i);
+            changedDuringWarmUp.add(incident.getId());
+            switch (event.getType()) {
+                case CREATED -> {
+                    add(incident, 1, nowSecond);
+                    countedDuringWarmUp.add(incident.getId());
+                }
+                case DELETED -> {
+                    if (countedDuringWarmUp.remove(incident.getId())) {
+                        add(incident, -1, nowSecond);
+                    }
+                }
+                case UPDATED -> {
+                    if (countedDuringWarmUp.contains(incident.getId()) && i < event.getPreviousIncidents().size()) {
+                        add(event.getPreviousIncidents().get(i), -1, nowSecond);
+                    }
+                    add(incident, 1, nowSecond);
+                    countedDuringWarmUp.add(incident.getId());
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds {@code delta} to the bucket of the incident's timestamp. Removals never create a bucket: one that is not in
+     * the ring anymore held nothing to remove.
+     */
+    private void add(IncidentEntityDto incident, int delta, long nowSecond) {
+        if (incident.getTimestamp() == null) {
+            return;
+        }
+        long index = bucketIndex(incident.getTimestamp().toEpochSecond(ZoneOffset.UTC));
+        long current = bucketIndex(nowSecond);
+        if (index > current || index <= current - ring.length()) {
+            return;
+        }
+
+        int slot = slot(index);
+        Bucket bucket = ring.get(slot);
+        while (delta > 0 && (bucket == null || bucket.index < index)) {
+            var fresh = new Bucket(index);
+            if (ring.compareAndSet(slot, bucket, fresh)) {
+                bucket = fresh;
+            } else {
+                bucket = ring.get(slot);
+            }
+        }
+        if (bucket != null && bucket.index == index) {
+            bucket.counts[cell(incident)].add(delta);
+        }
+    }
+
+    private static IncidentStatisticsDto.Window toWindow(Duration window, long[] counts) {
+        long total = 0;
+        Map<String, Long> byType = new LinkedHashMap<>();
+        Map<String, Long> bySeverity = new LinkedHashMap<>();
+        Map<String, Map<String, Long>> byTypeAndSeverity = new LinkedHashMap<>();
+        for (IncidentType type : TYPES) {
+            for (SeverityLevel severityLevel : SEVERITY_LEVELS) {
+                long count = counts[type.ordinal() * SEVERITY_LEVELS.length + severityLevel.ordinal()];
+                if (count == 0) {
+                    continue;
+                }
+                total += count;
+                byType.merge(nameOf(type), count, Long::sum);
+                bySeverity.merge(nameOf(severityLevel), count, Long::sum);
+                byTypeAndSeverity.computeIfAbsent(nameOf(type), key -> new LinkedHashMap<>()).put(nameOf(severityLevel), count);
+            }
+        }
+        return new IncidentStatisticsDto.Window(window.toSeconds(), total, byType, bySeverity, byTypeAndSeverity);
+    }
+
+    private static int cell(IncidentEntityDto incident) {
+        var type = incident.getIncidentType() == null ? IncidentType.NONE : incident.getIncidentType();
+        var severityLevel = incident.getSeverityLevel() == null ? SeverityLevel.NONE : incident.getSeverityLevel();
+        return type.ordinal() * SEVERITY_LEVELS.length + severityLevel.ordinal();
+    }
+
+    private static String nameOf(Enum<?> value) {
+        return value.name().toLowerCase(Locale.ROOT);
+    }
+
+    private int bucketCount(Duration window) {
+        return (int) Math.max(1, (window.toSeconds() + bucketSeconds - 1) / bucketSeconds);
+    }
+
+    private long bucketIndex(long epochSecond) {
+        return Math.floorDiv(epochSecond, bucketSeconds);
+    }
+
+    private int slot(long index) {
+        return (int) Math.floorMod(index, (long) ring.length());
+    }
+
+    private static long currentSecond() {
+        return LocalDateTime.now().toEpochSecond(ZoneOffset.UTC);
+    }
+
+    /**
+     * Counts of one bucket, indexed by type ordinal times the number of severity levels plus severity ordinal.
+     */
+    private static final class Bucket {
+        private final long index;
+        private final LongAdder[] counts = new LongAdder[TYPES.length * SEVERITY_LEVELS.length];
+
+        private Bucket(long index) {
+            this.index = index;
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] = new LongAdder();
+            }
+        }
+    }
+}
@@ -0,0 +1,526 @@
+package com.example.emergencydashboard.store;
+
+import com.example.emergencydashboard.config.IncidentHotWindowProperties;
+import com.example.emergencydashboard.config.IncidentSearchProperties;
+import com.example.emergencydashboard.dto.IncidentEntityDto;
+import com.example.emergencydashboard.dto.IncidentSearchPageDto;
+import com.example.emergencydashboard.dto.IncidentSearchQueryDto;
+import com.example.emergencydashboard.event.IncidentChangedEvent;
+import com.example.emergencydashboard.mapper.IncidentMapper;
+import com.example.emergencydashboard.model.IncidentEntity;
+import com.example.emergencydashboard.model.IncidentSearchRanking;
+import com.example.emergencydashboard.model.IncidentType;
+import com.example.emergencydashboard.model.SeverityLevel;
+import com.example.emergencydashboard.repository.jpa.IncidentJpaRepository;
+import com.example.emergencydashboard.util.GeoGrid;
+import com.example.emergencydashboard.util.GeoUtils;
+import com.example.emergencydashboard.util.IncidentSearchCursor;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static com.example.emergencydashboard.builder.IncidentQueryBuilder.TOTAL_HITS_TRACKING_LIMIT;
+
+/**
+ * Keeps the incidents of the last {@code incidents.hot-window.window} in memory so that searches around a recent
+ * timestamp are answered without an Elasticsearch round trip.
+ * <p>
+ * Incidents are stored column-wise in primitive arrays (latitude, longitude, epoch second and the type and severity
+ * ordinals) and indexed by grid cell. The store is loaded from the database once the application is ready and then
+ * follows committed writes, so it is usually ahead of the index by the write-behind indexing lag. Searches reproduce
+ * the semantics of {@code IncidentQueryBuilderImpl}: every incident inside the radius and the time window matches and
+ * hits are ordered by the requested ranking, ties by id.
+ */
+@Component
+@Slf4j
+public class IncidentHotWindowStore {
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final IncidentType[] TYPES = IncidentType.values();
+    private static final SeverityLevel[] SEVERITY_LEVELS = SeverityLevel.values();
+    private static final Comparator<Ranked> BY_SORT_KEYS = Comparator.comparingDouble(Ranked::primary)
+            .thenComparingDouble(Ranked::secondary);
+
+    /**
+     * Column bytes per slot: latitude, longitude, epoch second, both ordinals and the id reference.
+     */
+    private static final long SLOT_BYTES = 8 + 8 + 8 + 1 + 1 + 8 + 4;
+
+    /**
+     * Estimated bytes per stored incident outside the columns: the id string, its map entry and its grid cell entry.
+     */
+    private static final long ENTRY_BYTES = 72 + 48 + 4;
+
+    private final IncidentJpaRepository jpaRepository;
+    private final IncidentMapper mapper;
+    private final IncidentHotWindowProperties properties;
+    private final IncidentSearchProperties searchProperties;
+    private final GeoGrid grid;
+    private final TransactionTemplate readTransaction;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Lock changeLock = new ReentrantLock();
+
+    private final Map<String, Integer> slotsById = new HashMap<>();
+    private final Map<Long, Cell> cells = new HashMap<>();
+    private final Set<String> changedDuringWarmUp = new HashSet<>();
+
+    private double[] latitudes = new double[INITIAL_CAPACITY];
+    private double[] longitudes = new double[INITIAL_CAPACITY];
+    private long[] epochSeconds = new long[INITIAL_CAPACITY];
+    private byte[] types = new byte[INITIAL_CAPACITY];
+    private byte[] severityLevels = new byte[INITIAL_CAPACITY];
+    private String[] ids = new String[INITIAL_CAPACITY];
+    private int[] freeSlots = new int[INITIAL_CAPACITY];
+    private int freeCount;
+    private int highWater;
+
+    /**
+     * Epoch second from which on the store holds every committed incident.
+     */
+    private long retainedFrom;
+    private volatile boolean warmedUp;
+    private volatile int size;
+    private volatile int capacity = INITIAL_CAPACITY;
+
+    public IncidentHotWindowStore(IncidentJpaRepository jpaRepository,
+                                  IncidentMapper mapper,
+                                  IncidentHotWindowProperties properties,
+                                  IncidentSearchProperties searchProperties,
+                                  PlatformTransactionManager transactionManager,
+                                  MeterRegistry meterRegistry) {
+        this.jpaRepository = jpaRepository;
+        this.mapper = mapper;
+        this.properties = properties;
+        this.searchProperties = searchProperties;
+        this.grid = new GeoGrid(properties.getCellDegrees());
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readTransaction.setReadOnly(true);
+        this.retainedFrom = windowStart();
+
+        Gauge.builder("incidents.hot-window.size", this, IncidentHotWindowStore::size)
+                .description("Incidents held in the in-memory hot window")
+                .register(meterRegistry);
+        Gauge.builder("incidents.hot-window.memory", this, IncidentHotWindowStore::getMemoryFootprintBytes)
+                .description("Estimated heap used by the in-memory hot window")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Loads the incidents of the current window from the database. Incidents written through
+     * {@link #onIncidentsChanged} while loading take precedence over the loaded rows.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long from;
+        lock.readLock().lock();
+        try {
+            from = retainedFrom;
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        var entities = jpaRepository.findByTimestampGreaterThanEqual(LocalDateTime.ofEpochSecond(from, 0, ZoneOffset.UTC));
+
+        lock.writeLock().lock();
+        try {
+            for (var entity : entities) {
+                if (!changedDuringWarmUp.contains(entity.getId())) {
+                    put(mapper.entityToDto(entity));
+                }
+            }
+            changedDuringWarmUp.clear();
+            warmedUp = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Loaded {} incidents into the hot window", entities.size());
+    }
+
+    /**
+     * Applies a committed change by re-reading the changed rows, as {@code IncidentOutboxIndexer} does, instead of
+     * storing the incidents of the event: listeners of concurrent commits to one incident run in either order, and
+     * the event of the older commit must not overwrite the newer state. Reading and applying are serialized, so every
+     * change is applied with a state at least as recent as its own commit. The rows are read in a new transaction,
+     * since the one that just committed would return the entities it wrote.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onIncidentsChanged(IncidentChangedEvent event) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        Set<String> incidentIds = new HashSet<>();
+        for (IncidentEntityDto incident : event.getIncidents()) {
+            incidentIds.add(incident.getId());
+        }
+
+        changeLock.lock();
+        try {
+            List<IncidentEntity> existing = readTransaction.execute(status -> jpaRepository.findAllById(incidentIds));
+            lock.writeLock().lock();
+            try {
+                if (!warmedUp) {
+                    changedDuringWarmUp.addAll(incidentIds);
+                }
+                Set<String> deleted = new HashSet<>(incidentIds);
+                for (IncidentEntity entity : existing) {
+                    deleted.remove(entity.getId());
+                    put(mapper.entityToDto(entity));
+                }
+                deleted.forEach(this::remove);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            changeLock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${incidents.hot-window.evict-interval-ms:60000}")
+    public void evict() {
+        evictBefore(windowStart());
+    }
+
+    /**
+     * Drops every incident older than the given epoch second; searches starting before it go to Elasticsearch.
+     */
+    void evictBefore(long epochSecond) {
+        int evicted = 0;
+        lock.writeLock().lock();
+        try {
+            retainedFrom = Math.max(retainedFrom, epochSecond);
+            for (int slot = 0; slot < highWater; slot++) {
+                if (ids[slot] != null && epochSeconds[slot] < retainedFrom) {
+                    remove(ids[slot]);
+                    evicted++;
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (evicted > 0) {
+            log.debug("Evicted {} incidents from the hot window", evicted);
+        }
+    }
+
+    /**
+     * Answers the search from memory.
+     *
+     * @return the page in Elasticsearch order, or empty when the query has no time window or it starts before the
+     * retained window, in which case the caller has to ask Elasticsearch
+     * @throws IllegalArgumentException when the query carries an invalid cursor
+     */
+    public Optional<IncidentSearchPageDto> search(IncidentSearchQueryDto query) {
+        var ranking = query.getRanking() == null ? IncidentSearchRanking.RELEVANCE : query.getRanking();
+        boolean located = query.getLatitude() != null && query.getLongitude() != null;
+        if (!properties.isEnabled() || !warmedUp || query.getTimestamp() == null
+                || ranking == IncidentSearchRanking.NEAREST && !located) {
+            return Optional.empty();
+        }
+        var timeWindow = searchProperties.resolveTimeWindow(query.getTimeWindow());
+        double radiusKm = searchProperties.resolveRadiusKm(query.getRadiusKm());
+        long fromSecond = query.getTimestamp().minus(timeWindow).toEpochSecond(ZoneOffset.UTC);
+        long toSecond = query.getTimestamp().plus(timeWindow).toEpochSecond(ZoneOffset.UTC);
+        IncidentType type = query.getIncidentType() == null || query.getIncidentType() == IncidentType.NONE
+                ? null
+                : query.getIncidentType();
+        Ranked after = query.getCursor() == null
+                ? null
+                : cursorPosition(ranking, IncidentSearchCursor.decode(query.getCursor(), IncidentSearchCursor.keyCount(ranking, located)));
+        Comparator<Ranked> order = ranking == IncidentSearchRanking.NEWEST
+                ? BY_SORT_KEYS.thenComparing(Ranked::id, Comparator.reverseOrder())
+                : BY_SORT_KEYS.thenComparing(Ranked::id);
+
+        List<Ranked> matches = new ArrayList<>();
+        List<Ranked> hits = new ArrayList<>();
+        int limit;
+
+        lock.readLock().lock();
+        try {
+            if (fromSecond < retainedFrom) {
+                return Optional.empty();
+            }
+            var matcher = new Matcher(ranking, fromSecond, toSecond, query.getLatitude(), query.getLongitude(), radiusKm, type, matches);
+            if (matcher.isGeo()) {
+                double lat = query.getLatitude();
+                double lon = query.getLongitude();
+                double latDelta = GeoUtils.latitudeDelta(radiusKm);
+                double lonDelta = GeoUtils.longitudeDelta(lat, radiusKm);
+                boolean allLongitudes = lonDelta >= 180.0;
+                grid.forEachCell(Math.max(-90.0, lat - latDelta), Math.min(90.0, lat + latDelta),
+                        allLongitudes ? -180.0 : GeoUtils.wrapLongitude(lon - lonDelta),
+                        allLongitudes ? 180.0 : GeoUtils.wrapLongitude(lon + lonDelta),
+                        key -> {
+                            Cell cell = cells.get(key);
+                            if (cell != null) {
+                                for (int i = 0; i < cell.size; i++) {
+                                    matcher.accept(cell.slots[i]);
+                                }
+                            }
+                        });
+            } else {
+                for (int slot = 0; slot < highWater; slot++) {
+                    if (ids[slot] != null) {
+                        matcher.accept(slot);
+                    }
+                }
+            }
+
+            matches.sort(order);
+            limit = query.getLimit() == null ? matches.size() : query.getLimit();
+            for (Ranked match : matches) {
+                if (hits.size() > limit) {
+                    break;
+                }
+                if (after == null || order.compare(match, after) > 0) {
+                    hits.add(match.withHit(toDto(match.slot())));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        Long totalHits = null;
+        String totalHitsRelation = null;
+        if (after == null) {
+            totalHits = (long) matches.size();
+            totalHitsRelation = IncidentSearchPageDto.TOTAL_HITS_EXACT;
+            if (Boolean.FALSE.equals(query.getExactTotalHits()) && totalHits > TOTAL_HITS_TRACKING_LIMIT) {
+                totalHits = (long) TOTAL_HITS_TRACKING_LIMIT;
+                totalHitsRelation = IncidentSearchPageDto.TOTAL_HITS_LOWER_BOUND;
+            }
+        }
+        return Optional.of(IncidentSearchPageDto.of(hits, limit, Ranked::hit,
+                hit -> cursorOf(query, ranking, located, hit).encode(), totalHits, totalHitsRelation));
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Estimated heap held by the store: the columns at their current capacity plus the per-incident id, id map and
+     * grid cell entries.
+     */
+    public long getMemoryFootprintBytes() {
+        return capacity * SLOT_BYTES + size * ENTRY_BYTES;
+    }
+
+    private void put(IncidentEntityDto incident) {
+        if (incident.getLatitude() == null || incident.getLongitude() == null || incident.getTimestamp() == null) {
+            remove(incident.getId());
+            return;
+        }
+        long epochSecond = incident.getTimestamp().toEpochSecond(ZoneOffset.UTC);
+        if (epochSecond < retainedFrom) {
+            remove(incident.getId());
+            return;
+        }
+
+        Integer existing = slotsById.get(incident.getId());
+        int slot;
+        if (existing != null) {
+            slot = existing;
+            removeFromCell(slot);
+        } else {
+            slot = allocateSlot();
+            ids[slot] = incident.getId();
+            slotsById.put(incident.getId(), slot);
+            size = slotsById.size();
+        }
+        latitudes[slot] = incident.getLatitude();
+        longitudes[slot] = incident.getLongitude();
+        epochSeconds[slot] = epochSecond;
+        types[slot] = (byte) (incident.getIncidentType() == null ? IncidentType.NONE : incident.getIncidentType()).ordinal();
+        severityLevels[slot] = (byte) (incident.getSeverityLevel() == null ? SeverityLevel.NONE : incident.getSeverityLevel()).ordinal();
+        cells.computeIfAbsent(grid.cellOf(latitudes[slot], longitudes[slot]), key -> new Cell()).add(slot);
+    }
+
+    private void remove(String id) {
+        Integer slot = slotsById.remove(id);
+        if (slot == null) {
+            return;
+        }
+        removeFromCell(slot);
+        ids[slot] = null;
+        if (freeCount == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, freeSlots.length * 2);
+        }
+        freeSlots[freeCount++] = slot;
+        size = slotsById.size();
+    }
+
+    private void removeFromCell(int slot) {
+        long key = grid.cellOf(latitudes[slot], longitudes[slot]);
+        Cell cell = cells.get(key);
+        cell.remove(slot);
+        if (cell.size == 0) {
+            cells.remove(key);
+        }
+    }
+
+    private int allocateSlot() {
+        if (freeCount > 0) {
+            return freeSlots[--freeCount];
+        }
+        if (highWater == ids.length) {
+            int newCapacity = ids.length * 2;
+            latitudes = Arrays.copyOf(latitudes, newCapacity);
+            longitudes = Arrays.copyOf(longitudes, newCapacity);
+            epochSeconds = Arrays.copyOf(epochSeconds, newCapacity);
+            types = Arrays.copyOf(types, newCapacity);
+            severityLevels = Arrays.copyOf(severityLevels, newCapacity);
+            ids = Arrays.copyOf(ids, newCapacity);
+            capacity = newCapacity;
+        }
+        return highWater++;
+    }
+
+    /**
+     * Sort keys of a cursor, comparable with the matches of a search.
+     */
+    private static Ranked cursorPosition(IncidentSearchRanking ranking, IncidentSearchCursor cursor) {
+        return switch (ranking) {
+            case RELEVANCE -> new Ranked(-1, cursor.typeMatched() ? 0 : 1, 0, cursor.id(), null);
+            case NEAREST -> new Ranked(-1, cursor.numericKey(0), 0, cursor.id(), null);
+            case NEWEST -> new Ranked(-1, -cursor.timestampKey().toEpochSecond(ZoneOffset.UTC), 0, cursor.id(), null);
+            case SEVERITY -> new Ranked(-1, -cursor.numericKey(0),
+                    cursor.keys().size() > 1 ? cursor.numericKey(1) : 0, cursor.id(), null);
+        };
+    }
+
+    private static IncidentSearchCursor cursorOf(IncidentSearchQueryDto query, IncidentSearchRanking ranking, boolean located, Ranked hit) {
+        return switch (ranking) {
+            case RELEVANCE -> IncidentSearchCursor.relevance(query, hit.hit());
+            case NEAREST -> IncidentSearchCursor.nearest(hit.hit(), hit.primary());
+            case NEWEST -> IncidentSearchCursor.byTimestamp(hit.hit());
+            case SEVERITY -> IncidentSearchCursor.severity(hit.hit(), located ? hit.secondary() : null);
+        };
+    }
+
+    private IncidentEntityDto toDto(int slot) {
+        return new IncidentEntityDto(ids[slot], TYPES[types[slot]], latitudes[slot], longitudes[slot],
+                LocalDateTime.ofEpochSecond(epochSeconds[slot], 0, ZoneOffset.UTC), SEVERITY_LEVELS[severityLevels[slot]]);
+    }
+
+    private long windowStart() {
+        return LocalDateTime.now().minus(properties.getWindow()).toEpochSecond(ZoneOffset.UTC);
+    }
+
+    /**
+     * A matching slot with the values it is sorted by: ascending {@code primary}, {@code secondary}, then the id. Keys
+     * that sort descending are negated.
+     */
+    private record Ranked(int slot, double primary, double secondary, String id, IncidentEntityDto hit) {
+
+        Ranked withHit(IncidentEntityDto hit) {
+            return new Ranked(slot, primary, secondary, id, hit);
+        }
+    }
+
+    /**
+     * Applies the bool query of {@code IncidentQueryBuilderImpl} to a slot: the time range and the geo distance are
+     * filters, the incident type decides the rank or, for the rankings other than relevance, filters as well.
+     */
+    private final class Matcher {
+
+        private final IncidentSearchRanking ranking;
+        private final long fromSecond;
+        private final long toSecond;
+        private final Double latitude;
+        private final Double longitude;
+        private final double radiusKm;
+        private final IncidentType type;
+        private final List<Ranked> matches;
+
+        private Matcher(IncidentSearchRanking ranking, long fromSecond, long toSecond, Double latitude, Double longitude,
+                        double radiusKm, IncidentType type, List<Ranked> matches) {
+            this.ranking = ranking;
+            this.fromSecond = fromSecond;
+            this.toSecond = toSecond;
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.radiusKm = radiusKm;
+            this.type = type;
+            this.matches = matches;
+        }
+
+        boolean isGeo() {
+            return latitude != null && longitude != null;
+        }
+
+        void accept(int slot) {
+            if (epochSeconds[slot] < fromSecond || epochSeconds[slot] > toSecond) {
+                return;
+            }
+            double distanceKm = isGeo() ? GeoUtils.distanceKm(latitude, longitude, latitudes[slot], longitudes[slot]) : 0;
+            if (distanceKm > radiusKm) {
+                return;
+            }
+            boolean typeMatch = type != null && types[slot] == type.ordinal();
+            if (type != null && !typeMatch && ranking != IncidentSearchRanking.RELEVANCE) {
+                return;
+            }
+            double distanceMeters = distanceKm * 1000;
+            matches.add(switch (ranking) {
+                case RELEVANCE -> new Ranked(slot, typeMatch ? 0 : 1, 0, ids[slot], null);
+                case NEAREST -> new Ranked(slot, distanceMeters, 0, ids[slot], null);
+                case NEWEST -> new Ranked(slot, -epochSeconds[slot], 0, ids[slot], null);
+                case SEVERITY -> new Ranked(slot, -SEVERITY_LEVELS[severityLevels[slot]].rank(), distanceMeters, ids[slot], null);
+            });
+        }
+    }
+
+    /**
+     * Unordered slot list of one grid cell.
+     */
+    private static final class Cell {
+
+        private int[] slots = new int[4];
+        private int size;
+
+        void add(int slot) {
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+            }
+            slots[size++] = slot;
+        }
+
+        void remove(int slot) {
+            for (int i = 0; i < size; i++) {
+                if (slots[i] == slot) {
+                    slots[i] = slots[--size];
+                    return;
+                }
+            }
+        }
+    }
+}
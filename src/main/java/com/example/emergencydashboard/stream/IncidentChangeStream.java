@@ -0,0 +1,125 @@
+package com.example.emergencydashboard.stream;
+
+import com.example.emergencydashboard.broadcast.IncidentBroadcaster;
+import com.example.emergencydashboard.config.IncidentStreamProperties;
+import com.example.emergencydashboard.dto.IncidentChangesDto;
+import com.example.emergencydashboard.dto.IncidentEntityDto;
+import com.example.emergencydashboard.dto.IncidentStreamEventDto;
+import com.example.emergencydashboard.event.IncidentChangedEvent;
+import com.example.emergencydashboard.service.IncidentService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Turns committed incident changes into a totally ordered stream: every change gets the next sequence number, is kept
+ * in a fixed-size ring buffer and is handed to the {@link IncidentBroadcaster}.
+ * <p>
+ * A reconnecting client sends the stream id and last sequence it has seen and receives only the events after it.
+ * When the sequence has already been overwritten in the buffer, or belongs to another stream (the server restarted),
+ * it gets a full snapshot instead.
+ */
+@Component
+@Slf4j
+public class IncidentChangeStream {
+
+    private final IncidentBroadcaster broadcaster;
+    private final IncidentService incidentService;
+    private final String streamId = UUID.randomUUID().toString();
+    private final IncidentStreamEventDto[] buffer;
+    private final Counter deltaCounter;
+    private final Counter snapshotCounter;
+
+    private long lastSequence;
+
+    public IncidentChangeStream(IncidentBroadcaster broadcaster,
+                                IncidentService incidentService,
+                                IncidentStreamProperties properties,
+                                MeterRegistry meterRegistry) {
+        this.broadcaster = broadcaster;
+        this.incidentService = incidentService;
+        this.buffer = new IncidentStreamEventDto[properties.getReplayCapacity()];
+
+        Gauge.builder("incidents.stream.sequence", this, IncidentChangeStream::getLastSequence)
+                .description("Sequence number of the latest incident stream event")
+                .register(meterRegistry);
+        this.deltaCounter = Counter.builder("incidents.stream.resumes")
+                .tag("result", "delta")
+                .description("Reconnects answered from the replay buffer")
+                .register(meterRegistry);
+        this.snapshotCounter = Counter.builder("incidents.stream.resumes")
+                .tag("result", "snapshot")
+                .description("Reconnects answered with a full snapshot")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Sequences and broadcasts the changes of a committed transaction. Numbering and broadcasting happen under the
+     * same lock, so frames leave in sequence order.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onIncidentsChanged(IncidentChangedEvent event) {
+        List<IncidentStreamEventDto> events = new ArrayList<>(event.getIncidents().size());
+        for (IncidentEntityDto incident : event.getIncidents()) {
+            var streamEvent = new IncidentStreamEventDto(++lastSequence, event.getType(), incident.getId(), incident);
+            buffer[slot(streamEvent.getSequence())] = streamEvent;
+            events.add(streamEvent);
+        }
+        broadcaster.broadcast(events);
+    }
+
+    /**
+     * @return the events after {@code sequence}, or empty when they are no longer all buffered
+     */
+    public synchronized Optional<List<IncidentStreamEventDto>> eventsAfter(long sequence) {
+        long oldestBuffered = Math.max(1, lastSequence - buffer.length + 1);
+        if (sequence > lastSequence || sequence < oldestBuffered - 1) {
+            return Optional.empty();
+        }
+        List<IncidentStreamEventDto> events = new ArrayList<>((int) (lastSequence - sequence));
+        for (long next = sequence + 1; next <= lastSequence; next++) {
+            events.add(buffer[slot(next)]);
+        }
+        return Optional.of(events);
+    }
+
+    /**
+     * Changes since {@code afterSequence} of stream {@code streamId}, falling back to a snapshot. The snapshot is read
+     * after taking the current sequence, so it may already contain some of the events that follow; applying those
+     * again is harmless because events carry the full incident state.
+     */
+    public IncidentChangesDto changesSince(String streamId, Long afterSequence) {
+        if (this.streamId.equals(streamId) && afterSequence != null) {
+            var events = eventsAfter(afterSequence);
+            if (events.isPresent()) {
+                deltaCounter.increment();
+                long sequence = events.get().isEmpty() ? afterSequence : events.get().get(events.get().size() - 1).getSequence();
+                return IncidentChangesDto.delta(this.streamId, sequence, events.get());
+            }
+        }
+
+        snapshotCounter.increment();
+        long sequence = getLastSequence();
+        return IncidentChangesDto.snapshot(this.streamId, sequence, incidentService.findIncidentPage(null, null));
+    }
+
+    public String getStreamId() {
+        return streamId;
+    }
+
+    public synchronized long getLastSequence() {
+        return lastSequence;
+    }
+
+    private int slot(long sequence) {
+        return (int) (sequence % buffer.length);
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.emergencydashboard.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Encodes the sort key of the last returned row into an opaque, URL-safe continuation token.
+ * Clients must treat the token as opaque; its layout may change between versions.
+ */
+public final class CursorCodec {
+
+    private static final String SEPARATOR = "\u001f";
+    private static final String INVALID_CURSOR_MESSAGE = "Invalid cursor";
+
+    private CursorCodec() {
+    }
+
+    public static String encode(String... parts) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(String.join(SEPARATOR, parts).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException when the token is malformed or does not have {@code expectedParts} parts
+     */
+    public static List<String> decode(String cursor, int expectedParts) {
+        String decoded;
+        try {
+            decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(INVALID_CURSOR_MESSAGE, e);
+        }
+        String[] parts = decoded.split(SEPARATOR, -1);
+        if (parts.length != expectedParts) {
+            throw new IllegalArgumentException(INVALID_CURSOR_MESSAGE);
+        }
+        return Arrays.asList(parts);
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.emergencydashboard.util;
+
+import java.util.function.LongConsumer;
+
+/**
+ * Fixed-size latitude/longitude grid mapping points and bounding boxes to {@code long} cell keys.
+ */
+public final class GeoGrid {
+
+    private final double cellDegrees;
+    private final int columns;
+    private final int rows;
+
+    public GeoGrid(double cellDegrees) {
+        if (cellDegrees <= 0 || cellDegrees > 180) {
+            throw new IllegalArgumentException("Cell size must be in (0, 180] degrees: " + cellDegrees);
+        }
+        this.cellDegrees = cellDegrees;
+        this.columns = (int) Math.ceil(360.0 / cellDegrees);
+        this.rows = (int) Math.ceil(180.0 / cellDegrees);
+    }
+
+    public double getCellDegrees() {
+        return cellDegrees;
+    }
+
+    public long cellOf(double latitude, double longitude) {
+        return key(row(latitude), column(longitude));
+    }
+
+    /**
+     * Number of cells overlapping the bounding box. A box with {@code minLongitude > maxLongitude} crosses the antimeridian.
+     */
+    public long countCells(double minLatitude, double maxLatitude, double minLongitude, double maxLongitude) {
+        long rowCount = row(maxLatitude) - row(minLatitude) + 1L;
+        return rowCount * columnCount(minLongitude, maxLongitude);
+    }
+
+    /**
+     * Visits every cell overlapping the bounding box. A box with {@code minLongitude > maxLongitude} crosses the antimeridian.
+     */
+    public void forEachCell(double minLatitude, double maxLatitude, double minLongitude, double maxLongitude, LongConsumer consumer) {
+        int fromRow = row(minLatitude);
+        int toRow = row(maxLatitude);
+        int fromColumn = column(minLongitude);
+        int columnCount = columnCount(minLongitude, maxLongitude);
+
+        for (int row = fromRow; row <= toRow; row++) {
+            for (int i = 0; i < columnCount; i++) {
+                consumer.accept(key(row, (fromColumn + i) % columns));
+            }
+        }
+    }
+
+    private int columnCount(double minLongitude, double maxLongitude) {
+        int fromColumn = column(minLongitude);
+        int toColumn = column(maxLongitude);
+        return toColumn >= fromColumn && minLongitude <= maxLongitude
+                ? toColumn - fromColumn + 1
+                : Math.min(columns, columns - fromColumn + toColumn + 1);
+    }
+
+    private int row(double latitude) {
+        return clamp((int) Math.floor((latitude + 90.0) / cellDegrees), rows);
+    }
+
+    private int column(double longitude) {
+        return clamp((int) Math.floor((longitude + 180.0) / cellDegrees), columns);
+    }
+
+    private static int clamp(int index, int size) {
+        return Math.max(0, Math.min(size - 1, index));
+    }
+
+    private long key(int row, int column) {
+        return (long) row * columns + column;
+    }
+}
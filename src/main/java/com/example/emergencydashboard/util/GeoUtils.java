@@ -0,0 +1,58 @@
+package com.example.emergencydashboard.util;
+
+public final class GeoUtils {
+
+    /**
+     * Mean earth radius used by Elasticsearch for {@code arc} distance calculations.
+     */
+    public static final double EARTH_RADIUS_KM = 6371.0088;
+    public static final double KM_PER_DEGREE_LATITUDE = Math.PI * EARTH_RADIUS_KM / 180.0;
+
+    private GeoUtils() {
+    }
+
+    /**
+     * Great-circle distance between two points using the haversine formula.
+     */
+    public static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double sinLat = Math.sin(dLat / 2);
+        double sinLon = Math.sin(dLon / 2);
+        double a = sinLat * sinLat + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * sinLon * sinLon;
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    /**
+     * Half-height in degrees of the bounding box around a circle.
+     */
+    public static double latitudeDelta(double radiusKm) {
+        return radiusKm / KM_PER_DEGREE_LATITUDE;
+    }
+
+    /**
+     * Half-width in degrees of the bounding box around a circle centered at the given latitude;
+     * 180 when the circle reaches a pole.
+     */
+    public static double longitudeDelta(double latitude, double radiusKm) {
+        double latDelta = latitudeDelta(radiusKm);
+        if (Math.abs(latitude) + latDelta >= 90.0) {
+            return 180.0;
+        }
+        double cos = Math.cos(Math.toRadians(Math.abs(latitude) + latDelta));
+        return Math.min(180.0, radiusKm / (KM_PER_DEGREE_LATITUDE * cos));
+    }
+
+    /**
+     * Brings a longitude that overshot the antimeridian by less than a full turn back into [-180, 180].
+     */
+    public static double wrapLongitude(double longitude) {
+        if (longitude < -180.0) {
+            return longitude + 360.0;
+        }
+        if (longitude > 180.0) {
+            return longitude - 360.0;
+        }
+        return longitude;
+    }
+}
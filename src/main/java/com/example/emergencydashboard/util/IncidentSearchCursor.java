@@ -0,0 +1,113 @@
+package com.example.emergencydashboard.util;
+
+import com.example.emergencydashboard.dto.IncidentEntityDto;
+import com.example.emergencydashboard.dto.IncidentSearchQueryDto;
+import com.example.emergencydashboard.model.IncidentSearchRanking;
+import com.example.emergencydashboard.model.IncidentType;
+import com.example.emergencydashboard.model.SeverityLevel;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sort position of the last hit of a search page: its sort values, the id last.
+ * <p>
+ * Relevance searches rank hits of the requested incident type above all others and order each group by id, so their
+ * position is whether the hit matched the type plus its id. The other rankings use the values they sort by: the
+ * timestamp, the distance in meters, or the severity rank followed by the distance when the search has a location.
+ */
+public record IncidentSearchCursor(List<String> keys, String id) {
+
+    /**
+     * Format of the timestamps in the index.
+     */
+    public static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("uuuu-MM-dd'T'HH:mm:ss");
+
+    private static final String TYPE_MATCHED = "1";
+    private static final String TYPE_NOT_MATCHED = "0";
+    private static final String INVALID_CURSOR_MESSAGE = "Invalid cursor";
+
+    public static IncidentSearchCursor relevance(IncidentSearchQueryDto query, IncidentEntityDto hit) {
+        return new IncidentSearchCursor(List.of(isTypeMatch(query, hit) ? TYPE_MATCHED : TYPE_NOT_MATCHED), hit.getId());
+    }
+
+    public static IncidentSearchCursor byTimestamp(IncidentEntityDto hit) {
+        return new IncidentSearchCursor(List.of(TIMESTAMP_FORMAT.format(hit.getTimestamp())), hit.getId());
+    }
+
+    public static IncidentSearchCursor nearest(IncidentEntityDto hit, double distanceMeters) {
+        return new IncidentSearchCursor(List.of(Double.toString(distanceMeters)), hit.getId());
+    }
+
+    /**
+     * @param distanceMeters distance from the query location, or {@code null} when the search has none
+     */
+    public static IncidentSearchCursor severity(IncidentEntityDto hit, Double distanceMeters) {
+        var severityRank = Integer.toString((hit.getSeverityLevel() == null ? SeverityLevel.NONE : hit.getSeverityLevel()).rank());
+        return new IncidentSearchCursor(distanceMeters == null
+                ? List.of(severityRank)
+                : List.of(severityRank, Double.toString(distanceMeters)), hit.getId());
+    }
+
+    /**
+     * Number of sort values before the id in a cursor of the ranking.
+     */
+    public static int keyCount(IncidentSearchRanking ranking, boolean located) {
+        return ranking == IncidentSearchRanking.SEVERITY && located ? 2 : 1;
+    }
+
+    /**
+     * @throws IllegalArgumentException when the token is not a valid cursor with {@code keyCount} sort values
+     */
+    public static IncidentSearchCursor decode(String cursor, int keyCount) {
+        var parts = CursorCodec.decode(cursor, keyCount + 1);
+        return new IncidentSearchCursor(List.copyOf(parts.subList(0, keyCount)), parts.get(keyCount));
+    }
+
+    /**
+     * Whether the hit ranks in the group of the requested incident type; always {@code false} without one.
+     */
+    public static boolean isTypeMatch(IncidentSearchQueryDto query, IncidentEntityDto hit) {
+        return query.getIncidentType() != null && query.getIncidentType() != IncidentType.NONE
+                && query.getIncidentType() == hit.getIncidentType();
+    }
+
+    public String sortKey() {
+        return keys.get(0);
+    }
+
+    public boolean typeMatched() {
+        return TYPE_MATCHED.equals(sortKey());
+    }
+
+    /**
+     * @throws IllegalArgumentException when the sort value is not a number
+     */
+    public double numericKey(int index) {
+        try {
+            return Double.parseDouble(keys.get(index));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(INVALID_CURSOR_MESSAGE, e);
+        }
+    }
+
+    /**
+     * @throws IllegalArgumentException when the sort value is not a timestamp
+     */
+    public LocalDateTime timestampKey() {
+        try {
+            return LocalDateTime.parse(sortKey(), TIMESTAMP_FORMAT);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException(INVALID_CURSOR_MESSAGE, e);
+        }
+    }
+
+    public String encode() {
+        List<String> parts = new ArrayList<>(keys);
+        parts.add(id);
+        return CursorCodec.encode(parts.toArray(String[]::new));
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.emergencydashboard.broadcast;
+
+import com.example.emergencydashboard.config.IncidentBroadcastProperties;
+import com.example.emergencydashboard.config.IncidentSubscriptionProperties;
+import com.example.emergencydashboard.dto.IncidentEntityDto;
+import com.example.emergencydashboard.dto.IncidentStreamEventDto;
+import com.example.emergencydashboard.dto.IncidentSubscriptionFilterDto;
+import com.example.emergencydashboard.model.IncidentChangeType;
+import com.example.emergencydashboard.model.IncidentType;
+import com.example.emergencydashboard.model.SeverityLevel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.example.emergencydashboard.broadcast.IncidentBroadcasterImpl.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IncidentBroadcasterImplTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.now();
+
+    @Mock
+    private SimpMessagingTemplate messagingTemplate;
+
+    private final IncidentBroadcastProperties properties = new IncidentBroadcastProperties();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private IncidentSubscriptionIndex subscriptionIndex;
+
+    private IncidentBroadcasterImpl broadcaster;
+
+    @BeforeEach
+    void setUp() {
+        subscriptionIndex = new IncidentSubscriptionIndex(new IncidentSubscriptionProperties(), meterRegistry);
+        broadcaster = new IncidentBroadcasterImpl(messagingTemplate, properties, subscriptionIndex, meterRegistry);
+    }
+
+    @Test
+    void singleMode_SendsOneFramePerIncidentWithSequenceHeaders() {
+        properties.setMode(IncidentBroadcastProperties.Mode.SINGLE);
+        var first = event(1, "1");
+        var second = event(2, "2");
+
+        broadcaster.broadcast(List.of(first, second));
+
+        verify(messagingTemplate).convertAndSend(INCIDENTS_TOPIC, first.getIncident(),
+                Map.<String, Object>of(SEQUENCE_HEADER, "1", EVENT_TYPE_HEADER, "CREATED"));
+        verify(messagingTemplate).convertAndSend(INCIDENTS_TOPIC, second.getIncident(),
+                Map.<String, Object>of(SEQUENCE_HEADER, "2", EVENT_TYPE_HEADER, "CREATED"));
+    }
+
+    @Test
+    void coalescedMode_SendsOneArrayFramePerFlush() {
+        properties.setMode(IncidentBroadcastProperties.Mode.COALESCED);
+        var first = event(1, "1");
+        var second = event(2, "2");
+        var third = event(3, "3");
+
+        broadcaster.broadcast(List.of(first, second));
+        broadcaster.broadcast(List.of(third));
+        verify(messagingTemplate, never()).convertAndSend(anyString(), any(Object.class));
+        assertThat(meterRegistry.get("incidents.broadcast.pending").gauge().value()).isEqualTo(3.0);
+
+        broadcaster.flush();
+
+        verify(messagingTemplate, times(1)).convertAndSend(INCIDENTS_TOPIC, List.of(first, second, third));
+        assertThat(meterRegistry.get("incidents.broadcast.pending").gauge().value()).isZero();
+        assertThat(meterRegistry.get("incidents.pipeline.stage").tag("pipeline", "broadcast").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void coalescedMode_SplitsLargeWindows() {
+        properties.setMode(IncidentBroadcastProperties.Mode.COALESCED);
+        properties.setMaxIncidentsPerFrame(2);
+
+        broadcaster.broadcast(List.of(event(1, "1"), event(2, "2"), event(3, "3")));
+        broadcaster.flush();
+
+        verify(messagingTemplate).convertAndSend(INCIDENTS_TOPIC, List.of(event(1, "1"), event(2, "2")));
+        verify(messagingTemplate).convertAndSend(INCIDENTS_TOPIC, List.of(event(3, "3")));
+    }
+
+    @Test
+    void coalescedMode_SendsOnlyMatchingIncidentsToFilteredSessions() {
+        properties.setMode(IncidentBroadcastProperties.Mode.COALESCED);
+        subscriptionIndex.register(IncidentSubscription.of("nyc", IncidentSubscriptionFilterDto.builder()
+                .latitude(40.7).longitude(-74.0).radiusKm(50.0)
+                .build()));
+        subscriptionIndex.register(IncidentSubscription.of("medical", IncidentSubscriptionFilterDto.builder()
+                .incidentTypes(Set.of(IncidentType.MEDICAL))
+                .build()));
+        var newYork = event(1, "1");
+        var losAngeles = new IncidentStreamEventDto(2, IncidentChangeType.CREATED, "2",
+                new IncidentEntityDto("2", IncidentType.FIRE, 34.052235, -118.243683, NOW, SeverityLevel.HIGH));
+
+        broadcaster.broadcast(List.of(newYork, losAngeles));
+        broadcaster.flush();
+
+        verify(messagingTemplate).convertAndSend(INCIDENTS_TOPIC, List.of(newYork, losAngeles));
+        verify(messagingTemplate).convertAndSendToUser(eq("nyc"), eq(FILTERED_INCIDENTS_QUEUE), eq(List.of(newYork)), any(MessageHeaders.class));
+        verify(messagingTemplate, never()).convertAndSendToUser(eq("medical"), anyString(), any(Object.class), any(MessageHeaders.class));
+    }
+
+    @Test
+    void singleMode_SendsMatchingIncidentToFilteredSession() {
+        properties.setMode(IncidentBroadcastProperties.Mode.SINGLE);
+        subscriptionIndex.register(IncidentSubscription.of("urgent", IncidentSubscriptionFilterDto.builder()
+                .minSeverityLevel(SeverityLevel.HIGH)
+                .build()));
+        var event = event(1, "1");
+
+        broadcaster.broadcast(List.of(event));
+
+        verify(messagingTemplate).convertAndSendToUser(eq("urgent"), eq(FILTERED_INCIDENTS_QUEUE), eq(event.getIncident()), any(MessageHeaders.class));
+    }
+
+    private IncidentStreamEventDto event(long sequence, String id) {
+        return new IncidentStreamEventDto(sequence, IncidentChangeType.CREATED, id,
+                new IncidentEntityDto(id, IncidentType.FIRE, 40.712776, -74.005974, NOW, SeverityLevel.HIGH));
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.emergencydashboard.broadcast;
+
+import com.example.emergencydashboard.dto.IncidentEntityDto;
+import com.example.emergencydashboard.dto.IncidentStreamEventDto;
+import com.example.emergencydashboard.dto.IncidentSubscriptionFilterDto;
+import com.example.emergencydashboard.model.IncidentChangeType;
+import com.example.emergencydashboard.model.IncidentType;
+import com.example.emergencydashboard.model.SeverityLevel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+import org.springframework.web.socket.sockjs.client.SockJsClient;
+import org.springframework.web.socket.sockjs.client.WebSocketTransport;
+
+import java.lang.reflect.Type;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Registers a filtered subscription over a real STOMP connection and checks that only the matching incidents reach
+ * the client's {@code /user/queue/incidents} subscription.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "incidents.broadcast.mode=single")
+class IncidentBroadcasterIntegrationTest {
+
+    private static final long TIMEOUT_SECONDS = 10;
+    private static final IncidentEntityDto NEARBY = new IncidentEntityDto("nearby", IncidentType.FIRE, 40.7138, -74.0050,
+            LocalDateTime.now(), SeverityLevel.HIGH);
+    private static final IncidentEntityDto FAR_AWAY = new IncidentEntityDto("far-away", IncidentType.FIRE, 34.0522, -118.2437,
+            LocalDateTime.now(), SeverityLevel.HIGH);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private IncidentBroadcaster broadcaster;
+
+    @Autowired
+    private IncidentSubscriptionIndex subscriptionIndex;
+
+    private final BlockingQueue<Map<String, Object>> frames = new LinkedBlockingQueue<>();
+
+    private WebSocketStompClient stompClient;
+    private StompSession session;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        stompClient = new WebSocketStompClient(new SockJsClient(List.of(new WebSocketTransport(new StandardWebSocketClient()))));
+        var messageConverter = new MappingJackson2MessageConverter();
+        messageConverter.setObjectMapper(Jackson2ObjectMapperBuilder.json().build());
+        stompClient.setMessageConverter(messageConverter);
+        session = stompClient.connect("http://localhost:" + port + "/ws", new StompSessionHandlerAdapter() {
+        }).get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        session.disconnect();
+        stompClient.stop();
+    }
+
+    @Test
+    void broadcast_SendsMatchingIncidentsToFilteredSubscription() throws InterruptedException {
+        session.subscribe("/user" + IncidentBroadcasterImpl.FILTERED_INCIDENTS_QUEUE, new IncidentFrameHandler());
+        session.send("/app/subscriptions", IncidentSubscriptionFilterDto.builder()
+                .latitude(40.7128)
+                .longitude(-74.0060)
+                .radiusKm(10.0)
+                .build());
+        waitForSubscription();
+
+        List<Map<String, Object>> received = new ArrayList<>();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+        long sequence = 0;
+        // the broker registers the queue subscription asynchronously, so incidents are broadcast until one arrives
+        while (received.isEmpty() && System.nanoTime() < deadline) {
+            broadcaster.broadcast(List.of(
+                    new IncidentStreamEventDto(++sequence, IncidentChangeType.CREATED, FAR_AWAY.getId(), FAR_AWAY),
+                    new IncidentStreamEventDto(++sequence, IncidentChangeType.CREATED, NEARBY.getId(), NEARBY)));
+            var frame = frames.poll(100, TimeUnit.MILLISECONDS);
+            if (frame != null) {
+                received.add(frame);
+            }
+        }
+        frames.drainTo(received);
+
+        assertThat(received).isNotEmpty();
+        assertThat(received).extracting(frame -> frame.get("id")).containsOnly(NEARBY.getId());
+    }
+
+    private void waitForSubscription() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+        while (subscriptionIndex.size() == 0) {
+            assertThat(System.nanoTime()).as("subscription registered in time").isLessThan(deadline);
+            Thread.sleep(5);
+        }
+    }
+
+    private final class IncidentFrameHandler implements StompFrameHandler {
+
+        @Override
+        public Type getPayloadType(StompHeaders headers) {
+            return Map.class;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void handleFrame(StompHeaders headers, Object payload) {
+            frames.add((Map<String, Object>) payload);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.emergencydashboard.broadcast;
+
+import com.example.emergencydashboard.config.IncidentStatisticsProperties;
+import com.example.emergencydashboard.dto.IncidentStatisticsDto;
+import com.example.emergencydashboard.stats.IncidentStatistics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static com.example.emergencydashboard.broadcast.IncidentStatisticsPublisher.STATISTICS_TOPIC;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IncidentStatisticsPublisherTest {
+
+    @Mock
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Mock
+    private IncidentStatistics statistics;
+
+    private final IncidentStatisticsProperties properties = new IncidentStatisticsProperties();
+
+    @Test
+    void publish_SendsSnapshotToTopic() {
+        var snapshot = new IncidentStatisticsDto(LocalDateTime.of(2024, 3, 1, 12, 0), List.of());
+        when(statistics.snapshot()).thenReturn(snapshot);
+
+        new IncidentStatisticsPublisher(messagingTemplate, statistics, properties).publish();
+
+        verify(messagingTemplate).convertAndSend(STATISTICS_TOPIC, snapshot);
+    }
+
+    @Test
+    void publish_DoesNothingWhenDisabled() {
+        properties.setEnabled(false);
+
+        new IncidentStatisticsPublisher(messagingTemplate, statistics, properties).publish();
+
+        verifyNoInteractions(messagingTemplate, statistics);
+    }
+}
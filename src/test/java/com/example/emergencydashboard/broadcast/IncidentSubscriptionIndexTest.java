@@ -0,0 +1,95 @@
+package com.example.emergencydashboard.broadcast;
+
+import com.example.emergencydashboard.config.IncidentSubscriptionProperties;
+import com.example.emergencydashboard.dto.IncidentEntityDto;
+import com.example.emergencydashboard.dto.IncidentSubscriptionFilterDto;
+import com.example.emergencydashboard.exception.InvalidSubscriptionException;
+import com.example.emergencydashboard.model.IncidentType;
+import com.example.emergencydashboard.model.SeverityLevel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IncidentSubscriptionIndexTest {
+
+    private IncidentSubscriptionIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new IncidentSubscriptionIndex(new IncidentSubscriptionProperties(), new SimpleMeterRegistry());
+    }
+
+    @Test
+    void route_MatchesRadiusSubscriptionsOnly() {
+        register("nyc", IncidentSubscriptionFilterDto.builder().latitude(40.7).longitude(-74.0).radiusKm(25.0).build());
+        register("la", IncidentSubscriptionFilterDto.builder().latitude(34.05).longitude(-118.24).radiusKm(25.0).build());
+
+        assertThat(index.route(incident(40.712776, -74.005974, IncidentType.FIRE, SeverityLevel.LOW))).containsExactly("nyc");
+        assertThat(index.route(incident(41.5, -74.0, IncidentType.FIRE, SeverityLevel.LOW))).isEmpty();
+    }
+
+    @Test
+    void route_MatchesBoundingBoxAcrossAntimeridian() {
+        register("pacific", IncidentSubscriptionFilterDto.builder()
+                .minLatitude(-20.0).maxLatitude(-10.0).minLongitude(170.0).maxLongitude(-170.0)
+                .build());
+
+        assertThat(index.route(incident(-15.0, 179.5, IncidentType.FIRE, SeverityLevel.LOW))).containsExactly("pacific");
+        assertThat(index.route(incident(-15.0, -175.0, IncidentType.FIRE, SeverityLevel.LOW))).containsExactly("pacific");
+        assertThat(index.route(incident(-15.0, 0.0, IncidentType.FIRE, SeverityLevel.LOW))).isEmpty();
+    }
+
+    @Test
+    void route_AppliesTypeAndSeverityFilters() {
+        register("medical-high", IncidentSubscriptionFilterDto.builder()
+                .incidentTypes(Set.of(IncidentType.MEDICAL))
+                .minSeverityLevel(SeverityLevel.HIGH)
+                .build());
+
+        assertThat(index.route(incident(10.0, 10.0, IncidentType.MEDICAL, SeverityLevel.URGENT))).containsExactly("medical-high");
+        assertThat(index.route(incident(10.0, 10.0, IncidentType.MEDICAL, SeverityLevel.MEDIUM))).isEmpty();
+        assertThat(index.route(incident(10.0, 10.0, IncidentType.FIRE, SeverityLevel.URGENT))).isEmpty();
+    }
+
+    @Test
+    void register_ReplacesPreviousSubscriptionOfSession() {
+        register("session-1", IncidentSubscriptionFilterDto.builder().latitude(40.7).longitude(-74.0).radiusKm(25.0).build());
+        register("session-1", IncidentSubscriptionFilterDto.builder().latitude(34.05).longitude(-118.24).radiusKm(25.0).build());
+
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.route(incident(40.7, -74.0, IncidentType.FIRE, SeverityLevel.LOW))).isEmpty();
+        assertThat(index.route(incident(34.05, -118.24, IncidentType.FIRE, SeverityLevel.LOW))).containsExactly("session-1");
+    }
+
+    @Test
+    void unregister_RemovesSubscription() {
+        register("session-1", IncidentSubscriptionFilterDto.builder().latitude(40.7).longitude(-74.0).radiusKm(25.0).build());
+
+        index.unregister("session-1");
+
+        assertThat(index.size()).isZero();
+        assertThat(index.route(incident(40.7, -74.0, IncidentType.FIRE, SeverityLevel.LOW))).isEmpty();
+    }
+
+    @Test
+    void of_RejectsPartialBoundingBox() {
+        var filter = IncidentSubscriptionFilterDto.builder().minLatitude(10.0).maxLatitude(20.0).build();
+
+        assertThatThrownBy(() -> IncidentSubscription.of("session-1", filter))
+                .isInstanceOf(InvalidSubscriptionException.class);
+    }
+
+    private void register(String sessionId, IncidentSubscriptionFilterDto filter) {
+        index.register(IncidentSubscription.of(sessionId, filter));
+    }
+
+    private IncidentEntityDto incident(double latitude, double longitude, IncidentType type, SeverityLevel severityLevel) {
+        return new IncidentEntityDto(null, type, latitude, longitude, LocalDateTime.now(), severityLevel);
+    }
+}
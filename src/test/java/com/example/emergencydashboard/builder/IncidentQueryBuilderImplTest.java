@@ -1,18 +1,32 @@
 package com.example.emergencydashboard.builder;
 
+import com.example.emergencydashboard.config.IncidentSearchProperties;
+import com.example.emergencydashboard.dto.IncidentEntityDto;
 import com.example.emergencydashboard.dto.IncidentSearchQueryDto;
+import com.example.emergencydashboard.model.IncidentSearchRanking;
 import com.example.emergencydashboard.model.IncidentType;
+import com.example.emergencydashboard.model.SeverityLevel;
+import com.example.emergencydashboard.util.IncidentSearchCursor;
 import org.assertj.core.api.Assertions;
+import org.elasticsearch.common.unit.DistanceUnit;
 import org.elasticsearch.index.query.BoolQueryBuilder;
+import org.elasticsearch.index.query.QueryBuilders;
+import org.elasticsearch.search.aggregations.AggregationBuilder;
+import org.elasticsearch.search.aggregations.bucket.geogrid.GeoGridAggregationBuilder;
+import org.elasticsearch.search.sort.FieldSortBuilder;
+import org.elasticsearch.search.sort.GeoDistanceSortBuilder;
+import org.elasticsearch.search.sort.SortOrder;
 import org.junit.jupiter.api.Test;
 import org.springframework.data.elasticsearch.core.query.NativeSearchQuery;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.List;
 
 class IncidentQueryBuilderImplTest {
 
-    private final IncidentQueryBuilderImpl queryBuilder = new IncidentQueryBuilderImpl();
+    private final IncidentQueryBuilderImpl queryBuilder = new IncidentQueryBuilderImpl(new IncidentSearchProperties());
 
     @Test
     void whenBuildQueryWithIncidentType_thenShouldContainMatchQuery() {
@@ -57,7 +71,7 @@ class IncidentQueryBuilderImplTest {
     }
 
     @Test
-    void whenBuildQueryWithLocation_thenShouldContainGeoDistanceQuery() {
+    void whenBuildQueryWithLocation_thenShouldContainGeoDistanceFilter() {
         // Arrange
         var queryDto = IncidentSearchQueryDto.builder()
                 .latitude(40.7128)
@@ -68,7 +82,8 @@ class IncidentQueryBuilderImplTest {
         BoolQueryBuilder boolQueryBuilder = queryBuilder.getBoolQueryBuilder(queryDto);
 
         // Assert
-        Assertions.assertThat(boolQueryBuilder.must()).isNotEmpty();
+        Assertions.assertThat(boolQueryBuilder.filter()).isNotEmpty();
+        Assertions.assertThat(boolQueryBuilder.must()).isEmpty();
         Assertions.assertThat(boolQueryBuilder).hasToString(getGeoDistanceLocationJson());
     }
 
@@ -76,7 +91,7 @@ class IncidentQueryBuilderImplTest {
         return """
                 {
                   "bool" : {
-                    "must" : [
+                    "filter" : [
                       {
                         "geo_distance" : {
                           "location" : [
@@ -98,7 +113,7 @@ class IncidentQueryBuilderImplTest {
     }
 
     @Test
-    void whenBuildQueryWithTimestamp_thenShouldContainRangeQuery() {
+    void whenBuildQueryWithTimestamp_thenShouldContainRangeFilter() {
         // Arrange
 
         LocalDateTime dateTime = LocalDateTime.parse("2024-03-01T11:52:16", DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss"));
@@ -111,7 +126,8 @@ class IncidentQueryBuilderImplTest {
         BoolQueryBuilder boolQueryBuilder = queryBuilder.getBoolQueryBuilder(queryDto);
 
         // Assert
-        Assertions.assertThat(boolQueryBuilder.must()).isNotEmpty();
+        Assertions.assertThat(boolQueryBuilder.filter()).isNotEmpty();
+        Assertions.assertThat(boolQueryBuilder.must()).isEmpty();
         Assertions.assertThat(boolQueryBuilder).hasToString(getTimestampRangeJson());
     }
 
@@ -119,7 +135,7 @@ class IncidentQueryBuilderImplTest {
         return """
                 {
                   "bool" : {
-                    "must" : [
+                    "filter" : [
                       {
                         "range" : {
                           "timestamp" : {
@@ -151,4 +167,215 @@ class IncidentQueryBuilderImplTest {
                 .isInstanceOf(NativeSearchQuery.class);
     }
 
+    @Test
+    void whenBuildQuery_thenSortedByScoreThenById() {
+        // Arrange
+        var queryDto = IncidentSearchQueryDto.builder().build();
+
+        // Act
+        var query = (NativeSearchQuery) queryBuilder.buildQuery(queryDto);
+
+        // Assert
+        var sorts = query.getElasticsearchSorts();
+        Assertions.assertThat(sorts).hasSize(2);
+        Assertions.assertThat(((FieldSortBuilder) sorts.get(0)).getFieldName()).isEqualTo("_score");
+        Assertions.assertThat(sorts.get(0).order()).isEqualTo(SortOrder.DESC);
+        Assertions.assertThat(((FieldSortBuilder) sorts.get(1)).getFieldName()).isEqualTo("id");
+        Assertions.assertThat(sorts.get(1).order()).isEqualTo(SortOrder.ASC);
+    }
+
+    @Test
+    void whenBuildQueryWithLimit_thenFetchesOneHitMoreAndCountsExactly() {
+        // Arrange
+        var queryDto = IncidentSearchQueryDto.builder().limit(20).build();
+
+        // Act
+        var query = (NativeSearchQuery) queryBuilder.buildQuery(queryDto);
+
+        // Assert
+        Assertions.assertThat(query.getPageable().getPageSize()).isEqualTo(21);
+        Assertions.assertThat(query.getTrackTotalHits()).isTrue();
+    }
+
+    @Test
+    void whenBuildQueryWithoutExactTotalHits_thenCountsUpToLimit() {
+        // Arrange
+        var queryDto = IncidentSearchQueryDto.builder().exactTotalHits(false).build();
+
+        // Act
+        var query = (NativeSearchQuery) queryBuilder.buildQuery(queryDto);
+
+        // Assert
+        Assertions.assertThat(query.getTrackTotalHitsUpTo()).isEqualTo(IncidentQueryBuilder.TOTAL_HITS_TRACKING_LIMIT);
+    }
+
+    @Test
+    void whenBuildQueryWithCursor_thenFiltersHitsAfterCursorAndSkipsCounting() {
+        // Arrange
+        var queryDto = IncidentSearchQueryDto.builder()
+                .cursor(new IncidentSearchCursor(List.of("0"), "42").encode())
+                .build();
+
+        // Act
+        var query = (NativeSearchQuery) queryBuilder.buildQuery(queryDto);
+
+        // Assert
+        var boolQuery = (BoolQueryBuilder) query.getQuery();
+        Assertions.assertThat(boolQuery.filter()).singleElement()
+                .isEqualTo(QueryBuilders.rangeQuery("id").gt("42"));
+        Assertions.assertThat(query.getTrackTotalHits()).isFalse();
+    }
+
+    @Test
+    void whenBuildTypeQuery_thenSortedNewestFirst() {
+        // Arrange
+        var queryDto = IncidentSearchQueryDto.builder().incidentType(IncidentType.FIRE).build();
+
+        // Act
+        var query = (NativeSearchQuery) queryBuilder.buildTypeQuery(queryDto);
+
+        // Assert
+        var sorts = query.getElasticsearchSorts();
+        Assertions.assertThat(((FieldSortBuilder) sorts.get(0)).getFieldName()).isEqualTo("timestamp");
+        Assertions.assertThat(sorts.get(0).order()).isEqualTo(SortOrder.DESC);
+        Assertions.assertThat(((FieldSortBuilder) sorts.get(1)).getFieldName()).isEqualTo("id");
+        Assertions.assertThat(sorts.get(1).order()).isEqualTo(SortOrder.DESC);
+    }
+
+    @Test
+    void whenBuildQueryWithRadiusAndTimeWindow_thenFiltersUseThem() {
+        // Arrange
+        var queryDto = IncidentSearchQueryDto.builder()
+                .latitude(40.7128)
+                .longitude(-74.0060)
+                .radiusKm(25.0)
+                .timestamp(LocalDateTime.of(2024, 3, 1, 11, 52, 16))
+                .timeWindow(Duration.ofMinutes(30))
+                .build();
+
+        // Act
+        BoolQueryBuilder boolQueryBuilder = queryBuilder.getBoolQueryBuilder(queryDto);
+
+        // Assert
+        Assertions.assertThat(boolQueryBuilder.filter()).containsExactly(
+                QueryBuilders.geoDistanceQuery("location").point(40.7128, -74.0060).distance(25.0, DistanceUnit.KILOMETERS),
+                QueryBuilders.rangeQuery("timestamp").gte("2024-03-01T11:22:16").lte("2024-03-01T12:22:16"));
+    }
+
+    @Test
+    void whenBuildQueryRankedByNewest_thenIncidentTypeFiltersAndHitsSortedByTimestamp() {
+        // Arrange
+        var queryDto = IncidentSearchQueryDto.builder()
+                .incidentType(IncidentType.FIRE)
+                .ranking(IncidentSearchRanking.NEWEST)
+                .build();
+
+        // Act
+        var query = (NativeSearchQuery) queryBuilder.buildQuery(queryDto);
+
+        // Assert
+        var boolQuery = (BoolQueryBuilder) query.getQuery();
+        Assertions.assertThat(boolQuery.should()).isEmpty();
+        Assertions.assertThat(boolQuery.filter()).singleElement()
+                .isEqualTo(QueryBuilders.matchQuery("incidentType", "fire"));
+        var sorts = query.getElasticsearchSorts();
+        Assertions.assertThat(((FieldSortBuilder) sorts.get(0)).getFieldName()).isEqualTo("timestamp");
+        Assertions.assertThat(sorts.get(0).order()).isEqualTo(SortOrder.DESC);
+    }
+
+    @Test
+    void whenBuildQueryRankedByNearest_thenSortedByDistanceThenId() {
+        // Arrange
+        var queryDto = IncidentSearchQueryDto.builder()
+                .latitude(40.7128)
+                .longitude(-74.0060)
+                .ranking(IncidentSearchRanking.NEAREST)
+                .build();
+
+        // Act
+        var query = (NativeSearchQuery) queryBuilder.buildQuery(queryDto);
+
+        // Assert
+        var sorts = query.getElasticsearchSorts();
+        Assertions.assertThat(sorts).hasSize(2);
+        Assertions.assertThat(sorts.get(0)).isInstanceOf(GeoDistanceSortBuilder.class);
+        Assertions.assertThat(sorts.get(0).order()).isEqualTo(SortOrder.ASC);
+        Assertions.assertThat(((FieldSortBuilder) sorts.get(1)).getFieldName()).isEqualTo("id");
+    }
+
+    @Test
+    void whenBuildQueryRankedByNearestWithoutLocation_thenRejected() {
+        // Arrange
+        var queryDto = IncidentSearchQueryDto.builder().ranking(IncidentSearchRanking.NEAREST).build();
+
+        // Act & Assert
+        Assertions.assertThatThrownBy(() -> queryBuilder.buildQuery(queryDto))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void whenBuildQueryRankedBySeverity_thenSortedBySeverityThenDistanceThenId() {
+        // Arrange
+        var queryDto = IncidentSearchQueryDto.builder()
+                .latitude(40.7128)
+                .longitude(-74.0060)
+                .ranking(IncidentSearchRanking.SEVERITY)
+                .build();
+
+        // Act
+        var query = (NativeSearchQuery) queryBuilder.buildQuery(queryDto);
+
+        // Assert
+        var sorts = query.getElasticsearchSorts();
+        Assertions.assertThat(sorts).hasSize(3);
+        Assertions.assertThat(((FieldSortBuilder) sorts.get(0)).getFieldName()).isEqualTo("severityRank");
+        Assertions.assertThat(sorts.get(0).order()).isEqualTo(SortOrder.DESC);
+        Assertions.assertThat(sorts.get(1)).isInstanceOf(GeoDistanceSortBuilder.class);
+        Assertions.assertThat(((FieldSortBuilder) sorts.get(2)).getFieldName()).isEqualTo("id");
+    }
+
+    @Test
+    void whenCursorOfNearestHit_thenTakesDistanceFromSortValues() {
+        // Arrange
+        var queryDto = IncidentSearchQueryDto.builder()
+                .latitude(40.7128)
+                .longitude(-74.0060)
+                .ranking(IncidentSearchRanking.NEAREST)
+                .build();
+        var hit = new IncidentEntityDto("7", IncidentType.FIRE, 40.72, -74.0, LocalDateTime.of(2024, 3, 1, 11, 52, 16), SeverityLevel.LOW);
+
+        // Act
+        var cursor = queryBuilder.cursorOf(queryDto, hit, List.of(1234.5, "7"));
+
+        // Assert
+        Assertions.assertThat(cursor).isEqualTo(new IncidentSearchCursor(List.of("1234.5"), "7"));
+    }
+
+    @Test
+    void whenBuildAggregationSource_thenIncidentTypeFiltersAndOnlyBucketsAreReturned() {
+        // Arrange
+        var queryDto = IncidentSearchQueryDto.builder()
+                .incidentType(IncidentType.FIRE)
+                .latitude(40.7128)
+                .longitude(-74.0060)
+                .build();
+
+        // Act
+        var source = queryBuilder.buildAggregationSource(queryDto, 6, 500, Duration.ofMinutes(15));
+
+        // Assert
+        Assertions.assertThat(source.size()).isZero();
+        var query = (BoolQueryBuilder) source.query();
+        Assertions.assertThat(query.should()).isEmpty();
+        Assertions.assertThat(query.filter()).hasSize(2);
+        Assertions.assertThat(source.aggregations().getAggregatorFactories())
+                .extracting(AggregationBuilder::getName)
+                .containsExactlyInAnyOrder("heatmap", "timeline", "byType", "bySeverity");
+        var heatmap = (GeoGridAggregationBuilder) source.aggregations().getAggregatorFactories().stream()
+                .filter(aggregation -> aggregation.getName().equals("heatmap"))
+                .findFirst()
+                .orElseThrow();
+        Assertions.assertThat(heatmap.precision()).isEqualTo(6);
+        Assertions.assertThat(source.toString()).contains("fixed_interval").contains("900s");
+    }
 }
@@ -0,0 +1,62 @@
+package com.example.emergencydashboard.cache;
+
+import com.example.emergencydashboard.config.CacheConfig;
+import com.example.emergencydashboard.dto.IncidentEntityDto;
+import com.example.emergencydashboard.event.IncidentChangedEvent;
+import com.example.emergencydashboard.model.IncidentChangeType;
+import com.example.emergencydashboard.model.IncidentType;
+import com.example.emergencydashboard.model.SeverityLevel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IncidentCacheUpdaterTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.now();
+
+    private Cache cache;
+
+    private IncidentCacheUpdater updater;
+
+    @BeforeEach
+    void setUp() {
+        var cacheManager = new ConcurrentMapCacheManager(CacheConfig.INCIDENT_BY_ID_CACHE);
+        cache = cacheManager.getCache(CacheConfig.INCIDENT_BY_ID_CACHE);
+        updater = new IncidentCacheUpdater(cacheManager);
+    }
+
+    @Test
+    void onIncidentsChanged_ReplacesUpdatedIncident() {
+        cache.put("1", incident("1", SeverityLevel.LOW));
+        var updated = incident("1", SeverityLevel.URGENT);
+
+        updater.onIncidentsChanged(IncidentChangedEvent.of(IncidentChangeType.UPDATED, updated));
+
+        assertThat(cache.get("1", IncidentEntityDto.class)).isEqualTo(updated);
+    }
+
+    @Test
+    void onIncidentsChanged_EvictsDeletedIncident() {
+        cache.put("1", incident("1", SeverityLevel.LOW));
+
+        updater.onIncidentsChanged(IncidentChangedEvent.of(IncidentChangeType.DELETED, incident("1", SeverityLevel.LOW)));
+
+        assertThat(cache.get("1")).isNull();
+    }
+
+    @Test
+    void onIncidentsChanged_DoesNotCacheCreatedIncidents() {
+        updater.onIncidentsChanged(IncidentChangedEvent.of(IncidentChangeType.CREATED, incident("2", SeverityLevel.LOW)));
+
+        assertThat(cache.get("2")).isNull();
+    }
+
+    private IncidentEntityDto incident(String id, SeverityLevel severityLevel) {
+        return new IncidentEntityDto(id, IncidentType.FIRE, 40.712776, -74.005974, NOW, severityLevel);
+    }
+}
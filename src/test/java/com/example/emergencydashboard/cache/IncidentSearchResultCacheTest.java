@@ -0,0 +1,187 @@
+package com.example.emergencydashboard.cache;
+
+import com.example.emergencydashboard.config.IncidentSearchCacheProperties;
+import com.example.emergencydashboard.config.IncidentSearchProperties;
+import com.example.emergencydashboard.dto.IncidentEntityDto;
+import com.example.emergencydashboard.dto.IncidentSearchPageDto;
+import com.example.emergencydashboard.dto.IncidentSearchQueryDto;
+import com.example.emergencydashboard.event.IncidentIndexRefreshedEvent;
+import com.example.emergencydashboard.event.IncidentsIndexedEvent;
+import com.example.emergencydashboard.model.IncidentSearchRanking;
+import com.example.emergencydashboard.model.IncidentType;
+import com.example.emergencydashboard.model.SeverityLevel;
+import com.example.emergencydashboard.util.GeoUtils;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class IncidentSearchResultCacheTest {
+
+    private static final LocalDateTime TIMESTAMP = LocalDateTime.of(2024, 3, 1, 11, 52, 16);
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private IncidentSearchResultCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new IncidentSearchResultCache(new IncidentSearchCacheProperties(), new IncidentSearchProperties(), new SimpleMeterRegistry());
+    }
+
+    @Test
+    void normalize_SnapsLocationAndTimestamp() {
+        var normalized = cache.normalize(IncidentSearchQueryDto.builder()
+                .latitude(40.712776)
+                .longitude(-74.005974)
+                .timestamp(TIMESTAMP)
+                .severityLevel(SeverityLevel.HIGH)
+                .build());
+
+        assertThat(normalized.getLatitude()).isCloseTo(40.7125, within(1e-9));
+        assertThat(normalized.getLongitude()).isCloseTo(-74.00625, within(1e-9));
+        assertThat(normalized.getTimestamp()).isEqualTo(LocalDateTime.of(2024, 3, 1, 11, 52));
+        assertThat(normalized.getIncidentType()).isEqualTo(IncidentType.NONE);
+        assertThat(normalized.getSeverityLevel()).isNull();
+        assertThat(normalized.getRanking()).isEqualTo(IncidentSearchRanking.RELEVANCE);
+        assertThat(normalized.getRadiusKm()).isEqualTo(10.0);
+        assertThat(normalized.getTimeWindow()).isEqualTo(Duration.ofHours(1));
+    }
+
+    @Test
+    void normalize_KeepsSnapErrorWithinFractionOfSmallRadius() {
+        var query = query(40.712776, -74.005974, TIMESTAMP).toBuilder().radiusKm(0.5).build();
+
+        var normalized = cache.normalize(query);
+
+        assertThat(normalized.getRadiusKm()).isEqualTo(0.5);
+        assertThat(GeoUtils.distanceKm(query.getLatitude(), query.getLongitude(),
+                normalized.getLatitude(), normalized.getLongitude())).isLessThanOrEqualTo(0.005);
+    }
+
+    @Test
+    void get_LoadsOncePerNormalizedQuery() {
+        var first = cache.normalize(query(40.712776, -74.005974, TIMESTAMP));
+        var second = cache.normalize(query(40.712801, -74.005911, TIMESTAMP.plusSeconds(30)));
+
+        cache.get(first, this::load);
+        cache.get(second, this::load);
+
+        assertThat(second).isEqualTo(first);
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void onIncidentsIndexed_InvalidatesQueriesTheIncidentMatches() {
+        var query = cache.normalize(query(40.712776, -74.005974, TIMESTAMP));
+        cache.get(query, this::load);
+
+        cache.onIncidentsIndexed(new IncidentsIndexedEvent(List.of(incident("new", 40.75, -74.0, TIMESTAMP.plusMinutes(20))), Set.of()));
+        cache.get(query, this::load);
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void onIncidentsIndexed_KeepsQueriesOutsideAreaOrTimeWindow() {
+        var query = cache.normalize(query(40.712776, -74.005974, TIMESTAMP));
+        cache.get(query, this::load);
+
+        cache.onIncidentsIndexed(new IncidentsIndexedEvent(List.of(
+                incident("far", 41.5, -74.0, TIMESTAMP),
+                incident("late", 40.7128, -74.006, TIMESTAMP.plusHours(2))), Set.of()));
+        cache.get(query, this::load);
+
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void onIncidentsIndexed_UsesRadiusOfQuery() {
+        var query = cache.normalize(query(40.712776, -74.005974, TIMESTAMP).toBuilder().radiusKm(100.0).build());
+        cache.get(query, this::load);
+
+        cache.onIncidentsIndexed(new IncidentsIndexedEvent(List.of(incident("far", 41.5, -74.0, TIMESTAMP)), Set.of()));
+        cache.get(query, this::load);
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void onIncidentsIndexed_InvalidatesQueriesContainingDeletedIncident() {
+        var query = cache.normalize(query(40.712776, -74.005974, TIMESTAMP));
+        cache.get(query, () -> page(incident("1", 40.7128, -74.006, TIMESTAMP)));
+
+        cache.onIncidentsIndexed(new IncidentsIndexedEvent(List.of(), Set.of("1")));
+        cache.get(query, this::load);
+
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void onIndexRefreshed_InvalidatesQueriesCachedBeforeIncidentWasSearchable() {
+        var query = cache.normalize(query(40.712776, -74.005974, TIMESTAMP));
+        cache.get(query, this::load);
+        cache.onIncidentsIndexed(new IncidentsIndexedEvent(List.of(incident("new", 40.75, -74.0, TIMESTAMP)), Set.of()));
+        cache.get(query, this::load);
+
+        cache.onIndexRefreshed(new IncidentIndexRefreshedEvent(System.nanoTime()));
+        cache.get(query, this::load);
+
+        assertThat(loads).hasValue(3);
+    }
+
+    @Test
+    void onIndexRefreshed_KeepsQueriesOfIncidentsNotYetSearchable() {
+        var query = cache.normalize(query(40.712776, -74.005974, TIMESTAMP));
+        cache.get(query, this::load);
+        cache.onIncidentsIndexed(new IncidentsIndexedEvent(List.of(incident("new", 40.75, -74.0, TIMESTAMP)), Set.of()));
+        cache.get(query, this::load);
+
+        cache.onIndexRefreshed(new IncidentIndexRefreshedEvent(System.nanoTime() - Duration.ofMinutes(1).toNanos()));
+        cache.get(query, this::load);
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void get_CachesPagesOfQuerySeparately() {
+        var query = cache.normalize(query(40.712776, -74.005974, TIMESTAMP).toBuilder().limit(10).build());
+        var nextPage = cache.normalize(query.toBuilder().cursor("next").build());
+
+        cache.get(query, this::load);
+        cache.get(nextPage, this::load);
+
+        assertThat(nextPage.getLimit()).isEqualTo(10);
+        assertThat(nextPage.getCursor()).isEqualTo("next");
+        assertThat(loads).hasValue(2);
+    }
+
+    private IncidentSearchPageDto load() {
+        loads.incrementAndGet();
+        return page();
+    }
+
+    private static IncidentSearchPageDto page(IncidentEntityDto... items) {
+        return new IncidentSearchPageDto(List.of(items), null, (long) items.length, IncidentSearchPageDto.TOTAL_HITS_EXACT);
+    }
+
+    private static IncidentSearchQueryDto query(double latitude, double longitude, LocalDateTime timestamp) {
+        return IncidentSearchQueryDto.builder()
+                .latitude(latitude)
+                .longitude(longitude)
+                .timestamp(timestamp)
+                .build();
+    }
+
+    private static IncidentEntityDto incident(String id, double latitude, double longitude, LocalDateTime timestamp) {
+        return new IncidentEntityDto(id, IncidentType.FIRE, latitude, longitude, timestamp, SeverityLevel.LOW);
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.emergencydashboard.controller;
+
+import com.example.emergencydashboard.dto.IncidentAggregationDto;
+import com.example.emergencydashboard.dto.IncidentSearchQueryDto;
+import com.example.emergencydashboard.model.IncidentType;
+import com.example.emergencydashboard.service.IncidentAggregationService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(IncidentAggregationRestController.class)
+class IncidentAggregationRestControllerTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 3, 1, 11, 52);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private IncidentAggregationService service;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final IncidentAggregationDto aggregation = new IncidentAggregationDto(3,
+            List.of(new IncidentAggregationDto.HeatmapCell("dr5re", 40.71, -74.0, 3)),
+            List.of(new IncidentAggregationDto.TimelineBucket(NOW.withMinute(50), 3)),
+            Map.of("fire", 3L),
+            Map.of("high", 3L));
+
+    @Test
+    void aggregateIncidents() throws Exception {
+        var queryDto = IncidentSearchQueryDto.builder()
+                .incidentType(IncidentType.FIRE)
+                .latitude(40.712776)
+                .longitude(-74.005974)
+                .timestamp(NOW)
+                .radiusKm(25.0)
+                .timeWindow(Duration.ofMinutes(30))
+                .build();
+        given(service.aggregateIncidents(queryDto, 6, Duration.ofMinutes(10))).willReturn(aggregation);
+
+        mockMvc.perform(get("/api/v1/incidents/aggregations")
+                        .param("incidentType", "fire")
+                        .param("latitude", "40.712776")
+                        .param("longitude", "-74.005974")
+                        .param("timestamp", NOW.toString())
+                        .param("radiusKm", "25")
+                        .param("timeWindowMinutes", "30")
+                        .param("geohashPrecision", "6")
+                        .param("intervalMinutes", "10"))
+                .andExpect(status().isOk())
+                .andExpect(content().json(objectMapper.writeValueAsString(aggregation)));
+    }
+
+    @Test
+    void aggregateIncidents_WithoutParameters() throws Exception {
+        var queryDto = IncidentSearchQueryDto.builder()
+                .incidentType(IncidentType.NONE)
+                .build();
+        given(service.aggregateIncidents(queryDto, null, null)).willReturn(aggregation);
+
+        mockMvc.perform(get("/api/v1/incidents/aggregations"))
+                .andExpect(status().isOk())
+                .andExpect(content().json(objectMapper.writeValueAsString(aggregation)));
+    }
+}
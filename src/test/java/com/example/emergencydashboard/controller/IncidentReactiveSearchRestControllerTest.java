@@ -0,0 +1,86 @@
+package com.example.emergencydashboard.controller;
+
+import com.example.emergencydashboard.dto.IncidentEntityDto;
+import com.example.emergencydashboard.dto.IncidentSearchPageDto;
+import com.example.emergencydashboard.dto.IncidentSearchQueryDto;
+import com.example.emergencydashboard.exception.SearchTimeoutException;
+import com.example.emergencydashboard.model.IncidentSearchRanking;
+import com.example.emergencydashboard.model.IncidentType;
+import com.example.emergencydashboard.model.SeverityLevel;
+import com.example.emergencydashboard.service.IncidentSearchService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(IncidentReactiveSearchRestController.class)
+class IncidentReactiveSearchRestControllerTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.now();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private IncidentSearchService service;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void searchIncidents() throws Exception {
+        var incidentEntityDto = new IncidentEntityDto("1", IncidentType.FIRE, 40.712776, -74.005974, NOW, SeverityLevel.MEDIUM);
+        var page = new IncidentSearchPageDto(Collections.singletonList(incidentEntityDto), "next", 2L, IncidentSearchPageDto.TOTAL_HITS_EXACT);
+        IncidentSearchQueryDto queryDto = IncidentSearchQueryDto.builder()
+                .incidentType(IncidentType.FIRE)
+                .latitude(40.712776)
+                .longitude(-74.005974)
+                .timestamp(NOW)
+                .ranking(IncidentSearchRanking.RELEVANCE)
+                .build();
+        given(service.searchIncidentsReactive(queryDto)).willReturn(Mono.just(page));
+
+        var result = mockMvc.perform(get("/api/v1/incidents/reactive/search")
+                        .param("incidentType", queryDto.getIncidentType().getType())
+                        .param("latitude", queryDto.getLatitude().toString())
+                        .param("longitude", queryDto.getLongitude().toString())
+                        .param("timestamp", queryDto.getTimestamp().toString()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().json(objectMapper.writeValueAsString(page)));
+    }
+
+    @Test
+    void searchIncidents_AnswersGatewayTimeoutOnceDeadlinePassed() throws Exception {
+        IncidentSearchQueryDto queryDto = IncidentSearchQueryDto.builder()
+                .incidentType(IncidentType.NONE)
+                .ranking(IncidentSearchRanking.RELEVANCE)
+                .build();
+        given(service.searchIncidentsReactive(queryDto))
+                .willReturn(Mono.error(new SearchTimeoutException(Duration.ofSeconds(3))));
+
+        var result = mockMvc.perform(get("/api/v1/incidents/reactive/search"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isGatewayTimeout());
+    }
+}
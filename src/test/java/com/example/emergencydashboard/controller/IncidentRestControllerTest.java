@@ -1,26 +1,42 @@
 package com.example.emergencydashboard.controller;
 
+import com.example.emergencydashboard.dto.IncidentBatchItemResultDto;
+import com.example.emergencydashboard.dto.IncidentBatchResultDto;
+import com.example.emergencydashboard.dto.IncidentChangesDto;
 import com.example.emergencydashboard.dto.IncidentEntityDto;
+import com.example.emergencydashboard.dto.IncidentPageDto;
+import com.example.emergencydashboard.dto.IncidentStreamEventDto;
+import com.example.emergencydashboard.model.IncidentChangeType;
 import com.example.emergencydashboard.model.IncidentType;
 import com.example.emergencydashboard.model.SeverityLevel;
+import com.example.emergencydashboard.service.IncidentExportService;
 import com.example.emergencydashboard.service.IncidentService;
+import com.example.emergencydashboard.stream.IncidentChangeStream;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
 import javax.persistence.EntityNotFoundException;
+import java.io.ByteArrayInputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.Collections;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
 
 import static com.example.emergencydashboard.dto.IncidentEntityDto.LATITUDE_RANGE_MESSAGE;
 import static com.example.emergencydashboard.dto.IncidentEntityDto.LONGITUDE_RANGE_MESSAGE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.doNothing;
@@ -38,6 +54,12 @@ class IncidentRestControllerTest {
     @MockBean
     private IncidentService service;
 
+    @MockBean
+    private IncidentChangeStream changeStream;
+
+    @MockBean
+    private IncidentExportService exportService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -81,14 +103,107 @@ class IncidentRestControllerTest {
                 .andExpect(jsonPath("$.message.longitude").value(LONGITUDE_RANGE_MESSAGE));
     }
 
+    @Test
+    void createIncidents() throws Exception {
+        IncidentBatchResultDto batchResult = IncidentBatchResultDto.of(List.of(
+                IncidentBatchItemResultDto.created(0, "1"),
+                IncidentBatchItemResultDto.failed(1, "latitude: " + LATITUDE_RANGE_MESSAGE)));
+        given(service.saveIncidents(anyList())).willReturn(batchResult);
+
+        mockMvc.perform(post("/api/v1/incidents/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(incidentEntityDto, incidentEntityDto))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.succeeded").value(1))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.items[1].status").value("FAILED"));
+    }
+
+    @Test
+    void getIncidents() throws Exception {
+        var page = new IncidentPageDto(Collections.singletonList(incidentEntityDto), "next-cursor");
+        given(service.findIncidentPage("cursor", 50)).willReturn(page);
+
+        mockMvc.perform(get("/api/v1/incidents")
+                        .param("cursor", "cursor")
+                        .param("limit", "50"))
+                .andExpect(status().isOk())
+                .andExpect(content().json(objectMapper.writeValueAsString(page)));
+    }
+
+    @Test
+    void getIncidents_WithInvalidCursor_ReturnsBadRequest() throws Exception {
+        given(service.findIncidentPage("broken", null)).willThrow(new IllegalArgumentException("Invalid cursor"));
+
+        mockMvc.perform(get("/api/v1/incidents")
+                        .param("cursor", "broken"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Invalid cursor"));
+    }
+
+    @Test
+    void exportIncidents_StreamsNdjson() throws Exception {
+        given(exportService.exportNdjson(any(OutputStream.class))).willAnswer(invocation -> {
+            OutputStream outputStream = invocation.getArgument(0);
+            outputStream.write("{\"id\":\"1\"}\n{\"id\":\"2\"}\n".getBytes(StandardCharsets.UTF_8));
+            return 2L;
+        });
+
+        var result = mockMvc.perform(get("/api/v1/incidents/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(content().string("{\"id\":\"1\"}\n{\"id\":\"2\"}\n"));
+    }
+
+    @Test
+    void exportIncidents_WithGzip_CompressesBody() throws Exception {
+        given(exportService.exportNdjson(any(OutputStream.class))).willAnswer(invocation -> {
+            OutputStream outputStream = invocation.getArgument(0);
+            outputStream.write("{\"id\":\"1\"}\n".getBytes(StandardCharsets.UTF_8));
+            return 1L;
+        });
+
+        var result = mockMvc.perform(get("/api/v1/incidents/export").param("gzip", "true"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        byte[] body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        try (var gzipStream = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            assertEquals("{\"id\":\"1\"}\n", new String(gzipStream.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void exportIncidents_SetsExportTimeoutOnRequest() throws Exception {
+        var result = mockMvc.perform(get("/api/v1/incidents/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        assertEquals(IncidentRestController.EXPORT_TIMEOUT.toMillis(), result.getRequest().getAsyncContext().getTimeout());
+    }
 
     @Test
-    void getAllIncidents() throws Exception {
-        given(service.findAllIncidents()).willReturn(Collections.singletonList(incidentEntityDto));
+    void getChanges() throws Exception {
+        var event = new IncidentStreamEventDto(42, IncidentChangeType.UPDATED, "1", incidentEntityDto);
+        given(changeStream.changesSince("stream-1", 41L)).willReturn(IncidentChangesDto.delta("stream-1", 42, List.of(event)));
 
-        mockMvc.perform(get("/api/v1/incidents"))
+        mockMvc.perform(get("/api/v1/incidents/changes")
+                        .param("streamId", "stream-1")
+                        .param("after", "41"))
                 .andExpect(status().isOk())
-                .andExpect(content().json(objectMapper.writeValueAsString(Collections.singletonList(incidentEntityDto))));
+                .andExpect(jsonPath("$.snapshot").value(false))
+                .andExpect(jsonPath("$.sequence").value(42))
+                .andExpect(jsonPath("$.events[0].type").value("UPDATED"))
+                .andExpect(jsonPath("$.events[0].incident.id").value("1"));
     }
 
     @Test
@@ -1,7 +1,11 @@
 package com.example.emergencydashboard.controller;
 
 import com.example.emergencydashboard.dto.IncidentEntityDto;
+import com.example.emergencydashboard.dto.IncidentSearchBatchItemDto;
+import com.example.emergencydashboard.dto.IncidentSearchBatchResultDto;
+import com.example.emergencydashboard.dto.IncidentSearchPageDto;
 import com.example.emergencydashboard.dto.IncidentSearchQueryDto;
+import com.example.emergencydashboard.model.IncidentSearchRanking;
 import com.example.emergencydashboard.model.IncidentType;
 import com.example.emergencydashboard.model.SeverityLevel;
 import com.example.emergencydashboard.service.IncidentSearchService;
@@ -11,14 +15,20 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Collections;
+import java.util.List;
 
+import static com.example.emergencydashboard.dto.IncidentEntityDto.LATITUDE_RANGE_MESSAGE;
 import static org.mockito.BDDMockito.given;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(IncidentSearchRestController.class)
@@ -34,21 +44,25 @@ class IncidentSearchRestControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
 
-    private IncidentEntityDto incidentEntityDto;
+    private IncidentSearchPageDto page;
 
     @BeforeEach
     void setUp() {
-        incidentEntityDto = new IncidentEntityDto("1", IncidentType.FIRE, 40.712776, -74.005974, NOW, SeverityLevel.MEDIUM);
+        var incidentEntityDto = new IncidentEntityDto("1", IncidentType.FIRE, 40.712776, -74.005974, NOW, SeverityLevel.MEDIUM);
+        page = new IncidentSearchPageDto(Collections.singletonList(incidentEntityDto), "next", 2L, IncidentSearchPageDto.TOTAL_HITS_EXACT);
     }
 
     @Test
     void searchIncidentsByType() throws Exception {
         IncidentType incidentType = IncidentType.FIRE;
-        given(service.searchIncidentsByType(incidentType)).willReturn(Collections.singletonList(incidentEntityDto));
+        IncidentSearchQueryDto queryDto = IncidentSearchQueryDto.builder()
+                .incidentType(incidentType)
+                .build();
+        given(service.searchIncidentsByType(queryDto)).willReturn(page);
 
         mockMvc.perform(get("/api/v1/incidents/search/{type}", incidentType))
                 .andExpect(status().isOk())
-                .andExpect(content().json(objectMapper.writeValueAsString(Collections.singletonList(incidentEntityDto))));
+                .andExpect(content().json(objectMapper.writeValueAsString(page)));
     }
 
     @Test
@@ -58,9 +72,10 @@ class IncidentSearchRestControllerTest {
                 .latitude(40.712776)
                 .longitude(-74.005974)
                 .timestamp(NOW)
+                .ranking(IncidentSearchRanking.RELEVANCE)
                 .build();
 
-        given(service.searchIncidents(queryDto)).willReturn(Collections.singletonList(incidentEntityDto));
+        given(service.searchIncidents(queryDto)).willReturn(page);
 
         mockMvc.perform(get("/api/v1/incidents/search")
                         .param("incidentType", queryDto.getIncidentType().getType())
@@ -68,7 +83,75 @@ class IncidentSearchRestControllerTest {
                         .param("longitude", queryDto.getLongitude().toString())
                         .param("timestamp", queryDto.getTimestamp().toString()))
                 .andExpect(status().isOk())
-                .andExpect(content().json(objectMapper.writeValueAsString(Collections.singletonList(incidentEntityDto))));
+                .andExpect(content().json(objectMapper.writeValueAsString(page)));
+    }
+
+    @Test
+    void searchIncidents_PassesRankingAndPagingParameters() throws Exception {
+        IncidentSearchQueryDto queryDto = IncidentSearchQueryDto.builder()
+                .incidentType(IncidentType.NONE)
+                .latitude(40.712776)
+                .longitude(-74.005974)
+                .timestamp(NOW)
+                .ranking(IncidentSearchRanking.NEAREST)
+                .radiusKm(25.0)
+                .timeWindow(Duration.ofMinutes(30))
+                .cursor("next")
+                .limit(1)
+                .exactTotalHits(false)
+                .build();
+
+        given(service.searchIncidents(queryDto)).willReturn(page);
+
+        mockMvc.perform(get("/api/v1/incidents/search")
+                        .param("latitude", queryDto.getLatitude().toString())
+                        .param("longitude", queryDto.getLongitude().toString())
+                        .param("timestamp", queryDto.getTimestamp().toString())
+                        .param("ranking", "nearest")
+                        .param("radiusKm", "25")
+                        .param("timeWindowMinutes", "30")
+                        .param("cursor", "next")
+                        .param("limit", "1")
+                        .param("exactTotalHits", "false"))
+                .andExpect(status().isOk())
+                .andExpect(content().json(objectMapper.writeValueAsString(page)));
+    }
+
+    @Test
+    void searchIncidents_WithInvalidLatitude_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/v1/incidents/search")
+                        .param("latitude", "90.1")
+                        .param("longitude", "-74.005974"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message.latitude").value(LATITUDE_RANGE_MESSAGE));
     }
 
+    @Test
+    void searchIncidentsBatch() throws Exception {
+        var queries = List.of(
+                IncidentSearchQueryDto.builder()
+                        .incidentType(IncidentType.FIRE)
+                        .latitude(40.712776)
+                        .longitude(-74.005974)
+                        .ranking(IncidentSearchRanking.NEAREST)
+                        .timeWindow(Duration.ofMinutes(30))
+                        .build(),
+                IncidentSearchQueryDto.builder()
+                        .incidentType(IncidentType.MEDICAL)
+                        .build());
+        var result = IncidentSearchBatchResultDto.of(List.of(
+                IncidentSearchBatchItemDto.ok(0, page),
+                IncidentSearchBatchItemDto.failed(1, "shard failure")));
+        given(service.searchIncidentsBatch(queries)).willReturn(result);
+
+        mockMvc.perform(post("/api/v1/incidents/search/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                [
+                                  {"incidentType": "fire", "latitude": 40.712776, "longitude": -74.005974, "ranking": "nearest", "timeWindow": "PT30M"},
+                                  {"incidentType": "medical"}
+                                ]"""))
+                .andExpect(status().isOk())
+                .andExpect(content().json(objectMapper.writeValueAsString(result)));
+    }
 }
@@ -0,0 +1,44 @@
+package com.example.emergencydashboard.controller;
+
+import com.example.emergencydashboard.dto.IncidentStatisticsDto;
+import com.example.emergencydashboard.stats.IncidentStatistics;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(IncidentStatisticsRestController.class)
+class IncidentStatisticsRestControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private IncidentStatistics statistics;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void getStatistics() throws Exception {
+        var snapshot = new IncidentStatisticsDto(LocalDateTime.of(2024, 3, 1, 12, 0), List.of(
+                new IncidentStatisticsDto.Window(300, 2, Map.of("fire", 2L), Map.of("high", 2L),
+                        Map.of("fire", Map.of("high", 2L)))));
+        given(statistics.snapshot()).willReturn(snapshot);
+
+        mockMvc.perform(get("/api/v1/incidents/statistics"))
+                .andExpect(status().isOk())
+                .andExpect(content().json(objectMapper.writeValueAsString(snapshot)));
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.emergencydashboard.controller;
+
+import com.example.emergencydashboard.dto.IncidentEntityDto;
+import com.example.emergencydashboard.dto.IncidentSubscriptionFilterDto;
+import com.example.emergencydashboard.ingest.IncidentIngestPipeline;
+import com.example.emergencydashboard.model.IncidentType;
+import com.example.emergencydashboard.model.SeverityLevel;
+import com.example.emergencydashboard.service.IncidentService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+import org.springframework.web.socket.sockjs.client.SockJsClient;
+import org.springframework.web.socket.sockjs.client.WebSocketTransport;
+
+import java.lang.reflect.Type;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.when;
+
+/**
+ * Sends incidents over a real STOMP connection and reads the errors the client receives on its
+ * {@code /user/queue/errors} subscription.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "incidents.ingest.queue-capacity=1",
+        "incidents.ingest.batch-size=1",
+        "incidents.ingest.linger-ms=0"
+})
+class WebSocketControllerIntegrationTest {
+
+    private static final long TIMEOUT_SECONDS = 10;
+
+    @LocalServerPort
+    private int port;
+
+    @MockBean
+    private IncidentService service;
+
+    private final BlockingQueue<Map<String, Object>> errors = new LinkedBlockingQueue<>();
+    private final CountDownLatch releaseSaves = new CountDownLatch(1);
+
+    private WebSocketStompClient stompClient;
+    private StompSession session;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        stompClient = new WebSocketStompClient(new SockJsClient(List.of(new WebSocketTransport(new StandardWebSocketClient()))));
+        var messageConverter = new MappingJackson2MessageConverter();
+        messageConverter.setObjectMapper(Jackson2ObjectMapperBuilder.json().build());
+        stompClient.setMessageConverter(messageConverter);
+        session = stompClient.connect("http://localhost:" + port + "/ws", new StompSessionHandlerAdapter() {
+        }).get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        session.subscribe("/user" + IncidentIngestPipeline.ERRORS_QUEUE, new ErrorFrameHandler());
+    }
+
+    @AfterEach
+    void tearDown() {
+        releaseSaves.countDown();
+        session.disconnect();
+        stompClient.stop();
+    }
+
+    @Test
+    void notifyIncident_WhenIngestQueueIsFull_SendsBackpressureErrorToSender() throws InterruptedException {
+        when(service.saveIncidentBatch(anyList())).thenAnswer(invocation -> {
+            releaseSaves.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            return invocation.getArgument(0);
+        });
+
+        var error = sendUntilError();
+
+        assertThat(error).containsEntry("error", "Backpressure");
+    }
+
+    @Test
+    void notifyIncident_WhenSaveFails_SendsIngestErrorToSender() throws InterruptedException {
+        when(service.saveIncidentBatch(anyList())).thenThrow(new IllegalStateException("Simulated database failure"));
+
+        var error = sendUntilError();
+
+        assertThat(error).containsEntry("error", "Ingest Error");
+        assertThat(error.get("message")).asString().contains("Simulated database failure");
+    }
+
+    @Test
+    void subscribe_WhenFilterMixesAreas_SendsBadRequestToSender() throws InterruptedException {
+        var filter = IncidentSubscriptionFilterDto.builder()
+                .latitude(40.71).longitude(-74.0).radiusKm(25.0)
+                .minLatitude(40.0).maxLatitude(41.0).minLongitude(-75.0).maxLongitude(-73.0)
+                .build();
+
+        var error = sendUntilError(() -> session.send("/app/subscriptions", filter));
+
+        assertThat(error).containsEntry("error", "Bad Request");
+        assertThat(error.get("message")).asString().contains("either a bounding box or a radius");
+    }
+
+    /**
+     * Keeps sending until an error arrives, since the subscription is registered asynchronously and errors sent
+     * before it are not delivered.
+     */
+    private Map<String, Object> sendUntilError() throws InterruptedException {
+        return sendUntilError(() -> session.send("/app/incident", new IncidentEntityDto(null, IncidentType.FIRE,
+                40.712776, -74.005974, LocalDateTime.now(), SeverityLevel.HIGH)));
+    }
+
+    private Map<String, Object> sendUntilError(Runnable send) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+        while (System.nanoTime() < deadline) {
+            send.run();
+            var error = errors.poll(100, TimeUnit.MILLISECONDS);
+            if (error != null) {
+                return error;
+            }
+        }
+        throw new AssertionError("No error received on " + IncidentIngestPipeline.ERRORS_QUEUE);
+    }
+
+    private final class ErrorFrameHandler implements StompFrameHandler {
+
+        @Override
+        public Type getPayloadType(StompHeaders headers) {
+            return Map.class;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void handleFrame(StompHeaders headers, Object payload) {
+            errors.add((Map<String, Object>) payload);
+        }
+    }
+}
@@ -1,19 +1,45 @@
 package com.example.emergencydashboard.executor;
 
+import com.example.emergencydashboard.metrics.IncidentSearchMetrics;
 import com.example.emergencydashboard.model.IncidentDocument;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import com.example.emergencydashboard.model.IncidentType;
+import org.apache.lucene.search.TotalHits;
+import org.elasticsearch.ElasticsearchException;
+import org.elasticsearch.action.search.MultiSearchResponse;
+import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.common.bytes.BytesArray;
+import org.elasticsearch.common.text.Text;
 import org.elasticsearch.index.query.QueryBuilders;
+import org.elasticsearch.search.DocValueFormat;
+import org.elasticsearch.search.SearchHit;
+import org.elasticsearch.search.builder.SearchSourceBuilder;
+import org.elasticsearch.search.sort.SortBuilders;
+import org.elasticsearch.search.sort.SortOrder;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.elasticsearch.core.ElasticsearchRestTemplate;
 import org.springframework.data.elasticsearch.core.SearchHits;
+import org.springframework.data.elasticsearch.core.TotalHitsRelation;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
 import org.springframework.data.elasticsearch.core.query.NativeSearchQuery;
+import org.springframework.data.elasticsearch.core.query.NativeSearchQueryBuilder;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -22,26 +48,118 @@ class IncidentQueryExecutorImplTest {
     @Mock
     private ElasticsearchRestTemplate elasticsearchRestTemplate;
 
+    @Mock
+    private IncidentSearchLog searchLog;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private IncidentSearchMetrics metrics = new IncidentSearchMetrics(meterRegistry);
+
     @InjectMocks
     private IncidentQueryExecutorImpl incidentQueryExecutor;
 
     @Test
-    void whenExecuteQuery_thenShouldCallTemplateAndReturnSearchHits() {
+    void whenExecuteQuery_thenShouldMapHitsAndRecordSearch() {
         // Arrange
-        var query = mock(NativeSearchQuery.class);
-        when(query.getQuery()).thenReturn(QueryBuilders.matchAllQuery());
-        var expectedDocument = mock(IncidentDocument.class);
-        var expectedSearchHits = mock(SearchHits.class);
-        when(expectedSearchHits.getTotalHits()).thenReturn(1L);
-        when(expectedSearchHits.getSearchHits()).thenReturn(List.of(expectedDocument));
-        when(elasticsearchRestTemplate.search(query, IncidentDocument.class)).thenReturn(expectedSearchHits);
+        useIndex();
+        var response = mock(SearchResponse.class);
+        when(response.getHits()).thenReturn(new org.elasticsearch.search.SearchHits(
+                new SearchHit[]{hit("1")}, new TotalHits(1, TotalHits.Relation.EQUAL_TO), 1.0f));
+        when(elasticsearchRestTemplate.execute(any())).thenReturn(response);
+
+        var query = new NativeSearchQueryBuilder()
+                .withQuery(QueryBuilders.matchAllQuery())
+                .withSort(SortBuilders.fieldSort("id").order(SortOrder.ASC))
+                .withPageable(PageRequest.of(0, 21))
+                .build();
+        query.setTrackTotalHitsUpTo(10_000);
 
         // Act
         SearchHits<IncidentDocument> searchHits = incidentQueryExecutor.executeQuery(query);
 
         // Assert
-        assertThat(searchHits).isNotNull();
         assertThat(searchHits.getTotalHits()).isEqualTo(1L);
-        verify(elasticsearchRestTemplate).search(query, IncidentDocument.class);
+        assertThat(searchHits.getSearchHit(0).getContent().getId()).isEqualTo("1");
+        var source = ArgumentCaptor.forClass(SearchSourceBuilder.class);
+        verify(searchLog).record(source.capture(), eq(response), anyLong());
+        assertThat(source.getValue().query()).isEqualTo(QueryBuilders.matchAllQuery());
+        assertThat(source.getValue().sorts()).containsExactly(SortBuilders.fieldSort("id").order(SortOrder.ASC));
+        assertThat(source.getValue().from()).isZero();
+        assertThat(source.getValue().size()).isEqualTo(21);
+        assertThat(source.getValue().trackTotalHitsUpTo()).isEqualTo(10_000);
+    }
+
+    @Test
+    void whenSearchFails_thenShouldCountError() {
+        // Arrange
+        useIndex();
+        when(elasticsearchRestTemplate.execute(any())).thenThrow(new ElasticsearchException("cluster unavailable"));
+        var query = new NativeSearchQuery(QueryBuilders.matchAllQuery());
+
+        // Act & Assert
+        assertThatThrownBy(() -> incidentQueryExecutor.executeQuery(query))
+                .isInstanceOf(ElasticsearchException.class);
+        assertThat(meterRegistry.get(IncidentSearchMetrics.ERRORS_COUNTER).tag("operation", "search").counter().count()).isEqualTo(1.0);
+        verifyNoInteractions(searchLog);
+    }
+
+    @Test
+    void whenExecuteSearch_thenShouldRunRequestOnIncidentsIndex() {
+        // Arrange
+        var response = mock(SearchResponse.class);
+        when(elasticsearchRestTemplate.getIndexCoordinatesFor(IncidentDocument.class)).thenReturn(IndexCoordinates.of("incidents"));
+        when(elasticsearchRestTemplate.execute(any())).thenReturn(response);
+
+        // Act
+        var result = incidentQueryExecutor.executeSearch(new SearchSourceBuilder().size(0));
+
+        // Assert
+        assertThat(result).isSameAs(response);
+        verify(elasticsearchRestTemplate).getIndexCoordinatesFor(IncidentDocument.class);
+        verify(searchLog).record(any(SearchSourceBuilder.class), eq(response), anyLong());
+    }
+
+    @Test
+    void whenExecuteQueries_thenShouldMapEachResponseOnItsOwn() {
+        // Arrange
+        useIndex();
+        var response = mock(SearchResponse.class);
+        when(response.getHits()).thenReturn(new org.elasticsearch.search.SearchHits(
+                new SearchHit[]{hit("1")}, new TotalHits(1, TotalHits.Relation.EQUAL_TO), 1.0f));
+        var failure = new ElasticsearchException("illegal latitude value");
+        when(elasticsearchRestTemplate.execute(any())).thenReturn(new MultiSearchResponse(new MultiSearchResponse.Item[]{
+                new MultiSearchResponse.Item(response, null),
+                new MultiSearchResponse.Item(null, failure)}, 1L));
+
+        // Act
+        var items = incidentQueryExecutor.executeQueries(List.of(
+                new NativeSearchQuery(QueryBuilders.matchAllQuery()),
+                new NativeSearchQuery(QueryBuilders.matchAllQuery())));
+
+        // Assert
+        assertThat(items).hasSize(2);
+        var searchHits = items.get(0).searchHits();
+        assertThat(searchHits.getTotalHits()).isEqualTo(1L);
+        assertThat(searchHits.getTotalHitsRelation()).isEqualTo(TotalHitsRelation.EQUAL_TO);
+        assertThat(searchHits.getSearchHit(0).getContent())
+                .matches(document -> document.getId().equals("1"))
+                .matches(document -> document.getIncidentType() == IncidentType.FIRE)
+                .matches(document -> document.getTimestamp().equals(LocalDateTime.of(2024, 3, 1, 11, 40)));
+        assertThat(searchHits.getSearchHit(0).getSortValues()).containsExactly("1");
+        assertThat(items.get(1).isFailure()).isTrue();
+        assertThat(items.get(1).failure()).isSameAs(failure);
+        assertThat(meterRegistry.get(IncidentSearchMetrics.ERRORS_COUNTER).tag("operation", "multi_search").counter().count()).isEqualTo(1.0);
+    }
+
+    private void useIndex() {
+        when(elasticsearchRestTemplate.getIndexCoordinatesFor(IncidentDocument.class)).thenReturn(IndexCoordinates.of("incidents"));
+    }
+
+    private static SearchHit hit(String id) {
+        var hit = new SearchHit(0, id, new Text("_doc"), Map.of(), Map.of())
+                .sourceRef(new BytesArray("{\"id\":\"" + id + "\",\"incidentType\":\"FIRE\",\"timestamp\":\"2024-03-01T11:40:00\"}"));
+        hit.sortValues(new Object[]{id}, new DocValueFormat[]{DocValueFormat.RAW});
+        return hit;
     }
 }
@@ -0,0 +1,107 @@
+package com.example.emergencydashboard.executor;
+
+import com.example.emergencydashboard.metrics.IncidentSearchMetrics;
+import com.example.emergencydashboard.model.IncidentDocument;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.elasticsearch.index.query.QueryBuilders;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.elasticsearch.core.ReactiveElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.SearchHit;
+import org.springframework.data.elasticsearch.core.SearchHitSupport;
+import org.springframework.data.elasticsearch.core.SearchHitsImpl;
+import org.springframework.data.elasticsearch.core.SearchPage;
+import org.springframework.data.elasticsearch.core.TotalHitsRelation;
+import org.springframework.data.elasticsearch.core.query.NativeSearchQuery;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IncidentReactiveQueryExecutorImplTest {
+
+    @Mock
+    private ReactiveElasticsearchOperations elasticsearchOperations;
+
+    @Mock
+    private IncidentSearchLog searchLog;
+
+    @Spy
+    private IncidentSearchMetrics metrics = new IncidentSearchMetrics(new SimpleMeterRegistry());
+
+    @InjectMocks
+    private IncidentReactiveQueryExecutorImpl incidentQueryExecutor;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void whenExecuteQuery_thenShouldTakeTotalFromSearchResponse() {
+        // Arrange
+        var query = new NativeSearchQuery(QueryBuilders.matchAllQuery());
+        SearchHit<IncidentDocument> hit = mock(SearchHit.class);
+        when(elasticsearchOperations.searchForPage(query, IncidentDocument.class))
+                .thenReturn(Mono.just(page(query, 3L, TotalHitsRelation.EQUAL_TO, List.of(hit))));
+
+        // Act & Assert
+        StepVerifier.create(incidentQueryExecutor.executeQuery(query))
+                .assertNext(searchHits -> {
+                    assertThat(searchHits.getSearchHits()).containsExactly(hit);
+                    assertThat(searchHits.getTotalHits()).isEqualTo(3L);
+                    assertThat(searchHits.getTotalHitsRelation()).isEqualTo(TotalHitsRelation.EQUAL_TO);
+                })
+                .verifyComplete();
+        verify(searchLog).record(any(), eq(IncidentSearchLog.UNKNOWN_TOOK), anyLong(), eq(1), eq(3L));
+        verify(elasticsearchOperations, never()).count(any(), any(Class.class));
+    }
+
+    @Test
+    void whenTotalIsTrackedUpToLimit_thenShouldKeepLowerBound() {
+        // Arrange
+        var query = new NativeSearchQuery(QueryBuilders.matchAllQuery());
+        query.setTrackTotalHitsUpTo(1_000);
+        when(elasticsearchOperations.searchForPage(query, IncidentDocument.class))
+                .thenReturn(Mono.just(page(query, 1_000L, TotalHitsRelation.GREATER_THAN_OR_EQUAL_TO, List.of())));
+
+        // Act & Assert
+        StepVerifier.create(incidentQueryExecutor.executeQuery(query))
+                .assertNext(searchHits -> {
+                    assertThat(searchHits.getTotalHits()).isEqualTo(1_000L);
+                    assertThat(searchHits.getTotalHitsRelation()).isEqualTo(TotalHitsRelation.GREATER_THAN_OR_EQUAL_TO);
+                })
+                .verifyComplete();
+        verify(elasticsearchOperations, never()).count(any(), any(Class.class));
+    }
+
+    @Test
+    void whenQueryDoesNotTrackTotalHits_thenShouldNotLogTotal() {
+        // Arrange
+        var query = new NativeSearchQuery(QueryBuilders.matchAllQuery());
+        query.setTrackTotalHits(false);
+        when(elasticsearchOperations.searchForPage(query, IncidentDocument.class))
+                .thenReturn(Mono.just(page(query, 0L, TotalHitsRelation.EQUAL_TO, List.of())));
+
+        // Act & Assert
+        StepVerifier.create(incidentQueryExecutor.executeQuery(query))
+                .assertNext(searchHits -> assertThat(searchHits.getSearchHits()).isEmpty())
+                .verifyComplete();
+        verify(searchLog).record(any(), eq(IncidentSearchLog.UNKNOWN_TOOK), anyLong(), eq(0), isNull());
+        verify(elasticsearchOperations, never()).count(any(), any(Class.class));
+    }
+
+    private static SearchPage<IncidentDocument> page(NativeSearchQuery query, long totalHits, TotalHitsRelation relation,
+                                                     List<SearchHit<IncidentDocument>> hits) {
+        var searchHits = new SearchHitsImpl<>(totalHits, relation, Float.NaN, null, hits, null);
+        return SearchHitSupport.searchPageFor(searchHits, query.getPageable());
+    }
+}
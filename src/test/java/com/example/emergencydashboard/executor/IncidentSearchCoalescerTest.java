@@ -0,0 +1,131 @@
+package com.example.emergencydashboard.executor;
+
+import com.example.emergencydashboard.config.IncidentSearchCoalescingProperties;
+import com.example.emergencydashboard.dto.IncidentEntityDto;
+import com.example.emergencydashboard.dto.IncidentSearchPageDto;
+import com.example.emergencydashboard.dto.IncidentSearchQueryDto;
+import com.example.emergencydashboard.exception.SearchTimeoutException;
+import com.example.emergencydashboard.model.IncidentType;
+import com.example.emergencydashboard.model.SeverityLevel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IncidentSearchCoalescerTest {
+
+    private static final IncidentSearchQueryDto QUERY = IncidentSearchQueryDto.builder()
+            .incidentType(IncidentType.FIRE)
+            .timestamp(LocalDateTime.of(2024, 3, 1, 11, 52))
+            .build();
+    private static final IncidentSearchPageDto PAGE = new IncidentSearchPageDto(List.of(
+            new IncidentEntityDto("1", IncidentType.FIRE, 40.7128, -74.0060, LocalDateTime.of(2024, 3, 1, 11, 40), SeverityLevel.HIGH)),
+            null, 1L, IncidentSearchPageDto.TOTAL_HITS_EXACT);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final IncidentSearchCoalescingProperties properties = new IncidentSearchCoalescingProperties();
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final AtomicInteger searches = new AtomicInteger();
+
+    private IncidentSearchCoalescer coalescer;
+
+    @BeforeEach
+    void setUp() {
+        coalescer = new IncidentSearchCoalescer(properties, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void execute_SharesResultOfIdenticalSearchInFlight() throws Exception {
+        Future<IncidentSearchPageDto> leader = executor.submit(() -> coalescer.execute(QUERY, this::blockingSearch));
+        waitUntil(() -> searches.get() == 1);
+
+        Future<IncidentSearchPageDto> follower = executor.submit(() -> coalescer.execute(QUERY, this::blockingSearch));
+        waitUntil(() -> meterRegistry.get("incidents.search.coalesced").counter().count() == 1.0);
+        release.countDown();
+
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isSameAs(PAGE);
+        assertThat(follower.get(5, TimeUnit.SECONDS)).isSameAs(PAGE);
+        assertThat(searches).hasValue(1);
+    }
+
+    @Test
+    void execute_RunsAgainOnceSearchCompleted() {
+        coalescer.execute(QUERY, this::search);
+        coalescer.execute(QUERY, this::search);
+
+        assertThat(searches).hasValue(2);
+        assertThat(meterRegistry.get("incidents.search.in-flight").gauge().value()).isZero();
+    }
+
+    @Test
+    void execute_GivesUpWaitingAfterTimeout() throws InterruptedException {
+        properties.setTimeout(Duration.ofMillis(50));
+        executor.submit(() -> coalescer.execute(QUERY, this::blockingSearch));
+        waitUntil(() -> searches.get() == 1);
+
+        assertThatThrownBy(() -> coalescer.execute(QUERY, this::search))
+                .isInstanceOf(SearchTimeoutException.class);
+        assertThat(meterRegistry.get("incidents.search.coalesced.timeouts").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void execute_PropagatesFailureOfSearchInFlight() throws InterruptedException {
+        executor.submit(() -> coalescer.execute(QUERY, () -> {
+            blockingSearch();
+            throw new IllegalStateException("cluster unavailable");
+        }));
+        waitUntil(() -> searches.get() == 1);
+
+        var follower = executor.submit(() -> coalescer.execute(QUERY, this::search));
+        waitUntil(() -> meterRegistry.get("incidents.search.coalesced").counter().count() == 1.0);
+        release.countDown();
+
+        assertThatThrownBy(() -> follower.get(5, TimeUnit.SECONDS))
+                .hasRootCauseInstanceOf(IllegalStateException.class)
+                .hasRootCauseMessage("cluster unavailable");
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition reached in time").isLessThan(deadline);
+            Thread.sleep(5);
+        }
+    }
+
+    private IncidentSearchPageDto search() {
+        searches.incrementAndGet();
+        return PAGE;
+    }
+
+    private IncidentSearchPageDto blockingSearch() {
+        searches.incrementAndGet();
+        try {
+            release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return PAGE;
+    }
+}
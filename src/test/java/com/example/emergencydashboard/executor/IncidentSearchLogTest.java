@@ -0,0 +1,33 @@
+package com.example.emergencydashboard.executor;
+
+import com.example.emergencydashboard.config.IncidentSearchLogProperties;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IncidentSearchLogTest {
+
+    private final IncidentSearchLogProperties properties = new IncidentSearchLogProperties();
+    private final IncidentSearchLog searchLog = new IncidentSearchLog(properties);
+
+    @Test
+    void shouldLog_SearchesAtOrAboveThreshold() {
+        properties.setSlowThreshold(Duration.ofMillis(100));
+        properties.setSampleRate(0);
+
+        assertThat(searchLog.shouldLog(Duration.ofMillis(100).toNanos())).isTrue();
+        assertThat(searchLog.shouldLog(Duration.ofMillis(99).toNanos())).isFalse();
+    }
+
+    @Test
+    void shouldLog_SampledFasterSearches() {
+        properties.setSlowThreshold(Duration.ofSeconds(1));
+
+        properties.setSampleRate(1);
+        assertThat(searchLog.shouldLog(0)).isTrue();
+        properties.setSampleRate(0);
+        assertThat(searchLog.shouldLog(0)).isFalse();
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.emergencydashboard.indexer;
+
+import com.example.emergencydashboard.config.IncidentIndexingProperties;
+import com.example.emergencydashboard.event.IncidentIndexRefreshedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class IncidentIndexRefresherTest {
+
+    @Mock
+    private IncidentIndexWriter indexWriter;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private final IncidentIndexingProperties properties = new IncidentIndexingProperties();
+
+    private IncidentIndexRefresher refresher;
+
+    @BeforeEach
+    void setUp() {
+        refresher = new IncidentIndexRefresher(indexWriter, properties, eventPublisher);
+    }
+
+    @Test
+    void refreshIfDirty_WithoutPeriodicRefresh_PublishesWritesOlderThanIndexRefreshInterval() {
+        properties.setIndexRefreshInterval(Duration.ofSeconds(5));
+        refresher.markDirty();
+
+        long before = System.nanoTime();
+        refresher.refreshIfDirty();
+
+        verifyNoInteractions(indexWriter);
+        assertThat(publishedEvent().getVisibleBeforeNanos())
+                .isBetween(before - Duration.ofSeconds(5).toNanos(), System.nanoTime() - Duration.ofSeconds(5).toNanos());
+    }
+
+    @Test
+    void refreshIfDirty_RefreshesAndPublishesWritesBeforeRefresh() {
+        properties.getPeriodicRefresh().setEnabled(true);
+        refresher.markDirty();
+
+        long before = System.nanoTime();
+        refresher.refreshIfDirty();
+
+        verify(indexWriter).refresh();
+        assertThat(publishedEvent().getVisibleBeforeNanos()).isBetween(before, System.nanoTime());
+    }
+
+    @Test
+    void refreshIfDirty_WhenRefreshFails_PublishesNothingAndRetries() {
+        properties.getPeriodicRefresh().setEnabled(true);
+        refresher.markDirty();
+        doThrow(new IllegalStateException("unavailable")).when(indexWriter).refresh();
+
+        refresher.refreshIfDirty();
+        refresher.refreshIfDirty();
+
+        verify(indexWriter, times(2)).refresh();
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    private IncidentIndexRefreshedEvent publishedEvent() {
+        var captor = ArgumentCaptor.forClass(IncidentIndexRefreshedEvent.class);
+        verify(eventPublisher).publishEvent(captor.capture());
+        return captor.getValue();
+    }
+}
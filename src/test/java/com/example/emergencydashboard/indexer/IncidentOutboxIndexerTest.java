@@ -0,0 +1,126 @@
+package com.example.emergencydashboard.indexer;
+
+import com.example.emergencydashboard.config.IncidentIndexingProperties;
+import com.example.emergencydashboard.event.IncidentsIndexedEvent;
+import com.example.emergencydashboard.mapper.IncidentMapper;
+import com.example.emergencydashboard.model.IncidentEntity;
+import com.example.emergencydashboard.model.IncidentOutboxEntity;
+import com.example.emergencydashboard.model.IncidentOutboxOperation;
+import com.example.emergencydashboard.model.IncidentType;
+import com.example.emergencydashboard.model.SeverityLevel;
+import com.example.emergencydashboard.repository.jpa.IncidentJpaRepository;
+import com.example.emergencydashboard.repository.jpa.IncidentOutboxRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.elasticsearch.action.support.WriteRequest.RefreshPolicy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IncidentOutboxIndexerTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.now();
+
+    @Mock
+    private IncidentOutboxRepository outboxRepository;
+
+    @Mock
+    private IncidentJpaRepository jpaRepository;
+
+    @Mock
+    private IncidentIndexWriter indexWriter;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private IncidentIndexRefresher refresher;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private IncidentOutboxIndexer indexer;
+
+    @BeforeEach
+    void setUp() {
+        indexer = new IncidentOutboxIndexer(outboxRepository, jpaRepository, indexWriter, IncidentMapper.INSTANCE,
+                transactionTemplate, new IncidentIndexingProperties(), refresher, eventPublisher, meterRegistry);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                ((TransactionCallback<?>) invocation.getArgument(0)).doInTransaction(null));
+    }
+
+    @Test
+    void drainBatch_IndexesExistingAndDeletesRemovedIncidents() {
+        var created = IncidentOutboxEntity.of("1", IncidentOutboxOperation.INDEX);
+        var updated = IncidentOutboxEntity.of("1", IncidentOutboxOperation.INDEX);
+        var deleted = IncidentOutboxEntity.of("2", IncidentOutboxOperation.DELETE);
+        var entity = new IncidentEntity("1", IncidentType.FIRE, 40.712776, -74.005974, NOW, SeverityLevel.HIGH);
+
+        when(outboxRepository.findPending(any(), any())).thenReturn(List.of(created, updated, deleted));
+        when(jpaRepository.findAllById(Set.of("1", "2"))).thenReturn(List.of(entity));
+        when(indexWriter.bulkIndex(anyList(), any())).thenReturn(Map.of());
+        when(indexWriter.bulkDelete(eq(Set.of("2")), any())).thenReturn(Map.of());
+
+        int processed = indexer.drainBatch();
+
+        assertThat(processed).isEqualTo(3);
+        verify(indexWriter).bulkIndex(List.of(IncidentMapper.INSTANCE.entityToDocument(entity)), RefreshPolicy.NONE);
+        verify(outboxRepository).deleteInBatch(List.of(created, updated, deleted));
+        verify(refresher).markDirty();
+        verify(eventPublisher).publishEvent(new IncidentsIndexedEvent(List.of(IncidentMapper.INSTANCE.entityToDto(entity)), Set.of("2")));
+        assertThat(meterRegistry.get("incidents.indexing.processed").counter().count()).isEqualTo(3.0);
+    }
+
+    @Test
+    void drainBatch_SchedulesRetryForFailedIncidents() {
+        var row = IncidentOutboxEntity.of("1", IncidentOutboxOperation.INDEX);
+        var entity = new IncidentEntity("1", IncidentType.FIRE, 40.712776, -74.005974, NOW, SeverityLevel.HIGH);
+
+        when(outboxRepository.findPending(any(), any())).thenReturn(List.of(row));
+        when(jpaRepository.findAllById(Set.of("1"))).thenReturn(List.of(entity));
+        when(indexWriter.bulkIndex(anyList(), any())).thenReturn(Map.of("1", "es_rejected_execution_exception"));
+        when(indexWriter.bulkDelete(anySet(), any())).thenReturn(Map.of());
+
+        indexer.drainBatch();
+
+        assertThat(row.getAttempts()).isEqualTo(1);
+        assertThat(row.getLastError()).isEqualTo("es_rejected_execution_exception");
+        assertThat(row.getNextAttemptAt()).isAfter(row.getCreatedAt());
+        verify(outboxRepository).deleteInBatch(List.of());
+        assertThat(meterRegistry.get("incidents.indexing.failed").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void drainBatch_SchedulesRetryWhenElasticsearchIsUnavailable() {
+        var row = IncidentOutboxEntity.of("1", IncidentOutboxOperation.DELETE);
+
+        when(outboxRepository.findPending(any(), any())).thenReturn(List.of(row));
+        when(jpaRepository.findAllById(Set.of("1"))).thenReturn(List.of());
+        when(indexWriter.bulkIndex(anyList(), any())).thenReturn(Map.of());
+        when(indexWriter.bulkDelete(eq(Set.of("1")), any())).thenThrow(new RuntimeException("Connection refused"));
+
+        indexer.drainBatch();
+
+        assertThat(row.getAttempts()).isEqualTo(1);
+        assertThat(row.getLastError()).isEqualTo("Connection refused");
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.emergencydashboard.ingest;
+
+import com.example.emergencydashboard.config.IncidentIngestProperties;
+import com.example.emergencydashboard.dto.IncidentEntityDto;
+import com.example.emergencydashboard.exception.IngestQueueFullException;
+import com.example.emergencydashboard.model.IncidentType;
+import com.example.emergencydashboard.model.SeverityLevel;
+import com.example.emergencydashboard.service.IncidentService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IncidentIngestPipelineTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.now();
+
+    @Mock
+    private IncidentService service;
+
+    @Mock
+    private SimpMessagingTemplate messagingTemplate;
+
+    private final IncidentIngestProperties properties = new IncidentIngestProperties();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private IncidentIngestPipeline pipeline;
+
+    @BeforeEach
+    void setUp() {
+        properties.setQueueCapacity(3);
+        properties.setBatchSize(2);
+        properties.setLingerMs(0);
+        pipeline = new IncidentIngestPipeline(service, messagingTemplate, properties, meterRegistry);
+    }
+
+    @Test
+    void submit_WhenQueueIsFull_ThrowsBackpressureException() {
+        var incident = incident("1");
+        pipeline.submit(incident, "session-1");
+        pipeline.submit(incident, "session-1");
+        pipeline.submit(incident, "session-1");
+
+        assertThrows(IngestQueueFullException.class, () -> pipeline.submit(incident, "session-1"));
+    }
+
+    @Test
+    void nextBatch_CollectsUpToBatchSize() throws InterruptedException {
+        pipeline.submit(incident("1"), "session-1");
+        pipeline.submit(incident("2"), "session-2");
+        pipeline.submit(incident("3"), "session-3");
+
+        var first = pipeline.nextBatch();
+        var second = pipeline.nextBatch();
+
+        assertThat(first).extracting(pending -> pending.incident().getId()).containsExactly("1", "2");
+        assertThat(second).extracting(pending -> pending.incident().getId()).containsExactly("3");
+    }
+
+    @Test
+    void nextBatch_WhenInterruptedWhileLingering_ReturnsCollectedIncidents() throws InterruptedException {
+        properties.setLingerMs(10_000);
+        pipeline.submit(incident("1"), "session-1");
+        AtomicReference<List<IncidentIngestPipeline.PendingIncident>> batch = new AtomicReference<>();
+        AtomicBoolean interrupted = new AtomicBoolean();
+        var collector = new Thread(() -> {
+            batch.set(pipeline.nextBatch());
+            interrupted.set(Thread.currentThread().isInterrupted());
+        });
+        collector.start();
+        waitUntil(() -> queueSize() == 0);
+
+        collector.interrupt();
+        collector.join(TimeUnit.SECONDS.toMillis(5));
+
+        assertThat(batch.get()).extracting(pending -> pending.incident().getId()).containsExactly("1");
+        assertThat(interrupted).isTrue();
+    }
+
+    @Test
+    void stop_WhileWorkerCollectsBatch_PersistsCollectedIncidents() throws InterruptedException {
+        properties.setBatchSize(3);
+        properties.setLingerMs(300);
+        when(service.saveIncidentBatch(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        pipeline.submit(incident("1"), "session-1");
+        pipeline.submit(incident("2"), "session-2");
+        pipeline.start();
+        waitUntil(() -> queueSize() == 0);
+
+        pipeline.stop();
+
+        var saved = ArgumentCaptor.forClass(List.class);
+        verify(service).saveIncidentBatch(saved.capture());
+        assertThat(saved.getValue()).extracting("id").containsExactly("1", "2");
+        assertThat(pipeline.isRunning()).isFalse();
+    }
+
+    @Test
+    void persist_SavesBatchInOneCall() {
+        var saved = List.of(incident("1"), incident("2"));
+        when(service.saveIncidentBatch(anyList())).thenReturn(saved);
+
+        pipeline.persist(List.of(
+                new IncidentIngestPipeline.PendingIncident(incident(null), "session-1"),
+                new IncidentIngestPipeline.PendingIncident(incident(null), "session-2")));
+
+        verify(service).saveIncidentBatch(anyList());
+        verify(messagingTemplate, never()).convertAndSendToUser(anyString(), anyString(), any(Object.class), anyMap());
+    }
+
+    @Test
+    void persist_WhenSaveFails_NotifiesSendingSessions() {
+        when(service.saveIncidentBatch(anyList())).thenThrow(new RuntimeException("Simulated database failure"));
+
+        pipeline.persist(List.of(
+                new IncidentIngestPipeline.PendingIncident(incident(null), "session-1"),
+                new IncidentIngestPipeline.PendingIncident(incident(null), "session-1")));
+
+        verify(messagingTemplate, times(1)).convertAndSendToUser(eq("session-1"), eq(IncidentIngestPipeline.ERRORS_QUEUE),
+                any(Map.class), anyMap());
+    }
+
+    private double queueSize() {
+        return meterRegistry.get("incidents.ingest.queue.size").gauge().value();
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition reached in time").isLessThan(deadline);
+            Thread.sleep(5);
+        }
+    }
+
+    private IncidentEntityDto incident(String id) {
+        return new IncidentEntityDto(id, IncidentType.FIRE, 40.712776, -74.005974, NOW, SeverityLevel.HIGH);
+    }
+}
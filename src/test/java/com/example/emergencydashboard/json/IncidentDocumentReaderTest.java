@@ -0,0 +1,58 @@
+package com.example.emergencydashboard.json;
+
+import com.example.emergencydashboard.model.IncidentDocument;
+import com.example.emergencydashboard.model.IncidentType;
+import com.example.emergencydashboard.model.SeverityLevel;
+import org.elasticsearch.common.bytes.BytesArray;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.elasticsearch.core.document.Document;
+import org.springframework.data.elasticsearch.core.convert.MappingElasticsearchConverter;
+import org.springframework.data.elasticsearch.core.geo.GeoPoint;
+import org.springframework.data.elasticsearch.core.mapping.SimpleElasticsearchMappingContext;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IncidentDocumentReaderTest {
+
+    @Test
+    void read_ReadsSourceAsConverterWritesIt() {
+        var converter = new MappingElasticsearchConverter(new SimpleElasticsearchMappingContext());
+        converter.afterPropertiesSet();
+        var document = new IncidentDocument("1", IncidentType.FIRE, new GeoPoint(40.7128, -74.0060),
+                LocalDateTime.of(2024, 3, 1, 11, 40), SeverityLevel.HIGH, SeverityLevel.HIGH.rank());
+        var source = Document.create();
+        converter.write(document, source);
+
+        var read = IncidentDocumentReader.read("1", new BytesArray(source.toJson()));
+
+        assertThat(read).isEqualTo(document);
+    }
+
+    @Test
+    void read_SkipsNullsAndUnknownFields() {
+        var source = new BytesArray("""
+                {"_class":"IncidentDocument","incidentType":"medical","location":null,"tags":["a",{"b":1}],
+                 "timestamp":"2024-03-01T11:40:00.5","severityLevel":null}""");
+
+        var read = IncidentDocumentReader.read("2", source);
+
+        assertThat(read).isEqualTo(new IncidentDocument("2", IncidentType.MEDICAL, null,
+                LocalDateTime.of(2024, 3, 1, 11, 40, 0, 500_000_000), null, null));
+    }
+
+    @Test
+    void read_ConvertsOffsetTimestampToUtc() {
+        var source = new BytesArray("{\"timestamp\":\"2024-03-01T13:40:00+02:00\"}");
+
+        var read = IncidentDocumentReader.read("4", source);
+
+        assertThat(read.getTimestamp()).isEqualTo(LocalDateTime.of(2024, 3, 1, 11, 40));
+    }
+
+    @Test
+    void read_WithoutSource_ReturnsIdOnly() {
+        assertThat(IncidentDocumentReader.read("3", null)).isEqualTo(new IncidentDocument("3", null, null, null, null, null));
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.emergencydashboard.json;
+
+import com.example.emergencydashboard.dto.IncidentEntityDto;
+import com.example.emergencydashboard.model.IncidentType;
+import com.example.emergencydashboard.model.SeverityLevel;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IncidentJsonModuleTest {
+
+    private static final IncidentEntityDto INCIDENT = new IncidentEntityDto("1", IncidentType.FIRE, 40.7128, -74.0060,
+            LocalDateTime.of(2024, 3, 1, 11, 40), SeverityLevel.HIGH);
+
+    private final ObjectMapper reflective = Jackson2ObjectMapperBuilder.json().build();
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .modulesToInstall(new IncidentJsonModule())
+            .build();
+
+    @Test
+    void serialize_WritesSameJsonAsBeanSerializer() throws Exception {
+        var incidents = List.of(INCIDENT,
+                new IncidentEntityDto(null, null, null, null, null, null),
+                new IncidentEntityDto("2", IncidentType.NONE, 0.0, 0.0, LocalDateTime.of(2024, 3, 1, 0, 0, 0, 500_000_000), SeverityLevel.NONE));
+
+        assertThat(objectMapper.writeValueAsString(incidents)).isEqualTo(reflective.writeValueAsString(incidents));
+    }
+
+    @Test
+    void deserialize_ReadsWhatBeanSerializerWrites() throws Exception {
+        var json = reflective.writeValueAsString(List.of(INCIDENT, new IncidentEntityDto()));
+
+        var incidents = objectMapper.readValue(json, new TypeReference<List<IncidentEntityDto>>() {
+        });
+
+        assertThat(incidents).containsExactly(INCIDENT, new IncidentEntityDto());
+    }
+
+    @Test
+    void deserialize_AcceptsQuotedNumbersUnknownFieldsAndOtherTimestampLayouts() throws Exception {
+        var json = """
+                {"latitude":"40.7128","longitude":-74.006,"source":{"app":"mobile"},
+                 "incidentType":"FIRE","timestamp":"2024-03-01T11:40:00.250","severityLevel":""}""";
+
+        var incident = objectMapper.readValue(json, IncidentEntityDto.class);
+
+        assertThat(incident).isEqualTo(new IncidentEntityDto(null, IncidentType.FIRE, 40.7128, -74.006,
+                LocalDateTime.of(2024, 3, 1, 11, 40, 0, 250_000_000), SeverityLevel.NONE));
+    }
+
+    @Test
+    void deserialize_FailsWithCauseOfInvalidIncidentType() {
+        assertThatThrownBy(() -> objectMapper.readValue("{\"incidentType\":\"invalid_type\"}", IncidentEntityDto.class))
+                .isInstanceOf(JsonMappingException.class)
+                .hasRootCauseInstanceOf(IllegalArgumentException.class)
+                .hasRootCauseMessage("Invalid incident type: invalid_type");
+    }
+
+    @Test
+    void deserialize_FailsOnTimestampOutOfRange() {
+        assertThatThrownBy(() -> objectMapper.readValue("{\"timestamp\":\"2024-13-01T11:40:00\"}", IncidentEntityDto.class))
+                .isInstanceOf(JsonMappingException.class);
+    }
+}
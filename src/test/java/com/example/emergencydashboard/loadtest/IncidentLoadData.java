@@ -0,0 +1,118 @@
+package com.example.emergencydashboard.loadtest;
+
+import com.example.emergencydashboard.dto.IncidentEntityDto;
+import com.example.emergencydashboard.model.IncidentSearchRanking;
+import com.example.emergencydashboard.model.IncidentType;
+import com.example.emergencydashboard.model.SeverityLevel;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.SplittableRandom;
+
+/**
+ * Incidents and search parameters shaped like dashboard traffic: locations scattered around a few US cities, the
+ * larger cities more often, medical calls most common and urgent ones rare, timestamps mostly from the last minutes.
+ * Not thread-safe; every driver thread uses its own instance.
+ */
+class IncidentLoadData {
+
+    /**
+     * City centers, most populous first; city {@code i} is picked with a weight of {@code 1 / (i + 1)}.
+     */
+    private static final double[][] CITIES = {
+            {40.7128, -74.0060}, {34.0522, -118.2437}, {41.8781, -87.6298}, {29.7604, -95.3698},
+            {33.4484, -112.0740}, {39.9526, -75.1652}, {29.4241, -98.4936}, {32.7157, -117.1611},
+            {32.7767, -96.7970}, {37.3382, -121.8863}, {47.6062, -122.3321}, {25.7617, -80.1918}};
+    private static final double[] CITY_WEIGHTS = cumulative(harmonicWeights(CITIES.length));
+
+    private static final IncidentType[] TYPES = {IncidentType.MEDICAL, IncidentType.POLICE, IncidentType.FIRE};
+    private static final double[] TYPE_WEIGHTS = cumulative(new double[]{0.6, 0.25, 0.15});
+
+    private static final SeverityLevel[] SEVERITIES = {SeverityLevel.LOW, SeverityLevel.MEDIUM, SeverityLevel.HIGH, SeverityLevel.URGENT};
+    private static final double[] SEVERITY_WEIGHTS = cumulative(new double[]{0.4, 0.35, 0.2, 0.05});
+
+    private static final IncidentSearchRanking[] RANKINGS = {IncidentSearchRanking.RELEVANCE, IncidentSearchRanking.NEWEST, IncidentSearchRanking.SEVERITY};
+    private static final double[] RANKING_WEIGHTS = cumulative(new double[]{0.5, 0.3, 0.2});
+
+    /**
+     * Standard deviation of the distance from the city center in degrees, roughly 9 km.
+     */
+    private static final double SPREAD_DEGREES = 0.08;
+    private static final double MEAN_AGE_SECONDS = 300;
+
+    private final SplittableRandom random;
+
+    IncidentLoadData(long seed) {
+        this.random = new SplittableRandom(seed);
+    }
+
+    IncidentEntityDto nextIncident() {
+        double[] city = CITIES[pick(CITY_WEIGHTS)];
+        long ageSeconds = (long) exponential(MEAN_AGE_SECONDS);
+        return new IncidentEntityDto(null,
+                TYPES[pick(TYPE_WEIGHTS)],
+                city[0] + gaussian() * SPREAD_DEGREES,
+                city[1] + gaussian() * SPREAD_DEGREES,
+                LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS).minusSeconds(ageSeconds),
+                SEVERITIES[pick(SEVERITY_WEIGHTS)]);
+    }
+
+    /**
+     * Query string of a search around a city at the current minute, as the dashboard sends it.
+     */
+    String nextSearchQuery() {
+        double[] city = CITIES[pick(CITY_WEIGHTS)];
+        return "incidentType=" + TYPES[pick(TYPE_WEIGHTS)].getType()
+                + "&latitude=" + city[0]
+                + "&longitude=" + city[1]
+                + "&timestamp=" + DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES))
+                + "&ranking=" + RANKINGS[pick(RANKING_WEIGHTS)].getMode();
+    }
+
+    /**
+     * Gap to the next arrival of a Poisson process with the given mean gap.
+     */
+    long nextGapNanos(double meanGapNanos) {
+        return (long) exponential(meanGapNanos);
+    }
+
+    private int pick(double[] cumulativeWeights) {
+        double value = random.nextDouble() * cumulativeWeights[cumulativeWeights.length - 1];
+        for (int i = 0; i < cumulativeWeights.length - 1; i++) {
+            if (value < cumulativeWeights[i]) {
+                return i;
+            }
+        }
+        return cumulativeWeights.length - 1;
+    }
+
+    private double exponential(double mean) {
+        return -Math.log(1 - random.nextDouble()) * mean;
+    }
+
+    /**
+     * Box-Muller transform; {@link SplittableRandom} has no {@code nextGaussian}.
+     */
+    private double gaussian() {
+        return Math.sqrt(-2 * Math.log(1 - random.nextDouble())) * Math.cos(2 * Math.PI * random.nextDouble());
+    }
+
+    private static double[] harmonicWeights(int count) {
+        double[] weights = new double[count];
+        for (int i = 0; i < count; i++) {
+            weights[i] = 1.0 / (i + 1);
+        }
+        return weights;
+    }
+
+    private static double[] cumulative(double[] weights) {
+        double[] cumulative = new double[weights.length];
+        double sum = 0;
+        for (int i = 0; i < weights.length; i++) {
+            sum += weights[i];
+            cumulative[i] = sum;
+        }
+        return cumulative;
+    }
+}
@@ -0,0 +1,322 @@
+package com.example.emergencydashboard.loadtest;
+
+import com.example.emergencydashboard.broadcast.IncidentBroadcasterImpl;
+import com.example.emergencydashboard.dto.IncidentEntityDto;
+import com.example.emergencydashboard.ingest.IncidentIngestPipeline;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+import org.springframework.web.socket.sockjs.client.SockJsClient;
+import org.springframework.web.socket.sockjs.client.WebSocketTransport;
+
+import javax.websocket.ContainerProvider;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.lang.reflect.Type;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives a running application at fixed rates to find the incident rate it sustains: creates incidents through
+ * {@code POST /api/v1/incidents} and {@code /app/incident} over STOMP, searches through
+ * {@code GET /api/v1/incidents/search}, and holds subscriber sessions on {@code /topic/incidents} that measure the
+ * latency from sending an incident to receiving it.
+ * <p>
+ * The load is open-loop: requests arrive as a Poisson process at the configured rate whether or not earlier ones
+ * have completed, and every latency is measured from the time the request was due, not from the time it was sent, so
+ * a stalled server shows up in the percentiles instead of slowing the load down. Incidents are matched to the frames
+ * that carry them by their coordinates, which are random enough to be unique.
+ * <p>
+ * Not a unit test; needs the application on {@code load.base-url} (default {@code http://localhost:8080}), started as
+ * usual with the in-memory H2 database. Searches also need Elasticsearch; set {@code load.search-rate=0} without it.
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.example.emergencydashboard.loadtest.IncidentLoadGenerator}, adding {@code -Dload.*} properties
+ * to change the defaults below. Prints the percentiles per operation and writes a {@code .hgrm} percentile distribution
+ * per operation to {@code target/load-test}.
+ */
+public class IncidentLoadGenerator {
+
+    private static final String BASE_URL = System.getProperty("load.base-url", "http://localhost:8080");
+    private static final Duration DURATION = Duration.ofSeconds(Long.getLong("load.duration-seconds", 60));
+    private static final Duration WARM_UP = Duration.ofSeconds(Long.getLong("load.warm-up-seconds", 10));
+    private static final Duration DRAIN = Duration.ofSeconds(Long.getLong("load.drain-seconds", 5));
+    private static final double REST_RATE = Double.parseDouble(System.getProperty("load.rest-rate", "50"));
+    private static final double STOMP_RATE = Double.parseDouble(System.getProperty("load.stomp-rate", "50"));
+    private static final double SEARCH_RATE = Double.parseDouble(System.getProperty("load.search-rate", "10"));
+    private static final int SUBSCRIBERS = Integer.getInteger("load.subscribers", 10);
+    private static final long SEED = Long.getLong("load.seed", 42);
+
+    private static final int MAX_FRAME_BYTES = 4 * 1024 * 1024;
+    private static final Path REPORT_DIRECTORY = Path.of("target", "load-test");
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    private final Map<String, SentIncident> sentIncidents = new ConcurrentHashMap<>();
+    private final long measureFromNanos;
+
+    private final Operation restCreate = new Operation("rest create");
+    private final Operation stompSend = new Operation("stomp send");
+    private final Operation search = new Operation("search");
+    private final Operation restToTopic = new Operation("rest -> topic");
+    private final Operation stompToTopic = new Operation("stomp -> topic");
+
+    private IncidentLoadGenerator(long measureFromNanos) {
+        this.measureFromNanos = measureFromNanos;
+    }
+
+    public static void main(String[] args) throws Exception {
+        var stompClient = stompClient();
+        long startNanos = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+        var generator = new IncidentLoadGenerator(startNanos + WARM_UP.toNanos());
+
+        List<StompSession> sessions = new ArrayList<>();
+        for (int i = 0; i < SUBSCRIBERS; i++) {
+            var session = connect(stompClient);
+            session.subscribe(IncidentBroadcasterImpl.INCIDENTS_TOPIC, generator.new TopicFrameHandler());
+            sessions.add(session);
+        }
+        var publisher = connect(stompClient);
+        publisher.subscribe("/user" + IncidentIngestPipeline.ERRORS_QUEUE, generator.new IngestErrorHandler());
+        sessions.add(publisher);
+        System.out.printf("Connected %d subscribers; running %s after a %s warm-up against %s%n",
+                SUBSCRIBERS, DURATION, WARM_UP, BASE_URL);
+
+        long endNanos = generator.measureFromNanos + DURATION.toNanos();
+        List<Thread> drivers = List.of(
+                drive("rest-create", REST_RATE, SEED, startNanos, endNanos, generator::createThroughRest),
+                drive("stomp-send", STOMP_RATE, SEED + 1, startNanos, endNanos, generator.stompSender(publisher)),
+                drive("search", SEARCH_RATE, SEED + 2, startNanos, endNanos, generator::search));
+        for (Thread driver : drivers) {
+            driver.join();
+        }
+        Thread.sleep(DRAIN.toMillis());
+
+        sessions.forEach(StompSession::disconnect);
+        stompClient.stop();
+        generator.report();
+    }
+
+    private static WebSocketStompClient stompClient() {
+        var container = ContainerProvider.getWebSocketContainer();
+        container.setDefaultMaxTextMessageBufferSize(MAX_FRAME_BYTES);
+        var stompClient = new WebSocketStompClient(new SockJsClient(List.of(new WebSocketTransport(new StandardWebSocketClient(container)))));
+        var messageConverter = new MappingJackson2MessageConverter();
+        messageConverter.setObjectMapper(Jackson2ObjectMapperBuilder.json().build());
+        stompClient.setMessageConverter(messageConverter);
+        stompClient.setInboundMessageSizeLimit(MAX_FRAME_BYTES);
+        return stompClient;
+    }
+
+    private static StompSession connect(WebSocketStompClient stompClient) throws Exception {
+        return stompClient.connect(BASE_URL + "/ws", new StompSessionHandlerAdapter() {
+        }).get(10, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Runs {@code operation} with its due time at Poisson arrivals of the given rate per second, on a thread of its own.
+     */
+    private static Thread drive(String name, double ratePerSecond, long seed, long startNanos, long endNanos,
+                                BiLongConsumer<IncidentLoadData> operation) {
+        var thread = new Thread(() -> {
+            if (ratePerSecond <= 0) {
+                return;
+            }
+            var data = new IncidentLoadData(seed);
+            double meanGapNanos = TimeUnit.SECONDS.toNanos(1) / ratePerSecond;
+            for (long due = startNanos; due < endNanos; due += data.nextGapNanos(meanGapNanos)) {
+                long wait;
+                while ((wait = due - System.nanoTime()) > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                operation.accept(data, due);
+            }
+        }, name);
+        thread.start();
+        return thread;
+    }
+
+    private void createThroughRest(IncidentLoadData data, long dueNanos) {
+        var incident = data.nextIncident();
+        HttpRequest request;
+        try {
+            request = HttpRequest.newBuilder(URI.create(BASE_URL + "/api/v1/incidents"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(incident)))
+                    .build();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        sentIncidents.put(key(incident.getLatitude(), incident.getLongitude()), new SentIncident(restToTopic, dueNanos));
+        httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, failure) -> restCreate.complete(dueNanos, failure == null && response.statusCode() / 100 == 2));
+    }
+
+    private BiLongConsumer<IncidentLoadData> stompSender(StompSession publisher) {
+        return (data, dueNanos) -> {
+            IncidentEntityDto incident = data.nextIncident();
+            sentIncidents.put(key(incident.getLatitude(), incident.getLongitude()), new SentIncident(stompToTopic, dueNanos));
+            try {
+                publisher.send("/app/incident", incident);
+                stompSend.complete(dueNanos, true);
+            } catch (RuntimeException e) {
+                stompSend.complete(dueNanos, false);
+            }
+        };
+    }
+
+    private void search(IncidentLoadData data, long dueNanos) {
+        var request = HttpRequest.newBuilder(URI.create(BASE_URL + "/api/v1/incidents/search?" + data.nextSearchQuery()))
+                .GET()
+                .build();
+        httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, failure) -> search.complete(dueNanos, failure == null && response.statusCode() / 100 == 2));
+    }
+
+    private void report() throws IOException {
+        int undelivered = 0;
+        for (SentIncident sent : sentIncidents.values()) {
+            if (sent.dueNanos >= measureFromNanos && sent.received.get() < SUBSCRIBERS) {
+                undelivered++;
+            }
+        }
+
+        Files.createDirectories(REPORT_DIRECTORY);
+        System.out.printf("%n%-16s %9s %7s %9s %9s %9s %9s %9s %9s%n",
+                "operation", "count", "errors", "rate/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Operation operation : List.of(restCreate, stompSend, search, restToTopic, stompToTopic)) {
+            operation.print(System.out);
+            operation.write(REPORT_DIRECTORY);
+        }
+        System.out.printf("%nIncidents not received by every subscriber: %d%n", undelivered);
+        System.out.printf("Percentile distributions written to %s%n", REPORT_DIRECTORY.toAbsolutePath());
+    }
+
+    private static String key(double latitude, double longitude) {
+        return latitude + "," + longitude;
+    }
+
+    @FunctionalInterface
+    private interface BiLongConsumer<T> {
+        void accept(T value, long nanos);
+    }
+
+    private record SentIncident(Operation operation, long dueNanos, AtomicInteger received) {
+        SentIncident(Operation operation, long dueNanos) {
+            this(operation, dueNanos, new AtomicInteger());
+        }
+    }
+
+    /**
+     * Latencies in microseconds of the operations due after the warm-up, and the number of failed ones.
+     */
+    private final class Operation {
+        private final String name;
+        private final Histogram histogram = new ConcurrentHistogram(3);
+        private final LongAdder errors = new LongAdder();
+
+        private Operation(String name) {
+            this.name = name;
+        }
+
+        void complete(long dueNanos, boolean succeeded) {
+            if (dueNanos < measureFromNanos) {
+                return;
+            }
+            if (succeeded) {
+                histogram.recordValue(TimeUnit.NANOSECONDS.toMicros(Math.max(0, System.nanoTime() - dueNanos)));
+            } else {
+                errors.increment();
+            }
+        }
+
+        void print(PrintStream out) {
+            out.printf("%-16s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n", name, histogram.getTotalCount(), errors.sum(),
+                    histogram.getTotalCount() / (double) DURATION.toSeconds(),
+                    percentile(50), percentile(90), percentile(99), percentile(99.9), histogram.getMaxValue() / 1000.0);
+        }
+
+        void write(Path directory) throws IOException {
+            try (var out = new PrintStream(Files.newOutputStream(directory.resolve(name.replaceAll("[^a-z]+", "-") + ".hgrm")))) {
+                histogram.outputPercentileDistribution(out, 1000.0);
+            }
+        }
+
+        private double percentile(double percentile) {
+            return histogram.getValueAtPercentile(percentile) / 1000.0;
+        }
+    }
+
+    /**
+     * Takes the incidents out of {@code /topic/incidents} frames: one incident per frame in {@code single} broadcast
+     * mode, an array of stream events in {@code coalesced} mode.
+     */
+    private final class TopicFrameHandler implements StompFrameHandler {
+
+        @Override
+        public Type getPayloadType(StompHeaders headers) {
+            return JsonNode.class;
+        }
+
+        @Override
+        public void handleFrame(StompHeaders headers, Object payload) {
+            long receivedNanos = System.nanoTime();
+            var frame = (JsonNode) payload;
+            if (frame.isArray()) {
+                frame.forEach(event -> received(event.get("incident"), receivedNanos));
+            } else {
+                received(frame, receivedNanos);
+            }
+        }
+
+        private void received(JsonNode incident, long receivedNanos) {
+            if (incident == null || !incident.hasNonNull("latitude") || !incident.hasNonNull("longitude")) {
+                return;
+            }
+            var sent = sentIncidents.get(key(incident.get("latitude").asDouble(), incident.get("longitude").asDouble()));
+            if (sent != null) {
+                sent.received.incrementAndGet();
+                if (sent.dueNanos >= measureFromNanos) {
+                    sent.operation.histogram.recordValue(TimeUnit.NANOSECONDS.toMicros(Math.max(0, receivedNanos - sent.dueNanos)));
+                }
+            }
+        }
+    }
+
+    /**
+     * Counts incidents the ingest pipeline rejected, e.g. because its queue was full, as failed STOMP sends.
+     */
+    private final class IngestErrorHandler implements StompFrameHandler {
+
+        @Override
+        public Type getPayloadType(StompHeaders headers) {
+            return JsonNode.class;
+        }
+
+        @Override
+        public void handleFrame(StompHeaders headers, Object payload) {
+            stompSend.errors.increment();
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.example.emergencydashboard.lucene;
+
+import com.example.emergencydashboard.builder.IncidentQueryBuilderImpl;
+import com.example.emergencydashboard.config.IncidentLuceneProperties;
+import com.example.emergencydashboard.config.IncidentSearchLogProperties;
+import com.example.emergencydashboard.config.IncidentSearchProperties;
+import com.example.emergencydashboard.dto.IncidentEntityDto;
+import com.example.emergencydashboard.dto.IncidentSearchQueryDto;
+import com.example.emergencydashboard.executor.IncidentSearchLog;
+import com.example.emergencydashboard.metrics.IncidentSearchMetrics;
+import com.example.emergencydashboard.model.IncidentDocument;
+import com.example.emergencydashboard.model.IncidentSearchRanking;
+import com.example.emergencydashboard.model.IncidentType;
+import com.example.emergencydashboard.model.SeverityLevel;
+import com.example.emergencydashboard.util.IncidentSearchCursor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.elasticsearch.action.support.WriteRequest.RefreshPolicy;
+import org.elasticsearch.search.builder.SearchSourceBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.elasticsearch.core.SearchHit;
+import org.springframework.data.elasticsearch.core.SearchHits;
+import org.springframework.data.elasticsearch.core.TotalHitsRelation;
+import org.springframework.data.elasticsearch.core.convert.MappingElasticsearchConverter;
+import org.springframework.data.elasticsearch.core.geo.GeoPoint;
+import org.springframework.data.elasticsearch.core.mapping.SimpleElasticsearchMappingContext;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LuceneIncidentQueryExecutorTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 3, 1, 12, 0);
+    private static final double LAT = 40.7128;
+    private static final double LON = -74.0060;
+    private static final List<IncidentDocument> DOCUMENTS = List.of(
+            document("1", IncidentType.MEDICAL, LAT, LON, NOW.minusMinutes(5), SeverityLevel.URGENT),
+            document("2", IncidentType.FIRE, LAT + 0.01, LON, NOW.minusMinutes(10), SeverityLevel.LOW),
+            document("3", IncidentType.FIRE, LAT + 0.02, LON, NOW.minusMinutes(20), SeverityLevel.HIGH),
+            document("4", IncidentType.POLICE, LAT + 0.03, LON, NOW.minusMinutes(30), SeverityLevel.MEDIUM),
+            document("5", IncidentType.FIRE, LAT + 1, LON, NOW.minusMinutes(1), SeverityLevel.HIGH),
+            document("6", IncidentType.FIRE, LAT, LON, NOW.minusHours(3), SeverityLevel.HIGH));
+
+    @TempDir
+    Path indexPath;
+
+    private final IncidentQueryBuilderImpl queryBuilder = new IncidentQueryBuilderImpl(new IncidentSearchProperties());
+
+    private LuceneIncidentIndex index;
+    private LuceneIncidentQueryExecutor queryExecutor;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        var converter = new MappingElasticsearchConverter(new SimpleElasticsearchMappingContext());
+        converter.afterPropertiesSet();
+        var properties = new IncidentLuceneProperties();
+        properties.setPath(indexPath);
+        index = new LuceneIncidentIndex(converter, properties);
+        queryExecutor = new LuceneIncidentQueryExecutor(index, new IncidentSearchLog(new IncidentSearchLogProperties()),
+                new IncidentSearchMetrics(new SimpleMeterRegistry()));
+
+        index.bulkIndex(DOCUMENTS, RefreshPolicy.IMMEDIATE);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        index.close();
+    }
+
+    @Test
+    void executeQuery_RanksRequestedTypeFirstWithinRadiusAndTimeWindow() {
+        var hits = search(located().incidentType(IncidentType.FIRE).build());
+
+        assertThat(ids(hits)).containsExactly("2", "3", "1", "4");
+        assertThat(hits.getTotalHits()).isEqualTo(4);
+        assertThat(hits.getTotalHitsRelation()).isEqualTo(TotalHitsRelation.EQUAL_TO);
+        assertThat(hits.getSearchHit(0).getContent()).isEqualTo(
+                document("2", IncidentType.FIRE, LAT + 0.01, LON, NOW.minusMinutes(10), SeverityLevel.LOW));
+    }
+
+    @Test
+    void executeQuery_ReadsStoredSourceOfEveryHit() {
+        var hits = search(IncidentSearchQueryDto.builder().timestamp(NOW).timeWindow(Duration.ofHours(4)).build());
+
+        assertThat(hits.getSearchHits()).extracting(SearchHit::getContent).containsExactlyInAnyOrderElementsOf(DOCUMENTS);
+    }
+
+    @Test
+    void executeQuery_FiltersByTypeWhenRankingByTime() {
+        var query = IncidentSearchQueryDto.builder()
+                .incidentType(IncidentType.FIRE)
+                .timestamp(NOW)
+                .ranking(IncidentSearchRanking.NEWEST)
+                .build();
+
+        assertThat(ids(search(query))).containsExactly("5", "2", "3");
+    }
+
+    @Test
+    void executeQuery_ContinuesNearestPagesAfterCursor() {
+        var firstQuery = located().ranking(IncidentSearchRanking.NEAREST).limit(2).build();
+        var firstPage = search(firstQuery);
+        assertThat(ids(firstPage)).containsExactly("1", "2", "3");
+
+        var last = firstPage.getSearchHit(1);
+        var cursor = IncidentSearchCursor.nearest(dto(last), ((Number) last.getSortValues().get(0)).doubleValue());
+        var secondPage = search(located().ranking(IncidentSearchRanking.NEAREST).limit(2).cursor(cursor.encode()).build());
+
+        assertThat(ids(secondPage)).containsExactly("3", "4");
+        assertThat(secondPage.getTotalHits()).isZero();
+    }
+
+    @Test
+    void executeQuery_ContinuesSeverityPagesAfterCursor() {
+        var firstPage = search(located().ranking(IncidentSearchRanking.SEVERITY).limit(1).build());
+        assertThat(ids(firstPage)).containsExactly("1", "3");
+
+        var first = firstPage.getSearchHit(0);
+        var cursor = IncidentSearchCursor.severity(dto(first), ((Number) first.getSortValues().get(1)).doubleValue());
+        var secondPage = search(located().ranking(IncidentSearchRanking.SEVERITY).limit(3).cursor(cursor.encode()).build());
+
+        assertThat(ids(secondPage)).containsExactly("3", "4", "2");
+    }
+
+    @Test
+    void executeQuery_LimitsTotalHitsWhenNotExact() {
+        var hits = search(IncidentSearchQueryDto.builder().timestamp(NOW).timeWindow(Duration.ofHours(4))
+                .exactTotalHits(false).limit(1).build());
+
+        assertThat(hits.getSearchHits()).hasSize(2);
+        assertThat(hits.getTotalHits()).isEqualTo(6);
+    }
+
+    @Test
+    void bulkDelete_RemovesDocumentsFromSearches() {
+        index.bulkDelete(List.of("2", "3"), RefreshPolicy.IMMEDIATE);
+
+        assertThat(ids(search(located().incidentType(IncidentType.FIRE).build()))).containsExactly("1", "4");
+    }
+
+    @Test
+    void executeSearch_AggregationsAreNotSupported() {
+        assertThatThrownBy(() -> queryExecutor.executeSearch(new SearchSourceBuilder()))
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    private SearchHits<IncidentDocument> search(IncidentSearchQueryDto query) {
+        return queryExecutor.executeQuery(queryBuilder.buildQuery(query));
+    }
+
+    private static IncidentSearchQueryDto.IncidentSearchQueryDtoBuilder located() {
+        return IncidentSearchQueryDto.builder().latitude(LAT).longitude(LON).timestamp(NOW);
+    }
+
+    private static List<String> ids(SearchHits<IncidentDocument> hits) {
+        return hits.getSearchHits().stream().map(SearchHit::getId).toList();
+    }
+
+    private static IncidentEntityDto dto(SearchHit<IncidentDocument> hit) {
+        var document = hit.getContent();
+        return new IncidentEntityDto(document.getId(), document.getIncidentType(), document.getLocation().getLat(),
+                document.getLocation().getLon(), document.getTimestamp(), document.getSeverityLevel());
+    }
+
+    private static IncidentDocument document(String id, IncidentType type, double lat, double lon, LocalDateTime timestamp,
+                                             SeverityLevel severityLevel) {
+        return new IncidentDocument(id, type, new GeoPoint(lat, lon), timestamp, severityLevel, severityLevel.rank());
+    }
+}
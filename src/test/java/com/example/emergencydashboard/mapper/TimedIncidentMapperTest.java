@@ -0,0 +1,31 @@
+package com.example.emergencydashboard.mapper;
+
+import com.example.emergencydashboard.metrics.IncidentPipelineMetrics;
+import com.example.emergencydashboard.model.IncidentEntity;
+import com.example.emergencydashboard.model.IncidentType;
+import com.example.emergencydashboard.model.SeverityLevel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimedIncidentMapperTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final TimedIncidentMapper mapper = new TimedIncidentMapper(IncidentMapper.INSTANCE, meterRegistry);
+
+    @Test
+    void entityToDto_MapsLikeDelegateAndTimesConversion() {
+        var entity = new IncidentEntity("1", IncidentType.FIRE, 40.712776, -74.005974, LocalDateTime.now(), SeverityLevel.HIGH);
+
+        var dto = mapper.entityToDto(entity);
+
+        assertThat(dto).isEqualTo(IncidentMapper.INSTANCE.entityToDto(entity));
+        assertThat(meterRegistry.get(IncidentPipelineMetrics.STAGE_TIMER)
+                .tag("pipeline", "mapping").tag("stage", "entity_to_dto").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(IncidentPipelineMetrics.STAGE_TIMER)
+                .tag("pipeline", "mapping").tag("stage", "dto_to_entity").timer().count()).isZero();
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.emergencydashboard.metrics;
+
+import com.example.emergencydashboard.dto.IncidentEntityDto;
+import com.example.emergencydashboard.event.IncidentChangedEvent;
+import com.example.emergencydashboard.model.IncidentChangeType;
+import com.example.emergencydashboard.model.IncidentType;
+import com.example.emergencydashboard.model.SeverityLevel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IncidentChangeMetricsTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 3, 1, 12, 0);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final IncidentChangeMetrics metrics = new IncidentChangeMetrics(meterRegistry);
+
+    @Test
+    void onIncidentsChanged_CountsPerChangeTypeAndSeverity() {
+        metrics.onIncidentsChanged(new IncidentChangedEvent(IncidentChangeType.CREATED, List.of(
+                new IncidentEntityDto("1", IncidentType.FIRE, 40.7128, -74.0060, NOW, SeverityLevel.HIGH),
+                new IncidentEntityDto("2", IncidentType.FIRE, 40.7128, -74.0060, NOW, SeverityLevel.HIGH),
+                new IncidentEntityDto("3", IncidentType.MEDICAL, 40.7128, -74.0060, NOW, null))));
+        metrics.onIncidentsChanged(IncidentChangedEvent.of(IncidentChangeType.DELETED,
+                new IncidentEntityDto("1", IncidentType.FIRE, 40.7128, -74.0060, NOW, SeverityLevel.HIGH)));
+
+        assertThat(count("created", "fire", "high")).isEqualTo(2.0);
+        assertThat(count("created", "medical", "none")).isEqualTo(1.0);
+        assertThat(count("deleted", "fire", "high")).isEqualTo(1.0);
+        assertThat(count("updated", "fire", "high")).isZero();
+    }
+
+    private double count(String change, String type, String severity) {
+        return meterRegistry.get("incidents.changes")
+                .tag("change", change)
+                .tag("type", type)
+                .tag("severity", severity)
+                .counter()
+                .count();
+    }
+}
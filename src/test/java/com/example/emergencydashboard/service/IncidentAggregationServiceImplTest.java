@@ -0,0 +1,164 @@
+package com.example.emergencydashboard.service;
+
+import com.example.emergencydashboard.builder.IncidentQueryBuilder;
+import com.example.emergencydashboard.config.IncidentAggregationProperties;
+import com.example.emergencydashboard.dto.IncidentAggregationDto;
+import com.example.emergencydashboard.dto.IncidentSearchQueryDto;
+import com.example.emergencydashboard.executor.IncidentQueryExecutor;
+import com.example.emergencydashboard.model.IncidentType;
+import org.apache.lucene.search.TotalHits;
+import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.search.SearchHit;
+import org.elasticsearch.search.SearchHits;
+import org.elasticsearch.search.aggregations.Aggregation;
+import org.elasticsearch.search.aggregations.Aggregations;
+import org.elasticsearch.search.aggregations.bucket.MultiBucketsAggregation;
+import org.elasticsearch.search.aggregations.bucket.geogrid.GeoGrid;
+import org.elasticsearch.search.aggregations.bucket.histogram.Histogram;
+import org.elasticsearch.search.aggregations.bucket.terms.Terms;
+import org.elasticsearch.search.builder.SearchSourceBuilder;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class IncidentAggregationServiceImplTest {
+
+    private static final IncidentSearchQueryDto QUERY = IncidentSearchQueryDto.builder()
+            .incidentType(IncidentType.FIRE)
+            .latitude(40.7128)
+            .longitude(-74.0060)
+            .build();
+
+    @Mock
+    private IncidentQueryBuilder queryBuilder;
+
+    @Mock
+    private IncidentQueryExecutor queryExecutor;
+
+    @Spy
+    private IncidentAggregationProperties aggregationProperties = new IncidentAggregationProperties();
+
+    @InjectMocks
+    private IncidentAggregationServiceImpl service;
+
+    @Test
+    void aggregateIncidents_ConvertsBucketsOfSingleSearch() {
+        var source = new SearchSourceBuilder();
+        when(queryBuilder.buildAggregationSource(QUERY, 5, 10000, Duration.ofMinutes(5))).thenReturn(source);
+        var aggregations = new Aggregations(List.of(heatmap(), timeline(), byType(), bySeverity()));
+        var response = mock(SearchResponse.class);
+        when(response.getHits()).thenReturn(new SearchHits(new SearchHit[0], new TotalHits(3, TotalHits.Relation.EQUAL_TO), 0f));
+        when(response.getAggregations()).thenReturn(aggregations);
+        when(queryExecutor.executeSearch(source)).thenReturn(response);
+
+        IncidentAggregationDto result = service.aggregateIncidents(QUERY, null, null);
+
+        assertThat(result.getTotalIncidents()).isEqualTo(3);
+        assertThat(result.getHeatmap()).singleElement().satisfies(cell -> {
+            assertThat(cell.getGeohash()).isEqualTo("dr5re");
+            assertThat(cell.getLatitude()).isBetween(40.69, 40.74);
+            assertThat(cell.getLongitude()).isBetween(-74.05, -73.98);
+            assertThat(cell.getCount()).isEqualTo(3);
+        });
+        assertThat(result.getTimeline()).containsExactly(
+                new IncidentAggregationDto.TimelineBucket(LocalDateTime.of(2024, 3, 1, 11, 50), 3));
+        assertThat(result.getByType()).containsExactly(Map.entry("fire", 3L));
+        assertThat(result.getBySeverity()).containsExactly(Map.entry("high", 2L), Map.entry("none", 1L));
+        verify(queryExecutor).executeSearch(source);
+    }
+
+    @Test
+    void aggregateIncidents_CapsGeohashPrecisionAndWidensInterval() {
+        var source = new SearchSourceBuilder();
+        when(queryBuilder.buildAggregationSource(QUERY, 8, 10000, Duration.ofMinutes(1))).thenReturn(source);
+        var aggregations = new Aggregations(List.of(
+                empty(GeoGrid.class, "heatmap"), empty(Histogram.class, "timeline"),
+                empty(Terms.class, "byType"), empty(Terms.class, "bySeverity")));
+        var response = mock(SearchResponse.class);
+        when(response.getHits()).thenReturn(new SearchHits(new SearchHit[0], new TotalHits(0, TotalHits.Relation.EQUAL_TO), 0f));
+        when(response.getAggregations()).thenReturn(aggregations);
+        when(queryExecutor.executeSearch(source)).thenReturn(response);
+
+        var result = service.aggregateIncidents(QUERY, 12, Duration.ofSeconds(10));
+
+        assertThat(result.getTotalIncidents()).isZero();
+        assertThat(result.getHeatmap()).isEmpty();
+        assertThat(result.getByType()).isEmpty();
+    }
+
+    @Test
+    void aggregateIncidents_RejectsNonPositiveGeohashPrecision() {
+        assertThatThrownBy(() -> service.aggregateIncidents(QUERY, 0, null))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(queryExecutor);
+    }
+
+    private static GeoGrid heatmap() {
+        var bucket = mock(GeoGrid.Bucket.class);
+        when(bucket.getKeyAsString()).thenReturn("dr5re");
+        when(bucket.getDocCount()).thenReturn(3L);
+        var heatmap = named(GeoGrid.class, "heatmap");
+        doReturn(List.of(bucket)).when(heatmap).getBuckets();
+        return heatmap;
+    }
+
+    private static Histogram timeline() {
+        var bucket = mock(Histogram.Bucket.class);
+        when(bucket.getKey()).thenReturn(LocalDateTime.of(2024, 3, 1, 11, 50).atZone(ZoneOffset.UTC));
+        when(bucket.getDocCount()).thenReturn(3L);
+        var timeline = named(Histogram.class, "timeline");
+        doReturn(List.of(bucket)).when(timeline).getBuckets();
+        return timeline;
+    }
+
+    private static Terms byType() {
+        var bucket = mock(Terms.Bucket.class);
+        when(bucket.getKeyAsString()).thenReturn("FIRE");
+        when(bucket.getDocCount()).thenReturn(3L);
+        var byType = named(Terms.class, "byType");
+        doReturn(List.of(bucket)).when(byType).getBuckets();
+        return byType;
+    }
+
+    private static Terms bySeverity() {
+        var high = mock(Terms.Bucket.class);
+        when(high.getKeyAsNumber()).thenReturn(2L);
+        when(high.getDocCount()).thenReturn(2L);
+        var none = mock(Terms.Bucket.class);
+        when(none.getKeyAsNumber()).thenReturn(-1L);
+        when(none.getDocCount()).thenReturn(1L);
+        var bySeverity = named(Terms.class, "bySeverity");
+        doReturn(List.of(high, none)).when(bySeverity).getBuckets();
+        return bySeverity;
+    }
+
+    private static <A extends MultiBucketsAggregation> A empty(Class<A> type, String name) {
+        var aggregation = named(type, name);
+        doReturn(List.of()).when(aggregation).getBuckets();
+        return aggregation;
+    }
+
+    private static <A extends Aggregation> A named(Class<A> type, String name) {
+        var aggregation = mock(type);
+        when(aggregation.getName()).thenReturn(name);
+        return aggregation;
+    }
+}
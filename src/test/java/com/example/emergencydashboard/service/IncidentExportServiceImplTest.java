@@ -0,0 +1,78 @@
+package com.example.emergencydashboard.service;
+
+import com.example.emergencydashboard.mapper.IncidentMapper;
+import com.example.emergencydashboard.model.IncidentEntity;
+import com.example.emergencydashboard.model.IncidentType;
+import com.example.emergencydashboard.model.SeverityLevel;
+import com.example.emergencydashboard.repository.jpa.IncidentJpaRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.persistence.EntityManager;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IncidentExportServiceImplTest {
+
+    private static final LocalDateTime TIMESTAMP = LocalDateTime.of(2024, 3, 1, 11, 52, 16);
+
+    @Mock
+    private IncidentJpaRepository jpaRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private IncidentExportServiceImpl exportService;
+
+    @BeforeEach
+    void setUp() {
+        var objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        exportService = new IncidentExportServiceImpl(jpaRepository, IncidentMapper.INSTANCE, entityManager, objectMapper);
+    }
+
+    @Test
+    void exportNdjson_WritesOneLinePerIncidentAndDetachesEntities() throws IOException {
+        var first = new IncidentEntity("1", IncidentType.FIRE, 40.712776, -74.005974, TIMESTAMP, SeverityLevel.HIGH);
+        var second = new IncidentEntity("2", IncidentType.MEDICAL, 41.712776, -73.005974, TIMESTAMP, SeverityLevel.LOW);
+        var closed = new AtomicBoolean();
+        when(jpaRepository.streamAllForExport()).thenReturn(Stream.of(first, second).onClose(() -> closed.set(true)));
+        var outputStream = new ByteArrayOutputStream();
+
+        long count = exportService.exportNdjson(outputStream);
+
+        assertThat(count).isEqualTo(2);
+        String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\n", -1);
+        assertThat(lines).hasSize(3);
+        assertThat(lines[0]).contains("\"id\":\"1\"", "\"incidentType\":\"fire\"", "\"timestamp\":\"2024-03-01T11:52:16\"");
+        assertThat(lines[1]).contains("\"id\":\"2\"", "\"severityLevel\":\"low\"");
+        assertThat(lines[2]).isEmpty();
+        verify(entityManager).detach(first);
+        verify(entityManager).detach(second);
+        assertThat(closed).isTrue();
+    }
+
+    @Test
+    void exportNdjson_WritesNothingForEmptyTable() throws IOException {
+        when(jpaRepository.streamAllForExport()).thenReturn(Stream.empty());
+        var outputStream = new ByteArrayOutputStream();
+
+        assertThat(exportService.exportNdjson(outputStream)).isZero();
+        assertThat(outputStream.size()).isZero();
+    }
+}
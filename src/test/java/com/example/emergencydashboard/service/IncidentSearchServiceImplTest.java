@@ -1,14 +1,29 @@
 package com.example.emergencydashboard.service;
 
 import com.example.emergencydashboard.builder.IncidentQueryBuilder;
+import com.example.emergencydashboard.cache.IncidentSearchResultCache;
+import com.example.emergencydashboard.config.IncidentPaginationProperties;
+import com.example.emergencydashboard.config.IncidentSearchCacheProperties;
+import com.example.emergencydashboard.config.IncidentSearchCoalescingProperties;
+import com.example.emergencydashboard.config.IncidentSearchProperties;
 import com.example.emergencydashboard.dto.IncidentEntityDto;
+import com.example.emergencydashboard.dto.IncidentSearchBatchItemDto;
+import com.example.emergencydashboard.dto.IncidentSearchPageDto;
 import com.example.emergencydashboard.dto.IncidentSearchQueryDto;
+import com.example.emergencydashboard.exception.SearchTimeoutException;
+import com.example.emergencydashboard.executor.IncidentMultiSearchItem;
 import com.example.emergencydashboard.executor.IncidentQueryExecutor;
+import com.example.emergencydashboard.executor.IncidentReactiveQueryExecutor;
+import com.example.emergencydashboard.executor.IncidentSearchCoalescer;
 import com.example.emergencydashboard.mapper.IncidentMapper;
+import com.example.emergencydashboard.metrics.IncidentSearchMetrics;
 import com.example.emergencydashboard.model.IncidentDocument;
+import com.example.emergencydashboard.model.IncidentSearchRanking;
 import com.example.emergencydashboard.model.IncidentType;
 import com.example.emergencydashboard.model.SeverityLevel;
-import com.example.emergencydashboard.repository.search.IncidentSearchRepository;
+import com.example.emergencydashboard.store.IncidentHotWindowStore;
+import com.example.emergencydashboard.util.IncidentSearchCursor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -17,15 +32,28 @@ import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.elasticsearch.core.SearchHit;
 import org.springframework.data.elasticsearch.core.SearchHits;
+import org.springframework.data.elasticsearch.core.TotalHitsRelation;
 import org.springframework.data.elasticsearch.core.geo.GeoPoint;
 import org.springframework.data.elasticsearch.core.query.Query;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.mockito.ArgumentMatchers.anyString;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -33,66 +61,83 @@ class IncidentSearchServiceImplTest {
 
     private static final LocalDateTime NOW = LocalDateTime.now();
 
-    @Mock
-    private IncidentSearchRepository searchRepository;
-
     @Mock
     private IncidentQueryBuilder queryBuilder;
 
     @Mock
     private IncidentQueryExecutor queryExecutor;
 
+    @Mock
+    private IncidentReactiveQueryExecutor reactiveQueryExecutor;
+
     @Spy
     private IncidentMapper mapper = IncidentMapper.INSTANCE;
 
+    @Mock
+    private IncidentHotWindowStore hotWindowStore;
+
+    @Spy
+    private IncidentSearchResultCache resultCache = new IncidentSearchResultCache(new IncidentSearchCacheProperties(), new IncidentSearchProperties(), new SimpleMeterRegistry());
+
+    @Spy
+    private IncidentSearchCoalescer coalescer = new IncidentSearchCoalescer(new IncidentSearchCoalescingProperties(), new SimpleMeterRegistry());
+
+    @Spy
+    private IncidentPaginationProperties paginationProperties = new IncidentPaginationProperties();
+
+    @Spy
+    private IncidentSearchProperties searchProperties = new IncidentSearchProperties();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private IncidentSearchMetrics metrics = new IncidentSearchMetrics(meterRegistry);
+
     @InjectMocks
     private IncidentSearchServiceImpl service;
 
 
     @Test
     void searchIncidentsByType() {
-        IncidentType query = IncidentType.FIRE;
+        IncidentType type = IncidentType.FIRE;
 
         IncidentDocument document1 = new IncidentDocument();
         document1.setId("1");
-        document1.setIncidentType(query);
+        document1.setIncidentType(type);
         document1.setLocation(new GeoPoint(-74.0060, 40.7128));
         document1.setTimestamp(NOW);
         document1.setSeverityLevel(SeverityLevel.MEDIUM);
 
         IncidentDocument document2 = new IncidentDocument();
         document2.setId("2");
-        document2.setIncidentType(query);
+        document2.setIncidentType(type);
         document2.setLocation(new GeoPoint(-18.2437, 34.0522));
         document2.setTimestamp(NOW);
         document2.setSeverityLevel(SeverityLevel.HIGH);
 
-        List<IncidentDocument> foundDocuments = List.of(document1, document2);
-
-        when(searchRepository.findByIncidentType(anyString())).thenReturn(foundDocuments);
-
-        List<IncidentEntityDto> result = service.searchIncidentsByType(query);
+        var query = mock(Query.class);
+        when(queryBuilder.buildTypeQuery(any())).thenReturn(query);
+        var searchHits = searchHits(document1, document2);
+        when(queryExecutor.executeQuery(query)).thenReturn(searchHits);
 
-        assertThat(result).hasSize(foundDocuments.size());
-        assertThat(result.get(0).getIncidentType()).isEqualTo(query);
-        assertThat(result.get(1).getIncidentType()).isEqualTo(query);
+        IncidentSearchPageDto result = service.searchIncidentsByType(IncidentSearchQueryDto.builder().incidentType(type).limit(1).build());
 
-        assertThat(result.get(0).getId()).isEqualTo(document1.getId());
-        assertThat(result.get(1).getId()).isEqualTo(document2.getId());
+        assertThat(result.getItems()).hasSize(1);
+        assertThat(result.getItems().get(0).getIncidentType()).isEqualTo(type);
+        assertThat(result.getItems().get(0).getId()).isEqualTo(document1.getId());
+        assertThat(IncidentSearchCursor.decode(result.getNextCursor(), 1).id()).isEqualTo(document1.getId());
+        assertThat(result.getTotalHits()).isEqualTo(2L);
+        assertThat(result.getTotalHitsRelation()).isEqualTo(IncidentSearchPageDto.TOTAL_HITS_EXACT);
     }
 
 
     @Test
     void searchIncidents() {
 
-        var queryDto = mock(IncidentSearchQueryDto.class);
+        var queryDto = IncidentSearchQueryDto.builder().incidentType(IncidentType.FIRE).build();
+        when(hotWindowStore.search(any())).thenReturn(Optional.empty());
         var query = mock(Query.class);
-        when(queryBuilder.buildQuery(queryDto)).thenReturn(query);
-
-        var searchHits = mock(SearchHits.class);
-        var hit = mock(SearchHit.class);
-        when(searchHits.getSearchHits()).thenReturn(List.of(hit));
-        when(queryExecutor.executeQuery(query)).thenReturn(searchHits);
+        when(queryBuilder.buildQuery(any())).thenReturn(query);
 
         IncidentDocument document = new IncidentDocument();
         document.setId("1");
@@ -101,12 +146,16 @@ class IncidentSearchServiceImplTest {
         document.setTimestamp(NOW);
         document.setSeverityLevel(SeverityLevel.MEDIUM);
 
-        when(hit.getContent()).thenReturn(document);
+        var searchHits = searchHits(document);
+        when(queryExecutor.executeQuery(query)).thenReturn(searchHits);
 
-        List<IncidentEntityDto> result = service.searchIncidents(queryDto);
+        IncidentSearchPageDto result = service.searchIncidents(queryDto);
 
-        assertThat(result).hasSize(1);
-        assertThat(result.get(0))
+        assertThat(result.getItems()).hasSize(1);
+        assertThat(result.getNextCursor()).isNull();
+        assertThat(meterRegistry.get(IncidentSearchMetrics.STAGE_TIMER).tag("stage", "build").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(IncidentSearchMetrics.STAGE_TIMER).tag("stage", "map").timer().count()).isEqualTo(1);
+        assertThat(result.getItems().get(0))
                 .matches(entityDto -> entityDto.getId().equals(document.getId()))
                 .matches(entityDto -> entityDto.getIncidentType().equals(document.getIncidentType()))
                 .matches(entityDto -> entityDto.getLatitude().equals(document.getLocation().getLat()))
@@ -115,4 +164,198 @@ class IncidentSearchServiceImplTest {
                 .matches(entityDto -> entityDto.getSeverityLevel().equals(document.getSeverityLevel()));
     }
 
+    @Test
+    void searchIncidents_AnsweredFromHotWindow() {
+        var queryDto = IncidentSearchQueryDto.builder().timestamp(NOW).build();
+        var hit = new IncidentEntityDto("1", IncidentType.FIRE, 40.7128, -74.0060, NOW, SeverityLevel.MEDIUM);
+        var page = new IncidentSearchPageDto(List.of(hit), null, 1L, IncidentSearchPageDto.TOTAL_HITS_EXACT);
+        when(hotWindowStore.search(any())).thenReturn(Optional.of(page));
+
+        IncidentSearchPageDto result = service.searchIncidents(queryDto);
+
+        assertThat(result).isSameAs(page);
+        verifyNoInteractions(queryBuilder, queryExecutor);
+    }
+
+    @Test
+    void searchIncidents_ReusesResultOfNearlyIdenticalQuery() {
+        when(hotWindowStore.search(any())).thenReturn(Optional.empty());
+        var query = mock(Query.class);
+        when(queryBuilder.buildQuery(any())).thenReturn(query);
+        var searchHits = searchHits();
+        when(queryExecutor.executeQuery(query)).thenReturn(searchHits);
+
+        var timestamp = LocalDateTime.of(2024, 3, 1, 11, 52, 16);
+        service.searchIncidents(IncidentSearchQueryDto.builder()
+                .latitude(40.712776).longitude(-74.005974).timestamp(timestamp).build());
+        service.searchIncidents(IncidentSearchQueryDto.builder()
+                .latitude(40.712801).longitude(-74.005911).timestamp(timestamp.plusSeconds(30)).build());
+
+        verify(queryExecutor, times(1)).executeQuery(query);
+    }
+
+    @Test
+    void searchIncidents_ResolvesPageSize() {
+        when(hotWindowStore.search(any())).thenReturn(Optional.empty());
+        var query = mock(Query.class);
+        when(queryBuilder.buildQuery(any())).thenReturn(query);
+        var searchHits = searchHits();
+        when(queryExecutor.executeQuery(query)).thenReturn(searchHits);
+        paginationProperties.setMaxPageSize(50);
+
+        service.searchIncidents(IncidentSearchQueryDto.builder().limit(500).build());
+
+        verify(queryBuilder).buildQuery(argThat(queryDto -> queryDto.getLimit() == 50));
+    }
+
+    @Test
+    void searchIncidents_RejectsNearestRankingWithoutLocation() {
+        var queryDto = IncidentSearchQueryDto.builder().ranking(IncidentSearchRanking.NEAREST).build();
+
+        assertThatThrownBy(() -> service.searchIncidents(queryDto))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(hotWindowStore, queryExecutor);
+    }
+
+    @Test
+    void searchIncidentsReactive_QueriesElasticsearchAndCachesResult() {
+        when(hotWindowStore.search(any())).thenReturn(Optional.empty());
+        var query = mock(Query.class);
+        when(queryBuilder.buildQuery(any())).thenReturn(query);
+        IncidentDocument document = new IncidentDocument();
+        document.setId("1");
+        document.setIncidentType(IncidentType.FIRE);
+        document.setLocation(new GeoPoint(-74.0060, 40.7128));
+        document.setTimestamp(NOW);
+        document.setSeverityLevel(SeverityLevel.MEDIUM);
+        var searchHits = searchHits(document);
+        when(reactiveQueryExecutor.executeQuery(query)).thenReturn(Mono.just(searchHits));
+        var queryDto = IncidentSearchQueryDto.builder().incidentType(IncidentType.FIRE).build();
+
+        StepVerifier.create(service.searchIncidentsReactive(queryDto))
+                .assertNext(page -> {
+                    assertThat(page.getItems()).extracting(IncidentEntityDto::getId).containsExactly("1");
+                    assertThat(page.getTotalHits()).isEqualTo(1L);
+                })
+                .verifyComplete();
+        StepVerifier.create(service.searchIncidentsReactive(queryDto))
+                .assertNext(page -> assertThat(page.getItems()).hasSize(1))
+                .verifyComplete();
+
+        verify(reactiveQueryExecutor, times(1)).executeQuery(query);
+        verifyNoInteractions(queryExecutor);
+    }
+
+    @Test
+    void searchIncidentsReactive_FailsOnceDeadlinePassed() {
+        searchProperties.setDeadline(Duration.ofMillis(50));
+        when(hotWindowStore.search(any())).thenReturn(Optional.empty());
+        var query = mock(Query.class);
+        when(queryBuilder.buildQuery(any())).thenReturn(query);
+        when(reactiveQueryExecutor.executeQuery(query)).thenReturn(Mono.never());
+
+        StepVerifier.create(service.searchIncidentsReactive(IncidentSearchQueryDto.builder().build()))
+                .expectError(SearchTimeoutException.class)
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void searchIncidentsReactive_RejectsNearestRankingWithoutLocation() {
+        var queryDto = IncidentSearchQueryDto.builder().ranking(IncidentSearchRanking.NEAREST).build();
+
+        StepVerifier.create(service.searchIncidentsReactive(queryDto))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+        verifyNoInteractions(hotWindowStore, reactiveQueryExecutor);
+    }
+
+    @Test
+    void searchIncidentsBatch_SendsRemainingSearchesInOneRequestAndReportsFailuresPerSearch() {
+        var hotWindowPage = new IncidentSearchPageDto(List.of(), null, 0L, IncidentSearchPageDto.TOTAL_HITS_EXACT);
+        var hotWindowQuery = IncidentSearchQueryDto.builder().timestamp(NOW).build();
+        var fireQuery = IncidentSearchQueryDto.builder().incidentType(IncidentType.FIRE).build();
+        var policeQuery = IncidentSearchQueryDto.builder().incidentType(IncidentType.POLICE).build();
+        var invalidQuery = IncidentSearchQueryDto.builder().ranking(IncidentSearchRanking.NEAREST).build();
+        when(hotWindowStore.search(any())).thenAnswer(invocation ->
+                invocation.<IncidentSearchQueryDto>getArgument(0).getTimestamp() != null ? Optional.of(hotWindowPage) : Optional.empty());
+        var fireSearchQuery = mock(Query.class);
+        var policeSearchQuery = mock(Query.class);
+        when(queryBuilder.buildQuery(any())).thenAnswer(invocation ->
+                invocation.<IncidentSearchQueryDto>getArgument(0).getIncidentType() == IncidentType.FIRE ? fireSearchQuery : policeSearchQuery);
+
+        IncidentDocument document = new IncidentDocument();
+        document.setId("1");
+        document.setIncidentType(IncidentType.FIRE);
+        document.setLocation(new GeoPoint(-74.0060, 40.7128));
+        document.setTimestamp(NOW);
+        document.setSeverityLevel(SeverityLevel.MEDIUM);
+        var searchHits = searchHits(document);
+        when(queryExecutor.executeQueries(List.of(fireSearchQuery, policeSearchQuery))).thenReturn(List.of(
+                new IncidentMultiSearchItem(searchHits, null),
+                new IncidentMultiSearchItem(null, new IllegalStateException("shard failure"))));
+
+        var result = service.searchIncidentsBatch(Arrays.asList(hotWindowQuery, fireQuery, invalidQuery, policeQuery, null));
+
+        assertThat(result.getTotal()).isEqualTo(5);
+        assertThat(result.getSucceeded()).isEqualTo(2);
+        assertThat(result.getFailed()).isEqualTo(3);
+        assertThat(result.getItems()).extracting(IncidentSearchBatchItemDto::getStatus).containsExactly(
+                IncidentSearchBatchItemDto.Status.OK,
+                IncidentSearchBatchItemDto.Status.OK,
+                IncidentSearchBatchItemDto.Status.FAILED,
+                IncidentSearchBatchItemDto.Status.FAILED,
+                IncidentSearchBatchItemDto.Status.FAILED);
+        assertThat(result.getItems().get(0).getPage()).isSameAs(hotWindowPage);
+        assertThat(result.getItems().get(1).getPage().getItems()).extracting(IncidentEntityDto::getId).containsExactly("1");
+        assertThat(result.getItems().get(3).getError()).isEqualTo("shard failure");
+        verify(queryExecutor, times(1)).executeQueries(any());
+    }
+
+    @Test
+    void searchIncidentsBatch_CachesResults() {
+        when(hotWindowStore.search(any())).thenReturn(Optional.empty());
+        var query = mock(Query.class);
+        when(queryBuilder.buildQuery(any())).thenReturn(query);
+        IncidentDocument document = new IncidentDocument();
+        document.setId("1");
+        document.setIncidentType(IncidentType.FIRE);
+        document.setLocation(new GeoPoint(-74.0060, 40.7128));
+        document.setTimestamp(NOW);
+        var searchHits = searchHits(document);
+        when(queryExecutor.executeQueries(List.of(query))).thenReturn(List.of(new IncidentMultiSearchItem(searchHits, null)));
+        var queryDto = IncidentSearchQueryDto.builder().incidentType(IncidentType.FIRE).build();
+
+        service.searchIncidentsBatch(List.of(queryDto));
+        var result = service.searchIncidentsBatch(List.of(queryDto));
+
+        assertThat(result.getItems().get(0).getPage().getItems()).hasSize(1);
+        verify(queryExecutor, times(1)).executeQueries(any());
+    }
+
+    @Test
+    void searchIncidentsBatch_RejectsBatchAboveMaximumSize() {
+        searchProperties.setMaxBatchSize(1);
+        var queryDto = IncidentSearchQueryDto.builder().build();
+
+        assertThatThrownBy(() -> service.searchIncidentsBatch(List.of(queryDto, queryDto)))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(hotWindowStore, queryExecutor);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static SearchHits<IncidentDocument> searchHits(IncidentDocument... documents) {
+        SearchHits<IncidentDocument> searchHits = mock(SearchHits.class);
+        List<SearchHit<IncidentDocument>> hits = new ArrayList<>();
+        for (IncidentDocument document : documents) {
+            SearchHit<IncidentDocument> hit = mock(SearchHit.class);
+            // only hits inside the page are mapped; the extra hit fetched to detect a next page is never read
+            lenient().when(hit.getContent()).thenReturn(document);
+            hits.add(hit);
+        }
+        when(searchHits.getSearchHits()).thenReturn(hits);
+        when(searchHits.getTotalHits()).thenReturn((long) documents.length);
+        when(searchHits.getTotalHitsRelation()).thenReturn(TotalHitsRelation.EQUAL_TO);
+        return searchHits;
+    }
+
 }
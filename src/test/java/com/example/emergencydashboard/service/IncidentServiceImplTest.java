@@ -1,28 +1,48 @@
 package com.example.emergencydashboard.service;
 
+import com.example.emergencydashboard.config.IncidentBatchProperties;
+import com.example.emergencydashboard.config.IncidentPaginationProperties;
+import com.example.emergencydashboard.dto.IncidentBatchItemResultDto;
+import com.example.emergencydashboard.dto.IncidentBatchResultDto;
 import com.example.emergencydashboard.dto.IncidentEntityDto;
+import com.example.emergencydashboard.event.IncidentChangedEvent;
 import com.example.emergencydashboard.mapper.IncidentMapper;
-import com.example.emergencydashboard.model.IncidentDocument;
+import com.example.emergencydashboard.metrics.IncidentPipelineMetrics;
+import com.example.emergencydashboard.model.IncidentChangeType;
 import com.example.emergencydashboard.model.IncidentEntity;
+import com.example.emergencydashboard.model.IncidentOutboxEntity;
+import com.example.emergencydashboard.model.IncidentOutboxOperation;
 import com.example.emergencydashboard.model.IncidentType;
 import com.example.emergencydashboard.model.SeverityLevel;
 import com.example.emergencydashboard.repository.jpa.IncidentJpaRepository;
-import com.example.emergencydashboard.repository.search.IncidentSearchRepository;
+import com.example.emergencydashboard.repository.jpa.IncidentOutboxRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import javax.persistence.EntityNotFoundException;
+import javax.validation.Validation;
+import javax.validation.Validator;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -33,11 +53,29 @@ class IncidentServiceImplTest {
     private IncidentJpaRepository jpaRepository;
 
     @Mock
-    private IncidentSearchRepository searchRepository;
+    private IncidentOutboxRepository outboxRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     @Spy
     private IncidentMapper mapper = IncidentMapper.INSTANCE;
 
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Spy
+    private IncidentBatchProperties batchProperties = new IncidentBatchProperties();
+
+    @Spy
+    private IncidentPaginationProperties paginationProperties = new IncidentPaginationProperties();
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     @InjectMocks
     private IncidentServiceImpl service;
 
@@ -47,13 +85,100 @@ class IncidentServiceImplTest {
         IncidentEntity entity = new IncidentEntity("1", IncidentType.FIRE, 40.712776, -74.005974, NOW, SeverityLevel.HIGH);
 
         when(jpaRepository.save(any(IncidentEntity.class))).thenReturn(entity);
-        when(searchRepository.save(any(IncidentDocument.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         IncidentEntityDto result = service.saveIncident(dto);
 
         assertThat(result).isNotNull();
         assertThat(result.getId()).isEqualTo(dto.getId());
         assertThat(result.getIncidentType()).isEqualTo(dto.getIncidentType());
+        verifyOutboxRow("1", IncidentOutboxOperation.INDEX);
+        verify(eventPublisher).publishEvent(IncidentChangedEvent.of(IncidentChangeType.CREATED, result));
+        assertThat(meterRegistry.get(IncidentPipelineMetrics.STAGE_TIMER).tag("pipeline", "persistence").timer().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void saveIncidents_ReturnsPerItemResults() {
+        IncidentEntityDto validDto = new IncidentEntityDto(null, IncidentType.FIRE, 40.712776, -74.005974, NOW, SeverityLevel.HIGH);
+        IncidentEntityDto invalidDto = new IncidentEntityDto(null, IncidentType.FIRE, 90.1, -74.005974, NOW, SeverityLevel.HIGH);
+
+        runTransactionCallbacks();
+        when(jpaRepository.saveAll(anyList())).thenAnswer(invocation -> assignIds(invocation.getArgument(0)));
+
+        IncidentBatchResultDto result = service.saveIncidents(List.of(validDto, invalidDto));
+
+        assertThat(result.getTotal()).isEqualTo(2);
+        assertThat(result.getSucceeded()).isEqualTo(1);
+        assertThat(result.getFailed()).isEqualTo(1);
+        assertThat(result.getItems().get(0).getStatus()).isEqualTo(IncidentBatchItemResultDto.Status.CREATED);
+        assertThat(result.getItems().get(0).getId()).isEqualTo("1");
+        assertThat(result.getItems().get(1).getStatus()).isEqualTo(IncidentBatchItemResultDto.Status.FAILED);
+        assertThat(result.getItems().get(1).getError()).contains(IncidentEntityDto.LATITUDE_RANGE_MESSAGE);
+        verify(outboxRepository).saveAll(anyList());
+    }
+
+    @Test
+    void saveIncidents_MarksChunkFailedOnDatabaseError() {
+        IncidentEntityDto first = new IncidentEntityDto(null, IncidentType.FIRE, 40.712776, -74.005974, NOW, SeverityLevel.HIGH);
+        IncidentEntityDto second = new IncidentEntityDto(null, IncidentType.POLICE, 41.712776, -73.005974, NOW, SeverityLevel.LOW);
+
+        runTransactionCallbacks();
+        when(jpaRepository.saveAll(anyList())).thenThrow(new RuntimeException("Simulated database failure"));
+
+        IncidentBatchResultDto result = service.saveIncidents(List.of(first, second));
+
+        assertThat(result.getSucceeded()).isZero();
+        assertThat(result.getFailed()).isEqualTo(2);
+        assertThat(result.getItems()).allMatch(item -> "Simulated database failure".equals(item.getError()));
+        verify(outboxRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void saveIncidentBatch() {
+        IncidentEntityDto first = new IncidentEntityDto(null, IncidentType.FIRE, 40.712776, -74.005974, NOW, SeverityLevel.HIGH);
+        IncidentEntityDto second = new IncidentEntityDto(null, IncidentType.POLICE, 41.712776, -73.005974, NOW, SeverityLevel.LOW);
+
+        when(jpaRepository.saveAll(anyList())).thenAnswer(invocation -> assignIds(invocation.getArgument(0)));
+
+        List<IncidentEntityDto> result = service.saveIncidentBatch(List.of(first, second));
+
+        assertThat(result).extracting(IncidentEntityDto::getId).containsExactly("1", "2");
+        assertThat(result).extracting(IncidentEntityDto::getIncidentType).containsExactly(IncidentType.FIRE, IncidentType.POLICE);
+        verify(jpaRepository, times(1)).saveAll(anyList());
+        verify(outboxRepository, times(1)).saveAll(anyList());
+        verify(eventPublisher).publishEvent(new IncidentChangedEvent(IncidentChangeType.CREATED, result));
+    }
+
+    @Test
+    void saveIncidents_TooLargeBatch() {
+        batchProperties.setMaxSize(1);
+        IncidentEntityDto dto = new IncidentEntityDto(null, IncidentType.FIRE, 40.712776, -74.005974, NOW, SeverityLevel.HIGH);
+
+        assertThrows(IllegalArgumentException.class, () -> service.saveIncidents(List.of(dto, dto)));
+
+        verify(jpaRepository, never()).saveAll(anyList());
+    }
+
+    private void runTransactionCallbacks() {
+        doAnswer(invocation -> {
+            Consumer<TransactionStatus> callback = invocation.getArgument(0);
+            callback.accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    private List<IncidentEntity> assignIds(List<IncidentEntity> entities) {
+        for (int i = 0; i < entities.size(); i++) {
+            entities.get(i).setId(String.valueOf(i + 1));
+        }
+        return entities;
+    }
+
+    private void verifyOutboxRow(String incidentId, IncidentOutboxOperation operation) {
+        ArgumentCaptor<IncidentOutboxEntity> captor = ArgumentCaptor.forClass(IncidentOutboxEntity.class);
+        verify(outboxRepository).save(captor.capture());
+        assertThat(captor.getValue().getIncidentId()).isEqualTo(incidentId);
+        assertThat(captor.getValue().getOperation()).isEqualTo(operation);
     }
 
     @Test
@@ -69,15 +194,56 @@ class IncidentServiceImplTest {
         assertThat(result.get(0).getIncidentType()).isEqualTo(entity.getIncidentType());
     }
 
+    @Test
+    void findIncidentPage_ReturnsCursorWhenMoreRowsExist() {
+        paginationProperties.setDefaultPageSize(2);
+        var newest = new IncidentEntity("3", IncidentType.FIRE, 40.712776, -74.005974, NOW, SeverityLevel.HIGH);
+        var middle = new IncidentEntity("2", IncidentType.FIRE, 40.712776, -74.005974, NOW, SeverityLevel.HIGH);
+        var oldest = new IncidentEntity("1", IncidentType.FIRE, 40.712776, -74.005974, NOW.minusMinutes(1), SeverityLevel.HIGH);
+
+        when(jpaRepository.findFirstPage(PageRequest.of(0, 3))).thenReturn(List.of(newest, middle, oldest));
+
+        var page = service.findIncidentPage(null, null);
+
+        assertThat(page.getItems()).extracting(IncidentEntityDto::getId).containsExactly("3", "2");
+        assertThat(page.getNextCursor()).isNotNull();
+
+        when(jpaRepository.findPageAfter(NOW, "2", PageRequest.of(0, 3))).thenReturn(List.of(oldest));
+
+        var nextPage = service.findIncidentPage(page.getNextCursor(), null);
+
+        assertThat(nextPage.getItems()).extracting(IncidentEntityDto::getId).containsExactly("1");
+        assertThat(nextPage.getNextCursor()).isNull();
+    }
+
+    @Test
+    void findIncidentPage_CapsLimitToMaxPageSize() {
+        paginationProperties.setMaxPageSize(5);
+
+        when(jpaRepository.findFirstPage(PageRequest.of(0, 6))).thenReturn(Collections.emptyList());
+
+        var page = service.findIncidentPage(null, 1_000_000);
+
+        assertThat(page.getItems()).isEmpty();
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    @Test
+    void findIncidentPage_RejectsInvalidCursor() {
+        assertThrows(IllegalArgumentException.class, () -> service.findIncidentPage("not-a-cursor", null));
+        verify(jpaRepository, never()).findPageAfter(any(), any(), any());
+    }
+
     @Test
     void updateIncident() {
         String id = "1";
         IncidentEntityDto dtoToUpdate = new IncidentEntityDto(id, IncidentType.MEDICAL, 41.712776, -73.005974, NOW, SeverityLevel.HIGH);
         IncidentEntity updatedEntity = new IncidentEntity(id, IncidentType.MEDICAL, 41.712776, -73.005974, NOW, SeverityLevel.HIGH);
 
-        when(jpaRepository.existsById(id)).thenReturn(true);
+        IncidentEntity previousEntity = new IncidentEntity(id, IncidentType.FIRE, 41.712776, -73.005974, NOW, SeverityLevel.LOW);
+
+        when(jpaRepository.findById(id)).thenReturn(Optional.of(previousEntity));
         when(jpaRepository.save(any(IncidentEntity.class))).thenReturn(updatedEntity);
-        when(searchRepository.save(any(IncidentDocument.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         IncidentEntityDto result = service.updateIncident(id, dtoToUpdate);
 
@@ -85,7 +251,8 @@ class IncidentServiceImplTest {
         assertThat(result.getId()).isEqualTo(id);
         assertThat(result.getIncidentType()).isEqualTo(dtoToUpdate.getIncidentType());
         verify(jpaRepository).save(any(IncidentEntity.class));
-        verify(searchRepository).save(any(IncidentDocument.class));
+        verifyOutboxRow(id, IncidentOutboxOperation.INDEX);
+        verify(eventPublisher).publishEvent(IncidentChangedEvent.updated(mapper.entityToDto(previousEntity), result));
     }
 
     @Test
@@ -93,36 +260,39 @@ class IncidentServiceImplTest {
         String id = "2";
         IncidentEntityDto dtoToUpdate = new IncidentEntityDto(id, IncidentType.FIRE, 40.712776, -74.005974, NOW, SeverityLevel.HIGH);
 
-        when(jpaRepository.existsById(id)).thenReturn(false);
+        when(jpaRepository.findById(id)).thenReturn(Optional.empty());
 
         assertThrows(EntityNotFoundException.class, () -> service.updateIncident(id, dtoToUpdate));
 
         verify(jpaRepository, never()).save(any(IncidentEntity.class));
-        verify(searchRepository, never()).save(any(IncidentDocument.class));
+        verify(outboxRepository, never()).save(any(IncidentOutboxEntity.class));
     }
 
     @Test
     void deleteIncident() {
         String id = "1";
+        IncidentEntity entity = new IncidentEntity(id, IncidentType.FIRE, 40.712776, -74.005974, NOW, SeverityLevel.HIGH);
 
-        when(jpaRepository.existsById(id)).thenReturn(true);
+        when(jpaRepository.findById(id)).thenReturn(Optional.of(entity));
 
         service.deleteIncident(id);
 
         verify(jpaRepository).deleteById(id);
-        verify(searchRepository).deleteById(id);
+        verifyOutboxRow(id, IncidentOutboxOperation.DELETE);
+        verify(eventPublisher).publishEvent(IncidentChangedEvent.of(IncidentChangeType.DELETED, mapper.entityToDto(entity)));
     }
 
     @Test
     void deleteIncident_NotFound() {
         String id = "2";
 
-        when(jpaRepository.existsById(id)).thenReturn(false);
+        when(jpaRepository.findById(id)).thenReturn(Optional.empty());
 
         assertThrows(EntityNotFoundException.class, () -> service.deleteIncident(id));
 
         verify(jpaRepository, never()).deleteById(id);
-        verify(searchRepository, never()).deleteById(id);
+        verify(outboxRepository, never()).save(any(IncidentOutboxEntity.class));
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
     }
 
 }
@@ -3,9 +3,11 @@ package com.example.emergencydashboard.service;
 import com.example.emergencydashboard.dto.IncidentEntityDto;
 import com.example.emergencydashboard.model.IncidentDocument;
 import com.example.emergencydashboard.model.IncidentEntity;
+import com.example.emergencydashboard.model.IncidentOutboxEntity;
 import com.example.emergencydashboard.model.IncidentType;
 import com.example.emergencydashboard.model.SeverityLevel;
 import com.example.emergencydashboard.repository.jpa.IncidentJpaRepository;
+import com.example.emergencydashboard.repository.jpa.IncidentOutboxRepository;
 import com.example.emergencydashboard.repository.search.IncidentSearchRepository;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -17,6 +19,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import javax.persistence.EntityManager;
 import java.time.LocalDateTime;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -33,6 +36,9 @@ class IncidentServiceTransactionsRollbackTest {
     @MockBean
     private IncidentJpaRepository incidentJpaRepository;
 
+    @MockBean
+    private IncidentOutboxRepository incidentOutboxRepository;
+
     @MockBean
     private IncidentSearchRepository incidentSearchRepository;
 
@@ -41,7 +47,7 @@ class IncidentServiceTransactionsRollbackTest {
 
     @Test
     @Transactional
-    void saveIncident_ShouldRollbackTransaction_OnElasticsearchFailure() {
+    void saveIncident_ShouldRollbackTransaction_OnOutboxFailure() {
         IncidentEntity mockEntity = new IncidentEntity();
         mockEntity.setId("1");
         mockEntity.setIncidentType(IncidentType.FIRE);
@@ -53,7 +59,7 @@ class IncidentServiceTransactionsRollbackTest {
 
         when(incidentJpaRepository.save(any(IncidentEntity.class))).thenReturn(mockEntity);
 
-        doThrow(new RuntimeException("Simulated Elasticsearch failure")).when(incidentSearchRepository).save(any(IncidentDocument.class));
+        doThrow(new RuntimeException("Simulated outbox failure")).when(incidentOutboxRepository).save(any(IncidentOutboxEntity.class));
 
         assertThrows(RuntimeException.class, () -> incidentService.saveIncident(dto));
 
@@ -63,20 +69,21 @@ class IncidentServiceTransactionsRollbackTest {
         boolean incidentExistsInJPA = incidentJpaRepository.findById("1").isPresent();
         assertFalse(incidentExistsInJPA);
 
-        verify(incidentSearchRepository, times(1)).save(any(IncidentDocument.class));
+        verify(incidentOutboxRepository, times(1)).save(any(IncidentOutboxEntity.class));
+        verify(incidentSearchRepository, never()).save(any(IncidentDocument.class));
     }
 
     @Test
     @Transactional
-    void updateIncident_ShouldRollbackTransaction_OnElasticsearchFailure() {
+    void updateIncident_ShouldRollbackTransaction_OnOutboxFailure() {
         String existingId = "1";
         IncidentEntity existingEntity = new IncidentEntity(existingId, IncidentType.FIRE, 40.712776, -74.005974, NOW, SeverityLevel.HIGH);
 
         IncidentEntityDto updateDto = new IncidentEntityDto(existingId, IncidentType.MEDICAL, 41.712776, -73.005974, NOW, SeverityLevel.MEDIUM);
 
-        when(incidentJpaRepository.existsById(existingId)).thenReturn(true);
+        when(incidentJpaRepository.findById(existingId)).thenReturn(Optional.of(existingEntity));
         when(incidentJpaRepository.save(any(IncidentEntity.class))).thenReturn(existingEntity);
-        doThrow(new RuntimeException("Simulated Elasticsearch failure")).when(incidentSearchRepository).save(any(IncidentDocument.class));
+        doThrow(new RuntimeException("Simulated outbox failure")).when(incidentOutboxRepository).save(any(IncidentOutboxEntity.class));
 
         assertThrows(RuntimeException.class, () -> incidentService.updateIncident(existingId, updateDto));
 
@@ -84,17 +91,20 @@ class IncidentServiceTransactionsRollbackTest {
         entityManager.clear();
 
         verify(incidentJpaRepository, times(1)).save(any(IncidentEntity.class));
-        verify(incidentSearchRepository, times(1)).save(any(IncidentDocument.class));
+        verify(incidentOutboxRepository, times(1)).save(any(IncidentOutboxEntity.class));
+        verify(incidentSearchRepository, never()).save(any(IncidentDocument.class));
     }
 
     @Test
     @Transactional
-    void deleteIncident_ShouldRollbackTransaction_OnElasticsearchFailure() {
+    void deleteIncident_ShouldRollbackTransaction_OnOutboxFailure() {
         String existingId = "1";
+        IncidentEntity existingEntity = new IncidentEntity(existingId, IncidentType.FIRE, 40.712776, -74.005974, NOW, SeverityLevel.HIGH);
 
         when(incidentJpaRepository.existsById(existingId)).thenReturn(true);
+        when(incidentJpaRepository.findById(existingId)).thenReturn(Optional.of(existingEntity));
         doNothing().when(incidentJpaRepository).deleteById(existingId);
-        doThrow(new RuntimeException("Simulated Elasticsearch failure")).when(incidentSearchRepository).deleteById(existingId);
+        doThrow(new RuntimeException("Simulated outbox failure")).when(incidentOutboxRepository).save(any(IncidentOutboxEntity.class));
 
         assertThrows(RuntimeException.class, () -> incidentService.deleteIncident(existingId));
 
@@ -104,7 +114,8 @@ class IncidentServiceTransactionsRollbackTest {
         boolean incidentExistsInJPA = incidentJpaRepository.existsById(existingId);
         assertTrue(incidentExistsInJPA, "Incident should still exist in JPA repository after rollback");
 
-        verify(incidentSearchRepository, times(1)).deleteById(existingId);
+        verify(incidentOutboxRepository, times(1)).save(any(IncidentOutboxEntity.class));
+        verify(incidentSearchRepository, never()).deleteById(existingId);
     }
 
 }
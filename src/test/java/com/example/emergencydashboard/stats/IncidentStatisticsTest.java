@@ -0,0 +1,118 @@
+package com.example.emergencydashboard.stats;
+
+import com.example.emergencydashboard.config.IncidentStatisticsProperties;
+import com.example.emergencydashboard.dto.IncidentEntityDto;
+import com.example.emergencydashboard.dto.IncidentStatisticsDto;
+import com.example.emergencydashboard.event.IncidentChangedEvent;
+import com.example.emergencydashboard.mapper.IncidentMapper;
+import com.example.emergencydashboard.model.IncidentChangeType;
+import com.example.emergencydashboard.model.IncidentEntity;
+import com.example.emergencydashboard.model.IncidentType;
+import com.example.emergencydashboard.model.SeverityLevel;
+import com.example.emergencydashboard.repository.jpa.IncidentJpaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class IncidentStatisticsTest {
+
+    private static final long NOW_SECOND = LocalDateTime.of(2024, 3, 1, 12, 0).toEpochSecond(ZoneOffset.UTC);
+
+    @Mock
+    private IncidentJpaRepository jpaRepository;
+
+    private IncidentStatistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = new IncidentStatistics(jpaRepository, IncidentMapper.INSTANCE, new IncidentStatisticsProperties());
+    }
+
+    @Test
+    void snapshot_CountsCreatedIncidentsPerWindow() {
+        statistics.onIncidentsChanged(new IncidentChangedEvent(IncidentChangeType.CREATED, List.of(
+                incident("1", IncidentType.FIRE, SeverityLevel.HIGH, -60),
+                incident("2", IncidentType.MEDICAL, SeverityLevel.LOW, -600),
+                incident("3", IncidentType.FIRE, null, -1800),
+                incident("old", IncidentType.FIRE, SeverityLevel.HIGH, -4000),
+                incident("future", IncidentType.FIRE, SeverityLevel.HIGH, 60))), NOW_SECOND);
+
+        var windows = statistics.snapshot(NOW_SECOND).getWindows();
+
+        assertThat(windows).extracting(IncidentStatisticsDto.Window::getWindowSeconds).containsExactly(300L, 900L, 3600L);
+        assertThat(windows).extracting(IncidentStatisticsDto.Window::getTotal).containsExactly(1L, 2L, 3L);
+        assertThat(windows.get(0).getByType()).isEqualTo(Map.of("fire", 1L));
+        assertThat(windows.get(2).getByType()).isEqualTo(Map.of("fire", 2L, "medical", 1L));
+        assertThat(windows.get(2).getBySeverity()).isEqualTo(Map.of("high", 1L, "low", 1L, "none", 1L));
+        assertThat(windows.get(2).getByTypeAndSeverity()).isEqualTo(Map.of(
+                "fire", Map.of("high", 1L, "none", 1L),
+                "medical", Map.of("low", 1L)));
+    }
+
+    @Test
+    void snapshot_FollowsUpdatesAndDeletes() {
+        var created = incident("1", IncidentType.FIRE, SeverityLevel.HIGH, -60);
+        var updated = incident("1", IncidentType.POLICE, SeverityLevel.URGENT, -1200);
+        statistics.onIncidentsChanged(IncidentChangedEvent.of(IncidentChangeType.CREATED, created), NOW_SECOND);
+        statistics.onIncidentsChanged(IncidentChangedEvent.of(IncidentChangeType.CREATED,
+                incident("2", IncidentType.MEDICAL, SeverityLevel.LOW, -30)), NOW_SECOND);
+
+        statistics.onIncidentsChanged(IncidentChangedEvent.updated(created, updated), NOW_SECOND);
+        statistics.onIncidentsChanged(IncidentChangedEvent.of(IncidentChangeType.DELETED,
+                incident("2", IncidentType.MEDICAL, SeverityLevel.LOW, -30)), NOW_SECOND);
+
+        var windows = statistics.snapshot(NOW_SECOND).getWindows();
+        assertThat(windows).extracting(IncidentStatisticsDto.Window::getTotal).containsExactly(0L, 0L, 1L);
+        assertThat(windows.get(2).getByTypeAndSeverity()).isEqualTo(Map.of("police", Map.of("urgent", 1L)));
+    }
+
+    @Test
+    void snapshot_DropsExpiredBucketsAndNeverCountsBelowZero() {
+        var incident = incident("1", IncidentType.FIRE, SeverityLevel.HIGH, -60);
+        statistics.onIncidentsChanged(IncidentChangedEvent.of(IncidentChangeType.CREATED, incident), NOW_SECOND);
+        long later = NOW_SECOND + 3600;
+
+        statistics.onIncidentsChanged(IncidentChangedEvent.of(IncidentChangeType.DELETED, incident), later);
+        statistics.onIncidentsChanged(IncidentChangedEvent.of(IncidentChangeType.DELETED,
+                incident("2", IncidentType.FIRE, SeverityLevel.HIGH, 3590)), later);
+
+        assertThat(statistics.snapshot(later).getWindows())
+                .extracting(IncidentStatisticsDto.Window::getTotal)
+                .containsExactly(0L, 0L, 0L);
+    }
+
+    @Test
+    void warmUp_CountsStoredIncidentsNotChangedMeanwhile() {
+        var now = LocalDateTime.now().withNano(0);
+        var created = new IncidentEntityDto("1", IncidentType.FIRE, 40.7128, -74.0060, now.minusMinutes(1), SeverityLevel.HIGH);
+        var deleted = new IncidentEntityDto("2", IncidentType.POLICE, 40.7128, -74.0060, now.minusMinutes(2), SeverityLevel.LOW);
+        statistics.onIncidentsChanged(IncidentChangedEvent.of(IncidentChangeType.CREATED, created));
+        statistics.onIncidentsChanged(IncidentChangedEvent.of(IncidentChangeType.DELETED, deleted));
+        when(jpaRepository.findByTimestampGreaterThanEqual(any())).thenReturn(List.of(
+                new IncidentEntity("1", IncidentType.FIRE, 40.7128, -74.0060, now.minusMinutes(1), SeverityLevel.HIGH),
+                new IncidentEntity("3", IncidentType.MEDICAL, 40.7128, -74.0060, now.minusMinutes(10), SeverityLevel.MEDIUM)));
+
+        statistics.warmUp();
+
+        var longest = statistics.snapshot().getWindows().get(2);
+        assertThat(longest.getTotal()).isEqualTo(2);
+        assertThat(longest.getByType()).isEqualTo(Map.of("fire", 1L, "medical", 1L));
+    }
+
+    private static IncidentEntityDto incident(String id, IncidentType type, SeverityLevel severityLevel, long offsetSeconds) {
+        return new IncidentEntityDto(id, type, 40.7128, -74.0060,
+                LocalDateTime.ofEpochSecond(NOW_SECOND + offsetSeconds, 0, ZoneOffset.UTC), severityLevel);
+    }
+}
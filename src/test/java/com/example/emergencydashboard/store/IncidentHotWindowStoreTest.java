@@ -0,0 +1,266 @@
+package com.example.emergencydashboard.store;
+
+import com.example.emergencydashboard.config.IncidentHotWindowProperties;
+import com.example.emergencydashboard.config.IncidentSearchProperties;
+import com.example.emergencydashboard.dto.IncidentEntityDto;
+import com.example.emergencydashboard.dto.IncidentSearchPageDto;
+import com.example.emergencydashboard.dto.IncidentSearchQueryDto;
+import com.example.emergencydashboard.event.IncidentChangedEvent;
+import com.example.emergencydashboard.mapper.IncidentMapper;
+import com.example.emergencydashboard.model.IncidentChangeType;
+import com.example.emergencydashboard.model.IncidentEntity;
+import com.example.emergencydashboard.model.IncidentSearchRanking;
+import com.example.emergencydashboard.model.IncidentType;
+import com.example.emergencydashboard.model.SeverityLevel;
+import com.example.emergencydashboard.repository.jpa.IncidentJpaRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class IncidentHotWindowStoreTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.now().withNano(0);
+
+    @Mock
+    private IncidentJpaRepository jpaRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private IncidentHotWindowStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new IncidentHotWindowStore(jpaRepository, IncidentMapper.INSTANCE, new IncidentHotWindowProperties(),
+                new IncidentSearchProperties(), transactionManager, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void search_NotAnsweredBeforeWarmUp() {
+        assertThat(store.search(query(IncidentType.FIRE, 40.7128, -74.0060, NOW))).isEmpty();
+    }
+
+    @Test
+    void search_MatchesRadiusAndTimeWindowAndRanksTypeFirst() {
+        warmUp(
+                entity("b", IncidentType.MEDICAL, 40.7128, -74.0060, NOW),
+                entity("c", IncidentType.FIRE, 40.7500, -74.0000, NOW.minusMinutes(30)),
+                entity("a", IncidentType.FIRE, 40.7128, -74.0060, NOW.plusMinutes(59)),
+                entity("far", IncidentType.FIRE, 41.5000, -74.0060, NOW),
+                entity("late", IncidentType.FIRE, 40.7128, -74.0060, NOW.plusMinutes(61)));
+
+        var hits = store.search(query(IncidentType.FIRE, 40.7128, -74.0060, NOW));
+
+        assertThat(hits).hasValueSatisfying(page -> assertThat(page.getItems())
+                .extracting(IncidentEntityDto::getId)
+                .containsExactly("a", "c", "b"));
+    }
+
+    @Test
+    void search_WithoutLocationScansWholeWindow() {
+        warmUp(
+                entity("1", IncidentType.POLICE, 40.7128, -74.0060, NOW),
+                entity("2", IncidentType.POLICE, -33.8688, 151.2093, NOW.minusMinutes(10)));
+
+        var hits = store.search(query(null, null, null, NOW));
+
+        assertThat(hits).hasValueSatisfying(page -> assertThat(page.getItems())
+                .extracting(IncidentEntityDto::getId)
+                .containsExactly("1", "2"));
+    }
+
+    @Test
+    void search_ReturnsIncidentsAsIndexed() {
+        warmUp(entity("1", IncidentType.FIRE, 40.7128, -74.0060, NOW.withNano(123_000_000)));
+
+        var hits = store.search(query(IncidentType.FIRE, 40.7128, -74.0060, NOW));
+
+        assertThat(hits).hasValueSatisfying(page -> assertThat(page.getItems())
+                .containsExactly(new IncidentEntityDto("1", IncidentType.FIRE, 40.7128, -74.0060, NOW, SeverityLevel.HIGH)));
+    }
+
+    @Test
+    void search_NotAnsweredWhenWindowStartsBeforeRetainedPeriod() {
+        warmUp();
+
+        assertThat(store.search(query(null, null, null, NOW.minusHours(6)))).isEmpty();
+        assertThat(store.search(query(null, null, null, NOW.minusHours(4)))).isPresent();
+    }
+
+    @Test
+    void onIncidentsChanged_AppliesUpdatesAndDeletes() {
+        warmUp(entity("1", IncidentType.FIRE, 40.7128, -74.0060, NOW));
+        var moved = new IncidentEntityDto("1", IncidentType.FIRE, 34.0522, -118.2437, NOW, SeverityLevel.LOW);
+        var created = new IncidentEntityDto("2", IncidentType.MEDICAL, 40.7128, -74.0060, NOW, SeverityLevel.LOW);
+
+        change(IncidentChangeType.UPDATED, moved, moved);
+        change(IncidentChangeType.CREATED, created, created);
+
+        assertThat(items(query(null, 40.7128, -74.0060, NOW))).containsExactly(created);
+        assertThat(items(query(null, 34.0522, -118.2437, NOW))).containsExactly(moved);
+
+        change(IncidentChangeType.DELETED, moved, null);
+
+        assertThat(items(query(null, 34.0522, -118.2437, NOW))).isEmpty();
+        assertThat(store.size()).isEqualTo(1);
+    }
+
+    @Test
+    void onIncidentsChanged_KeepsLatestCommittedStateWhenNotifiedOutOfOrder() {
+        warmUp(entity("1", IncidentType.FIRE, 40.7128, -74.0060, NOW));
+        var first = new IncidentEntityDto("1", IncidentType.FIRE, 34.0522, -118.2437, NOW, SeverityLevel.LOW);
+        var second = new IncidentEntityDto("1", IncidentType.FIRE, 41.8781, -87.6298, NOW, SeverityLevel.URGENT);
+
+        change(IncidentChangeType.UPDATED, second, second);
+        change(IncidentChangeType.UPDATED, first, second);
+
+        assertThat(items(query(null, 34.0522, -118.2437, NOW))).isEmpty();
+        assertThat(items(query(null, 41.8781, -87.6298, NOW))).containsExactly(second);
+    }
+
+    @Test
+    void warmUp_KeepsIncidentsChangedWhileLoading() {
+        var deleted = entity("1", IncidentType.FIRE, 40.7128, -74.0060, NOW);
+        change(IncidentChangeType.DELETED, IncidentMapper.INSTANCE.entityToDto(deleted), null);
+
+        warmUp(deleted);
+
+        assertThat(store.size()).isZero();
+    }
+
+    @Test
+    void evictBefore_DropsOldIncidentsAndStopsAnsweringForThem() {
+        warmUp(
+                entity("old", IncidentType.FIRE, 40.7128, -74.0060, NOW.minusHours(3)),
+                entity("new", IncidentType.FIRE, 40.7128, -74.0060, NOW));
+        long footprint = store.getMemoryFootprintBytes();
+
+        store.evictBefore(NOW.minusHours(2).toEpochSecond(ZoneOffset.UTC));
+
+        assertThat(store.size()).isEqualTo(1);
+        assertThat(store.getMemoryFootprintBytes()).isLessThan(footprint);
+        assertThat(store.search(query(null, null, null, NOW.minusMinutes(61)))).isEmpty();
+        assertThat(store.search(query(null, null, null, NOW))).hasValueSatisfying(page -> assertThat(page.getItems())
+                .extracting(IncidentEntityDto::getId)
+                .containsExactly("new"));
+    }
+
+    @Test
+    void search_PagesWithCursorAcrossTypeGroups() {
+        warmUp(
+                entity("b", IncidentType.MEDICAL, 40.7128, -74.0060, NOW),
+                entity("c", IncidentType.FIRE, 40.7128, -74.0060, NOW),
+                entity("a", IncidentType.FIRE, 40.7128, -74.0060, NOW),
+                entity("d", IncidentType.POLICE, 40.7128, -74.0060, NOW));
+        var query = query(IncidentType.FIRE, 40.7128, -74.0060, NOW).toBuilder().limit(2).build();
+
+        var first = store.search(query).orElseThrow();
+        var second = store.search(query.toBuilder().cursor(first.getNextCursor()).build()).orElseThrow();
+
+        assertThat(first.getItems()).extracting(IncidentEntityDto::getId).containsExactly("a", "c");
+        assertThat(first.getTotalHits()).isEqualTo(4L);
+        assertThat(first.getTotalHitsRelation()).isEqualTo(IncidentSearchPageDto.TOTAL_HITS_EXACT);
+        assertThat(second.getItems()).extracting(IncidentEntityDto::getId).containsExactly("b", "d");
+        assertThat(second.getNextCursor()).isNull();
+        assertThat(second.getTotalHits()).isNull();
+    }
+
+    @Test
+    void search_RanksByDistanceAndPagesWithCursor() {
+        warmUp(
+                entity("far", IncidentType.FIRE, 40.7500, -74.0000, NOW),
+                entity("near", IncidentType.FIRE, 40.7130, -74.0060, NOW),
+                entity("b", IncidentType.MEDICAL, 40.7128, -74.0060, NOW),
+                entity("a", IncidentType.FIRE, 40.7128, -74.0060, NOW));
+        var query = query(null, 40.7128, -74.0060, NOW).toBuilder()
+                .ranking(IncidentSearchRanking.NEAREST)
+                .limit(2)
+                .build();
+
+        var first = store.search(query).orElseThrow();
+        var second = store.search(query.toBuilder().cursor(first.getNextCursor()).build()).orElseThrow();
+
+        assertThat(first.getItems()).extracting(IncidentEntityDto::getId).containsExactly("a", "b");
+        assertThat(second.getItems()).extracting(IncidentEntityDto::getId).containsExactly("near", "far");
+    }
+
+    @Test
+    void search_RanksBySeverityAndFiltersByType() {
+        warmUp(
+                entity("low", IncidentType.FIRE, 40.7128, -74.0060, NOW, SeverityLevel.LOW),
+                entity("urgent-far", IncidentType.FIRE, 40.7500, -74.0000, NOW, SeverityLevel.URGENT),
+                entity("urgent-near", IncidentType.FIRE, 40.7128, -74.0060, NOW, SeverityLevel.URGENT),
+                entity("medical", IncidentType.MEDICAL, 40.7128, -74.0060, NOW, SeverityLevel.URGENT));
+        var query = query(IncidentType.FIRE, 40.7128, -74.0060, NOW).toBuilder()
+                .ranking(IncidentSearchRanking.SEVERITY)
+                .build();
+
+        assertThat(items(query)).extracting(IncidentEntityDto::getId).containsExactly("urgent-near", "urgent-far", "low");
+    }
+
+    @Test
+    void search_UsesRadiusAndTimeWindowOfQuery() {
+        warmUp(
+                entity("near", IncidentType.FIRE, 40.7128, -74.0060, NOW),
+                entity("far", IncidentType.FIRE, 40.7500, -74.0000, NOW),
+                entity("earlier", IncidentType.FIRE, 40.7128, -74.0060, NOW.minusMinutes(30)));
+        var query = query(null, 40.7128, -74.0060, NOW).toBuilder()
+                .radiusKm(1.0)
+                .timeWindow(Duration.ofMinutes(10))
+                .build();
+
+        assertThat(items(query)).extracting(IncidentEntityDto::getId).containsExactly("near");
+    }
+
+    /**
+     * Notifies the store of a committed change whose row, when re-read, holds {@code committed}, or is gone when it
+     * is {@code null}.
+     */
+    private void change(IncidentChangeType type, IncidentEntityDto incident, IncidentEntityDto committed) {
+        when(jpaRepository.findAllById(Set.of(incident.getId())))
+                .thenReturn(committed == null ? List.of() : List.of(IncidentMapper.INSTANCE.dtoToEntity(committed)));
+        store.onIncidentsChanged(IncidentChangedEvent.of(type, incident));
+    }
+
+    private List<IncidentEntityDto> items(IncidentSearchQueryDto query) {
+        return store.search(query).orElseThrow().getItems();
+    }
+
+    private void warmUp(IncidentEntity... entities) {
+        when(jpaRepository.findByTimestampGreaterThanEqual(any())).thenReturn(List.of(entities));
+        store.warmUp();
+    }
+
+    private static IncidentSearchQueryDto query(IncidentType type, Double latitude, Double longitude, LocalDateTime timestamp) {
+        return IncidentSearchQueryDto.builder()
+                .incidentType(type)
+                .latitude(latitude)
+                .longitude(longitude)
+                .timestamp(timestamp)
+                .build();
+    }
+
+    private static IncidentEntity entity(String id, IncidentType type, double latitude, double longitude, LocalDateTime timestamp) {
+        return entity(id, type, latitude, longitude, timestamp, SeverityLevel.HIGH);
+    }
+
+    private static IncidentEntity entity(String id, IncidentType type, double latitude, double longitude, LocalDateTime timestamp,
+                                         SeverityLevel severityLevel) {
+        return new IncidentEntity(id, type, latitude, longitude, timestamp, severityLevel);
+    }
+}
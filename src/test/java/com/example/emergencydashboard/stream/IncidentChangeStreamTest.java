@@ -0,0 +1,110 @@
+package com.example.emergencydashboard.stream;
+
+import com.example.emergencydashboard.broadcast.IncidentBroadcaster;
+import com.example.emergencydashboard.config.IncidentStreamProperties;
+import com.example.emergencydashboard.dto.IncidentEntityDto;
+import com.example.emergencydashboard.dto.IncidentPageDto;
+import com.example.emergencydashboard.dto.IncidentStreamEventDto;
+import com.example.emergencydashboard.event.IncidentChangedEvent;
+import com.example.emergencydashboard.model.IncidentChangeType;
+import com.example.emergencydashboard.model.IncidentType;
+import com.example.emergencydashboard.model.SeverityLevel;
+import com.example.emergencydashboard.service.IncidentService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IncidentChangeStreamTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.now();
+
+    @Mock
+    private IncidentBroadcaster broadcaster;
+
+    @Mock
+    private IncidentService incidentService;
+
+    private IncidentChangeStream stream;
+
+    @BeforeEach
+    void setUp() {
+        var properties = new IncidentStreamProperties();
+        properties.setReplayCapacity(3);
+        stream = new IncidentChangeStream(broadcaster, incidentService, properties, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void onIncidentsChanged_NumbersAndBroadcastsEvents() {
+        stream.onIncidentsChanged(new IncidentChangedEvent(IncidentChangeType.CREATED, List.of(incident("1"), incident("2"))));
+
+        verify(broadcaster).broadcast(List.of(
+                new IncidentStreamEventDto(1, IncidentChangeType.CREATED, "1", incident("1")),
+                new IncidentStreamEventDto(2, IncidentChangeType.CREATED, "2", incident("2"))));
+        assertThat(stream.getLastSequence()).isEqualTo(2);
+    }
+
+    @Test
+    void changesSince_ReturnsDeltaWhenStillBuffered() {
+        stream.onIncidentsChanged(IncidentChangedEvent.of(IncidentChangeType.CREATED, incident("1")));
+        stream.onIncidentsChanged(IncidentChangedEvent.of(IncidentChangeType.UPDATED, incident("1")));
+        stream.onIncidentsChanged(IncidentChangedEvent.of(IncidentChangeType.DELETED, incident("1")));
+
+        var changes = stream.changesSince(stream.getStreamId(), 1L);
+
+        assertThat(changes.isSnapshot()).isFalse();
+        assertThat(changes.getSequence()).isEqualTo(3);
+        assertThat(changes.getEvents()).extracting(IncidentStreamEventDto::getType)
+                .containsExactly(IncidentChangeType.UPDATED, IncidentChangeType.DELETED);
+        verifyNoInteractions(incidentService);
+    }
+
+    @Test
+    void changesSince_ReturnsEmptyDeltaWhenUpToDate() {
+        stream.onIncidentsChanged(IncidentChangedEvent.of(IncidentChangeType.CREATED, incident("1")));
+
+        var changes = stream.changesSince(stream.getStreamId(), 1L);
+
+        assertThat(changes.isSnapshot()).isFalse();
+        assertThat(changes.getSequence()).isEqualTo(1);
+        assertThat(changes.getEvents()).isEmpty();
+    }
+
+    @Test
+    void changesSince_FallsBackToSnapshotWhenSequenceAgedOut() {
+        for (int i = 0; i < 5; i++) {
+            stream.onIncidentsChanged(IncidentChangedEvent.of(IncidentChangeType.CREATED, incident(String.valueOf(i))));
+        }
+        when(incidentService.findIncidentPage(null, null)).thenReturn(new IncidentPageDto(List.of(incident("1")), null));
+
+        var changes = stream.changesSince(stream.getStreamId(), 1L);
+
+        assertThat(changes.isSnapshot()).isTrue();
+        assertThat(changes.getSequence()).isEqualTo(5);
+        assertThat(changes.getIncidents()).containsExactly(incident("1"));
+    }
+
+    @Test
+    void changesSince_FallsBackToSnapshotForUnknownStream() {
+        stream.onIncidentsChanged(IncidentChangedEvent.of(IncidentChangeType.CREATED, incident("1")));
+        when(incidentService.findIncidentPage(null, null)).thenReturn(new IncidentPageDto(List.of(incident("1")), null));
+
+        var changes = stream.changesSince("previous-run", 0L);
+
+        assertThat(changes.isSnapshot()).isTrue();
+        assertThat(changes.getStreamId()).isEqualTo(stream.getStreamId());
+    }
+
+    private IncidentEntityDto incident(String id) {
+        return new IncidentEntityDto(id, IncidentType.FIRE, 40.712776, -74.005974, NOW, SeverityLevel.HIGH);
+    }
+}